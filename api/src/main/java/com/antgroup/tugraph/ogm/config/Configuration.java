@@ -52,6 +52,8 @@ public class Configuration {
     private static final Logger LOGGER = LoggerFactory.getLogger(Configuration.class);
 
     private static final int DEFAULT_SESSION_POOL_SIZE = 50;
+    private static final long DEFAULT_STATEMENT_TIMEOUT = 10_000L;
+    private static final long DEFAULT_REPLICA_LAG_WINDOW = 10_000L;
 
     /**
      * Configuration to change the precedence from the current threads context
@@ -98,6 +100,8 @@ public class Configuration {
 
     private String uri;
     private String[] uris;
+    private String[] readUris;
+    private long replicaLagWindow;
     private int connectionPoolSize;
     private String encryptionLevel;
     private String trustStrategy;
@@ -112,6 +116,9 @@ public class Configuration {
     private String driverName;
     private Credentials credentials;
     private Integer connectionLivenessCheckTimeout;
+    private long statementTimeout;
+    private Integer mappingContextMaxEntities;
+    private Integer loadByIdsChunkSize;
     private Boolean verifyConnection;
     private Boolean useNativeTypes;
     private Map<String, Object> customProperties;
@@ -138,11 +145,17 @@ public class Configuration {
     Configuration(Builder builder) {
         this.uri = builder.uri;
         this.uris = builder.uris;
+        this.readUris = builder.readUris;
+        this.replicaLagWindow =
+            builder.replicaLagWindow != null ? builder.replicaLagWindow : DEFAULT_REPLICA_LAG_WINDOW;
         this.connectionPoolSize = builder.connectionPoolSize != null ? builder.connectionPoolSize : DEFAULT_SESSION_POOL_SIZE;
         this.encryptionLevel = builder.encryptionLevel;
         this.trustStrategy = builder.trustStrategy;
         this.trustCertFile = builder.trustCertFile;
         this.connectionLivenessCheckTimeout = builder.connectionLivenessCheckTimeout;
+        this.statementTimeout = builder.statementTimeout != null ? builder.statementTimeout : DEFAULT_STATEMENT_TIMEOUT;
+        this.mappingContextMaxEntities = builder.mappingContextMaxEntities;
+        this.loadByIdsChunkSize = builder.loadByIdsChunkSize;
         this.verifyConnection = builder.verifyConnection != null ? builder.verifyConnection : false;
         this.autoIndex = builder.autoIndex != null ? AutoIndexMode.fromString(builder.autoIndex) : AutoIndexMode.NONE;
         this.generatedIndexesOutputDir =
@@ -220,6 +233,21 @@ public class Configuration {
         return uris;
     }
 
+    /**
+     * @return The endpoints of read replicas, {@literal null} if read only work is sent to the {@link #getURIS() uris}
+     */
+    public String[] getReadURIS() {
+        return readUris;
+    }
+
+    /**
+     * @return The time in milliseconds after a commit during which read only transactions of the same session are kept
+     * off the {@link #getReadURIS() read replicas}, defaults to 10 seconds
+     */
+    public long getReplicaLagWindow() {
+        return replicaLagWindow;
+    }
+
     public String getDriverClassName() {
         return driverName;
     }
@@ -244,6 +272,29 @@ public class Configuration {
         return connectionLivenessCheckTimeout;
     }
 
+    /**
+     * @return The default timeout of a single statement in milliseconds. It applies when a statement is not run
+     * within a {@link com.antgroup.tugraph.ogm.request.Deadline}.
+     */
+    public long getStatementTimeout() {
+        return statementTimeout;
+    }
+
+    /**
+     * @return The maximum number of entities a session keeps in its mapping context before evicting unchanged ones,
+     * {@literal null} if the mapping context of a session is unbounded.
+     */
+    public Integer getMappingContextMaxEntities() {
+        return mappingContextMaxEntities;
+    }
+
+    /**
+     * @return The number of ids loaded per query when loading entities by id, {@literal null} for the default.
+     */
+    public Integer getLoadByIdsChunkSize() {
+        return loadByIdsChunkSize;
+    }
+
     public Boolean getVerifyConnection() {
         return verifyConnection;
     }
@@ -325,6 +376,8 @@ public class Configuration {
         return connectionPoolSize == that.connectionPoolSize &&
             Objects.equals(uri, that.uri) &&
             Arrays.equals(uris, that.uris) &&
+            Arrays.equals(readUris, that.readUris) &&
+            replicaLagWindow == that.replicaLagWindow &&
             Objects.equals(encryptionLevel, that.encryptionLevel) &&
             Objects.equals(trustStrategy, that.trustStrategy) &&
             Objects.equals(trustCertFile, that.trustCertFile) &&
@@ -335,6 +388,9 @@ public class Configuration {
             Objects.equals(driverName, that.driverName) &&
             Objects.equals(credentials, that.credentials) &&
             Objects.equals(connectionLivenessCheckTimeout, that.connectionLivenessCheckTimeout) &&
+            statementTimeout == that.statementTimeout &&
+            Objects.equals(mappingContextMaxEntities, that.mappingContextMaxEntities) &&
+            Objects.equals(loadByIdsChunkSize, that.loadByIdsChunkSize) &&
             Objects.equals(verifyConnection, that.verifyConnection) &&
             Objects.equals(useNativeTypes, that.useNativeTypes) &&
             Arrays.equals(basePackages, that.basePackages) &&
@@ -345,8 +401,10 @@ public class Configuration {
     public int hashCode() {
         int result = Objects.hash(uri, connectionPoolSize, encryptionLevel, trustStrategy, trustCertFile, autoIndex,
             generatedIndexesOutputDir, generatedIndexesOutputFilename, neo4jConfLocation, driverName, credentials,
-            connectionLivenessCheckTimeout, verifyConnection, useNativeTypes);
+            connectionLivenessCheckTimeout, statementTimeout, mappingContextMaxEntities, loadByIdsChunkSize,
+            verifyConnection, useNativeTypes, replicaLagWindow);
         result = 31 * result + Arrays.hashCode(uris);
+        result = 31 * result + Arrays.hashCode(readUris);
         result = 31 * result + Arrays.hashCode(basePackages);
         return result;
     }
@@ -360,6 +418,8 @@ public class Configuration {
         // Those are the keys inside ogm.properties, not configuration values.
         private static final String URI = "URI";
         private static final String URIS = "URIS";
+        private static final String READ_URIS = "read.uris";
+        private static final String REPLICA_LAG_WINDOW = "read.replica.lag.window";
         private static final String USERNAME = "username";
         private static final String PASSWORD = "password";
         private static final String CONNECTION_POOL_SIZE = "connection.pool.size";
@@ -367,6 +427,9 @@ public class Configuration {
         private static final String TRUST_STRATEGY = "trust.strategy";
         private static final String TRUST_CERT_FILE = "trust.certificate.file";
         private static final String CONNECTION_LIVENESS_CHECK_TIMEOUT = "connection.liveness.check.timeout";
+        private static final String STATEMENT_TIMEOUT = "statement.timeout";
+        private static final String MAPPING_CONTEXT_MAX_ENTITIES = "mapping.context.max.entities";
+        private static final String LOAD_BY_IDS_CHUNK_SIZE = "load.ids.chunk.size";
         private static final String VERIFY_CONNECTION = "verify.connection";
         private static final String AUTO_INDEX = "indexes.auto";
         private static final String GENERATED_INDEXES_OUTPUT_DIR = "indexes.auto.dump.dir";
@@ -378,11 +441,16 @@ public class Configuration {
         private static final String DATABASE = "database";
         private String uri;
         private String[] uris;
+        private String[] readUris;
+        private Long replicaLagWindow;
         private Integer connectionPoolSize;
         private String encryptionLevel;
         private String trustStrategy;
         private String trustCertFile;
         private Integer connectionLivenessCheckTimeout;
+        private Long statementTimeout;
+        private Integer mappingContextMaxEntities;
+        private Integer loadByIdsChunkSize;
         private Boolean verifyConnection;
         private String autoIndex;
         private String generatedIndexesOutputDir;
@@ -424,6 +492,12 @@ public class Configuration {
                     case URIS:
                         this.uris = splitValue(entry.getValue());
                         break;
+                    case READ_URIS:
+                        this.readUris = splitValue(entry.getValue());
+                        break;
+                    case REPLICA_LAG_WINDOW:
+                        this.replicaLagWindow = Long.valueOf(value);
+                        break;
                     case CONNECTION_POOL_SIZE:
                         this.connectionPoolSize = Integer.parseInt(value);
                         break;
@@ -439,6 +513,15 @@ public class Configuration {
                     case CONNECTION_LIVENESS_CHECK_TIMEOUT:
                         this.connectionLivenessCheckTimeout = Integer.valueOf(value);
                         break;
+                    case STATEMENT_TIMEOUT:
+                        this.statementTimeout = Long.valueOf(value);
+                        break;
+                    case MAPPING_CONTEXT_MAX_ENTITIES:
+                        this.mappingContextMaxEntities = Integer.valueOf(value);
+                        break;
+                    case LOAD_BY_IDS_CHUNK_SIZE:
+                        this.loadByIdsChunkSize = Integer.valueOf(value);
+                        break;
                     case VERIFY_CONNECTION:
                         this.verifyConnection = Boolean.valueOf(value);
                         break;
@@ -479,11 +562,16 @@ public class Configuration {
         public static Builder copy(Builder builder) {
             Builder copiedBuilder = new Builder()
                 .uri(builder.uri)
+                .readUris(builder.readUris)
+                .replicaLagWindow(builder.replicaLagWindow)
                 .connectionPoolSize(builder.connectionPoolSize)
                 .encryptionLevel(builder.encryptionLevel)
                 .trustStrategy(builder.trustStrategy)
                 .trustCertFile(builder.trustCertFile)
                 .connectionLivenessCheckTimeout(builder.connectionLivenessCheckTimeout)
+                .statementTimeout(builder.statementTimeout)
+                .mappingContextMaxEntities(builder.mappingContextMaxEntities)
+                .loadByIdsChunkSize(builder.loadByIdsChunkSize)
                 .verifyConnection(builder.verifyConnection)
                 .autoIndex(builder.autoIndex)
                 .generatedIndexesOutputDir(builder.generatedIndexesOutputDir)
@@ -543,6 +631,34 @@ public class Configuration {
             return this;
         }
 
+        /**
+         * Set the endpoints of read replicas. Read only transactions are sent to them, everything else to
+         * {@link #uri(String) uri} and {@link #uris(String[]) uris}. Read only transactions started with a bookmark are
+         * sent to the latter as well, as replicas may not have caught up with the bookmarked writes yet.
+         *
+         * @param readUris uris of the read replicas
+         * @return the changed builder
+         */
+        public Builder readUris(String[] readUris) {
+            this.readUris = readUris;
+            return this;
+        }
+
+        /**
+         * Set how long read only transactions are kept off the {@link #readUris(String[]) read replicas} after a
+         * session committed a write. This is a heuristic: replicas are assumed to have caught up with a write within
+         * this time, which is not verified. Choose it larger than the replication lag observed under load. Defaults to
+         * 10 seconds.
+         *
+         * @param replicaLagWindow the time in milliseconds, 0 to send read only transactions to the replicas right
+         *                         after a commit
+         * @return the changed builder
+         */
+        public Builder replicaLagWindow(Long replicaLagWindow) {
+            this.replicaLagWindow = replicaLagWindow;
+            return this;
+        }
+
         /**
          * Number of connections to the database.
          * Valid only for http and bolt drivers
@@ -582,6 +698,44 @@ public class Configuration {
             return this;
         }
 
+        /**
+         * Default timeout of a single statement. Sessions and individual calls can use shorter or longer timeouts
+         * through {@link com.antgroup.tugraph.ogm.request.Deadline deadlines}.
+         *
+         * @param statementTimeout timeout in milliseconds, default is 10 seconds
+         * @return the changed builder
+         */
+        public Builder statementTimeout(Long statementTimeout) {
+            this.statementTimeout = statementTimeout;
+            return this;
+        }
+
+        /**
+         * Bounds the mapping context of every session. When a session holds more entities than this after an
+         * operation, the least recently used entities that have not been modified are evicted from it. By default the
+         * mapping context grows until the session is cleared.
+         *
+         * @param mappingContextMaxEntities maximum number of node and relationship entities per session
+         * @return the changed builder
+         */
+        public Builder mappingContextMaxEntities(Integer mappingContextMaxEntities) {
+            this.mappingContextMaxEntities = mappingContextMaxEntities;
+            return this;
+        }
+
+        /**
+         * Loading entities by a large number of ids is split into several queries, each matching at most this many
+         * ids. The queries are sent at the same time and their results are merged in the order of the ids. Loads with
+         * a sort order or pagination always use a single query.
+         *
+         * @param loadByIdsChunkSize maximum number of ids per query
+         * @return the changed builder
+         */
+        public Builder loadByIdsChunkSize(Integer loadByIdsChunkSize) {
+            this.loadByIdsChunkSize = loadByIdsChunkSize;
+            return this;
+        }
+
         /**
          * Whether OGM should verify connection to the database at creation of the Driver
          * Useful for "fail-fast" type of configuration where the database is expected to be running during application
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.request;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.antgroup.tugraph.ogm.exception.StatementTimeoutException;
+
+/**
+ * A point in time until which all statements of a unit of work have to be completed. Deadlines are bound to the current
+ * thread, like transactions are. Drivers use the time remaining on the current deadline as timeout for each statement,
+ * so the statements of a multi-statement operation share one budget instead of getting a fresh timeout each.
+ * <p>
+ * Deadlines nest: a unit of work running within an existing deadline can only shorten, never extend it.
+ */
+public final class Deadline {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long expiresAtNanos;
+
+    private Deadline(long expiresAtNanos) {
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    /**
+     * @param timeoutMillis The timeout in milliseconds, starting now
+     * @return A new deadline, not bound to any thread yet
+     */
+    public static Deadline after(long timeoutMillis) {
+        return new Deadline(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+    }
+
+    /**
+     * @return The deadline bound to the current thread or {@literal null} if there is none.
+     */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs {@code work} with a deadline {@code timeoutMillis} from now bound to the current thread.
+     *
+     * @param timeoutMillis The time budget of the work in milliseconds
+     * @param work          The work to run
+     * @param <T>           The result type of the work
+     * @return The result of the work
+     */
+    public static <T> T within(long timeoutMillis, Supplier<T> work) {
+        return within(after(timeoutMillis), work);
+    }
+
+    /**
+     * Runs {@code work} with the given deadline bound to the current thread. When the current thread already has an
+     * earlier deadline, that one stays in effect. The previous deadline is restored afterwards.
+     *
+     * @param deadline The deadline, may be {@literal null}, in which case the current deadline stays in effect
+     * @param work     The work to run
+     * @param <T>      The result type of the work
+     * @return The result of the work
+     */
+    public static <T> T within(Deadline deadline, Supplier<T> work) {
+        Deadline previous = CURRENT.get();
+        Deadline effective = earliest(previous, deadline);
+        if (effective == previous) {
+            return work.get();
+        }
+        CURRENT.set(effective);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * @return The remaining time in milliseconds, never negative
+     */
+    public long remainingMillis() {
+        return Math.max(0L, TimeUnit.NANOSECONDS.toMillis(expiresAtNanos - System.nanoTime()));
+    }
+
+    /**
+     * @return True if there is no time left
+     */
+    public boolean hasExpired() {
+        return expiresAtNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * @param description A description of the work that is about to be started, used in the exception message
+     * @return The remaining time in milliseconds
+     * @throws StatementTimeoutException if this deadline has already expired
+     */
+    public long checkRemainingMillis(String description) {
+        long remaining = remainingMillis();
+        if (remaining == 0L) {
+            throw new StatementTimeoutException("Deadline expired before " + description);
+        }
+        return remaining;
+    }
+
+    private static Deadline earliest(Deadline a, Deadline b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        return a.expiresAtNanos - b.expiresAtNanos <= 0 ? a : b;
+    }
+}
@@ -18,6 +18,9 @@
  */
 package com.antgroup.tugraph.ogm.request;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import com.antgroup.tugraph.ogm.response.Response;
 import com.antgroup.tugraph.ogm.model.GraphModel;
 import com.antgroup.tugraph.ogm.model.GraphRowListModel;
@@ -39,4 +42,19 @@ public interface Request {
     Response<GraphRowListModel> execute(GraphRowListModelRequest query);
 
     Response<RestModel> execute(RestModelRequest query);
+
+    /**
+     * Executes independent graph model requests. Drivers may send them at the same time, the default implementation
+     * executes them one after another.
+     *
+     * @param queries The requests to execute, none of them may depend on the results of another one
+     * @return One response per request, in the order of the requests. The caller must close all of them.
+     */
+    default List<Response<GraphModel>> executeAll(List<GraphModelRequest> queries) {
+        List<Response<GraphModel>> responses = new ArrayList<>(queries.size());
+        for (GraphModelRequest query : queries) {
+            responses.add(execute(query));
+        }
+        return responses;
+    }
 }
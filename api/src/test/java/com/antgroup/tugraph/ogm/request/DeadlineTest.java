@@ -0,0 +1,107 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.request;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import org.junit.Test;
+
+import com.antgroup.tugraph.ogm.exception.StatementTimeoutException;
+
+/**
+ * Binding, nesting and expiry of deadlines.
+ */
+public class DeadlineTest {
+
+    @Test
+    public void aDeadlineShouldOnlyBeBoundWhileTheWorkRuns() {
+        assertThat(Deadline.current()).isNull();
+
+        Deadline deadline = Deadline.within(60_000L, Deadline::current);
+
+        assertThat(deadline).isNotNull();
+        assertThat(deadline.remainingMillis()).isBetween(1L, 60_000L);
+        assertThat(Deadline.current()).isNull();
+    }
+
+    @Test
+    public void nestedWorkShouldNotExtendTheDeadline() {
+        Deadline outer = Deadline.after(1_000L);
+
+        Deadline inner = Deadline.within(outer, () -> Deadline.within(60_000L, Deadline::current));
+
+        assertThat(inner).isSameAs(outer);
+    }
+
+    @Test
+    public void nestedWorkShouldShortenTheDeadline() {
+        Deadline outer = Deadline.after(60_000L);
+        Deadline shorter = Deadline.after(1_000L);
+
+        Deadline inner = Deadline.within(outer, () -> Deadline.within(shorter, Deadline::current));
+        Deadline afterInner = Deadline.within(outer, () -> {
+            Deadline.within(shorter, Deadline::current);
+            return Deadline.current();
+        });
+
+        assertThat(inner).isSameAs(shorter);
+        assertThat(afterInner).isSameAs(outer);
+    }
+
+    @Test
+    public void withoutADeadlineTheCurrentOneShouldStayInEffect() {
+        Deadline outer = Deadline.after(60_000L);
+
+        assertThat(Deadline.within(outer, () -> Deadline.within((Deadline) null, Deadline::current)))
+            .isSameAs(outer);
+        assertThat(Deadline.within((Deadline) null, Deadline::current)).isNull();
+    }
+
+    @Test
+    public void theDeadlineShouldBeRestoredWhenTheWorkFails() {
+        Deadline outer = Deadline.after(60_000L);
+
+        Deadline restored = Deadline.within(outer, () -> {
+            assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> Deadline.within(1_000L, () -> {
+                throw new IllegalStateException("Failed");
+            }));
+            return Deadline.current();
+        });
+
+        assertThat(restored).isSameAs(outer);
+        assertThat(Deadline.current()).isNull();
+    }
+
+    @Test
+    public void anExpiredDeadlineShouldRejectFurtherWork() {
+        Deadline expired = Deadline.after(0L);
+
+        assertThat(expired.hasExpired()).isTrue();
+        assertThat(expired.remainingMillis()).isZero();
+        assertThatExceptionOfType(StatementTimeoutException.class)
+            .isThrownBy(() -> expired.checkRemainingMillis("executing statement"))
+            .withMessage("Deadline expired before executing statement");
+    }
+
+    @Test
+    public void aDeadlineWithTimeLeftShouldReturnTheRemainingTime() {
+        Deadline deadline = Deadline.after(60_000L);
+
+        assertThat(deadline.hasExpired()).isFalse();
+        assertThat(deadline.checkRemainingMillis("executing statement")).isBetween(1L, 60_000L);
+    }
+}
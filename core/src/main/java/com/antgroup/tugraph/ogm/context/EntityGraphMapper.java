@@ -22,10 +22,11 @@ import static com.antgroup.tugraph.ogm.session.request.strategy.impl.NodeQuerySt
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Iterator;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import java.util.function.Predicate;
@@ -76,6 +77,15 @@ public class EntityGraphMapper implements EntityMapper {
      * overwrite relationships again.
      */
     private final AtomicInteger currentDepth = new AtomicInteger(0);
+    /**
+     * Whether the relationships of the mapping context have been registered in the compile context, which happens once
+     * per mapper.
+     */
+    private boolean knownRelationshipsRegistered;
+    /**
+     * Modified fields of entities that have been dirty checked up front, see {@link #checkDirty(Collection)}.
+     */
+    private Map<Object, Optional<Set<FieldInfo>>> changedFieldsOfCheckedEntities = Collections.emptyMap();
 
     /**
      * Default supplier for write protection: Always write all the stuff.
@@ -101,6 +111,17 @@ public class EntityGraphMapper implements EntityMapper {
         this.optionalWriteProtectionSupplier = Optional.ofNullable(writeProtectionSupplier);
     }
 
+    /**
+     * Dirty checks all given entities at once, which happens in parallel for large batches. Mapping any of them
+     * afterwards uses the outcome of this check instead of checking the entity again, so the entities must not be
+     * modified in between.
+     *
+     * @param entities The entities that are going to be mapped
+     */
+    public void checkDirty(Collection<?> entities) {
+        this.changedFieldsOfCheckedEntities = mappingContext.getChangedFields(entities);
+    }
+
     @Override
     public CompileContext map(Object entity) {
         return map(entity, -1);
@@ -116,14 +137,18 @@ public class EntityGraphMapper implements EntityMapper {
         }
 
         // add all the relationships we know about. This includes the relationships that
-        // won't be modified by the mapping request.
-        for (MappedRelationship mappedRelationship : mappingContext.getRelationships()) {
-            LOGGER.debug("context-init: ({})-[:{}]->({})", mappedRelationship.getStartNodeId(),
-                mappedRelationship.getRelationshipType(), mappedRelationship.getEndNodeId());
-            compiler.context().registerRelationship(mappedRelationship);
-        }
+        // won't be modified by the mapping request. They stay registered for the following entities mapped by this
+        // mapper, except for the ones that deleteObsoleteRelationships removes from the mapping context.
+        if (!knownRelationshipsRegistered) {
+            for (MappedRelationship mappedRelationship : mappingContext.getRelationships()) {
+                LOGGER.debug("context-init: ({})-[:{}]->({})", mappedRelationship.getStartNodeId(),
+                    mappedRelationship.getRelationshipType(), mappedRelationship.getEndNodeId());
+                compiler.context().registerRelationship(mappedRelationship);
+            }
+            knownRelationshipsRegistered = true;
 
-        LOGGER.debug("context initialised with {} relationships", mappingContext.getRelationships().size());
+            LOGGER.debug("context initialised with {} relationships", mappingContext.getRelationships().size());
+        }
 
         // if the object is a RelationshipEntity, persist it by persisting both the start node and the end node
         // and then ensure the relationship between the two is created or updated as necessary
@@ -153,7 +178,7 @@ public class EntityGraphMapper implements EntityMapper {
                 DirectedRelationship directedRelationship = new DirectedRelationship(relationshipType,
                     Direction.OUTGOING);
 
-                RelationshipBuilder relationshipBuilder = getRelationshipBuilder(compiler, entity, directedRelationship, mappingContext.isDirty(entity));
+                RelationshipBuilder relationshipBuilder = getRelationshipBuilder(compiler, entity, directedRelationship, isDirty(entity));
 
                 // 2. create or update the actual relationship (edge) in the graph
                 updateRelationshipEntity(compiler.context(), entity, relationshipBuilder, reInfo);
@@ -188,15 +213,18 @@ public class EntityGraphMapper implements EntityMapper {
     private void deleteObsoleteRelationships() {
         CompileContext context = compiler.context();
 
-        Map<Long, Object> snapshotOfKnownRelationshipEntities
-            = mappingContext.getSnapshotOfRelationshipEntityRegister();
-        Iterator<MappedRelationship> mappedRelationshipIterator = mappingContext.getRelationships().iterator();
-        while (mappedRelationshipIterator.hasNext()) {
-            MappedRelationship mappedRelationship = mappedRelationshipIterator.next();
+        Map<Long, Object> snapshotOfKnownRelationshipEntities = null;
+        // Only relationships removed from the compile context while mapping can be missing from it now
+        for (Mappable removed : context.pollRemovedRelationships()) {
+            if (!(removed instanceof MappedRelationship) || !mappingContext.containsRelationship(
+                (MappedRelationship) removed)) {
+                continue;
+            }
+            MappedRelationship mappedRelationship = (MappedRelationship) removed;
 
-            // if we cannot remove this relationship from the compile context, it
+            // if the relationship hasn't been registered again, it
             // means the user has deleted the relationship
-            if (!context.removeRegisteredRelationship(mappedRelationship)) {
+            if (!context.isRegisteredRelationship(mappedRelationship)) {
 
                 LOGGER.debug("context-del: {}", mappedRelationship);
 
@@ -207,6 +235,9 @@ public class EntityGraphMapper implements EntityMapper {
                     mappedRelationship.getEndNodeId(),
                     mappedRelationship.getRelationshipId());
 
+                if (snapshotOfKnownRelationshipEntities == null) {
+                    snapshotOfKnownRelationshipEntities = mappingContext.getSnapshotOfRelationshipEntityRegister();
+                }
                 Object entity = snapshotOfKnownRelationshipEntities.get(mappedRelationship.getRelationshipId());
                 if (entity != null) {
                     ClassInfo classInfo = metaData.classInfo(entity);
@@ -222,30 +253,27 @@ public class EntityGraphMapper implements EntityMapper {
                 clearRelatedObjects(mappedRelationship.getEndNodeId());
 
                 // finally remove the relationship from the mapping context
-                //mappingContext.removeRelationship(mappedRelationship);
-                mappedRelationshipIterator.remove();
+                mappingContext.getRelationships().remove(mappedRelationship);
             }
         }
     }
 
     private void clearRelatedObjects(Long node) {
 
-        for (MappedRelationship mappedRelationship : mappingContext.getRelationships()) {
-            if (mappedRelationship.getStartNodeId() == node || mappedRelationship.getEndNodeId() == node) {
+        for (MappedRelationship mappedRelationship : mappingContext.getRelationshipsOf(node)) {
 
-                Object dirty = mappingContext.getNodeEntity(mappedRelationship.getEndNodeId());
-                if (dirty != null) {
-                    LOGGER.debug("flushing end node of: (${})-[:{}]->(${})", mappedRelationship.getStartNodeId(),
-                        mappedRelationship.getRelationshipType(), mappedRelationship.getEndNodeId());
-                    mappingContext.removeNodeEntity(dirty, true);
-                }
+            Object dirty = mappingContext.getNodeEntity(mappedRelationship.getEndNodeId());
+            if (dirty != null) {
+                LOGGER.debug("flushing end node of: (${})-[:{}]->(${})", mappedRelationship.getStartNodeId(),
+                    mappedRelationship.getRelationshipType(), mappedRelationship.getEndNodeId());
+                mappingContext.removeNodeEntity(dirty, true);
+            }
 
-                dirty = mappingContext.getNodeEntity(mappedRelationship.getStartNodeId());
-                if (dirty != null) {
-                    LOGGER.debug("flushing start node of: (${})-[:{}]->(${})", mappedRelationship.getStartNodeId(),
-                        mappedRelationship.getRelationshipType(), mappedRelationship.getEndNodeId());
-                    mappingContext.removeNodeEntity(dirty, true);
-                }
+            dirty = mappingContext.getNodeEntity(mappedRelationship.getStartNodeId());
+            if (dirty != null) {
+                LOGGER.debug("flushing start node of: (${})-[:{}]->(${})", mappedRelationship.getStartNodeId(),
+                    mappedRelationship.getRelationshipType(), mappedRelationship.getEndNodeId());
+                mappingContext.removeNodeEntity(dirty, true);
             }
         }
     }
@@ -302,7 +330,7 @@ public class EntityGraphMapper implements EntityMapper {
      */
     private void updateNode(Object entity, CompileContext context, NodeBuilder nodeBuilder) {
         // fire pre-save event here
-        if (mappingContext.isDirty(entity)) {
+        if (isDirty(entity)) {
             LOGGER.debug("{} has changed", entity);
             context.register(entity);
             ClassInfo classInfo = metaData.classInfo(entity);
@@ -473,7 +501,7 @@ public class EntityGraphMapper implements EntityMapper {
             case INCOMING:
                 LOGGER.debug("context-del: ({})<-[:{}]-()", identity, directedRelationship.type());
                 return compileContext.deregisterIncomingRelationships(identity, directedRelationship.type(), endNodeType,
-                    metaData.isRelationshipEntity(endNodeType.getName()));
+                    metaData.isRelationshipEntity(endNodeType));
 
             case OUTGOING:
                 LOGGER.debug("context-del: ({})-[:{}]->()", identity, directedRelationship.type());
@@ -485,7 +513,7 @@ public class EntityGraphMapper implements EntityMapper {
                 LOGGER.debug("context-del: ({})-[:{}]->()", identity, directedRelationship.type());
                 boolean clearedIncoming = compileContext
                     .deregisterIncomingRelationships(identity, directedRelationship.type(), endNodeType,
-                        metaData.isRelationshipEntity(endNodeType.getName()));
+                        metaData.isRelationshipEntity(endNodeType));
                 boolean clearedOutgoing = compileContext
                     .deregisterOutgoingRelationships(identity, directedRelationship.type(), endNodeType);
                 return clearedIncoming || clearedOutgoing;
@@ -573,7 +601,7 @@ public class EntityGraphMapper implements EntityMapper {
                     EntityUtils.setIdentity(entity, null, metaData);
                 }
             } else {
-                relationshipBuilder = cypherBuilder.existingRelationship(relId, directedRelationship.direction(), directedRelationship.type(), mappingContext.isDirty(entity));
+                relationshipBuilder = cypherBuilder.existingRelationship(relId, directedRelationship.direction(), directedRelationship.type(), isDirty(entity));
 
                 this.mappingContext.getSnapshotOf(entity).ifPresent(snapshot ->
                     relationshipBuilder
@@ -616,19 +644,16 @@ public class EntityGraphMapper implements EntityMapper {
         Long tgtIdentity = mappingContext.nativeId(targetEntity);
         Long srcIdentity = mappingContext.nativeId(startEntity);
 
-        boolean relationshipEndsChanged = false;
-
-        for (MappedRelationship mappedRelationship : mappingContext.getRelationships()) {
-            if (mappedRelationship.getRelationshipId() != null && relId != null && mappedRelationship
-                .getRelationshipId().equals(relId)) {
-                if (srcIdentity == null || tgtIdentity == null || mappedRelationship.getStartNodeId() != srcIdentity
-                    || mappedRelationship.getEndNodeId() != tgtIdentity) {
-                    relationshipEndsChanged = true;
-                    break;
-                }
+        if (relId == null) {
+            return false;
+        }
+        for (MappedRelationship mappedRelationship : mappingContext.getRelationshipsWithId(relId)) {
+            if (srcIdentity == null || tgtIdentity == null || mappedRelationship.getStartNodeId() != srcIdentity
+                || mappedRelationship.getEndNodeId() != tgtIdentity) {
+                return true;
             }
         }
-        return relationshipEndsChanged;
+        return false;
     }
 
     /**
@@ -669,7 +694,7 @@ public class EntityGraphMapper implements EntityMapper {
         }
 
         // TODO : move this to a common function
-        if (mappingContext.isDirty(relationshipEntity)) {
+        if (isDirty(relationshipEntity)) {
             context.register(relationshipEntity);
             if (tgtIdentity >= 0 && srcIdentity >= 0) {
                 MappedRelationship mappedRelationship = createMappedRelationship(relationshipBuilder, relNodes);
@@ -731,6 +756,9 @@ public class EntityGraphMapper implements EntityMapper {
     }
 
     private <T> void updateFieldsOnBuilder(Object entity, PropertyContainerBuilder<T> builder, ClassInfo classInfo) {
+        // Known entities only write the properties that changed since they have been loaded or saved. Composite
+        // properties are always written, as the properties to be removed are derived from them.
+        Set<FieldInfo> changedFields = changedFields(entity).orElse(null);
         for (FieldInfo fieldInfo : classInfo.propertyFields()) {
             if (fieldInfo.isReadOnly()) {
                 continue;
@@ -741,7 +769,7 @@ public class EntityGraphMapper implements EntityMapper {
                 builder.addCompositeProperties(properties);
             } else if (fieldInfo.isVersionField()) {
                 updateVersionField(entity, builder, fieldInfo);
-            } else {
+            } else if (changedFields == null || changedFields.contains(fieldInfo)) {
                 builder.addProperty(fieldInfo.propertyName(), fieldInfo.readProperty(entity));
             }
         }
@@ -753,13 +781,26 @@ public class EntityGraphMapper implements EntityMapper {
 
         if (version == null) {
             version = 0L;
-        } else if (mappingContext.isDirty(entity)) {
+        } else if (isDirty(entity)) {
             version = version + 1;
         }
         fieldInfo.writeDirect(entity, version);
         builder.addProperty(fieldInfo.propertyName(), version);
     }
 
+    private boolean isDirty(Object entity) {
+        Optional<Set<FieldInfo>> changedFields = changedFieldsOfCheckedEntities.get(entity);
+        if (changedFields == null) {
+            return mappingContext.isDirty(entity);
+        }
+        return changedFields.map(fields -> !fields.isEmpty()).orElse(true);
+    }
+
+    private Optional<Set<FieldInfo>> changedFields(Object entity) {
+        Optional<Set<FieldInfo>> changedFields = changedFieldsOfCheckedEntities.get(entity);
+        return changedFields == null ? mappingContext.getChangedFields(entity) : changedFields;
+    }
+
     private Object getStartEntity(ClassInfo relEntityClassInfo, Object relationshipEntity) {
         FieldInfo actualStartNodeReader = relEntityClassInfo.getStartNodeReader();
         if (actualStartNodeReader != null) {
@@ -932,9 +973,9 @@ public class EntityGraphMapper implements EntityMapper {
         if (relationshipBuilder.hasDirection(Direction.INCOMING)) {
             //Still create a mapped relationship from src->tgt but we need to reconcile the types too
             //If its a rel entity then we want to rebase the startClass to the @StartNode of the rel entity and the endClass to the rel entity
-            if (metaData.isRelationshipEntity(tgtClass.getName())) {
+            if (metaData.isRelationshipEntity(tgtClass)) {
                 srcClass = tgtClass;
-                String start = metaData.classInfo(tgtClass.getName()).getStartNodeReader().getTypeDescriptor();
+                String start = metaData.classInfo(tgtClass).getStartNodeReader().getTypeDescriptor();
                 tgtClass = DescriptorMappings.getType(start);
             }
             reallyCreateRelationship(context, tgt, relationshipBuilder, src, tgtClass, srcClass);
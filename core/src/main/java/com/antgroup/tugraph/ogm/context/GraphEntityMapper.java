@@ -26,6 +26,8 @@ import java.util.*;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.antgroup.tugraph.ogm.response.Response;
 import com.antgroup.tugraph.ogm.session.EntityInstantiator;
@@ -138,6 +140,91 @@ public class GraphEntityMapper {
         return results;
     }
 
+    /**
+     * Lazy variant of {@link #map(Class, Response, BiFunction)}: the response is consumed one graph model at a time,
+     * while the returned stream is being consumed. The entities of a graph model are emitted as soon as it has been
+     * mapped. {@code @PostLoad} methods are called once per entity, when the row creating it has been mapped.
+     * <p>
+     * Entities are not deduplicated across rows, so that the memory used does not grow with the size of the response.
+     * Use {@code DISTINCT} in the query if an entity may be part of several rows. Closing the stream closes the response.
+     *
+     * @param type                 the type of the entities to return
+     * @param graphModelResponse   The response of graph models to work on
+     * @param additionalNodeFilter An optional filter to exclude entities based on some nodes from the result
+     * @param <T>                  The type of the class of the entities to return
+     * @return A stream of entities represented by the graph models.
+     */
+    <T> Stream<T> stream(Class<T> type, Response<GraphModel> graphModelResponse,
+        BiFunction<GraphModel, Long, Boolean> additionalNodeFilter) {
+
+        Spliterator<T> rows = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE, Spliterator.ORDERED) {
+
+            private final Deque<T> pending = new ArrayDeque<>();
+
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                while (pending.isEmpty()) {
+                    GraphModel graphModel = graphModelResponse.next();
+                    if (graphModel == null) {
+                        return false;
+                    }
+                    mapRow(type, graphModel, additionalNodeFilter, pending::add);
+                }
+                action.accept(pending.poll());
+                return true;
+            }
+        };
+        return StreamSupport.stream(rows, false).onClose(graphModelResponse::close);
+    }
+
+    private <T> void mapRow(Class<T> type, GraphModel graphModel,
+        BiFunction<GraphModel, Long, Boolean> additionalNodeFilter, Consumer<T> sink) {
+
+        // Entities from previous rows are not referenced anymore and may be evicted
+        mappingContext.evictIfNecessary();
+
+        Set<Long> newNodeIds = new HashSet<>();
+        graphModel.getNodes().stream().map(Node::getId)
+            .filter(id -> mappingContext.getNodeEntity(id) == null)
+            .forEach(newNodeIds::add);
+        Set<Long> newRelationshipIds = new HashSet<>();
+        graphModel.getRelationships().stream().map(Edge::getId)
+            .filter(id -> mappingContext.getRelationshipEntity(id) == null)
+            .forEach(newRelationshipIds::add);
+
+        Set<Long> mappedNodeIds = new LinkedHashSet<>();
+        Set<Long> returnedNodeIds = new LinkedHashSet<>();
+        Set<Long> mappedRelationshipIds = new LinkedHashSet<>();
+        Set<Long> returnedRelationshipIds = new LinkedHashSet<>();
+        mapContentOf(graphModel, additionalNodeFilter, returnedNodeIds, mappedRelationshipIds,
+            returnedRelationshipIds, mappedNodeIds);
+
+        newNodeIds.retainAll(mappedNodeIds);
+        newRelationshipIds.retainAll(mappedRelationshipIds);
+        executePostLoad(newNodeIds, newRelationshipIds);
+
+        Predicate<Object> entityPresentAndCompatible = entity -> entity != null && type
+            .isAssignableFrom(entity.getClass());
+        boolean nodeEntityFound = false;
+        for (Long id : returnedNodeIds) {
+            Object entity = mappingContext.getNodeEntity(id);
+            if (entityPresentAndCompatible.test(entity)) {
+                sink.accept(type.cast(entity));
+                nodeEntityFound = true;
+            }
+        }
+
+        // only look for REs if no node entities were found
+        if (!nodeEntityFound) {
+            for (Long id : returnedRelationshipIds) {
+                Object entity = mappingContext.getRelationshipEntity(id);
+                if (entityPresentAndCompatible.test(entity)) {
+                    sink.accept(type.cast(entity));
+                }
+            }
+        }
+    }
+
     private void mapContentOf(
         GraphModel graphModel,
         BiFunction<GraphModel, Long, Boolean> additionalNodeFilter,
@@ -646,7 +733,7 @@ public class GraphEntityMapper {
      */
     private boolean declaresRelationshipTo(Class to, Class by, String relationshipName, Direction relationshipDirection) {
         return EntityAccessManager
-            .getRelationalWriter(metadata.classInfo(by.getName()), relationshipName, relationshipDirection, to) != null;
+            .getRelationalWriter(metadata.classInfo(by), relationshipName, relationshipDirection, to) != null;
     }
 
     /**
@@ -19,10 +19,13 @@
 package com.antgroup.tugraph.ogm.context;
 
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import com.antgroup.tugraph.ogm.response.Response;
 import com.antgroup.tugraph.ogm.session.EntityInstantiator;
@@ -49,8 +52,48 @@ public class GraphRowListModelMapper implements ResponseMapper<GraphRowListModel
 
     public <T> Iterable<T> map(Class<T> type, Response<GraphRowListModel> response) {
         Set<Long> idsOfResultEntities = new LinkedHashSet<>();
+        Response<GraphModel> graphResponse = graphModels(response, idsOfResultEntities::addAll);
 
-        Response<GraphModel> graphResponse = new Response<GraphModel>() {
+        // although it looks like that the `idsOfResultEntities` will stay empty, they won't, trust us.
+        BiFunction<GraphModel, Long, Boolean> includeModelObject =
+            (graphModel, nativeId) -> idsOfResultEntities.contains(nativeId);
+
+        return delegate.map(type, graphResponse, includeModelObject);
+    }
+
+    /**
+     * Maps the response lazily, one row at a time, see {@link GraphEntityMapper#stream}. Only the entities whose ids
+     * are part of the current row are included in the result.
+     *
+     * @param type     The type of the entities to return
+     * @param response The response to map, closed when the returned stream is closed
+     * @param <T>      type of the result
+     * @return A stream of the mapped entities
+     */
+    public <T> Stream<T> stream(Class<T> type, Response<GraphRowListModel> response) {
+        Set<Long> idsOfCurrentRow = new HashSet<>();
+        Response<GraphModel> graphResponse = graphModels(response, ids -> {
+            idsOfCurrentRow.clear();
+            idsOfCurrentRow.addAll(ids);
+        });
+
+        BiFunction<GraphModel, Long, Boolean> includeModelObject =
+            (graphModel, nativeId) -> idsOfCurrentRow.contains(nativeId);
+
+        return delegate.stream(type, graphResponse, includeModelObject);
+    }
+
+    /**
+     * Flattens the rows of all models in {@code response} into their graphs.
+     *
+     * @param response      The response to flatten
+     * @param idsOfEachRow  Receives the ids contained in a row right before its graph is returned
+     * @return A response of the graphs of all rows
+     */
+    private static Response<GraphModel> graphModels(Response<GraphRowListModel> response,
+        Consumer<Set<Long>> idsOfEachRow) {
+
+        return new Response<GraphModel>() {
 
             GraphRowListModel currentIteratedModel;
             int currentIndex = 0;
@@ -79,7 +122,7 @@ public class GraphRowListModelMapper implements ResponseMapper<GraphRowListModel
                     .map(Number::longValue)
                     .collect(toSet());
 
-                idsOfResultEntities.addAll(idsInCurrentRow);
+                idsOfEachRow.accept(idsInCurrentRow);
 
                 return graphRowModel.getGraph();
             }
@@ -94,11 +137,5 @@ public class GraphRowListModelMapper implements ResponseMapper<GraphRowListModel
                 return response.columns();
             }
         };
-
-        // although it looks like that the `idsOfResultEntities` will stay empty, they won't, trust us.
-        BiFunction<GraphModel, Long, Boolean> includeModelObject =
-            (graphModel, nativeId) -> idsOfResultEntities.contains(nativeId);
-
-        return delegate.map(type, graphResponse, includeModelObject);
     }
 }
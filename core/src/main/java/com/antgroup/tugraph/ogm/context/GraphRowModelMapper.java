@@ -20,6 +20,7 @@ package com.antgroup.tugraph.ogm.context;
 
 import java.util.Optional;
 import java.util.function.BiFunction;
+import java.util.stream.Stream;
 
 import com.antgroup.tugraph.ogm.response.Response;
 import com.antgroup.tugraph.ogm.response.model.DefaultGraphModel;
@@ -42,16 +43,28 @@ public class GraphRowModelMapper implements ResponseMapper<GraphModel> {
         this.delegate = new GraphEntityMapper(metaData, mappingContext, entityInstantiator);
     }
 
+    private static final BiFunction<GraphModel, Long, Boolean> IS_NOT_GENERATED_NODE = (graphModel, nativeId) -> {
+        Optional<Node> node = ((DefaultGraphModel) graphModel).findNode(nativeId);
+        if (!node.isPresent()) {
+            return true; // Native id describes a relationship
+        }
+        return node.map(n -> !((NodeModel) n).isGeneratedNode()).get();
+    };
+
     @Override
     public <T> Iterable<T> map(Class<T> type, Response<GraphModel> response) {
+        return delegate.map(type, response, IS_NOT_GENERATED_NODE);
+    }
 
-        BiFunction<GraphModel, Long, Boolean> isNotGeneratedNode = (graphModel, nativeId) -> {
-            Optional<Node> node = ((DefaultGraphModel) graphModel).findNode(nativeId);
-            if (!node.isPresent()) {
-                return true; // Native id describes a relationship
-            }
-            return node.map(n -> !((NodeModel) n).isGeneratedNode()).get();
-        };
-        return delegate.map(type, response, isNotGeneratedNode);
+    /**
+     * Maps the response lazily, one graph model at a time, see {@link GraphEntityMapper#stream}.
+     *
+     * @param type     The type of the entities to return
+     * @param response The response to map, closed when the returned stream is closed
+     * @param <T>      type of the result
+     * @return A stream of the mapped entities
+     */
+    public <T> Stream<T> stream(Class<T> type, Response<GraphModel> response) {
+        return delegate.stream(type, response, IS_NOT_GENERATED_NODE);
     }
 }
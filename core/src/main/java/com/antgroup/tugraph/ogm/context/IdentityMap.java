@@ -18,19 +18,30 @@
  */
 package com.antgroup.tugraph.ogm.context;
 
-import java.lang.reflect.Array;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.antgroup.tugraph.ogm.metadata.ClassInfo;
 import com.antgroup.tugraph.ogm.metadata.FieldInfo;
 import com.antgroup.tugraph.ogm.metadata.MetaData;
 
 /**
- * Maintains entity footprints for dirty checking.
+ * Maintains entity footprints for dirty checking. The footprint of an entity consists of one 64 bit hash per
+ * persistable field, so that the fields that changed can be told apart from the ones that didn't. The hash covers the
+ * content of the value as it is written to the graph: fields with a converter are hashed after conversion, so that a
+ * converted object that is modified in place is still detected, and arrays, collections and maps are hashed element
+ * by element, nested ones included. Strings and primitive values are hashed from their content rather than their
+ * {@code hashCode()}, so that values like "Aa" and "BB" don't collide. The fields to hash are determined once per
+ * class. Checking remembered entities only reads from this map, so it is safe to check many entities concurrently, as
+ * long as nothing is remembered or forgotten at the same time.
  *
  * @author Vince Bickers
  * @author Mark Angrish
@@ -39,41 +50,48 @@ import com.antgroup.tugraph.ogm.metadata.MetaData;
  */
 class IdentityMap {
 
-    // objects with no properties will always hash to this value.
-    private static final long SEED = 0xDEADBEEF / (11 * 257);
+    private static final long NULL_HASH = 0x9E3779B97F4A7C15L;
 
-    private final Map<Long, Long> nodeHashes;
+    private static final long FNV_OFFSET_BASIS = 0xCBF29CE484222325L;
 
-    private final Map<Long, Long> relEntityHashes;
+    private static final long FNV_PRIME = 0x100000001B3L;
 
-    private final Map<Long, EntitySnapshot> snapshotsOfNodeEntities;
+    private final LongObjectMap<long[]> nodeFootprints;
 
-    private final Map<Long, EntitySnapshot> snapshotsOfRelationshipEntities;
+    private final LongObjectMap<long[]> relEntityFootprints;
+
+    private final LongObjectMap<EntitySnapshot> snapshotsOfNodeEntities;
+
+    private final LongObjectMap<EntitySnapshot> snapshotsOfRelationshipEntities;
+
+    private final Map<ClassInfo, FieldInfo[]> footprintPlans;
 
     private final MetaData metaData;
 
     IdentityMap(MetaData metaData) {
-        this.nodeHashes = new HashMap<>();
-        this.relEntityHashes = new HashMap<>();
-        this.snapshotsOfNodeEntities = new HashMap<>();
-        this.snapshotsOfRelationshipEntities = new HashMap<>();
+        this.nodeFootprints = new LongObjectMap<>();
+        this.relEntityFootprints = new LongObjectMap<>();
+        this.snapshotsOfNodeEntities = new LongObjectMap<>();
+        this.snapshotsOfRelationshipEntities = new LongObjectMap<>();
+        this.footprintPlans = new ConcurrentHashMap<>();
         this.metaData = metaData;
     }
 
     /**
-     * constructs a 64-bit hash of this object's node properties
-     * and maps the object to that hash. The object must not be null
+     * constructs a hash of each of this object's persistable fields
+     * and maps the object to those hashes. The object must not be null
      *
      * @param object   the object whose persistable properties we want to hash
      * @param entityId the native id of the entity
      */
     void remember(Object object, Long entityId) {
         ClassInfo classInfo = metaData.classInfo(object);
-        if (metaData.isRelationshipEntity(classInfo.name())) {
-            this.relEntityHashes.put(entityId, hash(object, classInfo));
+        FieldInfo[] footprintPlan = footprintPlan(classInfo);
+        if (classInfo.isRelationshipEntity()) {
+            this.relEntityFootprints.put(entityId, footprint(object, footprintPlan));
             this.snapshotsOfRelationshipEntities.put(entityId, EntitySnapshot.basedOn(metaData).take(object));
         } else {
-            this.nodeHashes.put(entityId, hash(object, classInfo));
+            this.nodeFootprints.put(entityId, footprint(object, footprintPlan));
             this.snapshotsOfNodeEntities.put(entityId, EntitySnapshot.basedOn(metaData).take(object));
         }
     }
@@ -81,8 +99,8 @@ class IdentityMap {
     /**
      * determines whether the specified has already
      * been memorised. The object must not be null. An object
-     * is regarded as memorised if its hash value in the memo hash
-     * is identical to a recalculation of its hash value.
+     * is regarded as memorised if the hash values of its fields in the memo
+     * are identical to a recalculation of those hash values.
      *
      * @param object   the object whose persistable properties we want to check
      * @param entityId the native id of the entity
@@ -96,17 +114,49 @@ class IdentityMap {
         }
 
         ClassInfo classInfo = metaData.classInfo(object);
-        boolean isRelEntity = metaData.isRelationshipEntity(classInfo.name());
-        Map<Long, Long> hashes = isRelEntity ? relEntityHashes : nodeHashes;
+        long[] expected = rememberedFootprint(classInfo, entityId);
 
-        // ... or a little later when the hashes in question doesnt contain the entities id
-        if (!hashes.containsKey(entityId)) {
+        // ... or a little later when the footprints in question dont contain the entities id
+        if (expected == null) {
             return false;
         }
 
-        long actual = hash(object, classInfo);
-        long expected = hashes.get(entityId);
-        return actual == expected;
+        return Arrays.equals(expected, footprint(object, footprintPlan(classInfo)));
+    }
+
+    /**
+     * Determines the persistable fields of an object that changed since it has been memorised. The object must not be
+     * null.
+     *
+     * @param object   the object whose persistable properties we want to check
+     * @param entityId the native id of the entity
+     * @return the fields whose values changed, or an empty optional if the object hasn't been memorised, in which case
+     * all of its fields must be regarded as changed
+     */
+    Optional<Set<FieldInfo>> changedFields(Object object, Long entityId) {
+
+        if (entityId == null) {
+            return Optional.empty();
+        }
+
+        ClassInfo classInfo = metaData.classInfo(object);
+        long[] expected = rememberedFootprint(classInfo, entityId);
+        if (expected == null) {
+            return Optional.empty();
+        }
+        FieldInfo[] footprintPlan = footprintPlan(classInfo);
+        if (expected.length != footprintPlan.length) {
+            return Optional.empty();
+        }
+
+        Set<FieldInfo> changedFields = new HashSet<>();
+        for (int i = 0; i < expected.length; i++) {
+            FieldInfo fieldInfo = footprintPlan[i];
+            if (hash(fieldInfo, object) != expected[i]) {
+                changedFields.add(fieldInfo);
+            }
+        }
+        return Optional.of(changedFields);
     }
 
     /**
@@ -122,7 +172,7 @@ class IdentityMap {
         EntitySnapshot entitySnapshot;
 
         ClassInfo classInfo = metaData.classInfo(entity);
-        if (metaData.isRelationshipEntity(classInfo.name())) {
+        if (classInfo.isRelationshipEntity()) {
             entitySnapshot = this.snapshotsOfRelationshipEntities.get(entityId);
         } else {
             entitySnapshot = this.snapshotsOfNodeEntities.get(entityId);
@@ -131,49 +181,182 @@ class IdentityMap {
         return Optional.ofNullable(entitySnapshot);
     }
 
+    /**
+     * Forgets the footprint and the snapshot of an entity, so that it is regarded as new when it's seen again.
+     *
+     * @param entityId             the native id of the entity
+     * @param isRelationshipEntity whether the id is the id of a relationship entity
+     */
+    void forget(long entityId, boolean isRelationshipEntity) {
+        if (isRelationshipEntity) {
+            this.relEntityFootprints.remove(entityId);
+            this.snapshotsOfRelationshipEntities.remove(entityId);
+        } else {
+            this.nodeFootprints.remove(entityId);
+            this.snapshotsOfNodeEntities.remove(entityId);
+        }
+    }
+
     void clear() {
 
-        this.nodeHashes.clear();
-        this.relEntityHashes.clear();
+        this.nodeFootprints.clear();
+        this.relEntityFootprints.clear();
         this.snapshotsOfNodeEntities.clear();
         this.snapshotsOfRelationshipEntities.clear();
+        this.footprintPlans.clear();
+    }
+
+    private long[] rememberedFootprint(ClassInfo classInfo, long entityId) {
+        boolean isRelEntity = classInfo.isRelationshipEntity();
+        return (isRelEntity ? relEntityFootprints : nodeFootprints).get(entityId);
     }
 
-    private static long hash(Object object, ClassInfo classInfo) {
+    private FieldInfo[] footprintPlan(ClassInfo classInfo) {
+        return footprintPlans.computeIfAbsent(classInfo, IdentityMap::footprintFields);
+    }
+
+    private static FieldInfo[] footprintFields(ClassInfo classInfo) {
 
-        List<FieldInfo> hashFields = new ArrayList<>(classInfo.propertyFields());
+        List<FieldInfo> footprintFields = new ArrayList<>(classInfo.propertyFields());
         if (classInfo.labelFieldOrNull() != null) {
-            hashFields.add(classInfo.labelFieldOrNull());
+            footprintFields.add(classInfo.labelFieldOrNull());
         }
+        return footprintFields.toArray(new FieldInfo[0]);
+    }
+
+    private static long[] footprint(Object object, FieldInfo[] footprintPlan) {
 
-        long hash = SEED;
-        for (FieldInfo fieldInfo : hashFields) {
+        long[] hashes = new long[footprintPlan.length];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = hash(footprintPlan[i], object);
+        }
+        return hashes;
+    }
 
-            Object value = fieldInfo.read(object);
-            if (value != null) {
-                if (value.getClass().isArray()) {
-                    hash = hash * 31L + hashArray(value);
-                } else {
-                    hash = hash * 31L + value.hashCode();
-                }
+    /**
+     * hashes the value of a field as it is going to be written, that is after applying its converter.
+     *
+     * @param fieldInfo the field to hash
+     * @param object    the entity to read the field from
+     * @return the hash of the field's value
+     */
+    private static long hash(FieldInfo fieldInfo, Object object) {
+        Object value = fieldInfo.read(object);
+        if (value == null) {
+            return NULL_HASH;
+        } else if (fieldInfo.hasPropertyConverter()) {
+            return hash(fieldInfo.getPropertyConverter().toGraphProperty(value));
+        } else if (fieldInfo.hasCompositeConverter()) {
+            return hash(fieldInfo.getCompositeConverter().toGraphProperties(value));
+        }
+        return hash(value);
+    }
+
+    private static long hash(Object value) {
+        if (value == null) {
+            return NULL_HASH;
+        } else if (value instanceof CharSequence) {
+            CharSequence chars = (CharSequence) value;
+            long hash = FNV_OFFSET_BASIS;
+            for (int i = 0; i < chars.length(); i++) {
+                hash = (hash ^ chars.charAt(i)) * FNV_PRIME;
+            }
+            return mix(hash);
+        } else if (value instanceof Double || value instanceof Float) {
+            return mix(Double.doubleToLongBits(((Number) value).doubleValue()));
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short
+            || value instanceof Byte) {
+            return mix(((Number) value).longValue());
+        } else if (value instanceof Boolean) {
+            return mix((Boolean) value ? 1L : 2L);
+        } else if (value instanceof Character) {
+            return mix((Character) value);
+        } else if (value instanceof Enum) {
+            return hash(((Enum<?>) value).name());
+        } else if (value instanceof Date) {
+            return mix(((Date) value).getTime());
+        } else if (value.getClass().isArray()) {
+            return hashArray(value);
+        } else if (value instanceof Set) {
+            // Sets are hashed regardless of the order of their elements
+            long hash = 0L;
+            for (Object element : (Set<?>) value) {
+                hash += mix(hash(element));
+            }
+            return mix(hash);
+        } else if (value instanceof Collection) {
+            long hash = FNV_OFFSET_BASIS;
+            for (Object element : (Collection<?>) value) {
+                hash = combine(hash, hash(element));
+            }
+            return mix(hash);
+        } else if (value instanceof Map) {
+            long hash = 0L;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                hash += mix(combine(hash(entry.getKey()), hash(entry.getValue())));
             }
+            return mix(hash);
         }
-        return hash;
+        return mix(value.hashCode());
     }
 
     /**
-     * hashes an array of objects or primitives
+     * hashes an array of objects or primitives. Primitive arrays are hashed without boxing their elements.
      *
      * @param array array of unknown type
      * @return the hash of the array
      */
     private static long hashArray(Object array) {
-        long result = 1;
-        int len = Array.getLength(array);
-        for (int i = 0; i < len; i++) {
-            Object element = Array.get(array, i);
-            result = 31L * result + (element == null ? 0 : element.hashCode());
+        long hash = FNV_OFFSET_BASIS;
+        if (array instanceof Object[]) {
+            for (Object element : (Object[]) array) {
+                hash = combine(hash, hash(element));
+            }
+        } else if (array instanceof long[]) {
+            for (long element : (long[]) array) {
+                hash = combine(hash, element);
+            }
+        } else if (array instanceof int[]) {
+            for (int element : (int[]) array) {
+                hash = combine(hash, element);
+            }
+        } else if (array instanceof double[]) {
+            for (double element : (double[]) array) {
+                hash = combine(hash, Double.doubleToLongBits(element));
+            }
+        } else if (array instanceof float[]) {
+            for (float element : (float[]) array) {
+                hash = combine(hash, Double.doubleToLongBits(element));
+            }
+        } else if (array instanceof byte[]) {
+            for (byte element : (byte[]) array) {
+                hash = combine(hash, element);
+            }
+        } else if (array instanceof short[]) {
+            for (short element : (short[]) array) {
+                hash = combine(hash, element);
+            }
+        } else if (array instanceof char[]) {
+            for (char element : (char[]) array) {
+                hash = combine(hash, element);
+            }
+        } else {
+            for (boolean element : (boolean[]) array) {
+                hash = combine(hash, element ? 1L : 2L);
+            }
         }
-        return result;
+        return mix(hash);
+    }
+
+    private static long combine(long hash, long value) {
+        return (hash ^ mix(value)) * FNV_PRIME;
+    }
+
+    // The finalizer of SplitMix64, which spreads every bit of the input over the whole hash
+    private static long mix(long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
     }
 }
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.context;
+
+/**
+ * Hash function shared by the primitive long keyed maps.
+ */
+final class LongHashing {
+
+    private static final long PHI = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Spreads the bits of {@code key}, so that sequential ids and the negative references of new entities don't
+     * cluster in a linear probing table.
+     *
+     * @param key The key
+     * @return A well distributed hash of the key
+     */
+    static int mix(long key) {
+        long hash = key * PHI;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    private LongHashing() {
+    }
+}
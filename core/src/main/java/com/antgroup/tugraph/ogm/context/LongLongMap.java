@@ -0,0 +1,141 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.context;
+
+import java.util.Arrays;
+
+/**
+ * An open addressing hash map from primitive {@code long} keys to primitive {@code long} values, see
+ * {@link LongObjectMap}. Slots are marked as used in a separate bit set, as any key and value is valid.
+ */
+final class LongLongMap {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private long[] values;
+    private long[] used;
+    private int size;
+
+    LongLongMap() {
+        allocate(MIN_CAPACITY);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean containsKey(long key) {
+        return isUsed(indexOf(key));
+    }
+
+    /**
+     * @param key          The key
+     * @param defaultValue Value to return when there is no mapping for {@code key}
+     * @return The value mapped to {@code key} or {@code defaultValue}
+     */
+    long getOrDefault(long key, long defaultValue) {
+        int index = indexOf(key);
+        return isUsed(index) ? values[index] : defaultValue;
+    }
+
+    void put(long key, long value) {
+        int index = indexOf(key);
+        if (!isUsed(index)) {
+            keys[index] = key;
+            used[index >>> 6] |= 1L << index;
+            values[index] = value;
+            if (++size > threshold()) {
+                rehash(keys.length * 2);
+            }
+        } else {
+            values[index] = value;
+        }
+    }
+
+    boolean remove(long key) {
+        int index = indexOf(key);
+        if (!isUsed(index)) {
+            return false;
+        }
+        int mask = keys.length - 1;
+        int gap = index;
+        int next = (gap + 1) & mask;
+        while (isUsed(next)) {
+            int home = LongHashing.mix(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        used[gap >>> 6] &= ~(1L << gap);
+        size--;
+        return true;
+    }
+
+    void clear() {
+        if (keys.length > MIN_CAPACITY) {
+            allocate(MIN_CAPACITY);
+        } else {
+            Arrays.fill(used, 0L);
+        }
+        size = 0;
+    }
+
+    private boolean isUsed(int index) {
+        return (used[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private int indexOf(long key) {
+        int mask = keys.length - 1;
+        int index = LongHashing.mix(key) & mask;
+        while (isUsed(index) && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private int threshold() {
+        return keys.length / 4 * 3;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        used = new long[(capacity + 63) >>> 6];
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        long[] oldUsed = used;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if ((oldUsed[i >>> 6] & (1L << i)) != 0) {
+                int index = LongHashing.mix(oldKeys[i]) & mask;
+                while (isUsed(index)) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+                used[index >>> 6] |= 1L << index;
+            }
+        }
+    }
+}
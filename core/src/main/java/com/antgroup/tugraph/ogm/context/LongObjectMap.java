@@ -0,0 +1,256 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.context;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A hash map from primitive {@code long} keys to non-null values. Compared to a {@code HashMap<Long, V>} this saves the
+ * boxed key and the entry object per mapping, which adds up for the registers of a session holding millions of
+ * entities.
+ * <p>
+ * Mappings are iterated in insertion order, like a {@code LinkedHashMap}: keys and values are stored densely in the
+ * order they have been put, an open addressing table of {@code int} positions into them is used for lookups. Replacing
+ * the value of a key keeps its position. Removed mappings leave a gap that is closed when the entries are moved the
+ * next time.
+ *
+ * @param <V> Type of the values
+ */
+final class LongObjectMap<V> {
+
+    private static final int MIN_CAPACITY = 16;
+
+    /**
+     * Keys and values in insertion order, {@code values[i]} is {@literal null} if the mapping has been removed.
+     */
+    private long[] keys;
+    private Object[] values;
+    /**
+     * Open addressing table of positions in {@link #keys} plus one, {@code 0} marks a free slot. It has twice as many
+     * slots as there are positions.
+     */
+    private int[] table;
+    /**
+     * The number of positions used so far, including removed ones.
+     */
+    private int used;
+    private int size;
+
+    LongObjectMap() {
+        allocate(MIN_CAPACITY);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    boolean containsKey(long key) {
+        return table[slotOf(key)] != 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        int position = table[slotOf(key)];
+        return position == 0 ? null : (V) values[position - 1];
+    }
+
+    /**
+     * @param key   The key
+     * @param value The value, must not be null
+     * @return The previous value or null if there was none
+     */
+    V put(long key, V value) {
+        return put(key, value, false);
+    }
+
+    /**
+     * @param key   The key
+     * @param value The value, must not be null
+     * @return The existing value, or null if {@code value} has been stored
+     */
+    V putIfAbsent(long key, V value) {
+        return put(key, value, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    V remove(long key) {
+        int slot = slotOf(key);
+        int position = table[slot];
+        if (position == 0) {
+            return null;
+        }
+        V previous = (V) values[position - 1];
+        values[position - 1] = null;
+        removeSlot(slot);
+        if (--size == 0) {
+            used = 0;
+        }
+        return previous;
+    }
+
+    /**
+     * Removes all mappings matching {@code filter}.
+     *
+     * @param filter The filter
+     * @return true if any mapping has been removed
+     */
+    @SuppressWarnings("unchecked")
+    boolean removeIf(EntryPredicate<? super V> filter) {
+        // Removing doesn't move entries, so the filter is applied while iterating
+        boolean removed = false;
+        for (int i = 0; i < used; i++) {
+            if (values[i] != null && filter.test(keys[i], (V) values[i])) {
+                remove(keys[i]);
+                removed = true;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * @return A copy of all values, in insertion order
+     */
+    @SuppressWarnings("unchecked")
+    List<V> values() {
+        List<V> result = new ArrayList<>(size);
+        for (int i = 0; i < used; i++) {
+            if (values[i] != null) {
+                result.add((V) values[i]);
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    void forEach(EntryConsumer<? super V> action) {
+        for (int i = 0; i < used; i++) {
+            if (values[i] != null) {
+                action.accept(keys[i], (V) values[i]);
+            }
+        }
+    }
+
+    void clear() {
+        if (keys.length > MIN_CAPACITY) {
+            allocate(MIN_CAPACITY);
+        } else {
+            Arrays.fill(values, null);
+            Arrays.fill(table, 0);
+        }
+        used = 0;
+        size = 0;
+    }
+
+    @FunctionalInterface
+    interface EntryConsumer<V> {
+        void accept(long key, V value);
+    }
+
+    @FunctionalInterface
+    interface EntryPredicate<V> {
+        boolean test(long key, V value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private V put(long key, V value, boolean onlyIfAbsent) {
+        if (value == null) {
+            throw new NullPointerException("Value must not be null");
+        }
+        int slot = slotOf(key);
+        int position = table[slot];
+        if (position != 0) {
+            V previous = (V) values[position - 1];
+            if (!onlyIfAbsent) {
+                values[position - 1] = value;
+            }
+            return previous;
+        }
+        if (used == keys.length) {
+            // Closes the gaps of removed mappings, growing only if more than half of the positions are in use
+            resize(size >= keys.length / 2 ? keys.length * 2 : keys.length);
+            slot = slotOf(key);
+        }
+        keys[used] = key;
+        values[used] = value;
+        table[slot] = ++used;
+        size++;
+        return null;
+    }
+
+    /**
+     * @return The slot containing the position of {@code key} or the free slot where it belongs
+     */
+    private int slotOf(long key) {
+        int mask = table.length - 1;
+        int slot = LongHashing.mix(key) & mask;
+        while (table[slot] != 0 && keys[table[slot] - 1] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Backward shift deletion: moves slots of the probe chain following {@code slot} into the gap, so that no
+     * tombstones are needed.
+     */
+    private void removeSlot(int slot) {
+        int mask = table.length - 1;
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (table[next] != 0) {
+            int home = LongHashing.mix(keys[table[next] - 1]) & mask;
+            // The slot may move into the gap if its home slot is not between the gap and its current slot
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                table[gap] = table[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        table[gap] = 0;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        table = new int[capacity * 2];
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        int oldUsed = used;
+        allocate(capacity);
+        int mask = table.length - 1;
+        used = 0;
+        for (int i = 0; i < oldUsed; i++) {
+            if (oldValues[i] != null) {
+                keys[used] = oldKeys[i];
+                values[used] = oldValues[i];
+                int slot = LongHashing.mix(oldKeys[i]) & mask;
+                while (table[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = ++used;
+            }
+        }
+    }
+}
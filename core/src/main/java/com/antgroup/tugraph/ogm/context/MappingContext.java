@@ -19,19 +19,19 @@
 package com.antgroup.tugraph.ogm.context;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
-import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import com.antgroup.tugraph.ogm.annotation.NodeEntity;
 import com.antgroup.tugraph.ogm.exception.core.MappingException;
@@ -41,7 +41,10 @@ import com.antgroup.tugraph.ogm.id.UuidStrategy;
 import com.antgroup.tugraph.ogm.metadata.ClassInfo;
 import com.antgroup.tugraph.ogm.metadata.FieldInfo;
 import com.antgroup.tugraph.ogm.metadata.MetaData;
+import com.antgroup.tugraph.ogm.support.CollectionUtils;
 import com.antgroup.tugraph.ogm.utils.EntityUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * The MappingContext maintains a map of all the objects created during the hydration
@@ -55,8 +58,15 @@ import com.antgroup.tugraph.ogm.utils.EntityUtils;
  */
 public class MappingContext {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(MappingContext.class);
+
+    /**
+     * Batches of at least this many entities are dirty checked in parallel.
+     */
+    static final int PARALLEL_DIRTY_CHECK_THRESHOLD = 1_000;
+
     // map Neo4j id -> entity
-    private final Map<Long, Object> nodeEntityRegister;
+    private final LongObjectMap<Object> nodeEntityRegister;
 
     // map primary index value -> entity
     private final Map<LabelPrimaryId, Object> primaryIndexNodeRegister;
@@ -64,25 +74,39 @@ public class MappingContext {
     // LabelPrimaryId - > native id (contains both nodes and relationship entities)
     private final Map<LabelPrimaryId, Long> primaryIdToNativeId;
 
-    private final Map<Long, Object> relationshipEntityRegister;
+    private final LongObjectMap<Object> relationshipEntityRegister;
 
     private final Map<LabelPrimaryId, Object> primaryIdToRelationship;
 
-    private final Set<MappedRelationship> relationshipRegister;
+    private final RelationshipRegister<MappedRelationship> relationshipRegister;
 
     private final IdentityMap identityMap;
 
     private final MetaData metaData;
 
+    /**
+     * Maximum number of node and relationship entities, 0 if unbounded, see {@link #setMaxEntities(int)}.
+     */
+    private int maxEntities;
+
+    // native id -> logical time of the last access, only maintained when bounded
+    private final LongLongMap nodeEntityAccess = new LongLongMap();
+
+    private final LongLongMap relationshipEntityAccess = new LongLongMap();
+
+    private long accessClock;
+
+    private int nextEvictionAt;
+
     public MappingContext(MetaData metaData) {
         this.metaData = metaData;
         this.identityMap = new IdentityMap(metaData);
-        this.nodeEntityRegister = new LinkedHashMap<>();
-        this.primaryIndexNodeRegister = new LinkedHashMap<>();
-        this.primaryIdToNativeId = new LinkedHashMap<>();
-        this.relationshipEntityRegister = new LinkedHashMap<>();
-        this.primaryIdToRelationship = new LinkedHashMap<>();
-        this.relationshipRegister = new LinkedHashSet<>();
+        this.nodeEntityRegister = new LongObjectMap<>();
+        this.primaryIndexNodeRegister = new HashMap<>();
+        this.primaryIdToNativeId = new HashMap<>();
+        this.relationshipEntityRegister = new LongObjectMap<>();
+        this.primaryIdToRelationship = new HashMap<>();
+        this.relationshipRegister = new RelationshipRegister<>();
     }
 
     /**
@@ -94,7 +118,14 @@ public class MappingContext {
      * @return The entity or null if not found.
      */
     public Object getNodeEntity(Long graphId) {
-        return nodeEntityRegister.get(graphId);
+        if (graphId == null) {
+            return null;
+        }
+        Object entity = nodeEntityRegister.get(graphId);
+        if (entity != null) {
+            touch(nodeEntityAccess, graphId);
+        }
+        return entity;
     }
 
     /**
@@ -116,6 +147,7 @@ public class MappingContext {
         final LabelPrimaryId key = LabelPrimaryId.of(classInfo, id);
         Object node = primaryIndexNodeRegister.get(key);
         if (node != null) {
+            touch(nodeEntityAccess, key);
             return node;
         }
 
@@ -125,8 +157,10 @@ public class MappingContext {
 
             ClassInfo subClassInfo = queue.poll();
 
-            node = primaryIndexNodeRegister.get(LabelPrimaryId.of(subClassInfo, id));
+            LabelPrimaryId subClassKey = LabelPrimaryId.of(subClassInfo, id);
+            node = primaryIndexNodeRegister.get(subClassKey);
             if (node != null) {
+                touch(nodeEntityAccess, subClassKey);
                 return node;
             }
 
@@ -158,8 +192,7 @@ public class MappingContext {
 
         ClassInfo classInfo = metaData.classInfo(entity);
 
-        if (!nodeEntityRegister.containsKey(id)) {
-            nodeEntityRegister.put(id, entity);
+        if (nodeEntityRegister.putIfAbsent(id, entity) == null) {
             final Object primaryIndexValue = classInfo.readPrimaryIndexValueOf(entity);
             if (primaryIndexValue != null) {
                 LabelPrimaryId key = LabelPrimaryId.of(classInfo, primaryIndexValue);
@@ -168,6 +201,7 @@ public class MappingContext {
             }
             remember(entity, id);
         }
+        touch(nodeEntityAccess, id);
 
         return entity;
     }
@@ -185,6 +219,7 @@ public class MappingContext {
         optionalNativeId(entity).ifPresent(id -> {
 
             nodeEntityRegister.remove(id);
+            nodeEntityAccess.remove(id);
             final ClassInfo classInfo = metaData.classInfo(entity);
             final Object primaryIndexValue = classInfo.readPrimaryIndexValueOf(entity);
             if (primaryIndexValue != null) {
@@ -228,19 +263,18 @@ public class MappingContext {
      *
      * @param type The base type to search for.
      * @return The entities found. Note that the collection will contain the concrete type given as a parameter,
-     * but also all entities that are assignable to it (sub types)
+     * but also all entities that are assignable to it (sub types), in the order they have been registered
      */
     Collection<Object> getEntities(Class<?> type) {
-        Collection<Object> result;
-        if (metaData.isRelationshipEntity(type.getName())) {
-            result = relationshipEntityRegister.values().stream()
-                .filter((c) -> c.getClass().isAssignableFrom(type))
-                .collect(Collectors.toList());
-        } else {
-            result = nodeEntityRegister.values().stream()
-                .filter((c) -> c.getClass().isAssignableFrom(type))
-                .collect(Collectors.toList());
-        }
+        LongObjectMap<Object> register = metaData.isRelationshipEntity(type)
+            ? relationshipEntityRegister
+            : nodeEntityRegister;
+        List<Object> result = new ArrayList<>();
+        register.forEach((id, entity) -> {
+            if (entity.getClass().isAssignableFrom(type)) {
+                result.add(entity);
+            }
+        });
         return result;
     }
 
@@ -256,7 +290,6 @@ public class MappingContext {
 
     /**
      * Check if the entity has been modified by comparing its current state to the state it had when registered.
-     * TBD : describe how the hash is computed. Not sure if it is a real deep hash.
      *
      * @param entity The entity to check
      * @return true if the entity was changed, false otherwise.
@@ -265,6 +298,51 @@ public class MappingContext {
         return optionalNativeId(entity).map(graphId -> !identityMap.remembered(entity, graphId)).orElse(true);
     }
 
+    /**
+     * Determines the persistable fields of an entity that have been modified since it was registered.
+     *
+     * @param entity The entity to check
+     * @return The modified fields, or an empty optional if the entity isn't known, in which case all of its fields are
+     * to be regarded as modified.
+     */
+    public Optional<Set<FieldInfo>> getChangedFields(Object entity) {
+        return optionalNativeId(entity).flatMap(graphId -> identityMap.changedFields(entity, graphId));
+    }
+
+    /**
+     * Determines the modified fields of many entities at once, see {@link #getChangedFields(Object)}. Batches of at
+     * least {@value #PARALLEL_DIRTY_CHECK_THRESHOLD} entities are checked in parallel on the common fork-join pool, so
+     * neither the entities nor this context must be modified until this method returns. Anything that is not an
+     * entity is ignored.
+     *
+     * @param entities The entities to check
+     * @return The modified fields of each entity, keyed by identity
+     */
+    public Map<Object, Optional<Set<FieldInfo>>> getChangedFields(Collection<?> entities) {
+
+        List<Object> candidates = new ArrayList<>(entities.size());
+        List<Long> graphIds = new ArrayList<>(entities.size());
+        for (Object entity : entities) {
+            if (entity != null && metaData.classInfo(entity) != null) {
+                candidates.add(entity);
+                graphIds.add(optionalNativeId(entity).orElse(null));
+            }
+        }
+
+        Optional<Set<FieldInfo>>[] changedFields = new Optional[candidates.size()];
+        IntStream indexes = IntStream.range(0, changedFields.length);
+        if (changedFields.length >= PARALLEL_DIRTY_CHECK_THRESHOLD) {
+            indexes = indexes.parallel();
+        }
+        indexes.forEach(i -> changedFields[i] = identityMap.changedFields(candidates.get(i), graphIds.get(i)));
+
+        Map<Object, Optional<Set<FieldInfo>>> result = new IdentityHashMap<>(changedFields.length);
+        for (int i = 0; i < changedFields.length; i++) {
+            result.put(candidates.get(i), changedFields[i]);
+        }
+        return result;
+    }
+
     public boolean containsRelationship(MappedRelationship relationship) {
         return relationshipRegister.contains(relationship);
     }
@@ -273,11 +351,30 @@ public class MappingContext {
         return relationshipRegister;
     }
 
+    /**
+     * @param nodeId The native id of a node
+     * @return All known relationships starting or ending at the given node
+     */
+    public List<MappedRelationship> getRelationshipsOf(long nodeId) {
+        return relationshipRegister.attachedTo(nodeId);
+    }
+
+    /**
+     * @param relationshipId The native id of a relationship
+     * @return All known mappings of the given relationship
+     */
+    List<MappedRelationship> getRelationshipsWithId(long relationshipId) {
+        return relationshipRegister.withRelationshipId(relationshipId);
+    }
+
     public void addRelationship(MappedRelationship relationship) {
         relationshipRegister.add(relationship);
     }
 
     public void clear() {
+        nodeEntityAccess.clear();
+        relationshipEntityAccess.clear();
+        nextEvictionAt = 0;
         identityMap.clear();
         relationshipRegister.clear();
         primaryIdToRelationship.clear();
@@ -287,11 +384,20 @@ public class MappingContext {
     }
 
     public Map<Long, Object> getSnapshotOfRelationshipEntityRegister() {
-        return new HashMap<>(this.relationshipEntityRegister);
+        Map<Long, Object> snapshot = new HashMap<>(relationshipEntityRegister.size() * 4 / 3 + 1);
+        relationshipEntityRegister.forEach(snapshot::put);
+        return snapshot;
     }
 
     public Object getRelationshipEntity(Long relationshipId) {
-        return relationshipEntityRegister.get(relationshipId);
+        if (relationshipId == null) {
+            return null;
+        }
+        Object relationshipEntity = relationshipEntityRegister.get(relationshipId);
+        if (relationshipEntity != null) {
+            touch(relationshipEntityAccess, relationshipId);
+        }
+        return relationshipEntity;
     }
 
     /**
@@ -308,8 +414,10 @@ public class MappingContext {
 
     public Object addRelationshipEntity(Object relationshipEntity, Long id) {
 
-        if (relationshipEntityRegister.putIfAbsent(id, relationshipEntity) == null) {
-            relationshipEntity = relationshipEntityRegister.get(id);
+        Object registered = relationshipEntityRegister.putIfAbsent(id, relationshipEntity);
+        if (registered != null) {
+            relationshipEntity = registered;
+        } else {
             remember(relationshipEntity, id);
 
             ClassInfo classInfo = metaData.classInfo(relationshipEntity);
@@ -320,6 +428,7 @@ public class MappingContext {
                 primaryIdToNativeId.put(labelPrimaryId, id);
             }
         }
+        touch(relationshipEntityAccess, id);
         return relationshipEntity;
     }
 
@@ -332,7 +441,7 @@ public class MappingContext {
      */
     public void removeType(Class<?> type) {
 
-        ClassInfo classInfo = metaData.classInfo(type.getName());
+        ClassInfo classInfo = metaData.classInfo(type);
 
         if (classInfo.isInterface()) {
             List<ClassInfo> implementingClasses = metaData.getImplementingClassInfos(classInfo.name());
@@ -366,7 +475,7 @@ public class MappingContext {
      * purges all information about a relationship entity with this id
      */
     public boolean detachRelationshipEntity(Long id) {
-        Object objectToDetach = relationshipEntityRegister.get(id);
+        Object objectToDetach = getRelationshipEntity(id);
         if (objectToDetach != null) {
             removeEntity(objectToDetach);
             return true;
@@ -409,23 +518,19 @@ public class MappingContext {
             .map(id -> {
                 Set<Object> neighbours = new HashSet<>();
                 Class<?> type = entity.getClass();
-                if (!metaData.isRelationshipEntity(type.getName())) {
+                if (!metaData.isRelationshipEntity(type)) {
                     if (getNodeEntity(id) != null) {
-                        // todo: this will be very slow for many objects
-                        // todo: refactor to create a list of mappedRelationships from a nodeEntity id.
-                        for (MappedRelationship mappedRelationship : relationshipRegister) {
-                            if (mappedRelationship.getStartNodeId() == id || mappedRelationship.getEndNodeId() == id) {
-                                Object affectedObject = mappedRelationship.getEndNodeId() == id ?
-                                    getNodeEntity(mappedRelationship.getStartNodeId()) :
-                                    getNodeEntity(mappedRelationship.getEndNodeId());
-                                if (affectedObject != null) {
-                                    neighbours.add(affectedObject);
-                                }
+                        for (MappedRelationship mappedRelationship : relationshipRegister.attachedTo(id)) {
+                            Object affectedObject = mappedRelationship.getEndNodeId() == id ?
+                                getNodeEntity(mappedRelationship.getStartNodeId()) :
+                                getNodeEntity(mappedRelationship.getEndNodeId());
+                            if (affectedObject != null) {
+                                neighbours.add(affectedObject);
                             }
                         }
                     }
                 } else if (relationshipEntityRegister.containsKey(id)) {
-                    ClassInfo classInfo = metaData.classInfo(type.getName());
+                    ClassInfo classInfo = metaData.classInfo(type);
                     FieldInfo startNodeReader = classInfo.getStartNodeReader();
                     FieldInfo endNodeReader = classInfo.getEndNodeReader();
                     neighbours.add(startNodeReader.read(entity));
@@ -442,25 +547,24 @@ public class MappingContext {
      * @param startOrEndEntity the entity that might be the start or end node of a relationship entity
      */
     private void deregisterDependentRelationshipEntity(Object startOrEndEntity) {
-        Iterator<Long> relationshipEntityIdIterator = relationshipEntityRegister.keySet().iterator();
-        while (relationshipEntityIdIterator.hasNext()) {
-            Long relationshipEntityId = relationshipEntityIdIterator.next();
-            Object relationshipEntity = relationshipEntityRegister.get(relationshipEntityId);
+        relationshipEntityRegister.removeIf((relationshipEntityId, relationshipEntity) -> {
             final ClassInfo classInfo = metaData.classInfo(relationshipEntity);
             FieldInfo startNodeReader = classInfo.getStartNodeReader();
             FieldInfo endNodeReader = classInfo.getEndNodeReader();
             if (startOrEndEntity == startNodeReader.read(relationshipEntity) || startOrEndEntity == endNodeReader
                 .read(relationshipEntity)) {
-                relationshipEntityIdIterator.remove();
+                relationshipEntityAccess.remove(relationshipEntityId);
+                return true;
             }
-        }
+            return false;
+        });
     }
 
     private void purge(Object entity, Class type) {
 
         optionalNativeId(entity).filter(id -> id >= 0).ifPresent(id -> {
 
-            boolean isNotARelationshipEntity = !metaData.isRelationshipEntity(type.getName());
+            boolean isNotARelationshipEntity = !metaData.isRelationshipEntity(type);
 
             if (isNotARelationshipEntity) {
                 boolean isInMappingContext = getNodeEntity(id) != null;
@@ -470,8 +574,8 @@ public class MappingContext {
                     // and also remove all in and outgoing stuff
                     removeAllInAndOutcomingRelationshipsOf(id);
                 }
-            } else if (relationshipEntityRegister.containsKey(id)) {
-                relationshipEntityRegister.remove(id);
+            } else if (relationshipEntityRegister.remove(id) != null) {
+                relationshipEntityAccess.remove(id);
                 final ClassInfo classInfo = metaData.classInfo(entity);
                 FieldInfo startNodeReader = classInfo.getStartNodeReader();
                 Object startNode = startNodeReader.read(entity);
@@ -486,22 +590,17 @@ public class MappingContext {
     private void removeAllInAndOutcomingRelationshipsOf(Long id) {
 
         Set<Object> relEntitiesToPurge = new HashSet<>();
-        Iterator<MappedRelationship> mappedRelationshipIterator = relationshipRegister.iterator();
-        while (mappedRelationshipIterator.hasNext()) {
-            MappedRelationship mappedRelationship = mappedRelationshipIterator.next();
-            if (mappedRelationship.getStartNodeId() == id || mappedRelationship.getEndNodeId() == id) {
-
-                // first purge any RE mappings (if its a RE)
-                if (mappedRelationship.getRelationshipId() != null) {
-                    Object relEntity = relationshipEntityRegister
-                        .get(mappedRelationship.getRelationshipId());
-                    if (relEntity != null) {
-                        relEntitiesToPurge.add(relEntity);
-                    }
+        for (MappedRelationship mappedRelationship : relationshipRegister.attachedTo(id)) {
+
+            // first purge any RE mappings (if its a RE)
+            if (mappedRelationship.getRelationshipId() != null) {
+                Object relEntity = relationshipEntityRegister.get(mappedRelationship.getRelationshipId());
+                if (relEntity != null) {
+                    relEntitiesToPurge.add(relEntity);
                 }
-                // finally remove the mapped relationship
-                mappedRelationshipIterator.remove();
             }
+            // finally remove the mapped relationship
+            relationshipRegister.remove(mappedRelationship);
         }
 
         // Purge the relationship entities.
@@ -515,6 +614,248 @@ public class MappingContext {
         identityMap.remember(entity, id);
     }
 
+    /**
+     * Bounds this context to {@code maxEntities} node and relationship entities. Entities are not evicted right away,
+     * but by {@link #evictIfNecessary()}, which the session calls after each operation.
+     *
+     * @param maxEntities The maximum number of entities, 0 to keep all entities until the context is cleared
+     */
+    public void setMaxEntities(int maxEntities) {
+        this.maxEntities = Math.max(0, maxEntities);
+        this.nextEvictionAt = 0;
+        if (this.maxEntities == 0) {
+            nodeEntityAccess.clear();
+            relationshipEntityAccess.clear();
+        }
+    }
+
+    public int getMaxEntities() {
+        return maxEntities;
+    }
+
+    /**
+     * Evicts the least recently used entities that are not dirty once this context holds more than the configured
+     * maximum number of entities. Evicted entities are forgotten together with the state used for dirty checking, as
+     * if they had been loaded by another session: saving them again writes all their properties. A node entity counts
+     * as dirty as well when one of its relationship fields doesn't reference a relationship known for it anymore.
+     * <p>
+     * A mapped relationship is only forgotten once none of its nodes is left in this context, so that a relationship
+     * removed from an entity that stays is still deleted when that entity is saved. A node entity is only evicted
+     * together with the relationship entities attached to it, so it stays as long as one of them is dirty. This must
+     * not be called while the registers of this context are being iterated, so the session only calls it between
+     * operations.
+     */
+    public void evictIfNecessary() {
+        int size = nodeEntityRegister.size() + relationshipEntityRegister.size();
+        if (maxEntities == 0 || size <= maxEntities || size < nextEvictionAt) {
+            return;
+        }
+
+        LongObjectMap<Object> evictedNodes = new LongObjectMap<>();
+        nodeEntityRegister.forEach((id, entity) -> {
+            if (identityMap.remembered(entity, id) && relationshipsReferenced(entity, id)) {
+                evictedNodes.put(id, entity);
+            }
+        });
+        LongObjectMap<Object> evictedRelationshipEntities = new LongObjectMap<>();
+        relationshipEntityRegister.forEach((id, entity) -> {
+            if (identityMap.remembered(entity, id)) {
+                evictedRelationshipEntities.put(id, entity);
+            }
+        });
+
+        // Evicting down to 7/8 of the maximum makes a scan of all entities pay off for a number of operations
+        int excess = size - (maxEntities - maxEntities / 8);
+        long cutoff = accessCutoff(evictedNodes, evictedRelationshipEntities, excess);
+        evictedNodes.removeIf((id, entity) -> nodeEntityAccess.getOrDefault(id, 0L) > cutoff);
+        evictedRelationshipEntities.removeIf((id, entity) -> relationshipEntityAccess.getOrDefault(id, 0L) > cutoff);
+
+        // Relationship entities attached to evicted nodes must go as well, nodes attached to dirty ones must stay
+        List<MappedRelationship> attachedToEvictedNodes = new ArrayList<>();
+        evictedNodes.forEach((id, entity) -> attachedToEvictedNodes.addAll(relationshipRegister.attachedTo(id)));
+        for (MappedRelationship mappedRelationship : attachedToEvictedNodes) {
+            Long relationshipId = mappedRelationship.getRelationshipId();
+            if (relationshipId == null || evictedRelationshipEntities.containsKey(relationshipId)) {
+                continue;
+            }
+            Object relationshipEntity = relationshipEntityRegister.get(relationshipId);
+            if (relationshipEntity == null) {
+                continue;
+            }
+            if (identityMap.remembered(relationshipEntity, relationshipId)) {
+                evictedRelationshipEntities.put(relationshipId, relationshipEntity);
+            } else {
+                evictedNodes.remove(mappedRelationship.getStartNodeId());
+                evictedNodes.remove(mappedRelationship.getEndNodeId());
+            }
+        }
+
+        List<MappedRelationship> forgotten = new ArrayList<>();
+        evictedNodes.forEach((id, entity) -> forgotten.addAll(relationshipRegister.attachedTo(id)));
+        evictedRelationshipEntities.forEach(
+            (id, entity) -> forgotten.addAll(relationshipRegister.withRelationshipId(id)));
+        for (MappedRelationship mappedRelationship : forgotten) {
+            if (isLeaving(mappedRelationship.getStartNodeId(), evictedNodes)
+                && isLeaving(mappedRelationship.getEndNodeId(), evictedNodes)) {
+                relationshipRegister.remove(mappedRelationship);
+            }
+        }
+        evictedNodes.forEach(this::evictNodeEntity);
+        evictedRelationshipEntities.forEach(this::evictRelationshipEntity);
+
+        int remaining = nodeEntityRegister.size() + relationshipEntityRegister.size();
+        // Scanning again right after the next operation would be futile when too many entities are dirty
+        nextEvictionAt = remaining > maxEntities ? remaining + Math.max(1, maxEntities / 8) : 0;
+        LOGGER.debug("Evicted {} node and {} relationship entities from the mapping context, {} entities remaining",
+            evictedNodes.size(), evictedRelationshipEntities.size(), remaining);
+    }
+
+    private boolean isLeaving(long nodeId, LongObjectMap<Object> evictedNodes) {
+        return evictedNodes.containsKey(nodeId) || !nodeEntityRegister.containsKey(nodeId);
+    }
+
+    /**
+     * @return True if every relationship known for the node entity with the given id is still referenced by one of
+     * the relationship fields of the entity mapping it
+     */
+    private boolean relationshipsReferenced(Object entity, long id) {
+        List<MappedRelationship> attached = relationshipRegister.attachedTo(id);
+        if (attached.isEmpty()) {
+            return true;
+        }
+        Collection<FieldInfo> fields = metaData.classInfo(entity).relationshipFields();
+        Map<FieldInfo, References> referencesByField = new HashMap<>();
+        for (MappedRelationship mappedRelationship : attached) {
+            boolean mapped = false;
+            boolean referenced = false;
+            for (FieldInfo field : fields) {
+                if (!maps(field, mappedRelationship, id)) {
+                    continue;
+                }
+                mapped = true;
+                References references = referencesByField.computeIfAbsent(field, f -> references(f.read(entity)));
+                long otherNodeId = mappedRelationship.getStartNodeId() == id
+                    ? mappedRelationship.getEndNodeId() : mappedRelationship.getStartNodeId();
+                Long relationshipId = mappedRelationship.getRelationshipId();
+                if (references.nodes.contains(otherNodeId)
+                    || relationshipId != null && references.relationshipEntities.contains(relationshipId)) {
+                    referenced = true;
+                    break;
+                }
+            }
+            if (mapped && !referenced) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean maps(FieldInfo field, MappedRelationship mappedRelationship, long nodeId) {
+        if (!field.relationshipType().equals(mappedRelationship.getRelationshipType())) {
+            return false;
+        }
+        switch (field.relationshipDirection()) {
+            case OUTGOING:
+                return mappedRelationship.getStartNodeId() == nodeId;
+            case INCOMING:
+                return mappedRelationship.getEndNodeId() == nodeId;
+            default:
+                return true;
+        }
+    }
+
+    private References references(Object value) {
+        References references = new References();
+        if (value != null) {
+            for (Object related : CollectionUtils.iterableOf(value)) {
+                ClassInfo relatedInfo = metaData.classInfo(related);
+                if (relatedInfo == null) {
+                    continue;
+                }
+                Optional<Long> relatedId = optionalNativeId(related);
+                if (relatedId.isPresent()) {
+                    (relatedInfo.isRelationshipEntity() ? references.relationshipEntities : references.nodes)
+                        .add(relatedId.get());
+                }
+            }
+        }
+        return references;
+    }
+
+    /**
+     * The ids of the nodes and relationship entities a relationship field references.
+     */
+    private static final class References {
+        private final Set<Long> nodes = new HashSet<>();
+        private final Set<Long> relationshipEntities = new HashSet<>();
+    }
+
+    /**
+     * @return The last access of the {@code excess} least recently used candidates
+     */
+    private long accessCutoff(LongObjectMap<Object> nodeCandidates, LongObjectMap<Object> relationshipCandidates,
+        int excess) {
+
+        int candidates = nodeCandidates.size() + relationshipCandidates.size();
+        if (candidates == 0) {
+            return -1L;
+        }
+        long[] accesses = new long[candidates];
+        int[] next = new int[1];
+        nodeCandidates.forEach((id, entity) -> accesses[next[0]++] = nodeEntityAccess.getOrDefault(id, 0L));
+        relationshipCandidates.forEach(
+            (id, entity) -> accesses[next[0]++] = relationshipEntityAccess.getOrDefault(id, 0L));
+        Arrays.sort(accesses);
+        return accesses[Math.min(excess, candidates) - 1];
+    }
+
+    private void evictNodeEntity(long id, Object entity) {
+        nodeEntityRegister.remove(id);
+        nodeEntityAccess.remove(id);
+        identityMap.forget(id, false);
+
+        ClassInfo classInfo = metaData.classInfo(entity);
+        Object primaryIndexValue = classInfo.readPrimaryIndexValueOf(entity);
+        if (primaryIndexValue != null) {
+            LabelPrimaryId key = LabelPrimaryId.of(classInfo, primaryIndexValue);
+            primaryIndexNodeRegister.remove(key);
+            // Without an identity field, this is the only way to recognize the entity when it is saved again
+            if (classInfo.hasIdentityField()) {
+                primaryIdToNativeId.remove(key);
+            }
+        }
+    }
+
+    private void evictRelationshipEntity(long id, Object entity) {
+        relationshipEntityRegister.remove(id);
+        relationshipEntityAccess.remove(id);
+        identityMap.forget(id, true);
+
+        ClassInfo classInfo = metaData.classInfo(entity);
+        if (classInfo.hasPrimaryIndexField()) {
+            LabelPrimaryId key = LabelPrimaryId.of(classInfo, classInfo.readPrimaryIndexValueOf(entity));
+            primaryIdToRelationship.remove(key);
+            if (classInfo.hasIdentityField()) {
+                primaryIdToNativeId.remove(key);
+            }
+        }
+    }
+
+    private void touch(LongLongMap access, long id) {
+        if (maxEntities > 0) {
+            access.put(id, ++accessClock);
+        }
+    }
+
+    private void touch(LongLongMap access, LabelPrimaryId key) {
+        if (maxEntities > 0) {
+            Long id = primaryIdToNativeId.get(key);
+            if (id != null) {
+                touch(access, id);
+            }
+        }
+    }
+
     /**
      * This method does not trigger a possible {@link IdStrategy} while accessing the identiy- or primary index field.
      *
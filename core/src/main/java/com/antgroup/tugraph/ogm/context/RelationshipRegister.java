@@ -0,0 +1,238 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.context;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A set of relationships indexed by start node, end node and type, so that the relationships of a node can be found
+ * without scanning all relationships known to a session. {@link MappedRelationship Mapped relationships} are also
+ * indexed by their relationship id. Iteration happens in insertion order.
+ * <p>
+ * All modifications, including those through the iterator, keep the indexes up to date. The lookup methods return
+ * copies, so the register can be modified while iterating their results.
+ *
+ * @param <M> Type of the relationships
+ */
+public final class RelationshipRegister<M extends Mappable> extends AbstractSet<M> {
+
+    private final Set<M> relationships = new LinkedHashSet<>();
+
+    // node id -> relationship type -> relationships
+    private final LongObjectMap<Map<String, Set<M>>> byStartNode = new LongObjectMap<>();
+
+    private final LongObjectMap<Map<String, Set<M>>> byEndNode = new LongObjectMap<>();
+
+    private final LongObjectMap<Set<M>> byRelationshipId = new LongObjectMap<>();
+
+    public RelationshipRegister() {
+    }
+
+    public RelationshipRegister(Collection<? extends M> relationships) {
+        addAll(relationships);
+    }
+
+    /**
+     * @param startNodeId      Native id of the start node
+     * @param relationshipType The type of the relationships
+     * @return All relationships of the given type starting at the given node
+     */
+    public List<M> outgoing(long startNodeId, String relationshipType) {
+        return lookup(byStartNode, startNodeId, relationshipType);
+    }
+
+    /**
+     * @param endNodeId        Native id of the end node
+     * @param relationshipType The type of the relationships
+     * @return All relationships of the given type ending at the given node
+     */
+    public List<M> incoming(long endNodeId, String relationshipType) {
+        return lookup(byEndNode, endNodeId, relationshipType);
+    }
+
+    /**
+     * @param nodeId Native id of a node
+     * @return All relationships starting or ending at the given node
+     */
+    public List<M> attachedTo(long nodeId) {
+        List<M> result = new ArrayList<>();
+        collect(byStartNode.get(nodeId), result);
+        Map<String, Set<M>> incoming = byEndNode.get(nodeId);
+        if (incoming != null) {
+            for (Set<M> relationshipsOfType : incoming.values()) {
+                for (M relationship : relationshipsOfType) {
+                    // Loops are indexed both as incoming and outgoing relationship
+                    if (relationship.getStartNodeId() != nodeId) {
+                        result.add(relationship);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param relationshipId Native id of a relationship
+     * @return All mapped relationships with the given relationship id
+     */
+    public List<M> withRelationshipId(long relationshipId) {
+        Set<M> result = byRelationshipId.get(relationshipId);
+        return result == null ? Collections.emptyList() : new ArrayList<>(result);
+    }
+
+    @Override
+    public boolean add(M relationship) {
+        if (!relationships.add(relationship)) {
+            return false;
+        }
+        index(byStartNode, relationship.getStartNodeId(), relationship);
+        index(byEndNode, relationship.getEndNodeId(), relationship);
+        Long relationshipId = relationshipId(relationship);
+        if (relationshipId != null) {
+            Set<M> withId = byRelationshipId.get(relationshipId);
+            if (withId == null) {
+                withId = new HashSet<>(2);
+                byRelationshipId.put(relationshipId, withId);
+            }
+            withId.add(relationship);
+        }
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean remove(Object o) {
+        if (!relationships.remove(o)) {
+            return false;
+        }
+        deindex((M) o);
+        return true;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return relationships.contains(o);
+    }
+
+    @Override
+    public int size() {
+        return relationships.size();
+    }
+
+    @Override
+    public void clear() {
+        relationships.clear();
+        byStartNode.clear();
+        byEndNode.clear();
+        byRelationshipId.clear();
+    }
+
+    @Override
+    public Iterator<M> iterator() {
+        Iterator<M> delegate = relationships.iterator();
+        return new Iterator<M>() {
+
+            private M current;
+
+            @Override
+            public boolean hasNext() {
+                return delegate.hasNext();
+            }
+
+            @Override
+            public M next() {
+                current = delegate.next();
+                return current;
+            }
+
+            @Override
+            public void remove() {
+                delegate.remove();
+                deindex(current);
+            }
+        };
+    }
+
+    private void deindex(M relationship) {
+        unindex(byStartNode, relationship.getStartNodeId(), relationship);
+        unindex(byEndNode, relationship.getEndNodeId(), relationship);
+        Long relationshipId = relationshipId(relationship);
+        if (relationshipId != null) {
+            Set<M> withId = byRelationshipId.get(relationshipId);
+            if (withId != null && withId.remove(relationship) && withId.isEmpty()) {
+                byRelationshipId.remove(relationshipId);
+            }
+        }
+    }
+
+    private static Long relationshipId(Mappable relationship) {
+        return relationship instanceof MappedRelationship ? ((MappedRelationship) relationship).getRelationshipId()
+            : null;
+    }
+
+    private static <M extends Mappable> void index(LongObjectMap<Map<String, Set<M>>> index, long nodeId,
+        M relationship) {
+
+        Map<String, Set<M>> byType = index.get(nodeId);
+        if (byType == null) {
+            byType = new HashMap<>(4);
+            index.put(nodeId, byType);
+        }
+        byType.computeIfAbsent(relationship.getRelationshipType(), type -> new HashSet<>(4)).add(relationship);
+    }
+
+    private static <M extends Mappable> void unindex(LongObjectMap<Map<String, Set<M>>> index, long nodeId,
+        M relationship) {
+
+        Map<String, Set<M>> byType = index.get(nodeId);
+        if (byType == null) {
+            return;
+        }
+        Set<M> ofType = byType.get(relationship.getRelationshipType());
+        if (ofType != null && ofType.remove(relationship) && ofType.isEmpty()) {
+            byType.remove(relationship.getRelationshipType());
+            if (byType.isEmpty()) {
+                index.remove(nodeId);
+            }
+        }
+    }
+
+    private static <M extends Mappable> List<M> lookup(LongObjectMap<Map<String, Set<M>>> index, long nodeId,
+        String relationshipType) {
+
+        Map<String, Set<M>> byType = index.get(nodeId);
+        Set<M> ofType = byType == null ? null : byType.get(relationshipType);
+        return ofType == null ? Collections.emptyList() : new ArrayList<>(ofType);
+    }
+
+    private static <M extends Mappable> void collect(Map<String, Set<M>> byType, List<M> target) {
+        if (byType != null) {
+            for (Set<M> relationshipsOfType : byType.values()) {
+                target.addAll(relationshipsOfType);
+            }
+        }
+    }
+}
@@ -35,6 +35,14 @@ public interface CompileContext {
 
     boolean removeRegisteredRelationship(Mappable mappable);
 
+    boolean isRegisteredRelationship(Mappable mappable);
+
+    /**
+     * @return The registered relationships that have been removed since the last call, either explicitly or by
+     * deregistering the relationships of a node
+     */
+    Collection<Mappable> pollRemovedRelationships();
+
     boolean visited(Object entity, int horizon);
 
     NodeBuilder visitedNode(Object entity);
@@ -25,6 +25,7 @@ import java.util.function.Function;
 
 import com.antgroup.tugraph.ogm.compiler.SrcTargetKey;
 import com.antgroup.tugraph.ogm.context.Mappable;
+import com.antgroup.tugraph.ogm.context.RelationshipRegister;
 
 /**
  * Maintains contextual information throughout the process of compiling Cypher statements to persist a graph of objects.
@@ -47,8 +48,9 @@ public class CypherContext implements CompileContext {
     private final Map<Long, Object> createdObjectsWithId = new HashMap<>();
     private final Map<Long, Long> newNodeIds = new HashMap<>();
 
-    private final Set<Mappable> registeredRelationships = new HashSet<>();
+    private final RelationshipRegister<Mappable> registeredRelationships = new RelationshipRegister<>();
     private final Set<Mappable> deletedRelationships = new HashSet<>();
+    private final Set<Mappable> removedRelationships = new LinkedHashSet<>();
 
     private final Set<Object> registry = new HashSet<>();
     private final Map<SrcTargetKey, Set<Object>> transientRelsIndex = new HashMap<>();
@@ -82,7 +84,26 @@ public class CypherContext implements CompileContext {
     }
 
     public boolean removeRegisteredRelationship(Mappable mappedRelationship) {
-        return this.registeredRelationships.remove(mappedRelationship);
+        if (this.registeredRelationships.remove(mappedRelationship)) {
+            this.removedRelationships.add(mappedRelationship);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean isRegisteredRelationship(Mappable mappedRelationship) {
+        return this.registeredRelationships.contains(mappedRelationship);
+    }
+
+    @Override
+    public Collection<Mappable> pollRemovedRelationships() {
+        if (this.removedRelationships.isEmpty()) {
+            return emptyList();
+        }
+        List<Mappable> removed = new ArrayList<>(this.removedRelationships);
+        this.removedRelationships.clear();
+        return removed;
     }
 
     @Override
@@ -139,7 +160,7 @@ public class CypherContext implements CompileContext {
      */
     public boolean deregisterOutgoingRelationships(Long src, String relationshipType, Class endNodeType) {
 
-        return deregisterRelationshipsImpl(src, relationshipType, endNodeType, Mappable::getStartNodeId,
+        return deregisterRelationshipsImpl(registeredRelationships.outgoing(src, relationshipType), endNodeType,
             Mappable::getEndNodeType);
     }
 
@@ -166,48 +187,39 @@ public class CypherContext implements CompileContext {
             Mappable::getEndNodeType :
             Mappable::getStartNodeType;
 
-        return deregisterRelationshipsImpl(tgt, relationshipType, endNodeType, Mappable::getEndNodeId,
+        return deregisterRelationshipsImpl(registeredRelationships.incoming(tgt, relationshipType), endNodeType,
             endNodeTypeExtractor);
     }
 
     /**
      * Shared implementation for deregistering relationships for both
      * {@link #deregisterIncomingRelationships(Long, String, Class, boolean)} and
-     * {@link #deregisterOutgoingRelationships(Long, String, Class)} methods. The extractors passed to this method here
-     * are used to extract the relevant information of all candidates that might need to be deregistered. Candidates are
-     * all registered relationships.
+     * {@link #deregisterOutgoingRelationships(Long, String, Class)} methods. Candidates are the registered
+     * relationships of the given type at the given node, looked up from the index of the registered relationships. The
+     * extractor passed to this method is used to extract the type of the node at the other end of a candidate.
      *
-     * @param nodeId                     the native id of the relationship to deregister
-     * @param relationshipType           the type of the relationship to deregister
+     * @param candidates                 the registered relationships of the node and type to deregister
      * @param endNodeType                the node type of the entity at the other end of the relationship to deregister
-     * @param candidateNodeIdExtractor   a function to extract the native id from a candidate relationship
      * @param candidateNodeTypeExtractor a function to extract the node type from a candidate relationship
      * @return true if the relationship was deleted or doesn't exist in the graph, false otherwise
      */
-    private boolean deregisterRelationshipsImpl(Long nodeId, String relationshipType, Class endNodeType,
-        Function<Mappable, Long> candidateNodeIdExtractor,
+    private boolean deregisterRelationshipsImpl(List<Mappable> candidates, Class endNodeType,
         Function<Mappable, Class> candidateNodeTypeExtractor) {
 
         List<Mappable> boundForDeletion = new ArrayList<>();
-        Iterator<Mappable> candidatesForDeletion = this.registeredRelationships.iterator();
 
         boolean existsInGraph = false;
-        while (candidatesForDeletion.hasNext()) {
-
-            Mappable candidate = candidatesForDeletion.next();
+        for (Mappable candidate : candidates) {
 
-            long candidateNodeId = candidateNodeIdExtractor.apply(candidate);
-            String candidateRelationshipType = candidate.getRelationshipType();
             Class candidateNodeType = candidateNodeTypeExtractor.apply(candidate);
 
-            if (candidateNodeId == nodeId &&
-                candidateRelationshipType.equals(relationshipType) &&
-                candidateNodeType.equals(endNodeType)) {
+            if (candidateNodeType.equals(endNodeType)) {
 
                 existsInGraph = true;
                 if (!isAlreadyDeleted(candidate)) {
                     boundForDeletion.add(candidate);
-                    candidatesForDeletion.remove();
+                    this.registeredRelationships.remove(candidate);
+                    this.removedRelationships.add(candidate);
                 }
             }
         }
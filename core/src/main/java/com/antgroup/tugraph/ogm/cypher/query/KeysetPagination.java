@@ -0,0 +1,255 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.cypher.query;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keyset (or seek) pagination. Instead of skipping all rows of the previous pages, a page starts right after the last
+ * row of the previous page, identified by the values of its sort keys and its id. The database can then seek to the
+ * start of the page, so that deep pages are as fast as the first one.
+ * <p>
+ * The first page is requested with {@link #KeysetPagination(int)}. Loading a page by type or by ids sets the
+ * {@link #getContinuationToken() continuation token} of the pagination, from which the next page is requested with
+ * {@link #next()} or {@link #KeysetPagination(int, String)}. The token is opaque and only valid for the same type,
+ * filters and {@link SortOrder}. Rows are ordered by the sort order and then by id, the sort keys must not be null.
+ */
+public class KeysetPagination extends Pagination {
+
+    private static final String PARAMETER_PREFIX = "_keyset_";
+    private static final byte TOKEN_VERSION = 1;
+    private static final byte STRING = 1;
+    private static final byte LONG = 2;
+    private static final byte DOUBLE = 3;
+    private static final byte BOOLEAN = 4;
+
+    private final int pageSize;
+    /**
+     * The sort key values of the last row of the previous page followed by its id, {@code null} on the first page.
+     */
+    private final List<Object> lastRow;
+    private String continuationToken;
+
+    /**
+     * Creates a pagination for the first page.
+     *
+     * @param pageSize The number of rows per page
+     */
+    public KeysetPagination(int pageSize) {
+        this(pageSize, null);
+    }
+
+    /**
+     * Creates a pagination for the page following the one that returned {@code continuationToken}.
+     *
+     * @param pageSize          The number of rows per page
+     * @param continuationToken The token of the previous page, {@code null} for the first page
+     * @throws IllegalArgumentException if the token is not a valid continuation token
+     */
+    public KeysetPagination(int pageSize, String continuationToken) {
+        super(0, pageSize);
+        this.pageSize = pageSize;
+        this.lastRow = continuationToken == null ? null : decode(continuationToken);
+    }
+
+    /**
+     * @return The token to request the next page with, {@code null} if the page hasn't been loaded yet or if it was the
+     * last one.
+     */
+    public String getContinuationToken() {
+        return continuationToken;
+    }
+
+    /**
+     * @return The pagination for the next page, {@code null} if the page hasn't been loaded yet or if it was the last
+     * one.
+     */
+    public KeysetPagination next() {
+        return continuationToken == null ? null : new KeysetPagination(pageSize, continuationToken);
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Records the last row of the loaded page. Called after the page has been loaded.
+     *
+     * @param sortKeys The values of the sort keys of the last row, in the order of the sort order
+     * @param id       The id of the last row
+     * @param rowCount The number of rows on the page. If it is less than the page size, there is no next page.
+     */
+    public void pageLoaded(List<Object> sortKeys, Long id, int rowCount) {
+        if (rowCount < pageSize || id == null) {
+            this.continuationToken = null;
+            return;
+        }
+        List<Object> row = new ArrayList<>(sortKeys);
+        row.add(id);
+        this.continuationToken = encode(row);
+    }
+
+    @Override
+    public void setOffset(Integer offset) {
+        throw new UnsupportedOperationException("Keyset pagination cannot be combined with an offset");
+    }
+
+    @Override
+    public String toString() {
+        return " LIMIT " + pageSize;
+    }
+
+    /**
+     * Builds the predicate selecting the rows after the last row of the previous page: For sort keys {@code k1, k2}
+     * this is {@code k1 > $k1 OR (k1 = $k1 AND k2 > $k2) OR (k1 = $k1 AND k2 = $k2 AND ID(n) > $id)}, with
+     * {@code <} for descending keys.
+     *
+     * @param variable  The variable of the paged entity
+     * @param sortOrder The sort order of the query
+     * @return The predicate, including the leading {@code WHERE}, or an empty string on the first page
+     */
+    String seekPredicate(String variable, SortOrder sortOrder) {
+        if (lastRow == null) {
+            return "";
+        }
+        List<String> keys = new ArrayList<>();
+        List<Boolean> descending = new ArrayList<>();
+        for (SortClause sortClause : sortOrder.sortClauses()) {
+            for (String property : sortClause.getProperties()) {
+                keys.add(variable + "." + property);
+                descending.add(sortClause.getDirection() == SortOrder.Direction.DESC);
+            }
+        }
+        keys.add("ID(" + variable + ")");
+        descending.add(false);
+        if (keys.size() != lastRow.size()) {
+            throw new IllegalArgumentException("The continuation token does not match the sort order");
+        }
+
+        StringBuilder predicate = new StringBuilder(" WHERE ");
+        for (int i = 0; i < keys.size(); i++) {
+            if (i > 0) {
+                predicate.append(" OR ");
+            }
+            predicate.append('(');
+            for (int j = 0; j < i; j++) {
+                predicate.append(keys.get(j)).append(" = $").append(PARAMETER_PREFIX).append(j).append(" AND ");
+            }
+            predicate.append(keys.get(i)).append(descending.get(i) ? " < $" : " > $").append(PARAMETER_PREFIX)
+                .append(i).append(')');
+        }
+        return predicate.toString();
+    }
+
+    /**
+     * @param variable The variable of the paged entity
+     * @return The last sort key, making the order of the rows unique
+     */
+    String tieBreaker(String variable) {
+        return "ID(" + variable + ")";
+    }
+
+    /**
+     * @return The parameters used by the {@link #seekPredicate(String, SortOrder) seek predicate}
+     */
+    Map<String, Object> seekParameters() {
+        Map<String, Object> parameters = new HashMap<>();
+        if (lastRow != null) {
+            for (int i = 0; i < lastRow.size(); i++) {
+                parameters.put(PARAMETER_PREFIX + i, lastRow.get(i));
+            }
+        }
+        return parameters;
+    }
+
+    private static String encode(List<Object> row) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(TOKEN_VERSION);
+            out.writeShort(row.size());
+            for (Object value : row) {
+                if (value == null) {
+                    throw new IllegalArgumentException("Keyset pagination requires sort keys that are not null");
+                } else if (value instanceof CharSequence || value instanceof Character) {
+                    out.writeByte(STRING);
+                    out.writeUTF(value.toString());
+                } else if (value instanceof Long || value instanceof Integer || value instanceof Short
+                    || value instanceof Byte) {
+                    out.writeByte(LONG);
+                    out.writeLong(((Number) value).longValue());
+                } else if (value instanceof Number) {
+                    out.writeByte(DOUBLE);
+                    out.writeDouble(((Number) value).doubleValue());
+                } else if (value instanceof Boolean) {
+                    out.writeByte(BOOLEAN);
+                    out.writeBoolean((Boolean) value);
+                } else {
+                    throw new IllegalArgumentException(
+                        "Keyset pagination does not support sort keys of type " + value.getClass().getName());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    private static List<Object> decode(String token) {
+        try (DataInputStream in = new DataInputStream(
+            new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+            if (in.readByte() != TOKEN_VERSION) {
+                throw new IOException("Unsupported token version");
+            }
+            int size = in.readShort();
+            List<Object> row = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                byte type = in.readByte();
+                switch (type) {
+                    case STRING:
+                        row.add(in.readUTF());
+                        break;
+                    case LONG:
+                        row.add(in.readLong());
+                        break;
+                    case DOUBLE:
+                        row.add(in.readDouble());
+                        break;
+                    case BOOLEAN:
+                        row.add(in.readBoolean());
+                        break;
+                    default:
+                        throw new IOException("Unsupported value type " + type);
+                }
+            }
+            if (in.read() != -1) {
+                throw new IOException("Trailing bytes");
+            }
+            return row;
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid continuation token: " + token, e);
+        }
+    }
+}
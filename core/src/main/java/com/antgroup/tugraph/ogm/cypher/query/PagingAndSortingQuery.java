@@ -18,6 +18,7 @@
  */
 package com.antgroup.tugraph.ogm.cypher.query;
 
+import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -66,6 +67,13 @@ public class PagingAndSortingQuery implements PagingAndSorting {
         StringBuilder sb = new StringBuilder();
         sb.append(matchClause);
 
+        if (pagination instanceof KeysetPagination) {
+            // Match clauses end with a WITH clause projecting the variable, which the predicate is appended to
+            KeysetPagination keysetPagination = (KeysetPagination) pagination;
+            sb.append(keysetPagination.seekPredicate(variable, sortOrder));
+            sorting = sorting.isEmpty() ? " ORDER BY " : sorting + ",";
+            sorting += keysetPagination.tieBreaker(variable);
+        }
         if (!sorting.isEmpty()) {
             sb.append(sorting.replace("$", variable));
         }
@@ -104,6 +112,11 @@ public class PagingAndSortingQuery implements PagingAndSorting {
     }
 
     public Map<String, Object> getParameters() {
+        if (pagination instanceof KeysetPagination) {
+            Map<String, Object> parametersWithSeekValues = new HashMap<>(parameters);
+            parametersWithSeekValues.putAll(((KeysetPagination) pagination).seekParameters());
+            return parametersWithSeekValues;
+        }
         return parameters;
     }
 }
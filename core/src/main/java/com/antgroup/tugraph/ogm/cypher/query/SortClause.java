@@ -31,6 +31,10 @@ public class SortClause {
         this.properties = properties;
     }
 
+    public SortOrder.Direction getDirection() {
+        return direction;
+    }
+
     public String[] getProperties() {
         return properties;
     }
@@ -94,7 +94,13 @@ public class ClassInfo {
     private String neo4jName;
 
     private final FieldsInfo fieldsInfo;
-    private final MethodsInfo methodsInfo;
+    /**
+     * Methods are only needed to find the post load method, so they are introspected on first use. Until then, the
+     * classes this class {@link #extend(ClassInfo) extends} are collected and their methods appended later on.
+     */
+    private volatile MethodsInfo methodsInfo;
+    private final List<ClassInfo> extendedClasses = new ArrayList<>();
+    private final Field delegateHolder;
     private final AnnotationsInfo annotationsInfo;
     private final InterfacesInfo interfacesInfo;
     private final Class<?> cls;
@@ -142,7 +148,7 @@ public class ClassInfo {
         }
         this.interfacesInfo = new InterfacesInfo(cls);
         this.fieldsInfo = new FieldsInfo(this, cls, parent, typeSystem);
-        this.methodsInfo = new MethodsInfo(cls, parent);
+        this.delegateHolder = parent;
         this.annotationsInfo = new AnnotationsInfo(cls);
 
         if (isRelationshipEntity() && labelFieldOrNull() != null) {
@@ -185,7 +191,13 @@ public class ClassInfo {
     void extend(ClassInfo classInfo) {
         this.interfacesInfo.append(classInfo.interfacesInfo());
         this.fieldsInfo.append(classInfo.fieldsInfo());
-        this.methodsInfo.append(classInfo.methodsInfo());
+        synchronized (this) {
+            if (this.methodsInfo == null) {
+                this.extendedClasses.add(classInfo);
+            } else {
+                this.methodsInfo.append(classInfo.methodsInfo());
+            }
+        }
     }
 
     /**
@@ -362,7 +374,22 @@ public class ClassInfo {
     }
 
     MethodsInfo methodsInfo() {
-        return methodsInfo;
+
+        MethodsInfo result = this.methodsInfo;
+        if (result == null) {
+            synchronized (this) {
+                result = this.methodsInfo;
+                if (result == null) {
+                    result = new MethodsInfo(cls, delegateHolder);
+                    for (ClassInfo extendedClass : extendedClasses) {
+                        result.append(extendedClass.methodsInfo());
+                    }
+                    this.extendedClasses.clear();
+                    this.methodsInfo = result;
+                }
+            }
+        }
+        return result;
     }
 
     public FieldInfo identityFieldOrNull() {
@@ -1049,7 +1076,7 @@ public class ClassInfo {
             synchronized (this) {
                 result = this.postLoadMethod;
                 if (result == null) {
-                    Collection<MethodInfo> possiblePostLoadMethods = methodsInfo
+                    Collection<MethodInfo> possiblePostLoadMethods = methodsInfo()
                         .findMethodInfoBy(methodInfo -> methodInfo.hasAnnotation(PostLoad.class));
                     if (possiblePostLoadMethods.size() > 1) {
                         throw new MetadataException(String
@@ -132,7 +132,11 @@ public final class DescriptorMappings {
     }
 
     private static String stripArraySuffix(String descriptor) {
-        return descriptor.replaceAll("(\\[\\])+$", "");
+        int end = descriptor.length();
+        while (descriptor.startsWith("[]", end - 2)) {
+            end -= 2;
+        }
+        return descriptor.substring(0, end);
     }
 
     private DescriptorMappings() {
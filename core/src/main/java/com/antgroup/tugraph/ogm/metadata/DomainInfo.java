@@ -46,6 +46,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -59,6 +60,20 @@ import org.slf4j.LoggerFactory;
 public class DomainInfo {
 
     static final Logger LOGGER = LoggerFactory.getLogger(DomainInfo.class);
+
+    /**
+     * The registered attribute converters. There are some signatures that are substrings of others, so they are
+     * sorted by descending length to match the longest.
+     */
+    private static final List<Map.Entry<String, AttributeConverters>> CONVERTIBLE_TYPES_BY_DESCENDING_LENGTH =
+        ConvertibleTypes.REGISTRY.entrySet().stream()
+            .sorted(comparingInt((Map.Entry<String, ?> e) -> e.getKey().length()).reversed())
+            .collect(Collectors.toList());
+
+    /**
+     * Domains with at least this many classes are introspected in parallel.
+     */
+    static final int PARALLEL_INTROSPECTION_THRESHOLD = 256;
     private final TypeSystem typeSystem;
 
     private final Map<String, ClassInfo> classNameToClassInfo = new HashMap<>();
@@ -91,13 +106,15 @@ public class DomainInfo {
         // when classes have been loaded from class graph, they would work with Spring Boot devtools.
         ClassLoader classLoader = Configuration.getDefaultClassLoader();
         try {
-            for (String className : findClasses(packages)) {
+            List<String> classNames = findClasses(packages);
+            Map<String, ClassInfo> introspectedClasses = introspect(classNames, classLoader, typeSystem);
+            for (String className : classNames) {
                 try {
                     Class<?> clazz = Class.forName(className, false, classLoader);
                     if (!classIsMappable.test(clazz)) {
                         continue;
                     }
-                    domainInfo.addClass(clazz);
+                    domainInfo.addClass(clazz, introspectedClasses);
                 } catch (ClassNotFoundException e) {
                     LOGGER.warn("Could not load class {}", className);
                 }
@@ -108,6 +125,37 @@ public class DomainInfo {
         return domainInfo;
     }
 
+    /**
+     * Creates the {@link ClassInfo class infos} of large domains up front and in parallel, as the reflection involved
+     * doesn't depend on other classes. Classes that cannot be loaded or introspected are left out, they are dealt with
+     * while adding them one by one.
+     *
+     * @param classNames  The classes to introspect
+     * @param classLoader The class loader for the domain classes
+     * @param typeSystem  The type system in use
+     * @return The class infos by class name
+     */
+    private static Map<String, ClassInfo> introspect(List<String> classNames, ClassLoader classLoader,
+        TypeSystem typeSystem) {
+
+        if (classNames.size() < PARALLEL_INTROSPECTION_THRESHOLD) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, ClassInfo> introspectedClasses = new ConcurrentHashMap<>(classNames.size());
+        classNames.parallelStream().forEach(className -> {
+            try {
+                Class<?> clazz = Class.forName(className, false, classLoader);
+                if (!(clazz.isAnnotation() || clazz.isAnonymousClass())) {
+                    introspectedClasses.put(className, new ClassInfo(clazz, typeSystem));
+                }
+            } catch (ClassNotFoundException | LinkageError | RuntimeException e) {
+                LOGGER.debug("Could not introspect class {} in parallel", className, e);
+            }
+        });
+        return introspectedClasses;
+    }
+
     private static List<String> findClasses(String[] packagesOrClasses) {
 
         // Try to find an index first
@@ -133,13 +181,21 @@ public class DomainInfo {
         }
     }
 
+    /**
+     * Reads the class names from the index of each package, as generated by the {@code tugraph-ogm-index} annotation
+     * processor. The index is looked up with the same class loader as the domain classes.
+     *
+     * @param packagesOrClasses The packages to read
+     * @return The class names, or null if there's no index for one of the packages
+     */
     private static List<String> tryIndexes(String[] packagesOrClasses) {
 
+        ClassLoader classLoader = Configuration.getDefaultClassLoader();
         List<String> classes = new ArrayList<>();
         for (String possiblePackageName : packagesOrClasses) {
-            String indexFile = "/META-INF/resources/" + possiblePackageName.replaceAll("\\.", "/") + "/neo4j-ogm.index";
+            String indexFile = "META-INF/resources/" + possiblePackageName.replace('.', '/') + "/neo4j-ogm.index";
 
-            InputStream storedIndex = DomainInfo.class.getResourceAsStream(indexFile);
+            InputStream storedIndex = classLoader.getResourceAsStream(indexFile);
             if (storedIndex == null) {
                 LOGGER.debug("No index for package " + possiblePackageName + ", aborting index scan.");
                 return null;
@@ -163,10 +219,14 @@ public class DomainInfo {
      * Prepares and hydrates a class. The methods adds all super classes of the given class.
      *
      * @param clazz
+     * @param introspectedClasses Class infos that have already been created
      */
-    private ClassInfo addClass(Class clazz) {
+    private ClassInfo addClass(Class clazz, Map<String, ClassInfo> introspectedClasses) {
 
-        ClassInfo classInfo = this.classNameToClassInfo.computeIfAbsent(clazz.getName(), k -> new ClassInfo(clazz, typeSystem));
+        ClassInfo classInfo = this.classNameToClassInfo.computeIfAbsent(clazz.getName(), k -> {
+            ClassInfo introspectedClass = introspectedClasses.get(k);
+            return introspectedClass != null ? introspectedClass : new ClassInfo(clazz, typeSystem);
+        });
         String superclassName = classInfo.superclassName();
 
         if (LOGGER.isDebugEnabled()) {
@@ -185,7 +245,7 @@ public class DomainInfo {
             if (superclassInfo != null) {
                 superclassInfo.addSubclass(classInfo);
             } else if (!"java.lang.Object".equals(superclassName) && !"java.lang.Enum".equals(superclassName)) {
-                ClassInfo superClassInfo = addClass(clazz.getSuperclass());
+                ClassInfo superClassInfo = addClass(clazz.getSuperclass(), introspectedClasses);
                 superClassInfo.addSubclass(classInfo);
                 this.classNameToClassInfo.put(superclassName, superClassInfo);
             }
@@ -441,11 +501,8 @@ public class DomainInfo {
                 .selectAttributeConverterFor(fieldInfo, ac);
 
             Optional<AttributeConverter<?, ?>> registeredAttributeConverter =
-                ConvertibleTypes.REGISTRY.entrySet().stream()
+                CONVERTIBLE_TYPES_BY_DESCENDING_LENGTH.stream()
                     .filter(e -> typeDescriptor.contains(e.getKey()))
-                    // There are some signatures that are substrings of others, so
-                    // we have to sort by descending length to match the longest
-                    .sorted(comparingInt((Map.Entry<String, ?> e) -> e.getKey().length()).reversed())
                     .findFirst()
                     .map(Map.Entry::getValue)
                     .flatMap(selectAttributeConverter);
@@ -480,16 +537,9 @@ public class DomainInfo {
                         "Class " + classInfo.name() + " field " + fieldInfo.getName() + " has null field type.");
                 }
 
-                boolean enumConverterSet = false;
-                for (Class enumClass : enumTypes) {
-                    if (fieldType.equals(enumClass)) {
-                        setEnumFieldConverter(fieldInfo, enumClass);
-                        enumConverterSet = true;
-                        break;
-                    }
-                }
-
-                if (!enumConverterSet && ClassUtils.isEnum(fieldType)) {
+                if (enumTypes.contains(fieldType)) {
+                    setEnumFieldConverter(fieldInfo, fieldType);
+                } else if (ClassUtils.isEnum(fieldType)) {
                     LOGGER.debug(
                         "Setting default enum converter for unscanned class " + classInfo.name() + ", field: "
                             + fieldInfo.getName());
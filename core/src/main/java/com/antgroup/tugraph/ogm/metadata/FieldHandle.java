@@ -0,0 +1,116 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.metadata;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+
+/**
+ * Reads and writes a single field. Access to the field is granted once, when the handle is created, and the field is
+ * resolved into method handles, instead of checking and granting access on every read and write as
+ * {@link FieldInfo#read(Field, Object)} and {@link FieldInfo#write(Field, Object, Object)} do.
+ * <p>
+ * Static fields and fields that cannot be resolved into method handles are accessed through plain reflection on the
+ * accessible field. So are arguments the handles reject, values that need a widening conversion for example, so that
+ * they are converted or reported the same way as by reflection.
+ */
+final class FieldHandle {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Field field;
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+
+    private FieldHandle(Field field, MethodHandle getter, MethodHandle setter) {
+        this.field = field;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    static FieldHandle of(Field field) {
+
+        return AccessController.doPrivileged((PrivilegedAction<FieldHandle>) () -> {
+            field.setAccessible(true);
+            if (Modifier.isStatic(field.getModifiers())) {
+                return new FieldHandle(field, null, null);
+            }
+
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle getter = null;
+            MethodHandle setter = null;
+            try {
+                getter = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+            } catch (IllegalAccessException | RuntimeException e) {
+                // Use reflection
+            }
+            try {
+                setter = lookup.unreflectSetter(field).asType(SETTER_TYPE);
+            } catch (IllegalAccessException | RuntimeException e) {
+                // Final fields can't be written through a method handle on all runtimes, use reflection
+            }
+            return new FieldHandle(field, getter, setter);
+        });
+    }
+
+    Object get(Object instance) {
+
+        if (getter != null) {
+            try {
+                return (Object) getter.invokeExact(instance);
+            } catch (ClassCastException | NullPointerException e) {
+                // Not an instance of the declaring class, let reflection report it
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new RuntimeException(e);
+            }
+        }
+        try {
+            return field.get(instance);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    void set(Object instance, Object value) {
+
+        if (setter != null) {
+            try {
+                setter.invokeExact(instance, value);
+                return;
+            } catch (ClassCastException | NullPointerException e) {
+                // Either not an instance of the declaring class or a value that needs a widening conversion or
+                // can't be assigned at all, let reflection deal with it
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new RuntimeException(e);
+            }
+        }
+        try {
+            field.set(instance, value);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
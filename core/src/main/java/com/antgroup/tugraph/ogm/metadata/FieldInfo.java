@@ -95,6 +95,12 @@ public class FieldInfo {
 
     private final boolean readOnly;
 
+    /**
+     * Lazily created handles for reading and writing this field, see {@link #readHandle()} and {@link #writeHandle()}.
+     */
+    private volatile FieldHandle readHandle;
+    private volatile FieldHandle writeHandle;
+
     /**
      * Constructs a new {@link FieldInfo} based on the given arguments.
      *
@@ -464,7 +470,7 @@ public class FieldInfo {
             }
         }
 
-        write(field, getInstanceOrDelegate(instance, delegateHolder), value);
+        writeHandle().set(getInstanceOrDelegate(instance, delegateHolder), value);
     }
 
     /**
@@ -474,7 +480,25 @@ public class FieldInfo {
      * @param value    field value to be written
      */
     public void writeDirect(Object instance, Object value) {
-        write(field, instance, value);
+        writeHandle().set(instance, value);
+    }
+
+    private FieldHandle readHandle() {
+        FieldHandle loadedReadHandle = this.readHandle;
+        if (loadedReadHandle == null) {
+            loadedReadHandle = FieldHandle.of(containingClassInfo.getField(this));
+            this.readHandle = loadedReadHandle;
+        }
+        return loadedReadHandle;
+    }
+
+    private FieldHandle writeHandle() {
+        FieldHandle loadedWriteHandle = this.writeHandle;
+        if (loadedWriteHandle == null) {
+            loadedWriteHandle = FieldHandle.of(field);
+            this.writeHandle = loadedWriteHandle;
+        }
+        return loadedWriteHandle;
     }
 
     /**
@@ -493,7 +517,7 @@ public class FieldInfo {
     }
 
     public Object read(Object instance) {
-        return read(containingClassInfo.getField(this), getInstanceOrDelegate(instance, delegateHolder));
+        return readHandle().get(getInstanceOrDelegate(instance, delegateHolder));
     }
 
     public Object readProperty(Object instance) {
@@ -501,7 +525,7 @@ public class FieldInfo {
             throw new IllegalStateException(
                 "The readComposite method should be used for fields with a CompositeAttributeConverter");
         }
-        Object value = read(containingClassInfo.getField(this), getInstanceOrDelegate(instance, delegateHolder));
+        Object value = readHandle().get(getInstanceOrDelegate(instance, delegateHolder));
         if (hasPropertyConverter()) {
             value = getPropertyConverter().toGraphProperty(value);
         }
@@ -513,7 +537,7 @@ public class FieldInfo {
             throw new IllegalStateException(
                 "readComposite should only be used when a field is annotated with a CompositeAttributeConverter");
         }
-        Object value = read(containingClassInfo.getField(this), getInstanceOrDelegate(instance, delegateHolder));
+        Object value = readHandle().get(getInstanceOrDelegate(instance, delegateHolder));
         return getCompositeConverter().toGraphProperties(value);
     }
 
@@ -24,6 +24,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 import com.antgroup.tugraph.ogm.annotation.NodeEntity;
@@ -47,7 +48,21 @@ public class MetaData {
     private static final Logger LOGGER = LoggerFactory.getLogger(MetaData.class);
 
     private final DomainInfo domainInfo;
-    private final Schema schema;
+    /**
+     * Only needed when loading along the schema, so it is built on first use.
+     */
+    private volatile Schema schema;
+
+    /**
+     * Caches the result of {@link #classInfo(String)} for the name of a class. Lookups by class happen several times
+     * per entity whenever entities are loaded or saved.
+     */
+    private final ClassValue<Optional<ClassInfo>> classInfoByClass = new ClassValue<Optional<ClassInfo>>() {
+        @Override
+        protected Optional<ClassInfo> computeValue(Class<?> type) {
+            return Optional.ofNullable(classInfo(type.getName()));
+        }
+    };
 
     public MetaData(String... packages) {
         this(TypeSystem.NoNativeTypes.INSTANCE, packages);
@@ -64,7 +79,6 @@ public class MetaData {
         }
 
         this.domainInfo = DomainInfo.create(typeSystem, packages);
-        this.schema = new DomainInfoSchemaBuilder(domainInfo).build();
     }
 
     static boolean containsRootPackage(String... packages) {
@@ -72,7 +86,17 @@ public class MetaData {
     }
 
     public Schema getSchema() {
-        return schema;
+        Schema result = this.schema;
+        if (result == null) {
+            synchronized (this) {
+                result = this.schema;
+                if (result == null) {
+                    result = new DomainInfoSchemaBuilder(domainInfo).build();
+                    this.schema = result;
+                }
+            }
+        }
+        return result;
     }
 
     /**
@@ -104,13 +128,13 @@ public class MetaData {
     }
 
     /**
-     * Finds the ClassInfo for the supplied Class throgh the class' name.
+     * Finds the ClassInfo for the supplied Class throgh the class' name. The result is cached per class.
      *
      * @param clazz the class whose classInfo we want to find
      * @return A ClassInfo matching the supplied object's class, or null if it doesn't exist
      */
     public ClassInfo classInfo(Class<?> clazz) {
-        return classInfo(clazz.getName());
+        return classInfoByClass.get(clazz).orElse(null);
     }
 
     /**
@@ -120,7 +144,7 @@ public class MetaData {
      * @return A ClassInfo matching the supplied object's class, or null if it doesn't exist
      */
     public ClassInfo classInfo(Object object) {
-        return classInfo(object.getClass().getName());
+        return classInfo(object.getClass());
     }
 
     private ClassInfo _classInfo(String name, Class<?> nodeEntityAnnotation) {
@@ -274,7 +298,14 @@ public class MetaData {
     }
 
     public boolean isRelationshipEntity(String className) {
-        ClassInfo classInfo = classInfo(className);
+        return isRelationshipEntity(classInfo(className));
+    }
+
+    public boolean isRelationshipEntity(Class<?> clazz) {
+        return isRelationshipEntity(classInfo(clazz));
+    }
+
+    private static boolean isRelationshipEntity(ClassInfo classInfo) {
         return classInfo != null && null != classInfo.annotationsInfo().get(RelationshipEntity.class);
     }
 
@@ -19,31 +19,157 @@
 package com.antgroup.tugraph.ogm.metadata.reflect;
 
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.antgroup.tugraph.ogm.exception.core.MappingException;
-import com.antgroup.tugraph.ogm.session.EntityInstantiator;
+import com.antgroup.tugraph.ogm.metadata.ClassInfo;
+import com.antgroup.tugraph.ogm.metadata.FieldInfo;
+import com.antgroup.tugraph.ogm.metadata.KotlinDetector;
 import com.antgroup.tugraph.ogm.metadata.MetaData;
+import com.antgroup.tugraph.ogm.session.EntityInstantiator;
+import com.antgroup.tugraph.ogm.session.Utils;
 
 /**
  * Simple instantiator that uses the no-arg constructor, without using property values.
+ * <p>
+ * Classes without a no-arg constructor, like immutable Kotlin data classes, are instantiated through their only
+ * constructor, provided the names of its parameters are available at runtime (the classes have been compiled with
+ * {@code -parameters}, respectively {@code -java-parameters} for Kotlin). The arguments are taken from the property
+ * values by parameter name. A primitive parameter without a property value fails with a {@link MappingException}.
+ * <p>
+ * The constructor to use is looked up once per class.
  */
 public class ReflectionEntityInstantiator implements EntityInstantiator {
 
+    private final MetaData metadata;
+    private final Map<Class<?>, Instantiator> instantiators = new ConcurrentHashMap<>();
+
     public ReflectionEntityInstantiator(MetaData metadata) {
+        this.metadata = metadata;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
+    @SuppressWarnings("unchecked")
     public <T> T createInstance(Class<T> clazz, Map<String, Object> propertyValues) {
+        return (T) instantiators.computeIfAbsent(clazz, this::instantiatorFor).newInstance(propertyValues);
+    }
+
+    private Instantiator instantiatorFor(Class<?> clazz) {
         try {
-            Constructor<T> defaultConstructor = clazz.getDeclaredConstructor();
+            Constructor<?> defaultConstructor = clazz.getDeclaredConstructor();
             defaultConstructor.setAccessible(true);
-            return defaultConstructor.newInstance();
-        } catch (SecurityException | IllegalArgumentException | ReflectiveOperationException e) {
+            return propertyValues -> newInstance(defaultConstructor, new Object[0]);
+        } catch (NoSuchMethodException e) {
+            Constructor<?> constructor = persistenceConstructorOrNull(clazz);
+            if (constructor == null) {
+                throw new MappingException("Unable to find default constructor to instantiate " + clazz, e);
+            }
+            constructor.setAccessible(true);
+            List<ConstructorArgument> arguments = constructorArguments(clazz, constructor);
+            return propertyValues -> {
+                Object[] values = new Object[arguments.size()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = arguments.get(i).valueOf(propertyValues);
+                }
+                return newInstance(constructor, values);
+            };
+        } catch (SecurityException e) {
             throw new MappingException("Unable to find default constructor to instantiate " + clazz, e);
         }
     }
+
+    private static Object newInstance(Constructor<?> constructor, Object[] arguments) {
+        try {
+            return constructor.newInstance(arguments);
+        } catch (IllegalArgumentException | ReflectiveOperationException e) {
+            throw new MappingException("Unable to instantiate " + constructor.getDeclaringClass(), e);
+        }
+    }
+
+    /**
+     * @return The only constructor of the class, if the names of its parameters are available. Synthetic constructors,
+     * for example the ones Kotlin generates for parameters with default values, are not taken into account.
+     */
+    private static Constructor<?> persistenceConstructorOrNull(Class<?> clazz) {
+
+        Constructor<?> candidate = null;
+        for (Constructor<?> constructor : clazz.getDeclaredConstructors()) {
+            if (constructor.isSynthetic()) {
+                continue;
+            }
+            if (candidate != null) {
+                return null;
+            }
+            candidate = constructor;
+        }
+        if (candidate == null) {
+            return null;
+        }
+        for (Parameter parameter : candidate.getParameters()) {
+            if (!parameter.isNamePresent()) {
+                if (KotlinDetector.isKotlinType(clazz)) {
+                    throw new MappingException("Unable to instantiate Kotlin class " + clazz
+                        + " without a no-arg constructor, its parameter names are missing. Compile it with "
+                        + "-java-parameters.");
+                }
+                return null;
+            }
+        }
+        return candidate;
+    }
+
+    private List<ConstructorArgument> constructorArguments(Class<?> clazz, Constructor<?> constructor) {
+
+        ClassInfo classInfo = metadata.classInfo(clazz);
+        List<ConstructorArgument> arguments = new ArrayList<>();
+        for (Parameter parameter : constructor.getParameters()) {
+            FieldInfo fieldInfo = classInfo == null ? null : classInfo.getFieldInfo(parameter.getName());
+            arguments.add(new ConstructorArgument(parameter, fieldInfo));
+        }
+        return arguments;
+    }
+
+    private interface Instantiator {
+
+        Object newInstance(Map<String, Object> propertyValues);
+    }
+
+    private static class ConstructorArgument {
+
+        private final Class<?> declaringClass;
+        private final String name;
+        private final Class<?> type;
+        private final FieldInfo fieldInfo;
+
+        ConstructorArgument(Parameter parameter, FieldInfo fieldInfo) {
+            this.declaringClass = parameter.getDeclaringExecutable().getDeclaringClass();
+            this.name = parameter.getName();
+            this.type = parameter.getType();
+            this.fieldInfo = fieldInfo;
+        }
+
+        Object valueOf(Map<String, Object> propertyValues) {
+
+            Object value = propertyValues.get(name);
+            if (value == null && fieldInfo != null && !fieldInfo.isComposite()) {
+                value = propertyValues.get(fieldInfo.propertyName());
+            }
+            if (value != null && fieldInfo != null && fieldInfo.hasPropertyConverter()) {
+                value = fieldInfo.getPropertyConverter().toEntityAttribute(value);
+            }
+            if (value == null && type.isPrimitive()) {
+                throw new MappingException("Unable to instantiate " + declaringClass + ", there is no value for its "
+                    + type.getName() + " constructor parameter " + name
+                    + (fieldInfo == null ? "" : " (property " + fieldInfo.propertyName() + ")"));
+            }
+            return Utils.coerceTypes(type, value);
+        }
+    }
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.session;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Provides the default executor for the asynchronous session methods. All work submitted there ends up blocking on
+ * the driver, so the default executor uses virtual threads when the runtime offers them and an unbounded pool of daemon
+ * threads otherwise.
+ */
+final class AsyncExecutors {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncExecutors.class);
+
+    private static final class Holder {
+        private static final Executor DEFAULT_EXECUTOR = createDefaultExecutor();
+    }
+
+    static Executor defaultExecutor() {
+        return Holder.DEFAULT_EXECUTOR;
+    }
+
+    private static Executor createDefaultExecutor() {
+        try {
+            Method newVirtualThreadPerTaskExecutor = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            Executor executor = (ExecutorService) newVirtualThreadPerTaskExecutor.invoke(null);
+            LOGGER.debug("Using virtual threads for asynchronous session operations");
+            return executor;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOGGER.debug("Virtual threads not available, using a cached thread pool for asynchronous session operations");
+        }
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "tugraph-ogm-async-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newCachedThreadPool(threadFactory);
+    }
+
+    private AsyncExecutors() {
+    }
+}
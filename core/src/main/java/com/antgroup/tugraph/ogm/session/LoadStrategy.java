@@ -33,7 +33,18 @@ public enum LoadStrategy {
     /**
      * Load strategy which uses nested list comprehensions to get related nodes based on the schema generated from
      * entity classes
+     * NOTE: Does not support queries with unlimited depth. TuGraph does not support list comprehensions, the rpc
+     * driver only returns the matched entities with this strategy. Use {@link #SCHEMA_HOP_LOAD_STRATEGY} to load
+     * related entities from TuGraph.
+     */
+    SCHEMA_LOAD_STRATEGY,
+
+    /**
+     * Load strategy which fetches related nodes one hop after another based on the schema generated from entity
+     * classes, resulting into a pattern similar to
+     * {@code OPTIONAL MATCH (n)-[r_1:R]->(n_1:L) WITH n, collect(r_1) AS rs_1, collect(n_1) AS ns_1
+     * RETURN n, rs_1, ns_1}
      * NOTE: Does not support queries with unlimited depth
      */
-    SCHEMA_LOAD_STRATEGY;
+    SCHEMA_HOP_LOAD_STRATEGY;
 }
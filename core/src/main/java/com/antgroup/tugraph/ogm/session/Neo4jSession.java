@@ -22,11 +22,20 @@ import static java.util.Collections.*;
 
 import java.io.Serializable;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.antgroup.tugraph.ogm.request.Request;
 import com.antgroup.tugraph.ogm.session.event.Event;
@@ -45,6 +54,7 @@ import com.antgroup.tugraph.ogm.metadata.FieldInfo;
 import com.antgroup.tugraph.ogm.metadata.MetaData;
 import com.antgroup.tugraph.ogm.metadata.reflect.ReflectionEntityInstantiator;
 import com.antgroup.tugraph.ogm.model.Result;
+import com.antgroup.tugraph.ogm.request.Deadline;
 import com.antgroup.tugraph.ogm.session.delegates.DeleteDelegate;
 import com.antgroup.tugraph.ogm.session.delegates.ExecuteQueriesDelegate;
 import com.antgroup.tugraph.ogm.session.delegates.GraphIdDelegate;
@@ -59,6 +69,8 @@ import com.antgroup.tugraph.ogm.session.request.strategy.impl.NodeQueryStatement
 import com.antgroup.tugraph.ogm.session.request.strategy.impl.PathNodeLoadClauseBuilder;
 import com.antgroup.tugraph.ogm.session.request.strategy.impl.PathRelationshipLoadClauseBuilder;
 import com.antgroup.tugraph.ogm.session.request.strategy.impl.RelationshipQueryStatements;
+import com.antgroup.tugraph.ogm.session.request.strategy.impl.SchemaHopNodeLoadClauseBuilder;
+import com.antgroup.tugraph.ogm.session.request.strategy.impl.SchemaHopRelationshipLoadClauseBuilder;
 import com.antgroup.tugraph.ogm.session.request.strategy.impl.SchemaNodeLoadClauseBuilder;
 import com.antgroup.tugraph.ogm.session.request.strategy.impl.SchemaRelationshipLoadClauseBuilder;
 import com.antgroup.tugraph.ogm.session.transaction.DefaultTransactionManager;
@@ -108,6 +120,25 @@ public class Neo4jSession implements Session {
 
     private final boolean useStrictQuerying;
 
+    /**
+     * Default maximum number of ids matched by a single query when loading entities by id.
+     */
+    public static final int DEFAULT_LOAD_BY_IDS_CHUNK_SIZE = 5_000;
+
+    private Long timeout;
+    private Executor asyncExecutor;
+    private int loadByIdsChunkSize = DEFAULT_LOAD_BY_IDS_CHUNK_SIZE;
+    /**
+     * The last unit of work submitted through {@link #executeAsync(Function)}. New work is chained onto this future,
+     * so that asynchronous work never touches this session concurrently.
+     */
+    private CompletableFuture<?> asyncTail = CompletableFuture.completedFuture(null);
+    /**
+     * Number of nested {@link #doInTransaction(TransactionalUnitOfWork, boolean, Transaction.Type)} calls. The mapping
+     * context is only bounded when the outermost call returns, as no operation is iterating its registers then.
+     */
+    private int operationDepth;
+
     public Neo4jSession(MetaData metaData, boolean useStrictQuerying, Driver driver) {
 
         this.metaData = metaData;
@@ -311,6 +342,12 @@ public class Neo4jSession implements Session {
         return loadByTypeHandler.loadAll(type, filters, sortOrder, pagination, depth);
     }
 
+    @Override
+    public <T> Stream<T> stream(Class<T> type, Filters filters, SortOrder sortOrder, Pagination pagination,
+        int depth) {
+        return loadByTypeHandler.stream(type, filters, sortOrder, pagination, depth);
+    }
+
     /*
      *----------------------------------------------------------------------------------------------------------
      * loadByIdsHandler (no filters yet)
@@ -420,6 +457,11 @@ public class Neo4jSession implements Session {
         return executeQueriesDelegate.query(type, cypher, parameters);
     }
 
+    @Override
+    public <T> Stream<T> queryStream(Class<T> type, String cypher, Map<String, ?> parameters) {
+        return executeQueriesDelegate.queryStream(type, cypher, parameters);
+    }
+
     @Override
     public Result query(String cypher, Map<String, ?> parameters) {
         return query(cypher, parameters, false);
@@ -528,7 +570,7 @@ public class Neo4jSession implements Session {
 
     @Override
     public Transaction beginTransaction(Transaction.Type type) {
-        return txManager.openTransaction(type, emptySet());
+        return txManager.openTransaction(type, bookmark == null ? emptySet() : singleton(bookmark));
     }
 
     @Override
@@ -571,6 +613,28 @@ public class Neo4jSession implements Session {
      */
     public <T> T doInTransaction(TransactionalUnitOfWork<T> function, boolean forceTx, Transaction.Type txType) {
 
+        Long operationTimeout = this.timeout;
+        T result;
+        operationDepth++;
+        try {
+            if (operationTimeout == null) {
+                result = doInTransactionWithinDeadline(function, forceTx, txType);
+            } else {
+                result = Deadline.within(operationTimeout,
+                    () -> doInTransactionWithinDeadline(function, forceTx, txType));
+            }
+        } finally {
+            operationDepth--;
+        }
+        if (operationDepth == 0) {
+            mappingContext.evictIfNecessary();
+        }
+        return result;
+    }
+
+    private <T> T doInTransactionWithinDeadline(TransactionalUnitOfWork<T> function, boolean forceTx,
+        Transaction.Type txType) {
+
         Transaction transaction = txManager.getCurrentTransaction();
 
         // If we (force) create a new transaction, we are in charge of handling rollback in case of errors
@@ -607,6 +671,76 @@ public class Neo4jSession implements Session {
         }
     }
 
+    /**
+     * For internal use only. Variant of {@link #doInTransaction(TransactionalUnitOfWork, Transaction.Type)} for units
+     * of work returning a lazily consumed stream. A transaction opened here stays open until the stream is closed: it
+     * is committed then, or rolled back if consuming the stream failed. The stream must be consumed on the thread that
+     * created it, as transactions are bound to their thread. The session timeout does not apply to consuming the
+     * stream.
+     *
+     * @param function The callback creating the stream.
+     * @param txType   Transaction type, readonly or not.
+     * @param <T>      The element type of the stream.
+     * @return The stream, to be closed by the caller.
+     */
+    public <T> Stream<T> streamInTransaction(TransactionalUnitOfWork<Stream<T>> function, Transaction.Type txType) {
+
+        if (!driver.requiresTransaction() || txManager.getCurrentTransaction() != null) {
+            return doInTransaction(function, txType);
+        }
+
+        Transaction transaction = beginTransaction(txType);
+        Stream<T> stream;
+        try {
+            stream = doInTransaction(function, txType);
+        } catch (RuntimeException e) {
+            if (txManager.canRollback()) {
+                transaction.rollback();
+            }
+            transaction.close();
+            throw e;
+        }
+
+        Iterator<T> elements = stream.iterator();
+        boolean[] failed = new boolean[1];
+        Spliterator<T> guarded = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE, Spliterator.ORDERED) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                T next;
+                try {
+                    if (!elements.hasNext()) {
+                        return false;
+                    }
+                    next = elements.next();
+                } catch (CypherException e) {
+                    failed[0] = true;
+                    throw e;
+                } catch (Throwable e) {
+                    failed[0] = true;
+                    throw driver.getExceptionTranslator().translateExceptionIfPossible(e);
+                }
+                action.accept(next);
+                return true;
+            }
+        };
+        return StreamSupport.stream(guarded, false)
+            .onClose(stream::close)
+            .onClose(() -> {
+                if (transaction.status().equals(Transaction.Status.CLOSED)) {
+                    return;
+                }
+                if (failed[0] && txManager.canRollback()) {
+                    logger.warn("Error consuming stream. Rolling back transaction.");
+                    transaction.rollback();
+                } else if (!failed[0] && txManager.canCommit()) {
+                    transaction.commit();
+                }
+                if (!transaction.status().equals(Transaction.Status.CLOSED)) {
+                    transaction.close();
+                }
+            });
+    }
+
     @Override
     public Transaction getTransaction() {
         return txManager.getCurrentTransaction();
@@ -722,6 +856,78 @@ public class Neo4jSession implements Session {
         this.loadStrategy = loadStrategy;
     }
 
+    /**
+     * @return The time budget of each operation of this session in milliseconds, {@literal null} if not limited.
+     */
+    public Long getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Limits the time each subsequent operation of this session may take. All statements of an operation, for
+     * example the statements of a save touching multiple labels, share this budget. Not part of the {@link Session}
+     * interface, see {@link Session#withTimeout(long, Function)} for limiting a single call.
+     *
+     * @param timeout The time budget in milliseconds, {@literal null} to use the statement timeout of the
+     *                configuration only
+     */
+    public void setTimeout(Long timeout) {
+        this.timeout = timeout;
+    }
+
+    /*
+     *----------------------------------------------------------------------------------------------------------
+     * Asynchronous execution
+     *----------------------------------------------------------------------------------------------------------
+     */
+    @Override
+    public <R> CompletableFuture<R> executeAsync(Function<Session, R> unitOfWork) {
+        Executor executor = getAsyncExecutor();
+        Deadline deadline = Deadline.current();
+        synchronized (this) {
+            CompletableFuture<R> result = asyncTail
+                .handle((previousResult, previousError) -> null)
+                .thenApplyAsync(ignored -> Deadline.within(deadline, () -> unitOfWork.apply(this)), executor);
+            asyncTail = result;
+            return result;
+        }
+    }
+
+    /**
+     * @return The executor running the asynchronous operations of this session.
+     */
+    public Executor getAsyncExecutor() {
+        Executor executor = asyncExecutor;
+        return executor == null ? AsyncExecutors.defaultExecutor() : executor;
+    }
+
+    /**
+     * Sets the executor for all asynchronous operations subsequently submitted to this session. Not part of the
+     * {@link Session} interface.
+     *
+     * @param asyncExecutor The executor to use, {@literal null} to use the default executor
+     */
+    public void setAsyncExecutor(Executor asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    /**
+     * @return The maximum number of ids matched by a single query when loading entities by id.
+     */
+    public int getLoadByIdsChunkSize() {
+        return loadByIdsChunkSize;
+    }
+
+    /**
+     * Sets the maximum number of ids matched by a single query when loading entities by id. Larger id collections are
+     * split into several queries that are sent together. Not part of the {@link Session} interface.
+     *
+     * @param loadByIdsChunkSize The maximum number of ids per query, values below 1 disable splitting
+     */
+    public void setLoadByIdsChunkSize(int loadByIdsChunkSize) {
+        this.loadByIdsChunkSize = loadByIdsChunkSize;
+    }
+
     private LoadClauseBuilder loadNodeClauseBuilder(int depth) {
         if (depth < 0) {
             return new PathNodeLoadClauseBuilder();
@@ -734,6 +940,9 @@ public class Neo4jSession implements Session {
             case SCHEMA_LOAD_STRATEGY:
                 return new SchemaNodeLoadClauseBuilder(metaData.getSchema());
 
+            case SCHEMA_HOP_LOAD_STRATEGY:
+                return new SchemaHopNodeLoadClauseBuilder(metaData.getSchema());
+
             default:
                 throw new IllegalStateException("Unknown loadStrategy " + loadStrategy);
         }
@@ -751,6 +960,9 @@ public class Neo4jSession implements Session {
             case SCHEMA_LOAD_STRATEGY:
                 return new SchemaRelationshipLoadClauseBuilder(metaData.getSchema());
 
+            case SCHEMA_HOP_LOAD_STRATEGY:
+                return new SchemaHopRelationshipLoadClauseBuilder(metaData.getSchema());
+
             default:
                 throw new IllegalStateException("Unknown loadStrategy " + loadStrategy);
         }
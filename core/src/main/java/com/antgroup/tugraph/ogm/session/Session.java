@@ -21,6 +21,10 @@ package com.antgroup.tugraph.ogm.session;
 import java.io.Serializable;
 import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.antgroup.tugraph.ogm.session.event.Event;
 import com.antgroup.tugraph.ogm.session.event.EventListener;
@@ -32,6 +36,7 @@ import com.antgroup.tugraph.ogm.cypher.query.Pagination;
 import com.antgroup.tugraph.ogm.cypher.query.SortOrder;
 import com.antgroup.tugraph.ogm.model.QueryStatistics;
 import com.antgroup.tugraph.ogm.model.Result;
+import com.antgroup.tugraph.ogm.request.Deadline;
 import com.antgroup.tugraph.ogm.transaction.Transaction;
 
 /**
@@ -488,6 +493,67 @@ public interface Session {
      */
     <T> Collection<T> loadAll(Class<T> type, Filters filters, SortOrder sortOrder, Pagination pagination, int depth);
 
+    /**
+     * Streams all entities of type, filtered by filters. Unlike {@link #loadAll(Class, Filters, SortOrder, Pagination,
+     * int)}, entities are hydrated row by row while the stream is consumed, so that large results can be processed
+     * without holding all of them in memory. {@code @PostLoad} methods are called as soon as the row of an entity has
+     * been mapped.
+     * <p>
+     * The stream holds on to the underlying response and, if none was open, a transaction. It must be consumed on the
+     * calling thread and closed, preferably with try-with-resources. Combine it with
+     * {@link com.antgroup.tugraph.ogm.config.Configuration.Builder#mappingContextMaxEntities(Integer)} to also bound the mapping context.
+     * <p>
+     * The default implementation loads all entities with {@link #loadAll(Class, Filters, SortOrder, Pagination, int)}
+     * and streams the loaded collection.
+     *
+     * @param type       type of entities
+     * @param filters    filters
+     * @param sortOrder  sort order
+     * @param pagination pagination
+     * @param depth      depth
+     * @return stream of entities
+     */
+    default <T> Stream<T> stream(Class<T> type, Filters filters, SortOrder sortOrder, Pagination pagination,
+        int depth) {
+        return loadAll(type, filters, sortOrder, pagination, depth).stream();
+    }
+
+    /**
+     * Streams all entities of type, with default depth = 1.
+     *
+     * @param type type of entities
+     * @return stream of entities
+     * @see #stream(Class, Filters, SortOrder, Pagination, int)
+     */
+    default <T> Stream<T> stream(Class<T> type) {
+        return stream(type, new Filters(), new SortOrder(), null, 1);
+    }
+
+    /**
+     * Streams all entities of type, filtered by filters, with default depth = 1.
+     *
+     * @param type    type of entities
+     * @param filters filters
+     * @return stream of entities
+     * @see #stream(Class, Filters, SortOrder, Pagination, int)
+     */
+    default <T> Stream<T> stream(Class<T> type, Filters filters) {
+        return stream(type, filters, new SortOrder(), null, 1);
+    }
+
+    /**
+     * Streams all entities of type, filtered by filters.
+     *
+     * @param type    type of entities
+     * @param filters filters
+     * @param depth   depth
+     * @return stream of entities
+     * @see #stream(Class, Filters, SortOrder, Pagination, int)
+     */
+    default <T> Stream<T> stream(Class<T> type, Filters filters, int depth) {
+        return stream(type, filters, new SortOrder(), null, depth);
+    }
+
     /**
      * Load single entity instance of type, with default depth = 1
      *
@@ -581,6 +647,9 @@ public interface Session {
      * decide whether to commit or rollback. Only one transaction can be bound to a thread
      * at any time, so active transactions that have not been closed but are no longer bound
      * to the thread must be handled by client code.
+     * <p>
+     * The transaction is started with the {@link #getLastBookmark() last bookmark} of this session, if any, so that it
+     * sees the writes committed by this session even when the driver routes it to a read replica.
      *
      * @param type the {@link Transaction.Type} required for this transaction
      * @return a new active Transaction
@@ -626,6 +695,24 @@ public interface Session {
      */
     <T> Iterable<T> query(Class<T> objectType, String cypher, Map<String, ?> parameters);
 
+    /**
+     * Streaming variant of {@link #query(Class, String, Map)}: domain objects are hydrated row by row while the
+     * stream is consumed. Domain objects are not deduplicated across rows, use {@code DISTINCT} in the query if a
+     * domain object can be part of several rows. See {@link #stream(Class, Filters, SortOrder, Pagination, int)} for
+     * how the stream must be handled.
+     * <p>
+     * The default implementation runs {@link #query(Class, String, Map)} and streams its result.
+     *
+     * @param objectType The type that should be returned from the query.
+     * @param cypher     The parameterizable cypher to execute.
+     * @param parameters Any parameters to attach to the cypher.
+     * @param <T>        A domain object or scalar.
+     * @return A stream of domain objects or scalars as prescribed by the parametrized type, to be closed after use.
+     */
+    default <T> Stream<T> queryStream(Class<T> objectType, String cypher, Map<String, ?> parameters) {
+        return StreamSupport.stream(query(objectType, cypher, parameters).spliterator(), false);
+    }
+
     /**
      * a cypher statement this method will return a Result object containing a collection of Map's which represent Neo4j
      * objects as properties, along with query statistics if applicable.
@@ -750,4 +837,128 @@ public interface Session {
      * Will be used for all subsequent queries.
      */
     void setLoadStrategy(LoadStrategy loadStrategy);
+
+    /**
+     * Runs the given unit of work with a deadline {@code timeoutMillis} from now. All statements executed by the unit
+     * of work share this time budget, each one only gets the time that is left. An enclosing deadline that expires
+     * earlier stays in effect.
+     *
+     * @param timeoutMillis The time budget in milliseconds
+     * @param unitOfWork    The work to execute
+     * @param <R>           The result type of the unit of work
+     * @return The result of the unit of work
+     * @throws com.antgroup.tugraph.ogm.exception.StatementTimeoutException if the deadline expires
+     */
+    default <R> R withTimeout(long timeoutMillis, Function<Session, R> unitOfWork) {
+        return Deadline.within(timeoutMillis, () -> unitOfWork.apply(this));
+    }
+
+    /**
+     * Runs the given unit of work against this session on the asynchronous executor of this session. Units of work
+     * submitted to the same session are executed one after another in submission order, as the session itself is not
+     * thread-safe. Transactions are bound to the executing thread, so a unit of work doesn't participate in a
+     * transaction begun by the caller. A {@link Deadline} of the caller however still applies.
+     * <p>
+     * Sessions that don't support asynchronous execution return a future completed exceptionally with an
+     * {@link UnsupportedOperationException}, which is what the default implementation does.
+     *
+     * @param unitOfWork The work to execute
+     * @param <R>        The result type of the unit of work
+     * @return A future completed with the result of the unit of work or exceptionally with its error
+     */
+    default <R> CompletableFuture<R> executeAsync(Function<Session, R> unitOfWork) {
+        CompletableFuture<R> unsupported = new CompletableFuture<>();
+        unsupported.completeExceptionally(new UnsupportedOperationException(
+            getClass().getName() + " does not support asynchronous execution"));
+        return unsupported;
+    }
+
+    /**
+     * Asynchronous variant of {@link #loadAll(Class)}.
+     *
+     * @see #executeAsync(Function)
+     */
+    default <T> CompletableFuture<Collection<T>> loadAllAsync(Class<T> type) {
+        return executeAsync(session -> session.loadAll(type));
+    }
+
+    /**
+     * Asynchronous variant of {@link #loadAll(Class, int)}.
+     *
+     * @see #executeAsync(Function)
+     */
+    default <T> CompletableFuture<Collection<T>> loadAllAsync(Class<T> type, int depth) {
+        return executeAsync(session -> session.loadAll(type, depth));
+    }
+
+    /**
+     * Asynchronous variant of {@link #loadAll(Class, Filters)}.
+     *
+     * @see #executeAsync(Function)
+     */
+    default <T> CompletableFuture<Collection<T>> loadAllAsync(Class<T> type, Filters filters) {
+        return executeAsync(session -> session.loadAll(type, filters));
+    }
+
+    /**
+     * Asynchronous variant of {@link #loadAll(Class, Collection)}.
+     *
+     * @see #executeAsync(Function)
+     */
+    default <T, ID extends Serializable> CompletableFuture<Collection<T>> loadAllAsync(Class<T> type,
+        Collection<ID> ids) {
+        return executeAsync(session -> session.loadAll(type, ids));
+    }
+
+    /**
+     * Asynchronous variant of {@link #load(Class, Serializable)}.
+     *
+     * @see #executeAsync(Function)
+     */
+    default <T, ID extends Serializable> CompletableFuture<T> loadAsync(Class<T> type, ID id) {
+        return executeAsync(session -> session.load(type, id));
+    }
+
+    /**
+     * Asynchronous variant of {@link #save(Object)}.
+     *
+     * @see #executeAsync(Function)
+     */
+    default <T> CompletableFuture<Void> saveAsync(T object) {
+        return executeAsync(session -> {
+            session.save(object);
+            return null;
+        });
+    }
+
+    /**
+     * Asynchronous variant of {@link #save(Object, int)}.
+     *
+     * @see #executeAsync(Function)
+     */
+    default <T> CompletableFuture<Void> saveAsync(T object, int depth) {
+        return executeAsync(session -> {
+            session.save(object, depth);
+            return null;
+        });
+    }
+
+    /**
+     * Asynchronous variant of {@link #query(Class, String, Map)}.
+     *
+     * @see #executeAsync(Function)
+     */
+    default <T> CompletableFuture<Iterable<T>> queryAsync(Class<T> objectType, String cypher,
+        Map<String, ?> parameters) {
+        return executeAsync(session -> session.query(objectType, cypher, parameters));
+    }
+
+    /**
+     * Asynchronous variant of {@link #query(String, Map)}.
+     *
+     * @see #executeAsync(Function)
+     */
+    default CompletableFuture<Result> queryAsync(String cypher, Map<String, ?> parameters) {
+        return executeAsync(session -> session.query(cypher, parameters));
+    }
 }
@@ -25,6 +25,7 @@ import java.lang.reflect.InvocationTargetException;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
 
 import com.antgroup.tugraph.ogm.session.event.EventListener;
 import com.antgroup.tugraph.ogm.autoindex.AutoIndexManager;
@@ -55,6 +56,9 @@ public class SessionFactory {
 
     private LoadStrategy loadStrategy = LoadStrategy.SCHEMA_LOAD_STRATEGY;
     private EntityInstantiator entityInstantiator;
+    private Executor asyncExecutor;
+    private int mappingContextMaxEntities;
+    private int loadByIdsChunkSize;
 
     /**
      * Constructs a new {@link SessionFactory} by initialising the object-graph mapping meta-data from the given list of domain
@@ -117,6 +121,10 @@ public class SessionFactory {
         this.useStrictQuerying = useStrictQuerying;
         this.eventListeners = new CopyOnWriteArrayList<>();
         this.entityInstantiator = new ReflectionEntityInstantiator(metaData);
+        this.mappingContextMaxEntities = Optional.ofNullable(driver.getConfiguration())
+            .map(Configuration::getMappingContextMaxEntities).orElse(0);
+        this.loadByIdsChunkSize = Optional.ofNullable(driver.getConfiguration())
+            .map(Configuration::getLoadByIdsChunkSize).orElse(Neo4jSession.DEFAULT_LOAD_BY_IDS_CHUNK_SIZE);
     }
 
     /**
@@ -150,7 +158,12 @@ public class SessionFactory {
      * @return A new {@link Session}
      */
     public Session openSession() {
-        return new Neo4jSession(metaData, useStrictQuerying, driver, eventListeners, loadStrategy, entityInstantiator);
+        Neo4jSession session = new Neo4jSession(metaData, useStrictQuerying, driver, eventListeners, loadStrategy,
+            entityInstantiator);
+        session.setAsyncExecutor(asyncExecutor);
+        session.context().setMaxEntities(mappingContextMaxEntities);
+        session.setLoadByIdsChunkSize(loadByIdsChunkSize);
+        return session;
     }
 
     /**
@@ -205,6 +218,36 @@ public class SessionFactory {
         this.entityInstantiator = entityInstantiator;
     }
 
+    /**
+     * Sets the executor running the asynchronous operations of subsequently created sessions. When not set, virtual
+     * threads are used on runtimes supporting them and a pool of daemon threads otherwise.
+     *
+     * @param asyncExecutor The executor to use, {@literal null} to use the default executor
+     */
+    public void setAsyncExecutor(Executor asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    /**
+     * Bounds the mapping context of subsequently created sessions, see
+     * {@link Configuration.Builder#mappingContextMaxEntities(Integer)}.
+     *
+     * @param mappingContextMaxEntities The maximum number of entities per session, 0 for no limit
+     */
+    public void setMappingContextMaxEntities(int mappingContextMaxEntities) {
+        this.mappingContextMaxEntities = mappingContextMaxEntities;
+    }
+
+    /**
+     * Sets the number of ids per query of subsequently created sessions, see
+     * {@link Configuration.Builder#loadByIdsChunkSize(Integer)}.
+     *
+     * @param loadByIdsChunkSize The maximum number of ids per query
+     */
+    public void setLoadByIdsChunkSize(int loadByIdsChunkSize) {
+        this.loadByIdsChunkSize = loadByIdsChunkSize;
+    }
+
     /**
      * Closes this session factory
      * Also closes any underlying resources, like driver etc.
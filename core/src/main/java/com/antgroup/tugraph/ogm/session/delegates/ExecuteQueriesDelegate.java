@@ -26,8 +26,13 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.antgroup.tugraph.ogm.annotation.EndNode;
 import com.antgroup.tugraph.ogm.annotation.StartNode;
@@ -127,6 +132,43 @@ public class ExecuteQueriesDelegate extends SessionDelegate {
         return executeAndMap(type, cypher, parameters);
     }
 
+    public <T> Stream<T> queryStream(Class<T> type, String cypher, Map<String, ?> parameters) {
+        validateQuery(cypher, parameters, false); //we'll allow modifying statements
+        if (type == null || VOID_TYPES.contains(type)) {
+            throw new RuntimeException("Supplied type must not be null or void.");
+        }
+
+        return session.streamInTransaction(() -> {
+
+            if (mayBeReadWrite(cypher)) {
+                session.clear();
+            }
+
+            if (session.metaData().classInfo(type.getName()) != null) {
+                GraphModelRequest request = new DefaultGraphModelRequest(cypher, parameters);
+                Response<GraphModel> response = session.requestHandler().execute(request);
+                return new GraphRowModelMapper(session.metaData(), session.context(),
+                    session.getEntityInstantiator())
+                    .stream(type, response);
+            } else {
+                RowModelRequest request = new DefaultRowModelRequest(cypher, parameters);
+                Response<RowModel> response = session.requestHandler().execute(request);
+                Spliterator<T> rows = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE, Spliterator.ORDERED) {
+                    @Override
+                    public boolean tryAdvance(Consumer<? super T> action) {
+                        RowModel model = response.next();
+                        if (model == null) {
+                            return false;
+                        }
+                        action.accept(extractColumnValue(type, model));
+                        return true;
+                    }
+                };
+                return StreamSupport.stream(rows, false).onClose(response::close);
+            }
+        }, transactionTypeOf(cypher));
+    }
+
     public Result query(String cypher, Map<String, ?> parameters, boolean readOnly) {
 
         validateQuery(cypher, parameters, readOnly);
@@ -181,7 +223,7 @@ public class ExecuteQueriesDelegate extends SessionDelegate {
                     return mapScalarResponse(type, response);
                 }
             }
-        }, Transaction.Type.READ_WRITE);
+        }, transactionTypeOf(cypher));
     }
 
     private static <T> Iterable<T> mapScalarResponse(Class<T> type, Response<RowModel> response) {
@@ -303,6 +345,13 @@ public class ExecuteQueriesDelegate extends SessionDelegate {
         return matcher.find();
     }
 
+    /**
+     * Queries that cannot write run in read only transactions, so that they are routed the same way as loads.
+     */
+    static Transaction.Type transactionTypeOf(String cypher) {
+        return mayBeReadWrite(cypher) ? Transaction.Type.READ_WRITE : Transaction.Type.READ_ONLY;
+    }
+
     private void validateQuery(String cypher, Map<String, ?> parameters, boolean readOnly) {
 
         if (LOGGER.isDebugEnabled() && readOnly && mayBeReadWrite(cypher)) {
@@ -19,10 +19,13 @@
 package com.antgroup.tugraph.ogm.session.delegates;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -30,6 +33,7 @@ import java.util.function.Function;
 
 import com.antgroup.tugraph.ogm.context.GraphRowModelMapper;
 import com.antgroup.tugraph.ogm.cypher.query.DefaultGraphModelRequest;
+import com.antgroup.tugraph.ogm.cypher.query.KeysetPagination;
 import com.antgroup.tugraph.ogm.cypher.query.Pagination;
 import com.antgroup.tugraph.ogm.cypher.query.PagingAndSortingQuery;
 import com.antgroup.tugraph.ogm.cypher.query.SortOrder;
@@ -72,33 +76,97 @@ public class LoadByIdsDelegate extends SessionDelegate {
         QueryStatements<ID> queryStatements = session.queryStatementsFor(type, depth);
 
         ClassInfo classInfo = session.metaData().classInfo(type.getName());
-        PagingAndSortingQuery qry = queryStatements.findAllByType(labelsOrType.get(), convertIfNeeded(classInfo, ids), depth)
+        Collection<ID> convertedIds = convertIfNeeded(classInfo, ids);
+        int chunkSize = session.getLoadByIdsChunkSize();
+        if (sortOrder.sortClauses().isEmpty() && pagination == null && chunkSize > 0 && ids.size() > chunkSize) {
+            return loadAllInChunks(type, ids, queryStatements, labelsOrType.get(), convertedIds, chunkSize, depth);
+        }
+
+        PagingAndSortingQuery qry = queryStatements.findAllByType(labelsOrType.get(), convertedIds, depth)
             .setSortOrder(sortOrder)
             .setPagination(pagination);
 
+        boolean keyset = pagination instanceof KeysetPagination;
         GraphModelRequest request = new DefaultGraphModelRequest(qry.getStatement(), qry.getParameters());
-        return session.doInTransaction(() -> {
+        Collection<T> loaded = session.doInTransaction(() -> {
             try (Response<GraphModel> response = session.requestHandler().execute(request)) {
                 Iterable<T> mapped = new GraphRowModelMapper(session.metaData(), session.context(),
                     session.getEntityInstantiator()).map(type, response);
 
-                if (sortOrder.sortClauses().isEmpty()) {
+                // Keyset pages stay in the order of the query, so that the page continues after its last entity
+                if (sortOrder.sortClauses().isEmpty() && !keyset) {
                     return sortResultsByIds(type, ids, mapped);
                 }
+                Set<Object> idSet = new HashSet<>(ids);
                 Set<T> results = new LinkedHashSet<>();
                 for (T entity : mapped) {
-                    if (includeMappedEntity(ids, entity)) {
+                    if (includeMappedEntity(idSet, entity)) {
                         results.add(entity);
                     }
                 }
                 return results;
             }
         }, Transaction.Type.READ_ONLY);
+
+        if (keyset) {
+            continueAfterLastResult(type, sortOrder, (KeysetPagination) pagination, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * Splits the ids into chunks of at most {@code chunkSize} ids and loads each chunk with its own query. The queries
+     * are handed to the driver together, so that it can send them at the same time. The responses are mapped in the
+     * order of the chunks, the entities are returned in the order of {@code ids}.
+     */
+    private <T, ID extends Serializable> Collection<T> loadAllInChunks(Class<T> type, Collection<ID> ids,
+        QueryStatements<ID> queryStatements, String labelsOrType, Collection<ID> convertedIds, int chunkSize,
+        int depth) {
+
+        List<GraphModelRequest> requests = new ArrayList<>(convertedIds.size() / chunkSize + 1);
+        List<ID> chunk = new ArrayList<>(chunkSize);
+        for (ID id : convertedIds) {
+            chunk.add(id);
+            if (chunk.size() == chunkSize) {
+                requests.add(chunkRequest(queryStatements, labelsOrType, chunk, depth));
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            requests.add(chunkRequest(queryStatements, labelsOrType, chunk, depth));
+        }
+
+        return session.doInTransaction(() -> {
+            List<Response<GraphModel>> responses = session.requestHandler().executeAll(requests);
+            try {
+                GraphRowModelMapper mapper = new GraphRowModelMapper(session.metaData(), session.context(),
+                    session.getEntityInstantiator());
+                List<T> mapped = new ArrayList<>(ids.size());
+                for (Response<GraphModel> response : responses) {
+                    for (T entity : mapper.map(type, response)) {
+                        mapped.add(entity);
+                    }
+                }
+                return sortResultsByIds(type, ids, mapped);
+            } finally {
+                responses.forEach(Response::close);
+            }
+        }, Transaction.Type.READ_ONLY);
+    }
+
+    private static <ID extends Serializable> GraphModelRequest chunkRequest(QueryStatements<ID> queryStatements,
+        String labelsOrType, List<ID> chunk, int depth) {
+        PagingAndSortingQuery qry = queryStatements.findAllByType(labelsOrType, chunk, depth);
+        return new DefaultGraphModelRequest(qry.getStatement(), qry.getParameters());
     }
 
+    /**
+     * Returns the mapped entities in the order of {@code ids} in a single pass over the ids, dropping entities not
+     * asked for.
+     */
     private <T, ID extends Serializable> Set<T> sortResultsByIds(Class<T> type, Collection<ID> ids,
         Iterable<T> mapped) {
-        Map<ID, T> items = new HashMap<>();
+        Map<ID, T> items = new HashMap<>(Math.max(16, (int) (ids.size() / .75f) + 1));
         ClassInfo classInfo = session.metaData().classInfo(type.getName());
 
         Function<Object, Optional<Object>> primaryIndexOrIdReader
@@ -109,7 +177,7 @@ public class LoadByIdsDelegate extends SessionDelegate {
                 .ifPresent(id -> items.put((ID) id, t));
         }
 
-        Set<T> results = new LinkedHashSet<>();
+        Set<T> results = new LinkedHashSet<>(Math.max(16, (int) (items.size() / .75f) + 1));
         for (ID id : ids) {
             T item = items.get(id);
             if (item != null) {
@@ -150,7 +218,7 @@ public class LoadByIdsDelegate extends SessionDelegate {
         return loadAll(type, ids, sortOrder, pagination, 1);
     }
 
-    private <T, ID extends Serializable> boolean includeMappedEntity(Collection<ID> ids, T mapped) {
+    private <T> boolean includeMappedEntity(Set<Object> ids, T mapped) {
 
         final ClassInfo classInfo = session.metaData().classInfo(mapped);
 
@@ -21,6 +21,7 @@ package com.antgroup.tugraph.ogm.session.delegates;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import com.antgroup.tugraph.ogm.context.GraphRowListModelMapper;
 import com.antgroup.tugraph.ogm.context.GraphRowModelMapper;
@@ -33,6 +34,7 @@ import com.antgroup.tugraph.ogm.response.Response;
 import com.antgroup.tugraph.ogm.session.Neo4jSession;
 import com.antgroup.tugraph.ogm.cypher.query.DefaultGraphModelRequest;
 import com.antgroup.tugraph.ogm.cypher.query.DefaultGraphRowListModelRequest;
+import com.antgroup.tugraph.ogm.cypher.query.KeysetPagination;
 import com.antgroup.tugraph.ogm.cypher.query.Pagination;
 import com.antgroup.tugraph.ogm.cypher.query.PagingAndSortingQuery;
 import com.antgroup.tugraph.ogm.cypher.query.SortOrder;
@@ -71,12 +73,83 @@ public class LoadByTypeDelegate extends SessionDelegate {
     public <T> Collection<T> loadAll(Class<T> type, Filters filters, SortOrder sortOrder, Pagination pagination,
                                      int depth) {
 
+        Optional<PagingAndSortingQuery> optionalQuery = findByType(type, filters, sortOrder, pagination, depth);
+        if (!optionalQuery.isPresent()) {
+            return Collections.emptyList();
+        }
+        PagingAndSortingQuery query = optionalQuery.get();
+
+        Collection<T> results = session.doInTransaction(() -> {
+            if (query.needsRowResult()) {
+                DefaultGraphRowListModelRequest graphRowListModelRequest = new DefaultGraphRowListModelRequest(
+                    query.getStatement(), query.getParameters());
+                try (Response<GraphRowListModel> response = session.requestHandler().execute(graphRowListModelRequest)) {
+                    return (Collection<T>) new GraphRowListModelMapper(session.metaData(), session.context(),
+                        session.getEntityInstantiator())
+                        .map(type, response);
+                }
+            } else {
+                GraphModelRequest request = new DefaultGraphModelRequest(query.getStatement(), query.getParameters());
+                try (Response<GraphModel> response = session.requestHandler().execute(request)) {
+                    return (Collection<T>) new GraphRowModelMapper(session.metaData(), session.context(),
+                        session.getEntityInstantiator()).map(type, response);
+                }
+            }
+        }, Transaction.Type.READ_ONLY);
+
+        if (pagination instanceof KeysetPagination) {
+            continueAfterLastResult(type, sortOrder, (KeysetPagination) pagination, results);
+        }
+        return results;
+    }
+
+    /**
+     * Streams all objects of a given {@code type}, see {@link #loadAll(Class, Filters, SortOrder, Pagination, int)}.
+     * The objects are hydrated row by row while the stream is consumed.
+     *
+     * @param type       The type of objects to load.
+     * @param filters    Additional filters to reduce the number of objects loaded, may be null or empty.
+     * @param sortOrder  Sort order to be passed on to the database
+     * @param pagination Pagination if required
+     * @param depth      Depth of relationships to load
+     * @param <T>        Returned type
+     * @return A stream of objects with the requested type, to be closed by the caller
+     */
+    public <T> Stream<T> stream(Class<T> type, Filters filters, SortOrder sortOrder, Pagination pagination,
+        int depth) {
+
+        Optional<PagingAndSortingQuery> optionalQuery = findByType(type, filters, sortOrder, pagination, depth);
+        if (!optionalQuery.isPresent()) {
+            return Stream.empty();
+        }
+        PagingAndSortingQuery query = optionalQuery.get();
+
+        return session.streamInTransaction(() -> {
+            if (query.needsRowResult()) {
+                DefaultGraphRowListModelRequest graphRowListModelRequest = new DefaultGraphRowListModelRequest(
+                    query.getStatement(), query.getParameters());
+                Response<GraphRowListModel> response = session.requestHandler().execute(graphRowListModelRequest);
+                return new GraphRowListModelMapper(session.metaData(), session.context(),
+                    session.getEntityInstantiator())
+                    .stream(type, response);
+            } else {
+                GraphModelRequest request = new DefaultGraphModelRequest(query.getStatement(), query.getParameters());
+                Response<GraphModel> response = session.requestHandler().execute(request);
+                return new GraphRowModelMapper(session.metaData(), session.context(),
+                    session.getEntityInstantiator()).stream(type, response);
+            }
+        }, Transaction.Type.READ_ONLY);
+    }
+
+    private <T> Optional<PagingAndSortingQuery> findByType(Class<T> type, Filters filters, SortOrder sortOrder,
+        Pagination pagination, int depth) {
+
         Optional<String> labelsOrType = session.determineLabelsOrTypeForLoading(type);
         if (!labelsOrType.isPresent()) {
             LOG.warn("Unable to find database label for entity " + type.getName()
                 + " : no results will be returned. Make sure the class is registered, "
                 + "and not abstract without @NodeEntity annotation");
-            return Collections.emptyList();
+            return Optional.empty();
         }
         QueryStatements queryStatements = session.queryStatementsFor(type, depth);
 
@@ -92,24 +165,7 @@ public class LoadByTypeDelegate extends SessionDelegate {
 
         query.setSortOrder(sortOrderWithResolvedProperties)
             .setPagination(pagination);
-
-        return session.doInTransaction(() -> {
-            if (query.needsRowResult()) {
-                DefaultGraphRowListModelRequest graphRowListModelRequest = new DefaultGraphRowListModelRequest(
-                    query.getStatement(), query.getParameters());
-                try (Response<GraphRowListModel> response = session.requestHandler().execute(graphRowListModelRequest)) {
-                    return (Collection<T>) new GraphRowListModelMapper(session.metaData(), session.context(),
-                        session.getEntityInstantiator())
-                        .map(type, response);
-                }
-            } else {
-                GraphModelRequest request = new DefaultGraphModelRequest(query.getStatement(), query.getParameters());
-                try (Response<GraphModel> response = session.requestHandler().execute(request)) {
-                    return (Collection<T>) new GraphRowModelMapper(session.metaData(), session.context(),
-                        session.getEntityInstantiator()).map(type, response);
-                }
-            }
-        }, Transaction.Type.READ_WRITE);
+        return Optional.of(query);
     }
 
     public <T> Collection<T> loadAll(Class<T> type) {
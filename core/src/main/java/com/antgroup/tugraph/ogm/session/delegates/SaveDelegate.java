@@ -20,6 +20,7 @@ package com.antgroup.tugraph.ogm.session.delegates;
 
 import java.lang.reflect.Array;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.function.Predicate;
@@ -86,6 +87,10 @@ public class SaveDelegate extends SessionDelegate {
             requestExecutor.executeSave(entityGraphMapper.compileContext());
             eventsDelegate.postSave();
         } else {
+            // Without listeners nothing can modify the entities between checking and mapping them
+            if (objects instanceof Collection) {
+                entityGraphMapper.checkDirty((Collection<T>) objects);
+            }
             objects.forEach(item -> entityGraphMapper.map(item, depth));
             requestExecutor.executeSave(entityGraphMapper.compileContext());
         }
@@ -25,7 +25,6 @@ import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -33,6 +32,7 @@ import java.util.Set;
 
 import com.antgroup.tugraph.ogm.annotation.Relationship;
 import com.antgroup.tugraph.ogm.context.MappedRelationship;
+import com.antgroup.tugraph.ogm.context.RelationshipRegister;
 import com.antgroup.tugraph.ogm.metadata.ClassInfo;
 import com.antgroup.tugraph.ogm.metadata.DescriptorMappings;
 import com.antgroup.tugraph.ogm.metadata.FieldInfo;
@@ -54,8 +54,12 @@ final class SaveEventDelegate extends SessionDelegate {
 
     private final Set<Object> visited;
     private final Map<Object, Boolean> preSaved;
-    private final Set<MappedRelationship> registeredRelationships;
+    private final RelationshipRegister<MappedRelationship> registeredRelationships;
     private final Set<MappedRelationship> addedRelationships;
+    /**
+     * Added relationships whose nodes have not been looked at by {@link #touched()} yet.
+     */
+    private final List<MappedRelationship> untouchedRelationships;
     private final Set<MappedRelationship> deletedRelationships;
 
     SaveEventDelegate(Neo4jSession session) {
@@ -64,8 +68,9 @@ final class SaveEventDelegate extends SessionDelegate {
         this.visited = new HashSet<>();
         this.preSaved = new HashMap<>();
 
-        this.registeredRelationships = new HashSet<>(session.context().getRelationships());
+        this.registeredRelationships = new RelationshipRegister<>(session.context().getRelationships());
         this.addedRelationships = new HashSet<>();
+        this.untouchedRelationships = new ArrayList<>();
         this.deletedRelationships = new HashSet<>();
     }
 
@@ -126,7 +131,8 @@ final class SaveEventDelegate extends SessionDelegate {
     private Set<Object> touched() {
         Set<Object> touched = new HashSet<>();
 
-        for (MappedRelationship added : addedRelationships) {
+        // Nodes of relationships handled by previous invocations have already been fired for
+        for (MappedRelationship added : untouchedRelationships) {
 
             Object src = session.context().getNodeEntity(added.getStartNodeId());
             Object tgt = session.context().getNodeEntity(added.getEndNodeId());
@@ -140,6 +146,7 @@ final class SaveEventDelegate extends SessionDelegate {
             }
         }
 
+        untouchedRelationships.clear();
         return touched;
     }
 
@@ -195,7 +202,9 @@ final class SaveEventDelegate extends SessionDelegate {
                 for (MappedRelationship mappable : map(parentInfo, parentId, reader.read(parent), reader)) {
                     if (isNew(mappable)) {
                         logger.debug("added new relationship: {} to {}", mappable, parent);
-                        this.addedRelationships.add(mappable);
+                        if (this.addedRelationships.add(mappable)) {
+                            this.untouchedRelationships.add(mappable);
+                        }
                         return true;
                     }
                     this.registeredRelationships.add(mappable);
@@ -207,8 +216,8 @@ final class SaveEventDelegate extends SessionDelegate {
             // if are there any missing from the mapping context, the object is dirty because
             // a previously mapped relationship has been deleted.
 
-            for (MappedRelationship previous : session.context().getRelationships()) {
-                if (isDeleted(previous) && (previous.getStartNodeId() == parentId || previous.getEndNodeId() == parentId)) {
+            for (MappedRelationship previous : session.context().getRelationshipsOf(parentId)) {
+                if (isDeleted(previous)) {
                     logger.debug("deleted: {} from {}", previous, parent);
                     return true;
                 }
@@ -254,28 +263,20 @@ final class SaveEventDelegate extends SessionDelegate {
 
     private void deregisterIncomingRelationship(Long id, String relationshipType, Class endNodeType) {
 
-        Iterator<MappedRelationship> iterator = this.registeredRelationships.iterator();
-
-        while (iterator.hasNext()) {
-            MappedRelationship mappedRelationship = iterator.next();
-            if (mappedRelationship.getEndNodeId() == id && mappedRelationship.getRelationshipType()
-                .equals(relationshipType) && endNodeType.equals(mappedRelationship.getStartNodeType())) {
+        for (MappedRelationship mappedRelationship : this.registeredRelationships.incoming(id, relationshipType)) {
+            if (endNodeType.equals(mappedRelationship.getStartNodeType())) {
                 deletedRelationships.add(mappedRelationship);
-                iterator.remove();
+                this.registeredRelationships.remove(mappedRelationship);
             }
         }
     }
 
     private void deregisterOutgoingRelationship(Long id, String relationshipType, Class endNodeType) {
 
-        Iterator<MappedRelationship> iterator = this.registeredRelationships.iterator();
-
-        while (iterator.hasNext()) {
-            MappedRelationship mappedRelationship = iterator.next();
-            if (mappedRelationship.getStartNodeId() == id && mappedRelationship.getRelationshipType()
-                .equals(relationshipType) && endNodeType.equals(mappedRelationship.getEndNodeType())) {
+        for (MappedRelationship mappedRelationship : this.registeredRelationships.outgoing(id, relationshipType)) {
+            if (endNodeType.equals(mappedRelationship.getEndNodeType())) {
                 deletedRelationships.add(mappedRelationship);
-                iterator.remove();
+                this.registeredRelationships.remove(mappedRelationship);
             }
         }
     }
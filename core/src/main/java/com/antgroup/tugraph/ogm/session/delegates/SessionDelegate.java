@@ -20,6 +20,7 @@ package com.antgroup.tugraph.ogm.session.delegates;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -30,6 +31,7 @@ import com.antgroup.tugraph.ogm.annotation.Relationship;
 import com.antgroup.tugraph.ogm.annotation.StartNode;
 import com.antgroup.tugraph.ogm.cypher.Filter;
 import com.antgroup.tugraph.ogm.cypher.FilterWithRelationship;
+import com.antgroup.tugraph.ogm.cypher.query.KeysetPagination;
 import com.antgroup.tugraph.ogm.cypher.query.SortClause;
 import com.antgroup.tugraph.ogm.cypher.query.SortOrder;
 import com.antgroup.tugraph.ogm.metadata.AnnotationInfo;
@@ -50,6 +52,43 @@ abstract class SessionDelegate {
         this.session = session;
     }
 
+    /**
+     * Sets the continuation token of {@code pagination} from the sort keys and id of the last of {@code results}, which
+     * must be in the order of the query.
+     */
+    <T> void continueAfterLastResult(Class<T> type, SortOrder sortOrder, KeysetPagination pagination,
+        Collection<T> results) {
+
+        T last = null;
+        for (T result : results) {
+            last = result;
+        }
+        if (last == null) {
+            pagination.pageLoaded(Collections.emptyList(), null, 0);
+            return;
+        }
+
+        ClassInfo classInfo = session.metaData().classInfo(type.getName());
+        List<Object> sortKeys = new ArrayList<>();
+        if (sortOrder != null) {
+            for (SortClause sortClause : sortOrder.sortClauses()) {
+                for (String property : sortClause.getProperties()) {
+                    FieldInfo fieldInfo = classInfo.propertyFieldByName(property);
+                    if (fieldInfo == null) {
+                        fieldInfo = classInfo.propertyField(property);
+                    }
+                    if (fieldInfo == null || fieldInfo.hasCompositeConverter()) {
+                        throw new IllegalArgumentException(
+                            "Keyset pagination requires sort keys that are simple properties of " + type.getName()
+                                + ", but got " + property);
+                    }
+                    sortKeys.add(fieldInfo.readProperty(last));
+                }
+            }
+        }
+        pagination.pageLoaded(sortKeys, session.resolveGraphIdFor(last), results.size());
+    }
+
     SortOrder sortOrderWithResolvedProperties(Class entityType, SortOrder sortOrder) {
         return SortOrder.fromSortClauses(sortClausesWithResolvedProperties(entityType, sortOrder));
     }
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.session.request.strategy.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.antgroup.tugraph.ogm.metadata.schema.Node;
+import com.antgroup.tugraph.ogm.metadata.schema.Relationship;
+import com.antgroup.tugraph.ogm.metadata.schema.Schema;
+
+/**
+ * Base class of the schema based load clause builders that load one hop after another. Every relationship of the
+ * schema reachable within the requested depth becomes an {@code OPTIONAL MATCH} of the path from the start variable
+ * to that relationship, whose relationships and end nodes are collected into two lists:
+ * <pre>
+ * OPTIONAL MATCH (n)-[r_1:`HAS_ALBUM`]-&gt;(n_1:`Album`) WITH n, collect(r_1) AS rs_1, collect(n_1) AS ns_1
+ * OPTIONAL MATCH (n)-[:`HAS_ALBUM`]-&gt;(:`Album`)-[r_2:`HAS_TRACK`]-&gt;(n_2:`Track`)
+ * WITH n, rs_1, ns_1, collect(r_2) AS rs_2, collect(n_2) AS ns_2
+ * RETURN n, rs_1, ns_1, rs_2, ns_2
+ * </pre>
+ * Unlike the list comprehensions of {@link AbstractSchemaLoadClauseBuilder}, this only uses clauses supported by
+ * TuGraph, so that the neighbourhood of the matched entities is loaded in a single statement. Each row contains one
+ * matched entity, related entities are returned as lists of nodes and relationships.
+ */
+public abstract class AbstractSchemaHopLoadClauseBuilder extends AbstractSchemaLoadClauseBuilder {
+
+    public AbstractSchemaHopLoadClauseBuilder(Schema schema) {
+        super(schema);
+    }
+
+    /**
+     * Appends the hops from all {@code starts} and the final return clause.
+     *
+     * @param sb        The clause to append to
+     * @param variables The variables projected by the match clause, they are returned first
+     * @param starts    The variables to expand, mapped to their node in the schema
+     * @param depth     The number of hops to load from each start
+     */
+    protected void appendHops(StringBuilder sb, List<String> variables, Map<String, Node> starts, int depth) {
+        List<String> carried = new ArrayList<>(variables);
+        for (Map.Entry<String, Node> start : starts.entrySet()) {
+            hops(sb, carried, variables.size(), "(" + start.getKey() + ")", start.getValue(), depth);
+        }
+        sb.append(" RETURN ").append(String.join(", ", carried));
+    }
+
+    private void hops(StringBuilder sb, List<String> carried, int returned, String path, Node node, int depth) {
+        if (depth <= 0) {
+            return;
+        }
+        for (Map.Entry<String, Relationship> entry : node.relationships().entrySet()) {
+            Relationship relationship = entry.getValue();
+            Node toNode = relationship.other(node);
+            String relationshipPattern = relationshipPattern(relationship.direction(node),
+                node.types(entry.getKey()).stream().map(type -> "`" + type + "`").collect(Collectors.joining("|")));
+            String label = toNode.label().map(value -> ":`" + value + "`").orElse("");
+
+            String hop = Integer.toString((carried.size() - returned) / 2 + 1);
+            newLine(sb);
+            sb.append(" OPTIONAL MATCH ").append(path)
+                .append(String.format(relationshipPattern, "r_" + hop))
+                .append("(n_").append(hop).append(label).append(')')
+                .append(" WITH ").append(String.join(", ", carried))
+                .append(", collect(r_").append(hop).append(") AS rs_").append(hop)
+                .append(", collect(n_").append(hop).append(") AS ns_").append(hop);
+            carried.add("rs_" + hop);
+            carried.add("ns_" + hop);
+
+            String pathToNode = path + String.format(relationshipPattern, "") + "(" + label + ")";
+            hops(sb, carried, returned, pathToNode, toNode, depth - 1);
+        }
+    }
+
+    /**
+     * @return The relationship pattern with a {@code %s} placeholder for the variable
+     */
+    private static String relationshipPattern(
+        com.antgroup.tugraph.ogm.annotation.Relationship.Direction direction, String types) {
+        switch (direction) {
+            case INCOMING:
+                return "<-[%s:" + types + "]-";
+            case OUTGOING:
+                return "-[%s:" + types + "]->";
+            default:
+                return "-[%s:" + types + "]-";
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.session.request.strategy.impl;
+
+import java.util.Collections;
+
+import com.antgroup.tugraph.ogm.metadata.schema.Node;
+import com.antgroup.tugraph.ogm.metadata.schema.Schema;
+import com.antgroup.tugraph.ogm.session.request.strategy.LoadClauseBuilder;
+
+/**
+ * Schema based load clause builder for nodes loading one hop after another - starts from given node variable
+ */
+public class SchemaHopNodeLoadClauseBuilder extends AbstractSchemaHopLoadClauseBuilder implements LoadClauseBuilder {
+
+    public SchemaHopNodeLoadClauseBuilder(Schema schema) {
+        super(schema);
+    }
+
+    @Override
+    public String build(String variable, String label, int depth) {
+        if (depth < 0) {
+            throw new IllegalArgumentException("Only queries with depth >= 0 can be built, depth=" + depth);
+        }
+
+        Node node;
+        final int separatorIndex = label.indexOf("`:`");
+        if (separatorIndex < 0) {
+            node = schema.findNode(label);
+        } else {
+            node = schema.findNode(label.substring(0, separatorIndex));
+        }
+
+        StringBuilder sb = new StringBuilder();
+        appendHops(sb, Collections.singletonList(variable), Collections.singletonMap(variable, node), depth);
+        return sb.toString();
+    }
+}
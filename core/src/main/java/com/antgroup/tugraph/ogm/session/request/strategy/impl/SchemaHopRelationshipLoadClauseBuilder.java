@@ -0,0 +1,60 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.session.request.strategy.impl;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.antgroup.tugraph.ogm.metadata.schema.Node;
+import com.antgroup.tugraph.ogm.metadata.schema.Relationship;
+import com.antgroup.tugraph.ogm.metadata.schema.Schema;
+import com.antgroup.tugraph.ogm.session.request.strategy.LoadClauseBuilder;
+
+/**
+ * Schema based load clause builder for relationships loading one hop after another, starting from the start and end
+ * node of the relationship.
+ */
+public class SchemaHopRelationshipLoadClauseBuilder extends AbstractSchemaHopLoadClauseBuilder
+    implements LoadClauseBuilder {
+
+    public SchemaHopRelationshipLoadClauseBuilder(Schema schema) {
+        super(schema);
+    }
+
+    @Override
+    public String build(String label, int depth) {
+        return build("r0", label, depth);
+    }
+
+    @Override
+    public String build(String variable, String label, int depth) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Only positive depth parameter supported, depth = " + depth);
+        }
+
+        Relationship relationship = schema.findRelationship(label);
+        Node start = relationship.start();
+
+        Map<String, Node> starts = new LinkedHashMap<>();
+        starts.put("n", start);
+        starts.put("m", relationship.other(start));
+
+        StringBuilder sb = new StringBuilder();
+        appendHops(sb, Arrays.asList(variable, "n", "m"), starts, depth);
+        return sb.toString();
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.context;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import com.antgroup.tugraph.ogm.domain.social.Person;
+import com.antgroup.tugraph.ogm.domain.social.Place;
+import com.antgroup.tugraph.ogm.metadata.FieldInfo;
+import com.antgroup.tugraph.ogm.metadata.MetaData;
+import com.antgroup.tugraph.ogm.utils.EntityUtils;
+
+/**
+ * Dirty checking of registered entities, per entity and per field.
+ */
+public class DirtyCheckingTest {
+
+    private final MetaData metaData = new MetaData(Person.class.getPackage().getName());
+    private final MappingContext mappingContext = new MappingContext(metaData);
+
+    private Person registered(String name) {
+        Person person = new Person(name, 42);
+        person.getNicknames().add("Neo");
+        EntityUtils.setIdentity(person, 1L, metaData);
+        mappingContext.addNodeEntity(person, 1L);
+        return person;
+    }
+
+    private Set<String> changedFields(Person person) {
+        return mappingContext.getChangedFields(person).get().stream().map(FieldInfo::getName)
+            .collect(Collectors.toSet());
+    }
+
+    @Test
+    public void unchangedEntitiesShouldBeClean() {
+        Person person = registered("Keanu");
+
+        assertThat(mappingContext.isDirty(person)).isFalse();
+        assertThat(changedFields(person)).isEmpty();
+    }
+
+    @Test
+    public void onlyTheChangedFieldsShouldBeReported() {
+        Person person = registered("Keanu");
+        person.setAge(43);
+
+        assertThat(mappingContext.isDirty(person)).isTrue();
+        assertThat(changedFields(person)).containsExactly("age");
+    }
+
+    @Test
+    public void changesToValuesWithTheSameHashShouldBeDetected() {
+        Person person = registered("Aa");
+        person.setName("BB");
+        assertThat("Aa".hashCode()).isEqualTo("BB".hashCode());
+
+        assertThat(mappingContext.isDirty(person)).isTrue();
+        assertThat(changedFields(person)).containsExactly("name");
+    }
+
+    @Test
+    public void collectionsModifiedInPlaceShouldBeDetected() {
+        Person person = registered("Keanu");
+        person.getNicknames().add("John");
+
+        assertThat(mappingContext.isDirty(person)).isTrue();
+        assertThat(changedFields(person)).containsExactly("nicknames");
+
+        person.getNicknames().remove("John");
+        assertThat(mappingContext.isDirty(person)).isFalse();
+    }
+
+    @Test
+    public void convertedValuesModifiedInPlaceShouldBeDetected() {
+        Place place = new Place("Zion", new Place.Location(1.5, 2.5));
+        EntityUtils.setIdentity(place, 2L, metaData);
+        mappingContext.addNodeEntity(place, 2L);
+        assertThat(mappingContext.isDirty(place)).isFalse();
+
+        place.getLocation().setLatitude(3.5);
+
+        assertThat(mappingContext.isDirty(place)).isTrue();
+        assertThat(mappingContext.getChangedFields(place).get()).extracting(FieldInfo::getName)
+            .containsExactly("location");
+
+        place.getLocation().setLatitude(1.5);
+        assertThat(mappingContext.isDirty(place)).isFalse();
+    }
+
+    @Test
+    public void unknownEntitiesShouldBeRegardedAsChangedCompletely() {
+        Person person = new Person("Keanu", 42);
+
+        assertThat(mappingContext.isDirty(person)).isTrue();
+        assertThat(mappingContext.getChangedFields(person)).isEmpty();
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.context;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Checks {@link LongLongMap} against a {@link HashMap} across rehashes and removals.
+ */
+public class LongLongMapTest {
+
+    @Test
+    public void randomOperationsShouldMatchAHashMap() {
+        Random random = new Random(42);
+        LongLongMap map = new LongLongMap();
+        Map<Long, Long> expected = new HashMap<>();
+
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextInt(4096) - 2048L;
+            int operation = random.nextInt(10);
+            if (operation < 5) {
+                // Zero and negative values are valid values
+                long value = random.nextInt(3) - 1L;
+                map.put(key, value);
+                expected.put(key, value);
+            } else if (operation < 8) {
+                assertThat(map.remove(key)).isEqualTo(expected.remove(key) != null);
+            } else {
+                assertThat(map.getOrDefault(key, Long.MIN_VALUE)).isEqualTo(expected.getOrDefault(key, Long.MIN_VALUE));
+                assertThat(map.containsKey(key)).isEqualTo(expected.containsKey(key));
+            }
+            assertThat(map.size()).isEqualTo(expected.size());
+        }
+        assertSameMappings(map, expected);
+    }
+
+    @Test
+    public void keysCollidingInTheLowBitsShouldSurviveRehashAndRemove() {
+        LongLongMap map = new LongLongMap();
+        Map<Long, Long> expected = new HashMap<>();
+        for (long i = 0; i <= 10_000; i++) {
+            map.put(i << 32, -i);
+            expected.put(i << 32, -i);
+        }
+        map.put(Long.MIN_VALUE, 0L);
+        expected.put(Long.MIN_VALUE, 0L);
+        assertSameMappings(map, expected);
+
+        for (long i = 0; i <= 10_000; i += 2) {
+            assertThat(map.remove(i << 32)).isTrue();
+            expected.remove(i << 32);
+        }
+        assertThat(map.remove(0L)).isFalse();
+        assertSameMappings(map, expected);
+    }
+
+    @Test
+    public void clearShouldShrinkAndKeepTheMapUsable() {
+        LongLongMap map = new LongLongMap();
+        for (long i = 0; i < 1000; i++) {
+            map.put(i, i);
+        }
+
+        map.clear();
+        assertThat(map.size()).isZero();
+        assertThat(map.containsKey(1L)).isFalse();
+
+        map.put(1L, 2L);
+        assertThat(map.getOrDefault(1L, -1L)).isEqualTo(2L);
+    }
+
+    private static void assertSameMappings(LongLongMap map, Map<Long, Long> expected) {
+        assertThat(map.size()).isEqualTo(expected.size());
+        for (Map.Entry<Long, Long> entry : expected.entrySet()) {
+            assertThat(map.containsKey(entry.getKey())).isTrue();
+            assertThat(map.getOrDefault(entry.getKey(), Long.MIN_VALUE + 1)).isEqualTo(entry.getValue());
+        }
+    }
+}
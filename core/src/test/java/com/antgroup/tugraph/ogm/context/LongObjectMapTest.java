@@ -0,0 +1,132 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.context;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatNullPointerException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Checks {@link LongObjectMap} against a {@link LinkedHashMap} across rehashes and removals, order included.
+ */
+public class LongObjectMapTest {
+
+    @Test
+    public void randomOperationsShouldMatchALinkedHashMap() {
+        Random random = new Random(42);
+        LongObjectMap<String> map = new LongObjectMap<>();
+        Map<Long, String> expected = new LinkedHashMap<>();
+
+        for (int i = 0; i < 200_000; i++) {
+            // Few distinct keys, so that puts and removes hit existing mappings and probe chains wrap around
+            long key = random.nextInt(4096) - 2048L;
+            int operation = random.nextInt(10);
+            if (operation < 5) {
+                assertThat(map.put(key, "v" + i)).isEqualTo(expected.put(key, "v" + i));
+            } else if (operation < 6) {
+                assertThat(map.putIfAbsent(key, "w" + i)).isEqualTo(expected.putIfAbsent(key, "w" + i));
+            } else if (operation < 9) {
+                assertThat(map.remove(key)).isEqualTo(expected.remove(key));
+            } else {
+                assertThat(map.get(key)).isEqualTo(expected.get(key));
+                assertThat(map.containsKey(key)).isEqualTo(expected.containsKey(key));
+            }
+            assertThat(map.size()).isEqualTo(expected.size());
+        }
+        assertSameMappings(map, expected);
+    }
+
+    @Test
+    public void keysCollidingInTheLowBitsShouldSurviveRehashAndRemove() {
+        LongObjectMap<Long> map = new LongObjectMap<>();
+        Map<Long, Long> expected = new LinkedHashMap<>();
+        long[] specialKeys = { 0L, -1L, Long.MIN_VALUE, Long.MAX_VALUE };
+        for (long key : specialKeys) {
+            map.put(key, key);
+            expected.put(key, key);
+        }
+        for (long i = 1; i <= 10_000; i++) {
+            map.put(i << 32, i);
+            expected.put(i << 32, i);
+        }
+        assertSameMappings(map, expected);
+
+        for (long i = 1; i <= 10_000; i += 2) {
+            assertThat(map.remove(i << 32)).isEqualTo(i);
+            expected.remove(i << 32);
+        }
+        assertSameMappings(map, expected);
+        for (long key : specialKeys) {
+            assertThat(map.get(key)).isEqualTo(key);
+        }
+    }
+
+    @Test
+    public void removeIfShouldRemoveAllMatchingMappings() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+        Map<Long, String> expected = new LinkedHashMap<>();
+        for (long i = 0; i < 1000; i++) {
+            map.put(i, "v" + i);
+            expected.put(i, "v" + i);
+        }
+
+        assertThat(map.removeIf((key, value) -> key % 3 == 0)).isTrue();
+        expected.keySet().removeIf(key -> key % 3 == 0);
+        assertSameMappings(map, expected);
+        assertThat(map.removeIf((key, value) -> key % 3 == 0)).isFalse();
+    }
+
+    @Test
+    public void clearShouldShrinkAndKeepTheMapUsable() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+        for (long i = 0; i < 1000; i++) {
+            map.put(i, "v");
+        }
+
+        map.clear();
+        assertThat(map.isEmpty()).isTrue();
+        assertThat(map.get(1L)).isNull();
+        assertThat(map.values()).isEmpty();
+
+        map.put(1L, "again");
+        assertThat(map.get(1L)).isEqualTo("again");
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void nullValuesShouldBeRejected() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+
+        assertThatNullPointerException().isThrownBy(() -> map.put(1L, null));
+        assertThat(map.isEmpty()).isTrue();
+    }
+
+    private static <V> void assertSameMappings(LongObjectMap<V> map, Map<Long, V> expected) {
+        assertThat(map.size()).isEqualTo(expected.size());
+        assertThat(map.values()).containsExactlyElementsOf(expected.values());
+        Map<Long, V> actual = new LinkedHashMap<>();
+        map.forEach(actual::put);
+        assertThat(actual.entrySet()).containsExactlyElementsOf(expected.entrySet());
+        for (Map.Entry<Long, V> entry : expected.entrySet()) {
+            assertThat(map.get(entry.getKey())).isEqualTo(entry.getValue());
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.context;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.antgroup.tugraph.ogm.domain.social.Knows;
+import com.antgroup.tugraph.ogm.domain.social.Person;
+import com.antgroup.tugraph.ogm.metadata.MetaData;
+import com.antgroup.tugraph.ogm.utils.EntityUtils;
+
+/**
+ * Eviction of the bounded mapping context.
+ */
+public class MappingContextEvictionTest {
+
+    private final MetaData metaData = new MetaData(Person.class.getPackage().getName());
+    private final MappingContext mappingContext = new MappingContext(metaData);
+    private final List<Person> persons = new ArrayList<>();
+
+    @Before
+    public void addPersons() {
+        mappingContext.setMaxEntities(8);
+        for (long id = 1; id <= 10; id++) {
+            persons.add(person(id));
+        }
+    }
+
+    private Person person(long id) {
+        Person person = new Person("Person " + id, 20);
+        EntityUtils.setIdentity(person, id, metaData);
+        mappingContext.addNodeEntity(person, id);
+        return person;
+    }
+
+    private Knows knows(long id, Person from, Person to) {
+        Knows knows = new Knows(from, to, 2000);
+        EntityUtils.setIdentity(knows, id, metaData);
+        from.getKnows().add(knows);
+        mappingContext.addRelationshipEntity(knows, id);
+        mappingContext.addRelationship(
+            new MappedRelationship(from.getId(), "KNOWS", to.getId(), id, Person.class, Person.class));
+        return knows;
+    }
+
+    @Test
+    public void leastRecentlyUsedEntitiesShouldBeEvictedDownToSevenEighthsOfTheMaximum() {
+        mappingContext.getNodeEntity(1L);
+
+        mappingContext.evictIfNecessary();
+
+        // 10 entities, 8 allowed, evicting down to 7: the three least recently used ones go
+        assertThat(mappingContext.getNodeEntity(1L)).isSameAs(persons.get(0));
+        for (long id = 2; id <= 4; id++) {
+            assertThat(mappingContext.getNodeEntity(id)).isNull();
+        }
+        for (long id = 5; id <= 10; id++) {
+            assertThat(mappingContext.getNodeEntity(id)).isNotNull();
+        }
+    }
+
+    @Test
+    public void nothingShouldBeEvictedBelowTheMaximumOrWhenUnbounded() {
+        mappingContext.setMaxEntities(10);
+        mappingContext.evictIfNecessary();
+        assertThat(mappingContext.getEntities(Person.class)).hasSize(10);
+
+        mappingContext.setMaxEntities(0);
+        for (long id = 11; id <= 20; id++) {
+            person(id);
+        }
+        mappingContext.evictIfNecessary();
+        assertThat(mappingContext.getEntities(Person.class)).hasSize(20);
+    }
+
+    @Test
+    public void dirtyEntitiesShouldNeverBeEvicted() {
+        for (Person person : persons) {
+            person.setAge(21);
+        }
+
+        mappingContext.evictIfNecessary();
+
+        for (Person person : persons) {
+            assertThat(mappingContext.getNodeEntity(person.getId())).isSameAs(person);
+            assertThat(mappingContext.isDirty(person)).isTrue();
+        }
+    }
+
+    @Test
+    public void onlyCleanEntitiesShouldBeEvictedWhenSomeAreDirty() {
+        // The least recently used ones are dirty, so that the clean ones after them have to go instead
+        persons.get(0).setName("changed");
+        persons.get(1).setName("changed");
+
+        mappingContext.evictIfNecessary();
+
+        assertThat(mappingContext.getNodeEntity(1L)).isNotNull();
+        assertThat(mappingContext.getNodeEntity(2L)).isNotNull();
+        for (long id = 3; id <= 5; id++) {
+            assertThat(mappingContext.getNodeEntity(id)).isNull();
+        }
+    }
+
+    @Test
+    public void nodesShouldStayWhileADirtyRelationshipEntityIsAttached() {
+        Knows dirty = knows(100L, persons.get(0), persons.get(1));
+        dirty.setSince(2001);
+        for (long id = 3; id <= 10; id++) {
+            mappingContext.getNodeEntity(id);
+        }
+
+        mappingContext.evictIfNecessary();
+
+        assertThat(mappingContext.getNodeEntity(1L)).isSameAs(persons.get(0));
+        assertThat(mappingContext.getNodeEntity(2L)).isSameAs(persons.get(1));
+        assertThat(mappingContext.getRelationshipEntity(100L)).isSameAs(dirty);
+        assertThat(mappingContext.getRelationshipsOf(1L)).hasSize(1);
+    }
+
+    @Test
+    public void evictedNodesShouldTakeTheirRelationshipsAlongOnceNoNodeIsLeft() {
+        knows(100L, persons.get(0), persons.get(1));
+        knows(101L, persons.get(1), persons.get(9));
+        for (long id = 3; id <= 10; id++) {
+            mappingContext.getNodeEntity(id);
+        }
+
+        mappingContext.evictIfNecessary();
+
+        assertThat(mappingContext.getNodeEntity(1L)).isNull();
+        assertThat(mappingContext.getNodeEntity(2L)).isNull();
+        assertThat(mappingContext.getRelationshipEntity(100L)).isNull();
+        assertThat(mappingContext.getRelationshipEntity(101L)).isNull();
+        assertThat(mappingContext.getRelationshipsOf(1L)).isEmpty();
+        assertThat(mappingContext.getRelationshipsWithId(100L)).isEmpty();
+        assertThat(mappingContext.getNodeEntity(10L)).isSameAs(persons.get(9));
+        // Person 10 stays, so the relationship to it stays known
+        assertThat(mappingContext.getRelationshipsOf(10L)).hasSize(1);
+        assertThat(mappingContext.getRelationshipsWithId(101L)).hasSize(1);
+        assertThat(mappingContext.getRelationships()).hasSize(1);
+    }
+
+    @Test
+    public void nodesWithRemovedRelationshipsShouldNotBeEvicted() {
+        Knows removed = knows(100L, persons.get(0), persons.get(1));
+        knows(101L, persons.get(2), persons.get(3));
+        persons.get(0).getKnows().remove(removed);
+        for (long id = 5; id <= 10; id++) {
+            mappingContext.getNodeEntity(id);
+        }
+
+        mappingContext.evictIfNecessary();
+
+        assertThat(mappingContext.getNodeEntity(1L)).isSameAs(persons.get(0));
+        assertThat(mappingContext.getRelationshipsOf(1L)).hasSize(1);
+        assertThat(mappingContext.getRelationshipsWithId(100L)).hasSize(1);
+        // Unchanged relationships don't keep their nodes
+        assertThat(mappingContext.getNodeEntity(3L)).isNull();
+        assertThat(mappingContext.getNodeEntity(4L)).isNull();
+        assertThat(mappingContext.getRelationshipsWithId(101L)).isEmpty();
+    }
+}
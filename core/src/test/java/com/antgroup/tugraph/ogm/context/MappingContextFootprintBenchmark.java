@@ -0,0 +1,121 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.context;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+import com.antgroup.tugraph.ogm.domain.gh827.DomainObject;
+import com.antgroup.tugraph.ogm.metadata.MetaData;
+import com.antgroup.tugraph.ogm.utils.EntityUtils;
+
+/**
+ * Measures the retained heap per node entity of the id keyed registers of {@link MappingContext} and
+ * {@link IdentityMap}: the entity register, the hashes for dirty checking and the snapshots. The boxed layout is the one
+ * used before, a {@code LinkedHashMap<Long, Object>} and two {@code HashMap}s. All registers point to the same value
+ * object, so that only the overhead of the registers themselves is measured. The last line shows a complete
+ * {@link MappingContext} holding real entities, entity and snapshot included.
+ * <p>
+ * Not a test, run it manually from the test classpath, optionally passing the number of entities:
+ * <pre>
+ * java -cp ... com.antgroup.tugraph.ogm.context.MappingContextFootprintBenchmark 1000000
+ * </pre>
+ */
+public final class MappingContextFootprintBenchmark {
+
+    private static final Object VALUE = new Object();
+
+    public static void main(String... args) {
+        int entities = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        System.out.printf("%d entities%n", entities);
+
+        measure("boxed registers", entities, MappingContextFootprintBenchmark::boxedRegisters);
+        measure("primitive registers", entities, MappingContextFootprintBenchmark::primitiveRegisters);
+
+        MetaData metaData = new MetaData(DomainObject.class.getPackage().getName());
+        measure("mapping context", entities, count -> mappingContext(metaData, count));
+    }
+
+    private static void measure(String name, int entities, IntFunction<Object> fill) {
+        // Warm up once, so that class loading doesn't end up in the measurement
+        fill.apply(Math.min(entities, 10_000));
+
+        long before = usedHeap();
+        Object retained = fill.apply(entities);
+        long after = usedHeap();
+
+        System.out.printf("%-20s %6.1f B/entity (%s)%n", name, (double) (after - before) / entities,
+            retained.getClass().getSimpleName());
+    }
+
+    private static Object boxedRegisters(int entities) {
+        Map<Long, Object> entityRegister = new LinkedHashMap<>();
+        Map<Long, Long> hashes = new HashMap<>();
+        Map<Long, Object> snapshots = new HashMap<>();
+        for (int i = 0; i < entities; i++) {
+            long id = i;
+            entityRegister.put(id, VALUE);
+            hashes.put(id, id * 31L);
+            snapshots.put(id, VALUE);
+        }
+        List<Object> registers = new ArrayList<>();
+        registers.add(entityRegister);
+        registers.add(hashes);
+        registers.add(snapshots);
+        return registers;
+    }
+
+    private static Object primitiveRegisters(int entities) {
+        LongObjectMap<Object> entityRegister = new LongObjectMap<>();
+        LongLongMap hashes = new LongLongMap();
+        LongObjectMap<Object> snapshots = new LongObjectMap<>();
+        for (int i = 0; i < entities; i++) {
+            entityRegister.put(i, VALUE);
+            hashes.put(i, i * 31L);
+            snapshots.put(i, VALUE);
+        }
+        List<Object> registers = new ArrayList<>();
+        registers.add(entityRegister);
+        registers.add(hashes);
+        registers.add(snapshots);
+        return registers;
+    }
+
+    private static Object mappingContext(MetaData metaData, int entities) {
+        MappingContext mappingContext = new MappingContext(metaData);
+        for (int i = 0; i < entities; i++) {
+            DomainObject entity = new DomainObject();
+            EntityUtils.setIdentity(entity, (long) i, metaData);
+            mappingContext.addNodeEntity(entity, (long) i);
+        }
+        return mappingContext;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private MappingContextFootprintBenchmark() {
+    }
+}
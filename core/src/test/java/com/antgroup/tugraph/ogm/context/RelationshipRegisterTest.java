@@ -0,0 +1,149 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.context;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+/**
+ * Checks that the indexes of {@link RelationshipRegister} agree with a scan of its relationships after every kind of
+ * modification.
+ */
+public class RelationshipRegisterTest {
+
+    private static final int NODES = 8;
+    private static final String[] TYPES = { "KNOWS", "LIKES" };
+
+    private final RelationshipRegister<MappedRelationship> register = new RelationshipRegister<>();
+
+    private static MappedRelationship randomRelationship(Random random) {
+        // Few nodes, types and ids, so that loops and several relationships between the same nodes occur
+        Long relationshipId = random.nextInt(4) == 0 ? null : (long) random.nextInt(16);
+        return new MappedRelationship(random.nextInt(NODES), TYPES[random.nextInt(TYPES.length)],
+            random.nextInt(NODES), relationshipId, Object.class, Object.class);
+    }
+
+    @Test
+    public void indexesShouldStayConsistentWithTheRelationships() {
+        Random random = new Random(42);
+        List<MappedRelationship> expected = new ArrayList<>();
+
+        for (int i = 0; i < 5_000; i++) {
+            MappedRelationship relationship = randomRelationship(random);
+            switch (random.nextInt(4)) {
+                case 0:
+                case 1:
+                    assertThat(register.add(relationship)).isEqualTo(!expected.contains(relationship));
+                    if (!expected.contains(relationship)) {
+                        expected.add(relationship);
+                    }
+                    break;
+                case 2:
+                    assertThat(register.remove(relationship)).isEqualTo(expected.remove(relationship));
+                    break;
+                default:
+                    long nodeId = relationship.getStartNodeId();
+                    for (Iterator<MappedRelationship> iterator = register.iterator(); iterator.hasNext(); ) {
+                        MappedRelationship next = iterator.next();
+                        if (next.getEndNodeId() == nodeId) {
+                            iterator.remove();
+                        }
+                    }
+                    expected.removeIf(candidate -> candidate.getEndNodeId() == nodeId);
+            }
+            assertConsistent(expected);
+        }
+    }
+
+    @Test
+    public void bulkRemovalsShouldDeindex() {
+        Random random = new Random(7);
+        List<MappedRelationship> expected = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            MappedRelationship relationship = randomRelationship(random);
+            if (register.add(relationship)) {
+                expected.add(relationship);
+            }
+        }
+
+        register.removeIf(relationship -> relationship.getRelationshipId() == null);
+        expected.removeIf(relationship -> relationship.getRelationshipId() == null);
+        assertConsistent(expected);
+
+        // Evicting a node removes everything attached to it while iterating a copy, as the mapping context does
+        register.attachedTo(3L).forEach(register::remove);
+        expected.removeIf(relationship -> relationship.getStartNodeId() == 3L || relationship.getEndNodeId() == 3L);
+        assertConsistent(expected);
+
+        List<MappedRelationship> withId5 = register.withRelationshipId(5L);
+        register.removeAll(withId5);
+        expected.removeAll(withId5);
+        assertConsistent(expected);
+        assertThat(register.withRelationshipId(5L)).isEmpty();
+
+        register.clear();
+        expected.clear();
+        assertConsistent(expected);
+    }
+
+    @Test
+    public void loopsShouldBeReportedOnce() {
+        MappedRelationship loop = new MappedRelationship(1L, "KNOWS", 1L, 10L, Object.class, Object.class);
+        register.add(loop);
+
+        assertThat(register.attachedTo(1L)).containsExactly(loop);
+        assertThat(register.outgoing(1L, "KNOWS")).containsExactly(loop);
+        assertThat(register.incoming(1L, "KNOWS")).containsExactly(loop);
+
+        register.remove(loop);
+        assertThat(register.attachedTo(1L)).isEmpty();
+    }
+
+    private void assertConsistent(List<MappedRelationship> expected) {
+        assertThat(register).containsExactlyElementsOf(expected);
+        assertThat(register.size()).isEqualTo(expected.size());
+        for (long nodeId = 0; nodeId < NODES; nodeId++) {
+            long id = nodeId;
+            assertThat(register.attachedTo(id)).containsExactlyInAnyOrderElementsOf(expected.stream()
+                .filter(relationship -> relationship.getStartNodeId() == id || relationship.getEndNodeId() == id)
+                .collect(Collectors.toList()));
+            for (String type : TYPES) {
+                assertThat(register.outgoing(id, type)).containsExactlyInAnyOrderElementsOf(expected.stream()
+                    .filter(relationship -> relationship.getStartNodeId() == id)
+                    .filter(relationship -> type.equals(relationship.getRelationshipType()))
+                    .collect(Collectors.toList()));
+                assertThat(register.incoming(id, type)).containsExactlyInAnyOrderElementsOf(expected.stream()
+                    .filter(relationship -> relationship.getEndNodeId() == id)
+                    .filter(relationship -> type.equals(relationship.getRelationshipType()))
+                    .collect(Collectors.toList()));
+            }
+        }
+        for (long relationshipId = 0; relationshipId < 16; relationshipId++) {
+            Long id = relationshipId;
+            assertThat(register.withRelationshipId(id)).containsExactlyInAnyOrderElementsOf(expected.stream()
+                .filter(relationship -> Objects.equals(relationship.getRelationshipId(), id))
+                .collect(Collectors.toList()));
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.cypher.query;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Continuation tokens and the seek predicates of keyset pagination.
+ */
+public class KeysetPaginationTest {
+
+    private static KeysetPagination afterRow(Object... row) {
+        KeysetPagination pagination = new KeysetPagination(2);
+        pagination.pageLoaded(Arrays.asList(row).subList(0, row.length - 1), (Long) row[row.length - 1], 2);
+        return pagination.next();
+    }
+
+    @Test
+    public void tokensShouldRoundTripAllSupportedTypes() {
+        KeysetPagination pagination = new KeysetPagination(10);
+        pagination.pageLoaded(Arrays.asList("Keanu", 1964, 1.5f, true, 'x'), 42L, 10);
+
+        KeysetPagination next = pagination.next();
+        assertThat(next.getPageSize()).isEqualTo(10);
+        assertThat(new KeysetPagination(10, pagination.getContinuationToken()).seekParameters())
+            .isEqualTo(next.seekParameters());
+
+        Map<String, Object> expected = new HashMap<>();
+        expected.put("_keyset_0", "Keanu");
+        expected.put("_keyset_1", 1964L);
+        expected.put("_keyset_2", 1.5d);
+        expected.put("_keyset_3", true);
+        expected.put("_keyset_4", "x");
+        expected.put("_keyset_5", 42L);
+        assertThat(next.seekParameters()).isEqualTo(expected);
+    }
+
+    @Test
+    public void theFirstPageShouldHaveNoPredicate() {
+        KeysetPagination pagination = new KeysetPagination(5);
+
+        assertThat(pagination.getContinuationToken()).isNull();
+        assertThat(pagination.next()).isNull();
+        assertThat(pagination.seekPredicate("n", new SortOrder("name"))).isEmpty();
+        assertThat(pagination.seekParameters()).isEmpty();
+        assertThat(pagination.toString()).isEqualTo(" LIMIT 5");
+    }
+
+    @Test
+    public void theLastPageShouldHaveNoContinuation() {
+        KeysetPagination pagination = new KeysetPagination(5);
+        pagination.pageLoaded(Collections.singletonList("a"), 1L, 4);
+        assertThat(pagination.getContinuationToken()).isNull();
+        assertThat(pagination.next()).isNull();
+
+        KeysetPagination empty = new KeysetPagination(5);
+        empty.pageLoaded(Collections.emptyList(), null, 0);
+        assertThat(empty.next()).isNull();
+    }
+
+    @Test
+    public void invalidTokensShouldBeRejected() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new KeysetPagination(5, "not a token!"));
+        assertThatIllegalArgumentException().isThrownBy(() -> new KeysetPagination(5, ""));
+        assertThatIllegalArgumentException().isThrownBy(() -> new KeysetPagination(5, "AgABAQAB"));
+
+        KeysetPagination pagination = new KeysetPagination(5);
+        pagination.pageLoaded(Collections.singletonList("a"), 1L, 5);
+        String token = pagination.getContinuationToken();
+        assertThatIllegalArgumentException().isThrownBy(() -> new KeysetPagination(5, token + "AA"));
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> new KeysetPagination(5, token.substring(0, token.length() - 2)));
+    }
+
+    @Test
+    public void unsupportedSortKeysShouldBeRejected() {
+        KeysetPagination pagination = new KeysetPagination(1);
+
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> pagination.pageLoaded(Collections.singletonList(null), 1L, 1));
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> pagination.pageLoaded(Collections.singletonList(new Object()), 1L, 1));
+    }
+
+    @Test
+    public void tokensOfAnotherSortOrderShouldBeRejected() {
+        KeysetPagination pagination = afterRow("Keanu", 1L);
+
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> pagination.seekPredicate("n", new SortOrder("name", "born")))
+            .withMessageContaining("does not match the sort order");
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> pagination.seekPredicate("n", new SortOrder()));
+    }
+
+    @Test
+    public void pagesWithoutSortOrderShouldSeekById() {
+        KeysetPagination pagination = afterRow(7L);
+
+        assertThat(pagination.seekPredicate("n", new SortOrder())).isEqualTo(" WHERE (ID(n) > $_keyset_0)");
+    }
+
+    @Test
+    public void ascendingKeysShouldSeekForward() {
+        KeysetPagination pagination = afterRow("Keanu", 1L);
+
+        assertThat(pagination.seekPredicate("n", new SortOrder("name"))).isEqualTo(
+            " WHERE (n.name > $_keyset_0) OR (n.name = $_keyset_0 AND ID(n) > $_keyset_1)");
+    }
+
+    @Test
+    public void descendingKeysShouldSeekBackward() {
+        KeysetPagination pagination = afterRow(1964L, 1L);
+
+        assertThat(pagination.seekPredicate("n", new SortOrder(SortOrder.Direction.DESC, "born"))).isEqualTo(
+            " WHERE (n.born < $_keyset_0) OR (n.born = $_keyset_0 AND ID(n) > $_keyset_1)");
+    }
+
+    @Test
+    public void multipleKeysShouldSeekLexicographically() {
+        SortOrder sortOrder = new SortOrder().asc("name").desc("born");
+        KeysetPagination pagination = afterRow("Keanu", 1964L, 1L);
+
+        assertThat(pagination.seekPredicate("n", sortOrder)).isEqualTo(" WHERE (n.name > $_keyset_0)"
+            + " OR (n.name = $_keyset_0 AND n.born < $_keyset_1)"
+            + " OR (n.name = $_keyset_0 AND n.born = $_keyset_1 AND ID(n) > $_keyset_2)");
+    }
+
+    @Test
+    public void relationshipEntitiesShouldBePagedByTheirVariable() {
+        SortOrder sortOrder = new SortOrder("since");
+        PagingAndSortingQuery query = new PagingAndSortingQuery("MATCH ()-[r0:`KNOWS`]-() WITH r0",
+            " RETURN r0", Collections.emptyMap(), true, true, "r0");
+        query.setSortOrder(sortOrder);
+        query.setPagination(afterRow(2010L, 3L));
+
+        assertThat(query.getStatement()).isEqualTo("MATCH ()-[r0:`KNOWS`]-() WITH r0"
+            + " WHERE (r0.since > $_keyset_0) OR (r0.since = $_keyset_0 AND ID(r0) > $_keyset_1)"
+            + " ORDER BY r0.since,ID(r0) LIMIT 2 RETURN r0, ID(r0)");
+        assertThat(query.getParameters()).containsEntry("_keyset_0", 2010L).containsEntry("_keyset_1", 3L);
+    }
+
+    @Test
+    public void theFirstPageShouldStillBeOrderedById() {
+        PagingAndSortingQuery query = new PagingAndSortingQuery("MATCH (n:`Person`) WITH n", " RETURN n",
+            Collections.singletonMap("x", 1), false, false);
+        query.setPagination(new KeysetPagination(3));
+
+        assertThat(query.getStatement()).isEqualTo("MATCH (n:`Person`) WITH n ORDER BY ID(n) LIMIT 3 RETURN n");
+        assertThat(query.getParameters()).containsOnlyKeys("x");
+    }
+}
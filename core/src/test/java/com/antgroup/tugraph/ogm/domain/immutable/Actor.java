@@ -0,0 +1,56 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.domain.immutable;
+
+import com.antgroup.tugraph.ogm.annotation.GeneratedValue;
+import com.antgroup.tugraph.ogm.annotation.Id;
+import com.antgroup.tugraph.ogm.annotation.NodeEntity;
+
+/**
+ * An entity with neither a no-arg constructor nor a single constructor to instantiate it through.
+ */
+@NodeEntity
+public class Actor {
+
+    @Id
+    @GeneratedValue
+    private Long id;
+
+    private String name;
+
+    private int born;
+
+    public Actor(String name) {
+        this.name = name;
+    }
+
+    public Actor(String name, int born) {
+        this.name = name;
+        this.born = born;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getBorn() {
+        return born;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.domain.immutable;
+
+import java.time.Duration;
+
+import com.antgroup.tugraph.ogm.annotation.GeneratedValue;
+import com.antgroup.tugraph.ogm.annotation.Id;
+import com.antgroup.tugraph.ogm.annotation.NodeEntity;
+import com.antgroup.tugraph.ogm.annotation.Property;
+import com.antgroup.tugraph.ogm.annotation.typeconversion.Convert;
+import com.antgroup.tugraph.ogm.typeconversion.AttributeConverter;
+
+/**
+ * An entity without a no-arg constructor, instantiated through its only constructor.
+ */
+@NodeEntity
+public class Movie {
+
+    @Id
+    @GeneratedValue
+    private Long id;
+
+    private String title;
+
+    @Property(name = "released")
+    private int year;
+
+    @Convert(MinutesConverter.class)
+    private Duration runtime;
+
+    public Movie(Long id, String title, int year, Duration runtime) {
+        this.id = id;
+        this.title = title;
+        this.year = year;
+        this.runtime = runtime;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public Duration getRuntime() {
+        return runtime;
+    }
+
+    public static class MinutesConverter implements AttributeConverter<Duration, Long> {
+
+        @Override
+        public Long toGraphProperty(Duration value) {
+            return value == null ? null : value.toMinutes();
+        }
+
+        @Override
+        public Duration toEntityAttribute(Long value) {
+            return value == null ? null : Duration.ofMinutes(value);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.domain.social;
+
+import com.antgroup.tugraph.ogm.annotation.EndNode;
+import com.antgroup.tugraph.ogm.annotation.GeneratedValue;
+import com.antgroup.tugraph.ogm.annotation.Id;
+import com.antgroup.tugraph.ogm.annotation.RelationshipEntity;
+import com.antgroup.tugraph.ogm.annotation.StartNode;
+
+@RelationshipEntity(type = "KNOWS")
+public class Knows {
+
+    @Id
+    @GeneratedValue
+    private Long id;
+
+    @StartNode
+    private Person from;
+
+    @EndNode
+    private Person to;
+
+    private int since;
+
+    public Knows() {
+    }
+
+    public Knows(Person from, Person to, int since) {
+        this.from = from;
+        this.to = to;
+        this.since = since;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Person getFrom() {
+        return from;
+    }
+
+    public Person getTo() {
+        return to;
+    }
+
+    public int getSince() {
+        return since;
+    }
+
+    public void setSince(int since) {
+        this.since = since;
+    }
+}
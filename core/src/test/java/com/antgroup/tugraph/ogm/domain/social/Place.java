@@ -0,0 +1,103 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.domain.social;
+
+import com.antgroup.tugraph.ogm.annotation.GeneratedValue;
+import com.antgroup.tugraph.ogm.annotation.Id;
+import com.antgroup.tugraph.ogm.annotation.NodeEntity;
+import com.antgroup.tugraph.ogm.annotation.typeconversion.Convert;
+import com.antgroup.tugraph.ogm.typeconversion.AttributeConverter;
+
+@NodeEntity
+public class Place {
+
+    @Id
+    @GeneratedValue
+    private Long id;
+
+    private String name;
+
+    @Convert(LocationConverter.class)
+    private Location location;
+
+    public Place() {
+    }
+
+    public Place(String name, Location location) {
+        this.name = name;
+        this.location = location;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Location getLocation() {
+        return location;
+    }
+
+    /**
+     * A mutable value, stored as a single property.
+     */
+    public static class Location {
+
+        private double latitude;
+
+        private double longitude;
+
+        public Location(double latitude, double longitude) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+        }
+
+        public double getLatitude() {
+            return latitude;
+        }
+
+        public void setLatitude(double latitude) {
+            this.latitude = latitude;
+        }
+
+        public double getLongitude() {
+            return longitude;
+        }
+
+        public void setLongitude(double longitude) {
+            this.longitude = longitude;
+        }
+    }
+
+    public static class LocationConverter implements AttributeConverter<Location, String> {
+
+        @Override
+        public String toGraphProperty(Location value) {
+            return value == null ? null : value.getLatitude() + "," + value.getLongitude();
+        }
+
+        @Override
+        public Location toEntityAttribute(String value) {
+            if (value == null) {
+                return null;
+            }
+            String[] coordinates = value.split(",");
+            return new Location(Double.parseDouble(coordinates[0]), Double.parseDouble(coordinates[1]));
+        }
+    }
+}
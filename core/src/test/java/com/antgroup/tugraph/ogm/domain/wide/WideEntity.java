@@ -0,0 +1,62 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.domain.wide;
+
+import com.antgroup.tugraph.ogm.annotation.GeneratedValue;
+import com.antgroup.tugraph.ogm.annotation.Id;
+import com.antgroup.tugraph.ogm.annotation.NodeEntity;
+
+/**
+ * A node entity with 30 properties of different types.
+ */
+@NodeEntity
+public class WideEntity {
+
+    @Id
+    @GeneratedValue
+    private Long id;
+
+    private String string0;
+    private int int1;
+    private long long2;
+    private Long long3;
+    private double double4;
+    private boolean boolean5;
+    private String string6;
+    private int int7;
+    private long long8;
+    private Long long9;
+    private double double10;
+    private boolean boolean11;
+    private String string12;
+    private int int13;
+    private long long14;
+    private Long long15;
+    private double double16;
+    private boolean boolean17;
+    private String string18;
+    private int int19;
+    private long long20;
+    private Long long21;
+    private double double22;
+    private boolean boolean23;
+    private String string24;
+    private int int25;
+    private long long26;
+    private Long long27;
+    private double double28;
+    private boolean boolean29;
+}
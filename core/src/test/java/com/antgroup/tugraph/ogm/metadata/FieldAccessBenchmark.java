@@ -0,0 +1,157 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.metadata;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import com.antgroup.tugraph.ogm.context.MappingContext;
+import com.antgroup.tugraph.ogm.domain.wide.WideEntity;
+import com.antgroup.tugraph.ogm.utils.EntityUtils;
+
+/**
+ * Measures field access for an entity with 30 properties: hydrating entities the way the graph entity mapper writes
+ * properties, and dirty checking them through the {@link MappingContext}, one by one and as batch. Plain reads and
+ * writes are measured with the cached field handles of {@link FieldInfo} and with the static, reflective
+ * {@link FieldInfo#read(java.lang.reflect.Field, Object)} and
+ * {@link FieldInfo#write(java.lang.reflect.Field, Object, Object)}, which check and grant access on every call.
+ * <p>
+ * Not a test, run it manually from the test classpath, optionally passing the number of entities:
+ * <pre>
+ * java -cp ... com.antgroup.tugraph.ogm.metadata.FieldAccessBenchmark 100000
+ * </pre>
+ */
+public final class FieldAccessBenchmark {
+
+    private static final int ROUNDS = 10;
+
+    public static void main(String... args) {
+        int entities = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        System.out.printf("%d entities with 30 properties%n", entities);
+
+        MetaData metaData = new MetaData(WideEntity.class.getPackage().getName());
+        ClassInfo classInfo = metaData.classInfo(WideEntity.class);
+        Collection<FieldInfo> fields = classInfo.propertyFields();
+        Object[] values = new Object[fields.size()];
+        int i = 0;
+        for (FieldInfo field : fields) {
+            values[i++] = valueFor(field);
+        }
+
+        List<WideEntity> hydrated = new ArrayList<>(entities);
+        measure("hydrate", entities, () -> {
+            hydrated.clear();
+            for (int j = 0; j < entities; j++) {
+                WideEntity entity = new WideEntity();
+                int k = 0;
+                for (FieldInfo field : fields) {
+                    field.write(entity, values[k++]);
+                }
+                hydrated.add(entity);
+            }
+        });
+
+        // Plain field access, without the conversions applied while hydrating
+        Object[] fieldValues = new Object[values.length];
+        i = 0;
+        for (FieldInfo field : fields) {
+            fieldValues[i++] = field.read(hydrated.get(0));
+        }
+        measure("write (handles)", entities, () -> {
+            for (WideEntity entity : hydrated) {
+                int k = 0;
+                for (FieldInfo field : fields) {
+                    field.writeDirect(entity, fieldValues[k++]);
+                }
+            }
+        });
+        measure("write (reflection)", entities, () -> {
+            for (WideEntity entity : hydrated) {
+                int k = 0;
+                for (FieldInfo field : fields) {
+                    FieldInfo.write(field.getField(), entity, fieldValues[k++]);
+                }
+            }
+        });
+        long[] blackhole = new long[1];
+        measure("read (handles)", entities, () -> {
+            for (WideEntity entity : hydrated) {
+                for (FieldInfo field : fields) {
+                    blackhole[0] += field.read(entity).hashCode();
+                }
+            }
+        });
+        measure("read (reflection)", entities, () -> {
+            for (WideEntity entity : hydrated) {
+                for (FieldInfo field : fields) {
+                    blackhole[0] += FieldInfo.read(field.getField(), entity).hashCode();
+                }
+            }
+        });
+
+        MappingContext mappingContext = new MappingContext(metaData);
+        for (int j = 0; j < entities; j++) {
+            WideEntity entity = hydrated.get(j);
+            EntityUtils.setIdentity(entity, (long) j, metaData);
+            mappingContext.addNodeEntity(entity, (long) j);
+        }
+        measure("dirty check", entities, () -> {
+            for (WideEntity entity : hydrated) {
+                if (mappingContext.isDirty(entity)) {
+                    throw new IllegalStateException("Entity should not be dirty: " + entity);
+                }
+            }
+        });
+        measure("dirty check (batch)", entities, () -> {
+            for (Optional<Set<FieldInfo>> changedFields : mappingContext.getChangedFields(hydrated).values()) {
+                if (!changedFields.isPresent() || !changedFields.get().isEmpty()) {
+                    throw new IllegalStateException("Entity should not be dirty");
+                }
+            }
+        });
+        System.out.printf("(%d)%n", blackhole[0] & 1);
+    }
+
+    private static Object valueFor(FieldInfo field) {
+        // Values as they are returned by the drivers, integral numbers are coerced while writing
+        switch (field.getField().getType().getSimpleName()) {
+            case "String":
+                return field.getName();
+            case "double":
+                return 47.11;
+            case "boolean":
+                return Boolean.TRUE;
+            default:
+                return 42L;
+        }
+    }
+
+    private static void measure(String name, int entities, Runnable run) {
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            run.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("%-22s %8.1f ns/entity%n", name, (double) best / entities);
+    }
+
+    private FieldAccessBenchmark() {
+    }
+}
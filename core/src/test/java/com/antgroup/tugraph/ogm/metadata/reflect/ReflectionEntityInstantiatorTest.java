@@ -0,0 +1,96 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.metadata.reflect;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.antgroup.tugraph.ogm.domain.immutable.Actor;
+import com.antgroup.tugraph.ogm.domain.immutable.Movie;
+import com.antgroup.tugraph.ogm.exception.core.MappingException;
+import com.antgroup.tugraph.ogm.metadata.MetaData;
+
+/**
+ * Instantiating entities through their no-arg constructor or their only constructor. The test sources are compiled
+ * with {@code -parameters}, so that the parameter names of the latter are available.
+ */
+public class ReflectionEntityInstantiatorTest {
+
+    private final ReflectionEntityInstantiator instantiator =
+        new ReflectionEntityInstantiator(new MetaData(Movie.class.getPackage().getName()));
+
+    private static Map<String, Object> theMatrix() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("title", "The Matrix");
+        properties.put("released", 1999L);
+        properties.put("runtime", 136L);
+        return properties;
+    }
+
+    @Test
+    public void classesWithOnlyAConstructorWithArgumentsShouldBeInstantiatedThroughIt() {
+        Movie movie = instantiator.createInstance(Movie.class, theMatrix());
+
+        assertThat(movie.getId()).isNull();
+        assertThat(movie.getTitle()).isEqualTo("The Matrix");
+    }
+
+    @Test
+    public void parametersShouldBeLookedUpByTheirPropertyName() {
+        Movie movie = instantiator.createInstance(Movie.class, theMatrix());
+
+        assertThat(movie.getYear()).isEqualTo(1999);
+    }
+
+    @Test
+    public void parametersWithAConverterShouldBeConverted() {
+        Movie movie = instantiator.createInstance(Movie.class, theMatrix());
+
+        assertThat(movie.getRuntime()).isEqualTo(Duration.ofMinutes(136));
+    }
+
+    @Test
+    public void missingPrimitiveValuesShouldBeReported() {
+        Map<String, Object> properties = theMatrix();
+        properties.remove("released");
+
+        assertThatExceptionOfType(MappingException.class)
+            .isThrownBy(() -> instantiator.createInstance(Movie.class, properties))
+            .withMessage("Unable to instantiate " + Movie.class
+                + ", there is no value for its int constructor parameter year (property released)");
+    }
+
+    @Test
+    public void missingObjectValuesShouldBePassedAsNull() {
+        Map<String, Object> properties = theMatrix();
+        properties.remove("runtime");
+
+        assertThat(instantiator.createInstance(Movie.class, properties).getRuntime()).isNull();
+    }
+
+    @Test
+    public void classesWithoutAConstructorToUseShouldNotBeInstantiated() {
+        assertThatExceptionOfType(MappingException.class)
+            .isThrownBy(() -> instantiator.createInstance(Actor.class, new HashMap<>()))
+            .withMessage("Unable to find default constructor to instantiate " + Actor.class);
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.session;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.antgroup.tugraph.ogm.domain.social.Person;
+import com.antgroup.tugraph.ogm.request.Deadline;
+
+/**
+ * Asynchronous units of work submitted to a session.
+ */
+public class AsyncSessionTest {
+
+    private final ScriptedDriver driver = new ScriptedDriver();
+    private final SessionFactory sessionFactory = new SessionFactory(driver, Person.class.getPackage().getName());
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @After
+    public void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    private Session openSession() {
+        sessionFactory.setAsyncExecutor(executor);
+        return sessionFactory.openSession();
+    }
+
+    @Test
+    public void sessionsShouldUseTheDefaultExecutorUnlessConfigured() {
+        assertThat(((Neo4jSession) sessionFactory.openSession()).getAsyncExecutor())
+            .isSameAs(AsyncExecutors.defaultExecutor());
+        assertThat(((Neo4jSession) openSession()).getAsyncExecutor()).isSameAs(executor);
+    }
+
+    @Test
+    public void unitsOfWorkShouldRunOnTheConfiguredExecutor() throws Exception {
+        Thread caller = Thread.currentThread();
+        Session session = openSession();
+
+        Thread worker = session.executeAsync(s -> Thread.currentThread()).get(10, TimeUnit.SECONDS);
+
+        assertThat(worker).isNotSameAs(caller);
+    }
+
+    @Test
+    public void unitsOfWorkShouldRunOneAfterAnotherInSubmissionOrder() throws Exception {
+        Session session = openSession();
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            int index = i;
+            futures.add(session.executeAsync(s -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                order.add(index);
+                running.decrementAndGet();
+                return index;
+            }));
+        }
+        release.countDown();
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+
+        assertThat(maxRunning.get()).isEqualTo(1);
+        assertThat(order).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+    }
+
+    @Test
+    public void aFailingUnitOfWorkShouldNotStopTheFollowingOnes() throws Exception {
+        Session session = openSession();
+
+        CompletableFuture<Object> failed = session.executeAsync(s -> {
+            throw new IllegalStateException("Failed");
+        });
+        CompletableFuture<String> next = session.executeAsync(s -> "next");
+
+        assertThat(next.get(10, TimeUnit.SECONDS)).isEqualTo("next");
+        assertThatExceptionOfType(ExecutionException.class).isThrownBy(failed::get)
+            .withCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void theDeadlineOfTheCallerShouldApplyToTheUnitOfWork() throws Exception {
+        Session session = openSession();
+
+        CompletableFuture<Deadline> withDeadline = Deadline.within(60_000L,
+            () -> session.executeAsync(s -> Deadline.current()));
+        CompletableFuture<Deadline> withoutDeadline = session.executeAsync(s -> Deadline.current());
+
+        assertThat(withDeadline.get(10, TimeUnit.SECONDS)).isNotNull();
+        assertThat(withoutDeadline.get(10, TimeUnit.SECONDS)).isNull();
+    }
+
+    @Test
+    public void asyncVariantsShouldSendTheirStatements() throws Exception {
+        Session session = openSession();
+        Person person = new Person();
+        person.setName("Frida");
+
+        session.saveAsync(person).get(10, TimeUnit.SECONDS);
+        Collection<Person> persons = session.loadAllAsync(Person.class).get(10, TimeUnit.SECONDS);
+
+        assertThat(driver.getStatements()).hasSize(2);
+        assertThat(persons).isEmpty();
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.session;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import com.antgroup.tugraph.ogm.domain.social.Person;
+import com.antgroup.tugraph.ogm.model.GraphModel;
+import com.antgroup.tugraph.ogm.response.model.DefaultGraphModel;
+import com.antgroup.tugraph.ogm.response.model.NodeModel;
+import com.antgroup.tugraph.ogm.response.model.RelationshipModel;
+import com.antgroup.tugraph.ogm.transaction.Transaction;
+import com.antgroup.tugraph.ogm.utils.EntityUtils;
+
+/**
+ * The session bounds its mapping context only between operations.
+ */
+public class BoundedMappingContextTest {
+
+    private final ScriptedDriver driver = new ScriptedDriver();
+    private final SessionFactory sessionFactory = new SessionFactory(driver, Person.class.getPackage().getName());
+
+    private void addPersons(Neo4jSession session, long from, long to) {
+        for (long id = from; id <= to; id++) {
+            Person person = new Person("Person " + id, 20);
+            EntityUtils.setIdentity(person, id, session.metaData());
+            session.context().addNodeEntity(person, id);
+        }
+    }
+
+    private static long registeredPersons(Neo4jSession session, long maxId) {
+        long count = 0;
+        for (long id = 1; id <= maxId; id++) {
+            if (session.context().getNodeEntity(id) != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Test
+    public void entitiesShouldNotBeEvictedWhileAnOperationIsRunning() {
+        sessionFactory.setMappingContextMaxEntities(8);
+        Neo4jSession session = (Neo4jSession) sessionFactory.openSession();
+
+        session.doInTransaction(() -> {
+            addPersons(session, 1, 10);
+            session.doInTransaction(() -> addPersons(session, 11, 12), Transaction.Type.READ_ONLY);
+            // The inner operation returned, but the outer one may still be iterating the context
+            assertThat(registeredPersons(session, 12)).isEqualTo(12);
+        }, Transaction.Type.READ_ONLY);
+
+        // Evicted down to 7/8 of the maximum once the outermost operation has returned
+        assertThat(registeredPersons(session, 12)).isEqualTo(7);
+    }
+
+    @Test
+    public void theContextShouldBeUnboundedByDefault() {
+        Neo4jSession session = (Neo4jSession) sessionFactory.openSession();
+
+        session.doInTransaction(() -> addPersons(session, 1, 100), Transaction.Type.READ_ONLY);
+
+        assertThat(session.context().getMaxEntities()).isZero();
+        assertThat(registeredPersons(session, 100)).isEqualTo(100);
+    }
+
+    private static NodeModel personNode(long id) {
+        NodeModel node = new NodeModel(id);
+        node.setLabels(new String[] { "Person" });
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("name", "Person " + id);
+        properties.put("age", 20);
+        node.setProperties(properties);
+        return node;
+    }
+
+    @Test
+    public void relationshipsRemovedBeforeAnEvictionShouldStillBeDeleted() {
+        sessionFactory.setMappingContextMaxEntities(4);
+        AtomicReference<List<GraphModel>> rows = new AtomicReference<>();
+        driver.onGraphModel(statement -> rows.get());
+        Neo4jSession session = (Neo4jSession) sessionFactory.openSession();
+
+        DefaultGraphModel knowing = new DefaultGraphModel();
+        knowing.addNode(personNode(1L));
+        knowing.addNode(personNode(2L));
+        RelationshipModel knows = new RelationshipModel();
+        knows.setId(100L);
+        knows.setType("KNOWS");
+        knows.setStartNode(1L);
+        knows.setEndNode(2L);
+        knows.setProperties(Collections.singletonMap("since", 2000));
+        knowing.addRelationship(knows);
+        rows.set(Collections.singletonList(knowing));
+        Person person = session.load(Person.class, 1L);
+        assertThat(person.getKnows()).hasSize(1);
+
+        person.getKnows().clear();
+        List<GraphModel> others = new ArrayList<>();
+        for (long id = 3; id <= 10; id++) {
+            DefaultGraphModel other = new DefaultGraphModel();
+            other.addNode(personNode(id));
+            others.add(other);
+        }
+        rows.set(others);
+        session.loadAll(Person.class);
+        // The removed relationship keeps the person from being evicted
+        assertThat(session.context().getNodeEntity(1L)).isSameAs(person);
+        assertThat(session.context().getNodeEntity(2L)).isNull();
+
+        int sentBeforeSave = driver.getStatements().size();
+        session.save(person);
+
+        List<String> save = driver.getStatements().subList(sentBeforeSave, driver.getStatements().size());
+        assertThat(save).anyMatch(statement -> statement.contains("DELETE"));
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.session;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.antgroup.tugraph.ogm.cypher.query.KeysetPagination;
+import com.antgroup.tugraph.ogm.domain.social.Person;
+import com.antgroup.tugraph.ogm.model.GraphModel;
+import com.antgroup.tugraph.ogm.response.model.DefaultGraphModel;
+import com.antgroup.tugraph.ogm.response.model.NodeModel;
+
+/**
+ * Keyset pagination of entities loaded by id or by instance.
+ */
+public class KeysetPaginationByIdsTest {
+
+    private static final int PAGE_SIZE = 2;
+
+    private final ScriptedDriver driver = new ScriptedDriver();
+    private final SessionFactory sessionFactory = new SessionFactory(driver, Person.class.getPackage().getName());
+
+    @Before
+    public void answerWithTheNextPage() {
+        // Answers with the requested persons after the id of the seek parameter, ordered by id and limited to a page
+        driver.onGraphModel(statement -> {
+            Object after = statement.getParameters().get("_keyset_0");
+            long limit = statement.getStatement().contains(" LIMIT ") ? PAGE_SIZE : Long.MAX_VALUE;
+            List<GraphModel> rows = new ArrayList<>();
+            ((Collection<?>) statement.getParameters().get("ids")).stream()
+                .map(Long.class::cast)
+                .filter(id -> after == null || id > (Long) after)
+                .sorted()
+                .limit(limit)
+                .forEach(id -> rows.add(person(id)));
+            return rows;
+        });
+    }
+
+    private static GraphModel person(long id) {
+        NodeModel node = new NodeModel(id);
+        node.setLabels(new String[] { "Person" });
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("name", "Person " + id);
+        node.setProperties(properties);
+        DefaultGraphModel graphModel = new DefaultGraphModel();
+        graphModel.addNode(node);
+        return graphModel;
+    }
+
+    private static List<Long> idsOf(Collection<Person> persons) {
+        return persons.stream().map(Person::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    public void pagesLoadedByIdsShouldContinueAfterTheirLastEntity() {
+        Session session = sessionFactory.openSession();
+        List<Long> ids = Arrays.asList(5L, 3L, 1L, 4L, 2L);
+
+        KeysetPagination firstPage = new KeysetPagination(PAGE_SIZE);
+        assertThat(idsOf(session.loadAll(Person.class, ids, firstPage))).containsExactly(1L, 2L);
+        assertThat(firstPage.getContinuationToken()).isNotNull();
+
+        KeysetPagination secondPage = firstPage.next();
+        assertThat(idsOf(session.loadAll(Person.class, ids, secondPage))).containsExactly(3L, 4L);
+        assertThat(driver.getSentStatements().get(1).getStatement())
+            .contains("WHERE (ID(n) > $_keyset_0)", "ORDER BY ID(n) LIMIT 2");
+        assertThat(driver.getSentStatements().get(1).getParameters()).containsEntry("_keyset_0", 2L);
+
+        KeysetPagination lastPage = secondPage.next();
+        assertThat(idsOf(session.loadAll(Person.class, ids, lastPage))).containsExactly(5L);
+        assertThat(lastPage.next()).isNull();
+    }
+
+    @Test
+    public void pagesLoadedByInstancesShouldContinueAfterTheirLastEntity() {
+        Session session = sessionFactory.openSession();
+        Collection<Person> persons = session.loadAll(Person.class, Arrays.asList(3L, 1L, 2L));
+
+        KeysetPagination firstPage = new KeysetPagination(PAGE_SIZE);
+        assertThat(idsOf(session.loadAll(persons, firstPage))).containsExactly(1L, 2L);
+
+        KeysetPagination lastPage = firstPage.next();
+        assertThat(lastPage).isNotNull();
+        assertThat(idsOf(session.loadAll(persons, lastPage))).containsExactly(3L);
+        assertThat(lastPage.next()).isNull();
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.session;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.antgroup.tugraph.ogm.cypher.query.SortOrder;
+import com.antgroup.tugraph.ogm.domain.social.Person;
+import com.antgroup.tugraph.ogm.model.GraphModel;
+import com.antgroup.tugraph.ogm.request.Statement;
+import com.antgroup.tugraph.ogm.response.model.DefaultGraphModel;
+import com.antgroup.tugraph.ogm.response.model.NodeModel;
+
+/**
+ * Loading entities by id in chunks of {@link SessionFactory#setLoadByIdsChunkSize(int)} ids.
+ */
+public class LoadByIdsChunkTest {
+
+    private final ScriptedDriver driver = new ScriptedDriver();
+    private final SessionFactory sessionFactory = new SessionFactory(driver, Person.class.getPackage().getName());
+
+    @Before
+    public void answerWithTheRequestedPersons() {
+        sessionFactory.setLoadByIdsChunkSize(3);
+        // Answers in the reverse order of the requested ids, ids above 100 don't exist
+        driver.onGraphModel(statement -> {
+            List<GraphModel> rows = new ArrayList<>();
+            for (Long id : idsOf(statement)) {
+                if (id <= 100) {
+                    rows.add(0, person(id));
+                }
+            }
+            return rows;
+        });
+    }
+
+    private static GraphModel person(long id) {
+        NodeModel node = new NodeModel(id);
+        node.setLabels(new String[] { "Person" });
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("name", "Person " + id);
+        node.setProperties(properties);
+        DefaultGraphModel graphModel = new DefaultGraphModel();
+        graphModel.addNode(node);
+        return graphModel;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Collection<Long> idsOf(Statement statement) {
+        return (Collection<Long>) statement.getParameters().get("ids");
+    }
+
+    private List<Collection<Long>> requestedIds() {
+        return driver.getSentStatements().stream().map(LoadByIdsChunkTest::idsOf).collect(Collectors.toList());
+    }
+
+    private static List<Long> idsOf(Collection<Person> persons) {
+        return persons.stream().map(Person::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    public void idsFittingIntoOneChunkShouldBeLoadedWithOneQuery() {
+        Collection<Person> persons = sessionFactory.openSession().loadAll(Person.class, Arrays.asList(3L, 1L, 2L));
+
+        assertThat(requestedIds()).containsExactly(Arrays.asList(3L, 1L, 2L));
+        assertThat(idsOf(persons)).containsExactly(3L, 1L, 2L);
+    }
+
+    @Test
+    public void oneIdMoreThanTheChunkSizeShouldStartASecondChunk() {
+        Collection<Person> persons = sessionFactory.openSession()
+            .loadAll(Person.class, Arrays.asList(4L, 3L, 2L, 1L));
+
+        assertThat(requestedIds()).containsExactly(Arrays.asList(4L, 3L, 2L), Arrays.asList(1L));
+        assertThat(idsOf(persons)).containsExactly(4L, 3L, 2L, 1L);
+    }
+
+    @Test
+    public void aMultipleOfTheChunkSizeShouldBeLoadedInFullChunks() {
+        Collection<Person> persons = sessionFactory.openSession()
+            .loadAll(Person.class, Arrays.asList(6L, 1L, 5L, 2L, 4L, 3L));
+
+        assertThat(requestedIds()).containsExactly(Arrays.asList(6L, 1L, 5L), Arrays.asList(2L, 4L, 3L));
+        assertThat(idsOf(persons)).containsExactly(6L, 1L, 5L, 2L, 4L, 3L);
+    }
+
+    @Test
+    public void missingIdsShouldBeSkippedAcrossChunks() {
+        Collection<Person> persons = sessionFactory.openSession()
+            .loadAll(Person.class, Arrays.asList(1L, 101L, 2L, 102L, 3L));
+
+        assertThat(requestedIds()).hasSize(2);
+        assertThat(idsOf(persons)).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    public void sortedLoadsShouldNotBeChunked() {
+        sessionFactory.openSession()
+            .loadAll(Person.class, Arrays.asList(1L, 2L, 3L, 4L, 5L), new SortOrder("name"));
+
+        assertThat(requestedIds()).containsExactly(Arrays.asList(1L, 2L, 3L, 4L, 5L));
+    }
+
+    @Test
+    public void aChunkSizeOfZeroShouldDisableChunking() {
+        sessionFactory.setLoadByIdsChunkSize(0);
+        sessionFactory.openSession().loadAll(Person.class, Arrays.asList(1L, 2L, 3L, 4L, 5L));
+
+        assertThat(requestedIds()).containsExactly(Arrays.asList(1L, 2L, 3L, 4L, 5L));
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.session;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.antgroup.tugraph.ogm.domain.social.Person;
+import com.antgroup.tugraph.ogm.utils.EntityUtils;
+
+/**
+ * Saving known entities only writes the properties that changed.
+ */
+public class PartialUpdateTest {
+
+    private final ScriptedDriver driver = new ScriptedDriver();
+    private final Neo4jSession session = (Neo4jSession) new SessionFactory(driver,
+        Person.class.getPackage().getName()).openSession();
+
+    private Person known(String name, int age) {
+        Person person = new Person(name, age);
+        EntityUtils.setIdentity(person, 1L, session.metaData());
+        session.context().addNodeEntity(person, 1L);
+        return person;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> writtenProperties() {
+        assertThat(driver.getSentStatements()).hasSize(1);
+        List<Map<String, Object>> rows = (List<Map<String, Object>>) driver.getSentStatements().get(0)
+            .getParameters().get("rows");
+        assertThat(rows).hasSize(1);
+        return (Map<String, Object>) rows.get(0).get("props");
+    }
+
+    @Test
+    public void onlyChangedPropertiesShouldBeWritten() {
+        Person person = known("Keanu", 42);
+        person.setAge(43);
+
+        session.save(person, 0);
+
+        assertThat(writtenProperties()).containsOnlyKeys("age").containsEntry("age", 43);
+    }
+
+    @Test
+    public void changesToValuesWithTheSameHashShouldBeWritten() {
+        Person person = known("Aa", 42);
+        person.setName("BB");
+
+        session.save(person, 0);
+
+        assertThat(writtenProperties()).containsOnlyKeys("name").containsEntry("name", "BB");
+    }
+
+    @Test
+    public void unchangedEntitiesShouldNotBeWritten() {
+        Person person = known("Keanu", 42);
+
+        session.save(person, 0);
+
+        assertThat(driver.getStatements()).isEmpty();
+    }
+}
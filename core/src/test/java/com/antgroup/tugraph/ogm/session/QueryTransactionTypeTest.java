@@ -0,0 +1,85 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.session;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+import com.antgroup.tugraph.ogm.domain.social.Person;
+import com.antgroup.tugraph.ogm.transaction.Transaction;
+
+/**
+ * The type of the transactions custom queries run in when the caller has not begun one.
+ */
+public class QueryTransactionTypeTest {
+
+    private final ScriptedDriver driver = new ScriptedDriver();
+    private final Session session = new SessionFactory(driver, Person.class.getPackage().getName()).openSession();
+
+    private Transaction.Type transactionType() {
+        assertThat(driver.getTransactions()).hasSize(1);
+        return driver.getTransactions().get(0).type();
+    }
+
+    @Test
+    public void readingEntityQueriesShouldRunReadOnly() {
+        session.query(Person.class, "MATCH (n:Person) RETURN n", Collections.emptyMap());
+
+        assertThat(transactionType()).isEqualTo(Transaction.Type.READ_ONLY);
+    }
+
+    @Test
+    public void readingScalarQueriesShouldRunReadOnly() {
+        session.queryForObject(Long.class, "MATCH (n:Person) RETURN count(n)", Collections.emptyMap());
+
+        assertThat(transactionType()).isEqualTo(Transaction.Type.READ_ONLY);
+    }
+
+    @Test
+    public void proceduresShouldRunReadWrite() {
+        session.query(Long.class, "CALL db.addLabel('Person')", Collections.emptyMap());
+
+        assertThat(transactionType()).isEqualTo(Transaction.Type.READ_WRITE);
+    }
+
+    @Test
+    public void proceduresHintedReadOnlyShouldRunReadOnly() {
+        session.query(Long.class, "CALL /*+ OGM READ_ONLY */ db.labels()", Collections.emptyMap());
+
+        assertThat(transactionType()).isEqualTo(Transaction.Type.READ_ONLY);
+    }
+
+    @Test
+    public void dropsShouldRunReadWrite() {
+        session.query(Person.class, "DROP INDEX ON :Person(name)", Collections.emptyMap());
+
+        assertThat(transactionType()).isEqualTo(Transaction.Type.READ_WRITE);
+    }
+
+    @Test
+    public void streamedQueriesShouldBeClassifiedLikeTheirCypher() {
+        try (Stream<Long> counts = session.queryStream(Long.class, "MATCH (n:Person) RETURN count(n)",
+            Collections.emptyMap())) {
+            assertThat(counts.count()).isZero();
+        }
+
+        assertThat(transactionType()).isEqualTo(Transaction.Type.READ_ONLY);
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.session;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import com.antgroup.tugraph.ogm.config.Configuration;
+import com.antgroup.tugraph.ogm.driver.Driver;
+import com.antgroup.tugraph.ogm.model.GraphModel;
+import com.antgroup.tugraph.ogm.model.GraphRowListModel;
+import com.antgroup.tugraph.ogm.model.RestModel;
+import com.antgroup.tugraph.ogm.model.RowModel;
+import com.antgroup.tugraph.ogm.request.DefaultRequest;
+import com.antgroup.tugraph.ogm.request.GraphModelRequest;
+import com.antgroup.tugraph.ogm.request.GraphRowListModelRequest;
+import com.antgroup.tugraph.ogm.request.Request;
+import com.antgroup.tugraph.ogm.request.RestModelRequest;
+import com.antgroup.tugraph.ogm.request.RowModelRequest;
+import com.antgroup.tugraph.ogm.request.Statement;
+import com.antgroup.tugraph.ogm.response.Response;
+import com.antgroup.tugraph.ogm.transaction.AbstractTransaction;
+import com.antgroup.tugraph.ogm.transaction.Transaction;
+import com.antgroup.tugraph.ogm.transaction.TransactionManager;
+
+/**
+ * A driver answering statements from a script instead of a database. It records the statements it has been sent,
+ * the transactions it has opened and the responses it has handed out.
+ */
+public class ScriptedDriver implements Driver {
+
+    private final List<Statement> statements = new CopyOnWriteArrayList<>();
+    private final List<ScriptedTransaction> transactions = new CopyOnWriteArrayList<>();
+    private final List<ScriptedResponse<?>> responses = new CopyOnWriteArrayList<>();
+
+    private Function<Statement, List<GraphModel>> graphModels = statement -> Collections.emptyList();
+    private Function<Statement, List<RowModel>> rowModels = statement -> Collections.emptyList();
+    private Function<Statement, List<GraphRowListModel>> graphRowListModels = statement -> Collections.emptyList();
+    private Function<Statement, List<RestModel>> restModels = statement -> Collections.emptyList();
+
+    public ScriptedDriver onGraphModel(Function<Statement, List<GraphModel>> script) {
+        this.graphModels = script;
+        return this;
+    }
+
+    public ScriptedDriver onRowModel(Function<Statement, List<RowModel>> script) {
+        this.rowModels = script;
+        return this;
+    }
+
+    public ScriptedDriver onGraphRowListModel(Function<Statement, List<GraphRowListModel>> script) {
+        this.graphRowListModels = script;
+        return this;
+    }
+
+    public ScriptedDriver onRestModel(Function<Statement, List<RestModel>> script) {
+        this.restModels = script;
+        return this;
+    }
+
+    /**
+     * @return The cypher of the statements sent so far, in the order they have been sent
+     */
+    public List<String> getStatements() {
+        List<String> cypher = new ArrayList<>();
+        for (Statement statement : statements) {
+            cypher.add(statement.getStatement());
+        }
+        return cypher;
+    }
+
+    /**
+     * @return The statements sent so far, including their parameters
+     */
+    public List<Statement> getSentStatements() {
+        return statements;
+    }
+
+    /**
+     * @return The transactions opened so far
+     */
+    public List<ScriptedTransaction> getTransactions() {
+        return transactions;
+    }
+
+    /**
+     * @return The responses handed out so far
+     */
+    public List<ScriptedResponse<?>> getResponses() {
+        return responses;
+    }
+
+    @Override
+    public void configure(Configuration config) {
+    }
+
+    @Override
+    public Function<TransactionManager, BiFunction<Transaction.Type, Iterable<String>, Transaction>>
+        getTransactionFactorySupplier() {
+        return transactionManager -> (type, bookmarks) -> {
+            ScriptedTransaction transaction = new ScriptedTransaction(transactionManager, type);
+            transactions.add(transaction);
+            return transaction;
+        };
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public Request request(Transaction transaction) {
+        return new Request() {
+
+            @Override
+            public Response<GraphModel> execute(GraphModelRequest query) {
+                return respond(query, graphModels);
+            }
+
+            @Override
+            public Response<RowModel> execute(RowModelRequest query) {
+                return respond(query, rowModels);
+            }
+
+            @Override
+            public Response<RowModel> execute(DefaultRequest query) {
+                List<RowModel> rows = new ArrayList<>();
+                for (Statement statement : query.getStatements()) {
+                    statements.add(statement);
+                    rows.addAll(rowModels.apply(statement));
+                }
+                return register(new ScriptedResponse<>(rows));
+            }
+
+            @Override
+            public Response<GraphRowListModel> execute(GraphRowListModelRequest query) {
+                return respond(query, graphRowListModels);
+            }
+
+            @Override
+            public Response<RestModel> execute(RestModelRequest query) {
+                return respond(query, restModels);
+            }
+        };
+    }
+
+    @Override
+    public Configuration getConfiguration() {
+        return null;
+    }
+
+    private <T> Response<T> respond(Statement statement, Function<Statement, List<T>> script) {
+        statements.add(statement);
+        return register(new ScriptedResponse<>(script.apply(statement)));
+    }
+
+    private <T> Response<T> register(ScriptedResponse<T> response) {
+        responses.add(response);
+        return response;
+    }
+
+    /**
+     * A transaction doing nothing but tracking its status and how it ended.
+     */
+    public static class ScriptedTransaction extends AbstractTransaction {
+
+        private boolean committed;
+        private boolean rolledBack;
+
+        ScriptedTransaction(TransactionManager transactionManager, Type type) {
+            super(transactionManager);
+            this.type = type;
+        }
+
+        @Override
+        public void commit() {
+            super.commit();
+            committed = status() == Status.COMMITTED;
+        }
+
+        @Override
+        public void rollback() {
+            super.rollback();
+            rolledBack = status() == Status.ROLLEDBACK;
+        }
+
+        public boolean isCommitted() {
+            return committed;
+        }
+
+        public boolean isRolledBack() {
+            return rolledBack;
+        }
+    }
+
+    /**
+     * A response handing out scripted models, remembering how many have been read and whether it has been closed.
+     *
+     * @param <T> Type of the models
+     */
+    public static class ScriptedResponse<T> implements Response<T> {
+
+        private final Iterator<T> models;
+        private int read;
+        private boolean closed;
+
+        ScriptedResponse(List<T> models) {
+            this.models = models.iterator();
+        }
+
+        @Override
+        public T next() {
+            if (closed) {
+                throw new IllegalStateException("Response has been closed");
+            }
+            if (!models.hasNext()) {
+                return null;
+            }
+            read++;
+            return models.next();
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        @Override
+        public String[] columns() {
+            return new String[0];
+        }
+
+        public int getRead() {
+            return read;
+        }
+
+        public boolean isClosed() {
+            return closed;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.session;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+import com.antgroup.tugraph.ogm.domain.social.Person;
+import com.antgroup.tugraph.ogm.model.Edge;
+import com.antgroup.tugraph.ogm.model.GraphModel;
+import com.antgroup.tugraph.ogm.model.Node;
+import com.antgroup.tugraph.ogm.response.model.DefaultGraphModel;
+import com.antgroup.tugraph.ogm.response.model.NodeModel;
+import com.antgroup.tugraph.ogm.transaction.Transaction;
+
+/**
+ * Lazily consumed streams of entities and the transactions around them.
+ */
+public class StreamTest {
+
+    private final ScriptedDriver driver = new ScriptedDriver();
+    private final SessionFactory sessionFactory = new SessionFactory(driver, Person.class.getPackage().getName());
+
+    private static GraphModel person(long id) {
+        NodeModel node = new NodeModel(id);
+        node.setLabels(new String[] { "Person" });
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("name", "Person " + id);
+        properties.put("age", 20);
+        node.setProperties(properties);
+        DefaultGraphModel graphModel = new DefaultGraphModel();
+        graphModel.addNode(node);
+        return graphModel;
+    }
+
+    private static List<GraphModel> persons(int count) {
+        List<GraphModel> rows = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            rows.add(person(id));
+        }
+        return rows;
+    }
+
+    private ScriptedDriver.ScriptedResponse<?> response() {
+        assertThat(driver.getResponses()).hasSize(1);
+        return driver.getResponses().get(0);
+    }
+
+    private ScriptedDriver.ScriptedTransaction transaction() {
+        assertThat(driver.getTransactions()).hasSize(1);
+        return driver.getTransactions().get(0);
+    }
+
+    @Test
+    public void rowsShouldBeMappedWhileTheStreamIsConsumed() {
+        driver.onGraphModel(statement -> persons(10));
+        Session session = sessionFactory.openSession();
+
+        try (Stream<Person> persons = session.stream(Person.class)) {
+            Iterator<Person> iterator = persons.iterator();
+            assertThat(response().getRead()).isZero();
+
+            assertThat(iterator.next().getName()).isEqualTo("Person 1");
+            assertThat(response().getRead()).isEqualTo(1);
+            assertThat(transaction().status()).isEqualTo(Transaction.Status.OPEN);
+        }
+    }
+
+    @Test
+    public void closingTheStreamShouldCloseTheResponseAndCommit() {
+        driver.onGraphModel(statement -> persons(3));
+        Session session = sessionFactory.openSession();
+
+        List<String> names;
+        try (Stream<Person> persons = session.stream(Person.class)) {
+            names = persons.map(Person::getName).collect(Collectors.toList());
+        }
+
+        assertThat(names).containsExactly("Person 1", "Person 2", "Person 3");
+        assertThat(response().isClosed()).isTrue();
+        assertThat(transaction().status()).isEqualTo(Transaction.Status.CLOSED);
+        assertThat(transaction().isCommitted()).isTrue();
+        assertThat(transaction().type()).isEqualTo(Transaction.Type.READ_ONLY);
+        assertThat(session.getTransaction()).isNull();
+    }
+
+    @Test
+    public void closingAPartiallyConsumedStreamShouldCloseTheResponse() {
+        driver.onGraphModel(statement -> persons(10));
+        Session session = sessionFactory.openSession();
+
+        try (Stream<Person> persons = session.stream(Person.class)) {
+            assertThat(persons.limit(2).count()).isEqualTo(2);
+        }
+
+        assertThat(response().getRead()).isLessThan(10);
+        assertThat(response().isClosed()).isTrue();
+        assertThat(session.getTransaction()).isNull();
+    }
+
+    @Test
+    public void failuresWhileConsumingShouldRollBack() {
+        List<GraphModel> rows = persons(1);
+        rows.add(new GraphModel() {
+            @Override
+            public Collection<Node> getNodes() {
+                throw new IllegalStateException("Broken row");
+            }
+
+            @Override
+            public Collection<Edge> getRelationships() {
+                throw new IllegalStateException("Broken row");
+            }
+        });
+        driver.onGraphModel(statement -> rows);
+        Session session = sessionFactory.openSession();
+
+        try (Stream<Person> persons = session.stream(Person.class)) {
+            assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> persons.forEach(person -> {
+            }));
+        }
+
+        assertThat(response().isClosed()).isTrue();
+        assertThat(transaction().status()).isEqualTo(Transaction.Status.CLOSED);
+        assertThat(transaction().isRolledBack()).isTrue();
+        assertThat(transaction().isCommitted()).isFalse();
+        assertThat(session.getTransaction()).isNull();
+    }
+
+    @Test
+    public void theMappingContextShouldBeBoundedWhileStreaming() {
+        sessionFactory.setMappingContextMaxEntities(8);
+        driver.onGraphModel(statement -> persons(100));
+        Neo4jSession session = (Neo4jSession) sessionFactory.openSession();
+
+        long registeredMax = 0;
+        try (Stream<Person> persons = session.stream(Person.class)) {
+            for (Iterator<Person> iterator = persons.iterator(); iterator.hasNext(); ) {
+                iterator.next();
+                long registered = 0;
+                for (long id = 1; id <= 100; id++) {
+                    if (session.context().getNodeEntity(id) != null) {
+                        registered++;
+                    }
+                }
+                registeredMax = Math.max(registeredMax, registered);
+            }
+        }
+
+        // Eviction runs before each row is mapped, so the context exceeds the maximum by one row at most
+        assertThat(registeredMax).isLessThanOrEqualTo(9);
+    }
+}
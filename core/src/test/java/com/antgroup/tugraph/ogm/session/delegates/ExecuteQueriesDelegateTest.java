@@ -26,6 +26,8 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 
+import com.antgroup.tugraph.ogm.transaction.Transaction;
+
 /**
  * Test for new regular expression to determine write queries
  *
@@ -104,4 +106,10 @@ public class ExecuteQueriesDelegateTest {
             Assert.assertFalse(mayBeReadWrite);
         }
     }
+
+    @Test
+    public void queriesThatMayWriteShouldRunInReadWriteTransactions() {
+        Transaction.Type expected = isWriteQuery ? Transaction.Type.READ_WRITE : Transaction.Type.READ_ONLY;
+        Assert.assertEquals(expected, ExecuteQueriesDelegate.transactionTypeOf(query));
+    }
 }
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.session.request.strategy.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import org.junit.Test;
+
+import com.antgroup.tugraph.ogm.domain.social.Person;
+import com.antgroup.tugraph.ogm.metadata.MetaData;
+import com.antgroup.tugraph.ogm.metadata.schema.Schema;
+
+/**
+ * The hops loaded by {@link SchemaHopNodeLoadClauseBuilder} and {@link SchemaHopRelationshipLoadClauseBuilder}.
+ */
+public class SchemaHopLoadClauseBuilderTest {
+
+    private final Schema schema = new MetaData(Person.class.getPackage().getName()).getSchema();
+
+    private final SchemaHopNodeLoadClauseBuilder nodeBuilder = new SchemaHopNodeLoadClauseBuilder(schema);
+
+    private final SchemaHopRelationshipLoadClauseBuilder relationshipBuilder =
+        new SchemaHopRelationshipLoadClauseBuilder(schema);
+
+    @Test
+    public void depthZeroShouldOnlyReturnTheNode() {
+        assertThat(nodeBuilder.build("n", "Person", 0)).isEqualTo(" RETURN n");
+    }
+
+    @Test
+    public void depthOneShouldCollectTheDirectNeighbours() {
+        assertThat(nodeBuilder.build("n", "Person", 1)).isEqualTo(
+            " OPTIONAL MATCH (n)-[r_1:`KNOWS`]->(n_1:`Person`) WITH n, collect(r_1) AS rs_1, collect(n_1) AS ns_1"
+                + " RETURN n, rs_1, ns_1");
+    }
+
+    @Test
+    public void eachFurtherHopShouldMatchThePathOfThePreviousHops() {
+        assertThat(nodeBuilder.build("n", "Person", 2)).isEqualTo(
+            " OPTIONAL MATCH (n)-[r_1:`KNOWS`]->(n_1:`Person`) WITH n, collect(r_1) AS rs_1, collect(n_1) AS ns_1"
+                + " OPTIONAL MATCH (n)-[:`KNOWS`]->(:`Person`)-[r_2:`KNOWS`]->(n_2:`Person`)"
+                + " WITH n, rs_1, ns_1, collect(r_2) AS rs_2, collect(n_2) AS ns_2"
+                + " RETURN n, rs_1, ns_1, rs_2, ns_2");
+    }
+
+    @Test
+    public void theStartVariableShouldBeUsedForTheHops() {
+        assertThat(nodeBuilder.build("p", "Person", 1)).isEqualTo(
+            " OPTIONAL MATCH (p)-[r_1:`KNOWS`]->(n_1:`Person`) WITH p, collect(r_1) AS rs_1, collect(n_1) AS ns_1"
+                + " RETURN p, rs_1, ns_1");
+    }
+
+    @Test
+    public void negativeDepthShouldBeRejectedForNodes() {
+        assertThatIllegalArgumentException().isThrownBy(() -> nodeBuilder.build("n", "Person", -1));
+    }
+
+    @Test
+    public void relationshipsShouldBeExpandedFromBothEnds() {
+        assertThat(relationshipBuilder.build("KNOWS", 1)).isEqualTo(
+            " OPTIONAL MATCH (n)-[r_1:`KNOWS`]->(n_1:`Person`)"
+                + " WITH r0, n, m, collect(r_1) AS rs_1, collect(n_1) AS ns_1"
+                + " OPTIONAL MATCH (m)-[r_2:`KNOWS`]->(n_2:`Person`)"
+                + " WITH r0, n, m, rs_1, ns_1, collect(r_2) AS rs_2, collect(n_2) AS ns_2"
+                + " RETURN r0, n, m, rs_1, ns_1, rs_2, ns_2");
+    }
+
+    @Test
+    public void depthZeroShouldBeRejectedForRelationships() {
+        assertThatIllegalArgumentException().isThrownBy(() -> relationshipBuilder.build("KNOWS", 0));
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.index;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Generates the domain index that is read by {@code DomainInfo} instead of scanning the class path for domain classes.
+ * The index of a package lists the binary names of all classes in that package and its sub packages and is written to
+ * {@code META-INF/resources/<package as path>/neo4j-ogm.index} in the class output.
+ * <p>
+ * The packages to index are given by the {@value #PACKAGES_OPTION} option, separated by commas. They must be the
+ * packages that are passed to the {@code SessionFactory}, otherwise the index won't be found. Without the option every
+ * package declaring a node or relationship entity is indexed.
+ * <p>
+ * An incremental compilation only sees the changed sources, so existing entries of an index are kept. Classes that have
+ * been removed since are logged and skipped by {@code DomainInfo}.
+ */
+@SupportedAnnotationTypes("*")
+@SupportedOptions(DomainIndexProcessor.PACKAGES_OPTION)
+public class DomainIndexProcessor extends AbstractProcessor {
+
+    static final String PACKAGES_OPTION = "tugraph.ogm.index.packages";
+
+    static final String INDEX_FILE_NAME = "neo4j-ogm.index";
+
+    private static final Set<String> ENTITY_ANNOTATIONS = new HashSet<>(Arrays.asList(
+        "com.antgroup.tugraph.ogm.annotation.NodeEntity",
+        "com.antgroup.tugraph.ogm.annotation.RelationshipEntity"
+    ));
+
+    /**
+     * Binary names of all classes seen, mapped to their package.
+     */
+    private final Map<String, String> packageByClassName = new HashMap<>();
+
+    private final Set<String> entityPackages = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+
+        if (roundEnv.processingOver()) {
+            writeIndexes();
+        } else {
+            for (Element rootElement : roundEnv.getRootElements()) {
+                if (rootElement instanceof TypeElement) {
+                    collect((TypeElement) rootElement);
+                }
+            }
+        }
+        // Other processors may claim the same annotations
+        return false;
+    }
+
+    private void collect(TypeElement type) {
+
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        packageByClassName.put(processingEnv.getElementUtils().getBinaryName(type).toString(), packageName);
+
+        for (AnnotationMirror annotation : type.getAnnotationMirrors()) {
+            Element annotationType = annotation.getAnnotationType().asElement();
+            if (ENTITY_ANNOTATIONS.contains(((TypeElement) annotationType).getQualifiedName().toString())) {
+                entityPackages.add(packageName);
+            }
+        }
+
+        for (Element enclosedElement : type.getEnclosedElements()) {
+            if (enclosedElement instanceof TypeElement) {
+                collect((TypeElement) enclosedElement);
+            }
+        }
+    }
+
+    private void writeIndexes() {
+
+        String packagesOption = processingEnv.getOptions().get(PACKAGES_OPTION);
+        Set<String> packages = new TreeSet<>();
+        if (packagesOption == null) {
+            packages.addAll(entityPackages);
+        } else {
+            for (String packageName : packagesOption.split(",")) {
+                if (!packageName.trim().isEmpty()) {
+                    packages.add(packageName.trim());
+                }
+            }
+        }
+
+        for (String packageName : packages) {
+            SortedSet<String> classNames = new TreeSet<>();
+            for (Map.Entry<String, String> entry : packageByClassName.entrySet()) {
+                if (entry.getValue().equals(packageName) || entry.getValue().startsWith(packageName + ".")) {
+                    classNames.add(entry.getKey());
+                }
+            }
+            if (classNames.isEmpty()) {
+                continue;
+            }
+            writeIndex(packageName, classNames);
+        }
+    }
+
+    private void writeIndex(String packageName, SortedSet<String> classNames) {
+
+        String indexFile = "META-INF/resources/" + packageName.replace('.', '/') + "/" + INDEX_FILE_NAME;
+        classNames.addAll(readExistingIndex(indexFile));
+        try {
+            FileObject index = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", indexFile);
+            try (Writer writer = index.openWriter()) {
+                writer.write("# Generated by " + getClass().getName() + "\n");
+                for (String className : classNames) {
+                    writer.write(className);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                "Could not write domain index " + indexFile + ": " + e.getMessage());
+        }
+    }
+
+    private Set<String> readExistingIndex(String indexFile) {
+
+        try {
+            FileObject index = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", indexFile);
+            Set<String> classNames = new HashSet<>();
+            try (BufferedReader reader = new BufferedReader(index.openReader(true))) {
+                reader.lines()
+                    .map(String::trim)
+                    .filter(s -> !(s.isEmpty() || s.startsWith("#")))
+                    .forEach(classNames::add);
+            }
+            return classNames;
+        } catch (IOException | IllegalArgumentException e) {
+            // No index from a previous compilation
+            return Collections.emptySet();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.index;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DomainIndexProcessorTest {
+
+    private static final String NODE_ENTITY = "package com.antgroup.tugraph.ogm.annotation;\n"
+        + "public @interface NodeEntity {}";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldIndexAllClassesOfEntityPackages() throws IOException {
+
+        Path output = compile(null,
+            source("com/antgroup/tugraph/ogm/annotation/NodeEntity.java", NODE_ENTITY),
+            source("org/example/domain/Movie.java", "package org.example.domain;\n"
+                + "@com.antgroup.tugraph.ogm.annotation.NodeEntity public class Movie { public enum Genre { DRAMA } }"),
+            source("org/example/domain/Rating.java", "package org.example.domain;\npublic class Rating {}"),
+            source("org/example/domain/sub/Studio.java", "package org.example.domain.sub;\npublic class Studio {}"),
+            source("org/example/service/MovieService.java", "package org.example.service;\npublic class MovieService {}"));
+
+        assertThat(output.resolve("META-INF/resources/org/example/domain/neo4j-ogm.index"))
+            .hasContent(String.join("\n",
+                "# Generated by com.antgroup.tugraph.ogm.index.DomainIndexProcessor",
+                "org.example.domain.Movie",
+                "org.example.domain.Movie$Genre",
+                "org.example.domain.Rating",
+                "org.example.domain.sub.Studio"));
+        assertThat(output.resolve("META-INF/resources/org/example/service")).doesNotExist();
+    }
+
+    @Test
+    public void shouldIndexConfiguredPackagesAndKeepExistingEntries() throws IOException {
+
+        String packages = "-A" + DomainIndexProcessor.PACKAGES_OPTION + "=org.example";
+        compile(packages, source("org/example/domain/Movie.java", "package org.example.domain;\npublic class Movie {}"));
+        Path output = compile(packages,
+            source("org/example/domain/Actor.java", "package org.example.domain;\npublic class Actor {}"));
+
+        assertThat(output.resolve("META-INF/resources/org/example/neo4j-ogm.index"))
+            .hasContent(String.join("\n",
+                "# Generated by com.antgroup.tugraph.ogm.index.DomainIndexProcessor",
+                "org.example.domain.Actor",
+                "org.example.domain.Movie"));
+    }
+
+    private File source(String path, String content) throws IOException {
+        Path source = temporaryFolder.getRoot().toPath().resolve("src").resolve(path);
+        Files.createDirectories(source.getParent());
+        return Files.write(source, content.getBytes(StandardCharsets.UTF_8)).toFile();
+    }
+
+    private Path compile(String option, File... sources) throws IOException {
+
+        Path output = temporaryFolder.getRoot().toPath().resolve("classes");
+        Files.createDirectories(output);
+
+        List<String> options = new ArrayList<>(Arrays.asList("-d", output.toString(), "-proc:only"));
+        if (option != null) {
+            options.add(option);
+        }
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
+            Iterable<? extends JavaFileObject> compilationUnits = fileManager.getJavaFileObjects(sources);
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null, options, null,
+                compilationUnits);
+            task.setProcessors(Arrays.asList(new DomainIndexProcessor()));
+            assertThat(task.call()).isTrue();
+        }
+        return output;
+    }
+}
@@ -22,6 +22,7 @@ import com.antgroup.tugraph.ogm.cypher.ComparisonOperator;
 import com.antgroup.tugraph.ogm.model.QueryStatistics;
 import com.antgroup.tugraph.ogm.model.Result;
 import com.antgroup.tugraph.ogm.session.Session;
+import com.antgroup.tugraph.ogm.session.LoadStrategy;
 import com.antgroup.tugraph.ogm.session.SessionFactory;
 import com.antgroup.tugraph.ogm.cypher.Filter;
 import org.slf4j.Logger;
@@ -45,6 +46,7 @@ public class TestBase extends Client{
             return;
         }
         sessionFactory = new SessionFactory(getDriver(args), "entity");
+        sessionFactory.setLoadStrategy(LoadStrategy.SCHEMA_HOP_LOAD_STRATEGY);
         session = sessionFactory.openSession();
 
         testCreate();
@@ -0,0 +1,503 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.drivers.rpc.driver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import com.antgroup.tugraph.TuGraphRpcClient;
+import org.neo4j.driver.exceptions.ClientException;
+import org.neo4j.driver.exceptions.DatabaseException;
+import org.neo4j.driver.exceptions.TransientException;
+
+import com.antgroup.tugraph.ogm.exception.ConnectionException;
+import com.antgroup.tugraph.ogm.exception.CypherException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A pool of {@link TuGraphRpcClient rpc clients} spread over one or more TuGraph endpoints.
+ * <p>
+ * Clients are created lazily, up to the configured pool size, which is divided evenly between the endpoints. Every call
+ * is routed to the client with the least outstanding requests; a new client is only opened when all existing clients of
+ * the least busy endpoint are in use.
+ * <p>
+ * An endpoint failing {@value #MAX_CONSECUTIVE_FAILURES} times in a row is considered unhealthy: its clients are
+ * stopped and it won't receive any requests for the quarantine period. Errors reported by the database for a statement
+ * (see {@link #isStatementError(RuntimeException)}) don't count as failures, only transport and connection errors do.
+ * When no endpoint is healthy, all of them are tried.
+ * <p>
+ * Independent calls can be pipelined with {@link #executeAll(List)}, so that they are in flight at the same time on
+ * different clients instead of paying one round trip after the other.
+ * <p>
+ * Optionally, the pool also holds read replicas. Calls made with {@code readOnly} set are routed to the least busy
+ * healthy replica, and fall back to the primary endpoints when there is none.
+ */
+public class RpcClientPool implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RpcClientPool.class);
+
+    static final int MAX_CONSECUTIVE_FAILURES = 3;
+    static final long DEFAULT_QUARANTINE_MILLIS = 30_000L;
+
+    private final List<Endpoint> endpoints;
+    private final List<Endpoint> readEndpoints;
+    private final int maxClientsPerEndpoint;
+    private final long quarantineMillis;
+    private final Function<String, TuGraphRpcClient> clientFactory;
+    /**
+     * Runs pipelined calls. It has no more threads than the pool has clients, as additional calls would only wait for a
+     * client anyway.
+     */
+    private final ExecutorService pipelineExecutor;
+
+    private volatile boolean closed;
+
+    /**
+     * Creates a new pool and eagerly opens one client on every endpoint.
+     *
+     * @param uris             The endpoints
+     * @param poolSize         The maximum number of clients over all endpoints
+     * @param quarantineMillis How long an unhealthy endpoint is excluded from routing
+     * @param clientFactory    Creates a client for a given endpoint
+     * @throws ConnectionException if no endpoint could be reached at all
+     */
+    public RpcClientPool(List<String> uris, int poolSize, long quarantineMillis,
+        Function<String, TuGraphRpcClient> clientFactory) {
+        this(uris, Collections.emptyList(), poolSize, quarantineMillis, clientFactory);
+    }
+
+    /**
+     * Creates a new pool with read replicas and eagerly opens one client on every endpoint. The pool size is divided
+     * evenly between primary endpoints and replicas.
+     *
+     * @param uris             The primary endpoints
+     * @param readUris         The read replicas, may be empty
+     * @param poolSize         The maximum number of clients over all endpoints
+     * @param quarantineMillis How long an unhealthy endpoint is excluded from routing
+     * @param clientFactory    Creates a client for a given endpoint
+     * @throws ConnectionException if no primary endpoint could be reached at all
+     */
+    public RpcClientPool(List<String> uris, List<String> readUris, int poolSize, long quarantineMillis,
+        Function<String, TuGraphRpcClient> clientFactory) {
+
+        if (uris.isEmpty()) {
+            throw new IllegalArgumentException("At least one endpoint is required");
+        }
+        this.endpoints = newEndpoints(uris);
+        this.readEndpoints = newEndpoints(readUris);
+        int endpointCount = uris.size() + readUris.size();
+        this.maxClientsPerEndpoint = Math.max(1, (poolSize + endpointCount - 1) / endpointCount);
+        this.quarantineMillis = quarantineMillis;
+        this.clientFactory = clientFactory;
+        this.pipelineExecutor = newPipelineExecutor(maxClientsPerEndpoint * endpointCount);
+
+        RuntimeException lastError = null;
+        for (Endpoint endpoint : endpoints) {
+            try {
+                endpoint.open();
+            } catch (RuntimeException e) {
+                lastError = e;
+            }
+        }
+        if (endpoints.stream().allMatch(endpoint -> endpoint.clients.isEmpty())) {
+            throw new ConnectionException("Could not create Rpc client instance", lastError);
+        }
+        for (Endpoint endpoint : readEndpoints) {
+            try {
+                endpoint.open();
+            } catch (RuntimeException e) {
+                // The replica is quarantined, read only calls go to the other replicas or the primary endpoints
+            }
+        }
+    }
+
+    private RpcClientPool(TuGraphRpcClient client) {
+        Endpoint endpoint = new Endpoint(null);
+        endpoint.clients.add(new PooledClient(endpoint, client));
+        this.endpoints = Collections.singletonList(endpoint);
+        this.readEndpoints = Collections.emptyList();
+        this.maxClientsPerEndpoint = 1;
+        this.quarantineMillis = 0L;
+        this.clientFactory = null;
+        this.pipelineExecutor = newPipelineExecutor(1);
+    }
+
+    /**
+     * @param client An existing client
+     * @return A pool that routes all requests to the given client. The client is never evicted, it is only stopped when
+     * the pool is closed.
+     */
+    public static RpcClientPool of(TuGraphRpcClient client) {
+        return new RpcClientPool(client);
+    }
+
+    /**
+     * Runs {@code call} with the least busy client of this pool.
+     *
+     * @param call The call to execute
+     * @param <T>  Result type of the call
+     * @return The result of the call
+     */
+    public <T> T execute(Function<TuGraphRpcClient, T> call) {
+        return execute(call, false);
+    }
+
+    /**
+     * Runs {@code call} with the least busy client of this pool.
+     *
+     * @param call     The call to execute
+     * @param readOnly True if the call doesn't write, so that it can be routed to a read replica
+     * @param <T>      Result type of the call
+     * @return The result of the call
+     */
+    public <T> T execute(Function<TuGraphRpcClient, T> call, boolean readOnly) {
+        PooledClient pooled = acquire(readOnly);
+        try {
+            T result = call.apply(pooled.client);
+            pooled.endpoint.succeeded();
+            return result;
+        } catch (RuntimeException e) {
+            if (isStatementError(e)) {
+                pooled.endpoint.succeeded();
+            } else {
+                pooled.endpoint.failed();
+            }
+            throw e;
+        } finally {
+            pooled.release();
+        }
+    }
+
+    /**
+     * Runs all {@code calls} at the same time, each one with the least busy client at the moment it is started. The
+     * first call runs on the current thread. The calls must not depend on each other, as they may complete in any
+     * order: only pass calls that don't write, or whose writes are known to be independent.
+     *
+     * @param calls The calls to execute
+     * @param <T>   Result type of the calls
+     * @return The results of the calls, in the order of the calls
+     * @throws RuntimeException The error of the first failing call, after all calls have completed
+     */
+    public <T> List<T> executeAll(List<Function<TuGraphRpcClient, T>> calls) {
+        return executeAll(calls, false);
+    }
+
+    /**
+     * Runs all {@code calls} at the same time, see {@link #executeAll(List)}.
+     *
+     * @param calls    The calls to execute
+     * @param readOnly True if none of the calls writes, so that they can be routed to read replicas
+     * @param <T>      Result type of the calls
+     * @return The results of the calls, in the order of the calls
+     * @throws RuntimeException The error of the first failing call, after all calls have completed
+     */
+    public <T> List<T> executeAll(List<Function<TuGraphRpcClient, T>> calls, boolean readOnly) {
+        if (calls.size() <= 1) {
+            return calls.isEmpty() ? Collections.emptyList()
+                : Collections.singletonList(execute(calls.get(0), readOnly));
+        }
+
+        List<CompletableFuture<T>> pipelined = new ArrayList<>(calls.size() - 1);
+        for (Function<TuGraphRpcClient, T> call : calls.subList(1, calls.size())) {
+            pipelined.add(CompletableFuture.supplyAsync(() -> execute(call, readOnly), pipelineExecutor));
+        }
+
+        List<T> results = new ArrayList<>(calls.size());
+        RuntimeException error = null;
+        try {
+            results.add(execute(calls.get(0), readOnly));
+        } catch (RuntimeException e) {
+            error = e;
+        }
+        for (CompletableFuture<T> future : pipelined) {
+            try {
+                results.add(future.join());
+            } catch (CompletionException e) {
+                if (error == null) {
+                    error = e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+                }
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
+        return results;
+    }
+
+    /**
+     * Errors the database reports for a statement, such as a syntax error or a constraint violation, prove that the
+     * endpoint is reachable and working. They are raised by the client as {@link ClientException},
+     * {@link DatabaseException} or {@link TransientException}, or already translated into a {@link CypherException}.
+     *
+     * @param e An error raised by a call
+     * @return True if the error is caused by the statement, not by the endpoint
+     */
+    static boolean isStatementError(RuntimeException e) {
+        return e instanceof CypherException || e instanceof ClientException || e instanceof DatabaseException
+            || e instanceof TransientException;
+    }
+
+    /**
+     * @return Any client of this pool, without accounting it as outstanding request.
+     */
+    public TuGraphRpcClient anyClient() {
+        PooledClient pooled = acquire(false);
+        pooled.release();
+        return pooled.client;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        pipelineExecutor.shutdown();
+        for (Endpoint endpoint : endpoints) {
+            endpoint.evict();
+        }
+        for (Endpoint endpoint : readEndpoints) {
+            endpoint.evict();
+        }
+    }
+
+    private static ExecutorService newPipelineExecutor(int threads) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "tugraph-rpc-pipeline");
+                thread.setDaemon(true);
+                return thread;
+            });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private List<Endpoint> newEndpoints(List<String> uris) {
+        List<Endpoint> newEndpoints = new ArrayList<>(uris.size());
+        for (String uri : uris) {
+            newEndpoints.add(new Endpoint(uri));
+        }
+        return Collections.unmodifiableList(newEndpoints);
+    }
+
+    private PooledClient acquire(boolean readOnly) {
+        if (closed) {
+            throw new ConnectionException("Rpc client pool has been closed", null);
+        }
+
+        RuntimeException[] lastError = new RuntimeException[1];
+        long now = System.currentTimeMillis();
+        if (readOnly && !readEndpoints.isEmpty()) {
+            PooledClient replica = acquireFrom(healthy(readEndpoints, now), lastError);
+            if (replica != null) {
+                return replica;
+            }
+        }
+
+        List<Endpoint> candidates = healthy(endpoints, now);
+        if (candidates.isEmpty()) {
+            candidates.addAll(endpoints);
+        }
+        PooledClient primary = acquireFrom(candidates, lastError);
+        if (primary != null) {
+            return primary;
+        }
+        throw new ConnectionException("No rpc client available", lastError[0]);
+    }
+
+    private static List<Endpoint> healthy(List<Endpoint> endpoints, long now) {
+        List<Endpoint> healthy = new ArrayList<>(endpoints.size());
+        for (Endpoint endpoint : endpoints) {
+            if (endpoint.unhealthyUntil <= now) {
+                healthy.add(endpoint);
+            }
+        }
+        return healthy;
+    }
+
+    /**
+     * @param candidates The endpoints to choose from, endpoints that cannot be reached are removed
+     * @param lastError  Receives the last error opening a client
+     * @return A client of the least busy endpoint, {@literal null} if none of the endpoints could be reached
+     */
+    private PooledClient acquireFrom(List<Endpoint> candidates, RuntimeException[] lastError) {
+        while (!candidates.isEmpty()) {
+            Endpoint leastBusy = null;
+            PooledClient leastBusyClient = null;
+            for (Endpoint endpoint : candidates) {
+                PooledClient client = endpoint.leastBusyClient();
+                if (leastBusy == null || endpoint.outstanding() < leastBusy.outstanding()) {
+                    leastBusy = endpoint;
+                }
+                if (client != null && (leastBusyClient == null
+                    || client.outstanding.get() < leastBusyClient.outstanding.get())) {
+                    leastBusyClient = client;
+                }
+            }
+
+            if (leastBusyClient != null && leastBusyClient.outstanding.get() == 0) {
+                if (leastBusyClient.tryAcquire()) {
+                    return leastBusyClient;
+                }
+                continue;
+            }
+            try {
+                PooledClient opened = leastBusy.openIfPossible();
+                if (opened != null && opened.tryAcquire()) {
+                    return opened;
+                }
+            } catch (RuntimeException e) {
+                lastError[0] = e;
+                candidates.remove(leastBusy);
+                continue;
+            }
+            if (leastBusyClient != null && leastBusyClient.tryAcquire()) {
+                return leastBusyClient;
+            }
+            if (leastBusyClient == null) {
+                candidates.remove(leastBusy);
+            }
+        }
+        return null;
+    }
+
+    private class Endpoint {
+
+        private final String uri;
+        private final List<PooledClient> clients = new CopyOnWriteArrayList<>();
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private volatile long unhealthyUntil;
+
+        Endpoint(String uri) {
+            this.uri = uri;
+        }
+
+        PooledClient leastBusyClient() {
+            PooledClient leastBusy = null;
+            for (PooledClient client : clients) {
+                if (leastBusy == null || client.outstanding.get() < leastBusy.outstanding.get()) {
+                    leastBusy = client;
+                }
+            }
+            return leastBusy;
+        }
+
+        int outstanding() {
+            int outstanding = 0;
+            for (PooledClient client : clients) {
+                outstanding += client.outstanding.get();
+            }
+            return outstanding;
+        }
+
+        synchronized PooledClient openIfPossible() {
+            if (clients.size() >= maxClientsPerEndpoint) {
+                return null;
+            }
+            return open();
+        }
+
+        synchronized PooledClient open() {
+            try {
+                PooledClient client = new PooledClient(this, clientFactory.apply(uri));
+                clients.add(client);
+                return client;
+            } catch (RuntimeException e) {
+                LOGGER.warn("Could not open rpc client for {}", uri, e);
+                markUnhealthy();
+                throw e;
+            }
+        }
+
+        void succeeded() {
+            consecutiveFailures.set(0);
+        }
+
+        void failed() {
+            if (clientFactory == null) {
+                // A fixed client cannot be replaced, so there is no point in evicting it
+                return;
+            }
+            if (consecutiveFailures.incrementAndGet() >= MAX_CONSECUTIVE_FAILURES) {
+                LOGGER.warn("Evicting rpc endpoint {} after {} consecutive failures", uri, MAX_CONSECUTIVE_FAILURES);
+                markUnhealthy();
+                evict();
+            }
+        }
+
+        private void markUnhealthy() {
+            consecutiveFailures.set(0);
+            unhealthyUntil = System.currentTimeMillis() + quarantineMillis;
+        }
+
+        void evict() {
+            for (PooledClient client : clients) {
+                clients.remove(client);
+                client.evict();
+            }
+        }
+    }
+
+    private static class PooledClient {
+
+        private final Endpoint endpoint;
+        private final TuGraphRpcClient client;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private boolean evicted;
+
+        PooledClient(Endpoint endpoint, TuGraphRpcClient client) {
+            this.endpoint = endpoint;
+            this.client = client;
+        }
+
+        synchronized boolean tryAcquire() {
+            if (evicted) {
+                return false;
+            }
+            outstanding.incrementAndGet();
+            return true;
+        }
+
+        synchronized void release() {
+            if (outstanding.decrementAndGet() == 0 && evicted) {
+                stop();
+            }
+        }
+
+        synchronized void evict() {
+            evicted = true;
+            if (outstanding.get() == 0) {
+                stop();
+            }
+        }
+
+        private void stop() {
+            try {
+                client.stopClient();
+            } catch (Exception e) {
+                LOGGER.warn("Unexpected Exception when closing tugraph client rpcClient: ", e);
+            }
+        }
+    }
+}
@@ -20,6 +20,9 @@
 package com.antgroup.tugraph.ogm.drivers.rpc.driver;
 
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
@@ -57,7 +60,7 @@ public class RpcDriver extends AbstractConfigurableDriver {
 
     private final ExceptionTranslator exceptionTranslator = new RpcDriverExceptionTranslator();
 
-    private TuGraphRpcClient rpcClient;
+    private volatile RpcClientPool rpcClientPool;
     private Credentials credentials;
     private Config driverConfig;
     /**
@@ -70,7 +73,7 @@ public class RpcDriver extends AbstractConfigurableDriver {
     }
 
     public RpcDriver(TuGraphRpcClient rpcClient) {
-        this.rpcClient = rpcClient;
+        this.rpcClientPool = RpcClientPool.of(rpcClient);
     }
 
     @Override
@@ -97,7 +100,10 @@ public class RpcDriver extends AbstractConfigurableDriver {
     public Function<TransactionManager, BiFunction<Transaction.Type, Iterable<String>, Transaction>> getTransactionFactorySupplier() {
         return transactionManager -> (type, bookmarks) -> {
             checkClientInitialized();
-            return new RpcTransaction(transactionManager, rpcClient, type);
+            // Without a configuration the driver has been created around an existing client
+            long replicaLagWindow = configuration == null ? RpcTransaction.DEFAULT_REPLICA_LAG_WINDOW_MILLIS
+                : configuration.getReplicaLagWindow();
+            return new RpcTransaction(transactionManager, rpcClientPool, type, bookmarks, replicaLagWindow);
         };
     }
 
@@ -105,8 +111,9 @@ public class RpcDriver extends AbstractConfigurableDriver {
     public void close() {
         try {
             LOGGER.info("Shutting down rpc client {} ", this);
-            if (rpcClient != null) {
-                rpcClient.stopClient();
+            if (rpcClientPool != null) {
+                rpcClientPool.close();
+                rpcClientPool = null;
             }
         } catch (Exception e) {
             LOGGER.warn("Unexpected Exception when closing tugraph client rpcClient: ", e);
@@ -114,12 +121,12 @@ public class RpcDriver extends AbstractConfigurableDriver {
     }
 
     private void checkClientInitialized() {
-        TuGraphRpcClient client = rpcClient;
-        if (client == null) {
+        RpcClientPool pool = rpcClientPool;
+        if (pool == null) {
             synchronized (this) {
-                client = rpcClient;
-                if (client == null) {
-                    createRpcClient();
+                pool = rpcClientPool;
+                if (pool == null) {
+                    createRpcClientPool();
                 }
             }
         }
@@ -130,15 +137,18 @@ public class RpcDriver extends AbstractConfigurableDriver {
         return  "list".equals(lowerCaseScheme);
     }
 
-    private void createRpcClient() {
+    private void createRpcClientPool() {
 
         final String serviceUnavailableMessage = "Could not create Rpc client instance";
 
         try {
             if (credentials != null) {
                 UsernamePasswordCredentials usernameAndPassword = (UsernamePasswordCredentials) this.credentials;
-                TuGraphRpcClient client = new TuGraphRpcClient(configuration.getURI(), usernameAndPassword.getUsername(), usernameAndPassword.getPassword());
-                rpcClient = client;
+                rpcClientPool = new RpcClientPool(getEndpoints(), getReadEndpoints(),
+                    configuration.getConnectionPoolSize(),
+                    RpcClientPool.DEFAULT_QUARANTINE_MILLIS,
+                    uri -> new TuGraphRpcClient(uri, usernameAndPassword.getUsername(),
+                        usernameAndPassword.getPassword()));
             } else {
                 LOGGER.debug("Rpc Driver credentials not supplied");
             }
@@ -147,6 +157,36 @@ public class RpcDriver extends AbstractConfigurableDriver {
         }
     }
 
+    /**
+     * @return The distinct list of the configured {@link Configuration#getURI() uri} and all additional
+     * {@link Configuration#getURIS() uris}.
+     */
+    private List<String> getEndpoints() {
+        List<String> endpoints = new ArrayList<>();
+        if (configuration.getURI() != null) {
+            endpoints.add(configuration.getURI());
+        }
+        if (configuration.getURIS() != null) {
+            Arrays.stream(configuration.getURIS())
+                .filter(uri -> !endpoints.contains(uri))
+                .forEach(endpoints::add);
+        }
+        return endpoints;
+    }
+
+    /**
+     * @return The configured {@link Configuration#getReadURIS() read replicas}, may be empty.
+     */
+    private List<String> getReadEndpoints() {
+        List<String> endpoints = new ArrayList<>();
+        if (configuration.getReadURIS() != null) {
+            Arrays.stream(configuration.getReadURIS())
+                .filter(uri -> !endpoints.contains(uri))
+                .forEach(endpoints::add);
+        }
+        return endpoints;
+    }
+
     private URI getSingleURI(String singleUri) {
         return URI.create(singleUri);
     }
@@ -158,13 +198,20 @@ public class RpcDriver extends AbstractConfigurableDriver {
 
     @Override
     public Request request(Transaction transaction) {
-        return new RpcRequest(rpcClient, this.parameterConversion, getCypherModification());
+        // Without a configuration the driver has been created around an existing client
+        long statementTimeout = configuration == null ? RpcRequest.DEFAULT_STATEMENT_TIMEOUT
+            : configuration.getStatementTimeout();
+        return new RpcRequest(rpcClientPool, this.parameterConversion, getCypherModification(), database,
+            statementTimeout, transaction instanceof RpcTransaction ? (RpcTransaction) transaction : null);
     }
 
     public <T> T unwrap(Class<T> clazz) {
 
-        if (clazz == Driver.class) {
-            return (T) rpcClient;
+        if (clazz == RpcClientPool.class) {
+            return (T) rpcClientPool;
+        } else if (clazz == Driver.class || clazz == TuGraphRpcClient.class) {
+            // Driver.class has always been unwrapped into the rpc client, kept for existing callers
+            return rpcClientPool == null ? null : (T) rpcClientPool.anyClient();
         } else {
             return super.unwrap(clazz);
         }
@@ -189,10 +236,14 @@ public class RpcDriver extends AbstractConfigurableDriver {
         // Done outside the try/catch and explicity catch the illegalargument exception of singleURI
         // so that exception semantics are not changed since we introduced that feature.
 
-        URI singleUri = getSingleURI(configuration.getURI());
-        if (!isCorrectScheme(singleUri.getScheme())) {
-            throw new IllegalArgumentException(
-                "Rpc uri is incorrect!");
+        List<String> allEndpoints = new ArrayList<>(getEndpoints());
+        allEndpoints.addAll(getReadEndpoints());
+        for (String endpoint : allEndpoints) {
+            URI singleUri = getSingleURI(endpoint);
+            if (!isCorrectScheme(singleUri.getScheme())) {
+                throw new IllegalArgumentException(
+                    "Rpc uri is incorrect!");
+            }
         }
 
         try {
@@ -0,0 +1,307 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.drivers.rpc.request;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The rpc client has no way to pass parameters along with a statement, so they are rendered into the statement
+ * as Cypher literals. All rendering appends to a caller supplied {@link StringBuilder}, so that a statement is
+ * assembled in a single buffer no matter how many rows or parameters it contains.
+ */
+final class CypherLiterals {
+
+    /**
+     * Appends the literal representation of {@code value}. Strings are quoted and escaped, collections and arrays
+     * become lists and maps become map literals. Map keys that are no plain identifiers are quoted with backticks.
+     * Other values must be numbers or booleans.
+     *
+     * @param target The buffer to append to
+     * @param value  The value to render
+     * @return The buffer
+     * @throws IllegalArgumentException if {@code value} or one of its elements cannot be rendered as a literal
+     */
+    static StringBuilder appendLiteral(StringBuilder target, Object value) {
+        if (value == null) {
+            return target.append("null");
+        }
+        if (value instanceof CharSequence || value instanceof Character) {
+            return appendString(target, value.toString());
+        }
+        if (value instanceof Map) {
+            target.append('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                if (!first) {
+                    target.append(", ");
+                }
+                first = false;
+                appendKey(target, entry.getKey()).append(": ");
+                appendLiteral(target, entry.getValue());
+            }
+            return target.append('}');
+        }
+        if (value instanceof Iterable) {
+            target.append('[');
+            boolean first = true;
+            for (Object element : (Iterable<?>) value) {
+                if (!first) {
+                    target.append(", ");
+                }
+                first = false;
+                appendLiteral(target, element);
+            }
+            return target.append(']');
+        }
+        if (value.getClass().isArray()) {
+            target.append('[');
+            for (int i = 0, length = Array.getLength(value); i < length; i++) {
+                if (i > 0) {
+                    target.append(", ");
+                }
+                appendLiteral(target, Array.get(value, i));
+            }
+            return target.append(']');
+        }
+        if (value instanceof Boolean || value instanceof Number) {
+            return target.append(value);
+        }
+        throw new IllegalArgumentException("Cannot render a parameter of type " + value.getClass().getName()
+            + " as Cypher literal");
+    }
+
+    /**
+     * Appends the non-null entries of {@code properties} as map literal, e.g. {@code {name:"Keanu",born:1964}}.
+     * Nothing is appended when there are no such entries.
+     *
+     * @param target     The buffer to append to
+     * @param properties The properties to render
+     * @return The buffer
+     */
+    static StringBuilder appendProperties(StringBuilder target, Map<?, ?> properties) {
+        boolean first = true;
+        for (Map.Entry<?, ?> entry : properties.entrySet()) {
+            if (entry.getValue() == null) {
+                continue;
+            }
+            target.append(first ? '{' : ',');
+            first = false;
+            appendKey(target, entry.getKey()).append(':');
+            appendLiteral(target, entry.getValue());
+        }
+        if (!first) {
+            target.append('}');
+        }
+        return target;
+    }
+
+    /**
+     * Replaces all parameter placeholders in {@code cypher} with the literal values of the parameters in a single
+     * pass. Both {@code $name} and the legacy {@code {name}} syntax are supported. Placeholders inside string literals
+     * or backtick-quoted names and placeholders without a matching parameter are left untouched.
+     *
+     * @param cypher     The statement
+     * @param parameters The parameters
+     * @return The statement with all known parameters inlined
+     */
+    static String inlineParameters(String cypher, Map<String, Object> parameters) {
+        if (parameters.isEmpty()) {
+            return cypher;
+        }
+        return parse(cypher).inline(parameters);
+    }
+
+    /**
+     * Splits {@code cypher} into literal text and parameter placeholders, see {@link #inlineParameters(String, Map)}.
+     *
+     * @param cypher The statement
+     * @return The parsed statement, ready to have parameters inlined any number of times
+     */
+    static ParameterizedStatement parse(String cypher) {
+        List<String> fragments = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+
+        int length = cypher.length();
+        int fragmentStart = 0;
+        char quote = 0;
+        int i = 0;
+        while (i < length) {
+            char c = cypher.charAt(i);
+            if (quote != 0) {
+                if (c == '\\' && quote != '`' && i + 1 < length) {
+                    i++;
+                } else if (c == quote) {
+                    quote = 0;
+                }
+                i++;
+            } else if (c == '"' || c == '\'' || c == '`') {
+                quote = c;
+                i++;
+            } else if (c == '$') {
+                int end = identifierEnd(cypher, i + 1);
+                if (end > i + 1) {
+                    fragments.add(cypher.substring(fragmentStart, i));
+                    names.add(cypher.substring(i + 1, end));
+                    placeholders.add(cypher.substring(i, end));
+                    fragmentStart = end;
+                }
+                i = Math.max(end, i + 1);
+            } else if (c == '{') {
+                int start = skipWhitespace(cypher, i + 1);
+                int end = identifierEnd(cypher, start);
+                int close = skipWhitespace(cypher, end);
+                if (end > start && close < length && cypher.charAt(close) == '}') {
+                    fragments.add(cypher.substring(fragmentStart, i));
+                    names.add(cypher.substring(start, end));
+                    placeholders.add(cypher.substring(i, close + 1));
+                    fragmentStart = close + 1;
+                    i = close + 1;
+                } else {
+                    i++;
+                }
+            } else {
+                i++;
+            }
+        }
+        fragments.add(cypher.substring(fragmentStart));
+        return new ParameterizedStatement(fragments.toArray(new String[0]), names.toArray(new String[0]),
+            placeholders.toArray(new String[0]));
+    }
+
+    /**
+     * A statement split into literal text and parameter placeholders, so that parameters can be inlined without
+     * scanning the statement again.
+     */
+    static final class ParameterizedStatement {
+
+        /**
+         * {@code fragments[i]} is the text before placeholder {@code i}, the last fragment the text after the last
+         * placeholder.
+         */
+        private final String[] fragments;
+        private final String[] names;
+        private final String[] placeholders;
+        private final int textLength;
+
+        private ParameterizedStatement(String[] fragments, String[] names, String[] placeholders) {
+            this.fragments = fragments;
+            this.names = names;
+            this.placeholders = placeholders;
+            int length = 0;
+            for (String fragment : fragments) {
+                length += fragment.length();
+            }
+            this.textLength = length;
+        }
+
+        String inline(Map<String, Object> parameters) {
+            if (names.length == 0) {
+                return fragments[0];
+            }
+            StringBuilder target = new StringBuilder(textLength + 16 * names.length);
+            for (int i = 0; i < names.length; i++) {
+                target.append(fragments[i]);
+                if (parameters.containsKey(names[i])) {
+                    appendLiteral(target, parameters.get(names[i]));
+                } else {
+                    target.append(placeholders[i]);
+                }
+            }
+            return target.append(fragments[names.length]).toString();
+        }
+    }
+
+    private static StringBuilder appendString(StringBuilder target, String value) {
+        target.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                case '\\':
+                    target.append('\\').append(c);
+                    break;
+                case '\n':
+                    target.append("\\n");
+                    break;
+                case '\r':
+                    target.append("\\r");
+                    break;
+                case '\t':
+                    target.append("\\t");
+                    break;
+                case '\b':
+                    target.append("\\b");
+                    break;
+                case '\f':
+                    target.append("\\f");
+                    break;
+                default:
+                    if (Character.isISOControl(c)) {
+                        target.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        target.append(c);
+                    }
+            }
+        }
+        return target.append('"');
+    }
+
+    /**
+     * Appends {@code key} as property key or map key, quoted with backticks unless it is a plain identifier.
+     *
+     * @param target The buffer to append to
+     * @param key    The key to render
+     * @return The buffer
+     */
+    static StringBuilder appendKey(StringBuilder target, Object key) {
+        String name = String.valueOf(key);
+        if (!name.isEmpty() && !Character.isDigit(name.charAt(0)) && identifierEnd(name, 0) == name.length()) {
+            return target.append(name);
+        }
+        target.append('`');
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c == '`') {
+                target.append('`');
+            }
+            target.append(c);
+        }
+        return target.append('`');
+    }
+
+    private static int identifierEnd(String cypher, int from) {
+        int i = from;
+        while (i < cypher.length() && (Character.isLetterOrDigit(cypher.charAt(i)) || cypher.charAt(i) == '_')) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipWhitespace(String cypher, int from) {
+        int i = from;
+        while (i < cypher.length() && Character.isWhitespace(cypher.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private CypherLiterals() {
+    }
+}
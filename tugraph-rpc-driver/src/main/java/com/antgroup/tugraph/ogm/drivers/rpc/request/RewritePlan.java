@@ -0,0 +1,199 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.drivers.rpc.request;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The result of analysing a statement generated by OGM once: which kind of rewrite it needs to run on TuGraph, the
+ * label it targets and the positions of its parameters. Plans only depend on the statement template, not on the
+ * parameter values, and are cached keyed by the template, so that statements executed over and over again don't need
+ * any regular expression or string search. Lookups don't lock. The cache is bounded: when it is full, an arbitrary
+ * quarter of the plans is evicted, as templates are few and analysing one again is cheap.
+ */
+final class RewritePlan {
+
+    enum Kind {
+        /**
+         * Statements not needing a rewrite because they have no parameters.
+         */
+        UNCHANGED,
+        CREATE_NODE,
+        CREATE_RELATIONSHIP,
+        DELETE,
+        UPDATE_NODE,
+        UPDATE_RELATIONSHIP,
+        MATCH
+    }
+
+    static final int MAX_CACHED_PLANS = 1024;
+
+    private static final Pattern QUOTED_LABEL = Pattern.compile(":`(\\w+)`(\\s*)((\\)|\\])|\\{)");
+    private static final Pattern UNQUOTED_LABEL = Pattern.compile(":(\\w+)(\\s*)((\\)|\\])|\\{)");
+    private static final Pattern WRITE_CLAUSE = Pattern.compile("\\b(CREATE|MERGE|SET|DELETE|REMOVE)\\b",
+        Pattern.CASE_INSENSITIVE);
+
+    private static final Map<String, RewritePlan> PLANS = new ConcurrentHashMap<>(64);
+
+    private final Kind kindWithParameters;
+    private final String statement;
+    private final String label;
+    private final String rewrittenStatement;
+    private final CypherLiterals.ParameterizedStatement parameterizedStatement;
+    private final boolean statementWrites;
+
+    private RewritePlan(Kind kindWithParameters, String statement, String label, String rewrittenStatement,
+        CypherLiterals.ParameterizedStatement parameterizedStatement) {
+        this.kindWithParameters = kindWithParameters;
+        this.statement = statement;
+        this.label = label;
+        this.rewrittenStatement = rewrittenStatement;
+        this.parameterizedStatement = parameterizedStatement;
+        this.statementWrites = WRITE_CLAUSE.matcher(statement).find();
+    }
+
+    /**
+     * @param statement The statement as generated by OGM
+     * @return The cached or newly created plan for the statement
+     */
+    static RewritePlan of(String statement) {
+        RewritePlan plan = PLANS.get(statement);
+        if (plan == null) {
+            if (PLANS.size() >= MAX_CACHED_PLANS) {
+                evict();
+            }
+            plan = analyse(statement);
+            RewritePlan cached = PLANS.putIfAbsent(statement, plan);
+            if (cached != null) {
+                plan = cached;
+            }
+        }
+        return plan;
+    }
+
+    private static void evict() {
+        int toEvict = MAX_CACHED_PLANS / 4;
+        Iterator<String> statements = PLANS.keySet().iterator();
+        while (toEvict-- > 0 && statements.hasNext()) {
+            statements.next();
+            statements.remove();
+        }
+    }
+
+    /**
+     * @return The number of plans currently cached
+     */
+    static int cachedPlans() {
+        return PLANS.size();
+    }
+
+    /**
+     * @param hasParameters Whether the statement is executed with parameters
+     * @return The rewrite to apply
+     */
+    Kind kind(boolean hasParameters) {
+        if (!hasParameters && kindWithParameters != Kind.DELETE && kindWithParameters != Kind.MATCH) {
+            return Kind.UNCHANGED;
+        }
+        return kindWithParameters;
+    }
+
+    String statement() {
+        return statement;
+    }
+
+    /**
+     * @param hasParameters Whether the statement is executed with parameters
+     * @return True if the rewritten statement modifies the graph
+     */
+    boolean writes(boolean hasParameters) {
+        switch (kind(hasParameters)) {
+            case UNCHANGED:
+            case MATCH:
+                return statementWrites;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * @return The label of a create statement
+     * @throws IllegalArgumentException if the statement contains no label
+     */
+    String label() {
+        if (label == null) {
+            throw new IllegalArgumentException("CREATE without label");
+        }
+        return label;
+    }
+
+    /**
+     * @return The statement with all parameter independent rewrites applied (delete statements only)
+     */
+    String rewrittenStatement() {
+        return rewrittenStatement;
+    }
+
+    /**
+     * @return The statement with all parameter independent rewrites applied, split at its parameters (match
+     * statements only)
+     */
+    CypherLiterals.ParameterizedStatement parameterizedStatement() {
+        return parameterizedStatement;
+    }
+
+    /**
+     * @param cypher A statement
+     * @return The first label of a node or relationship pattern in the statement, {@literal null} if there is none
+     */
+    static String findLabel(String cypher) {
+        Matcher quoted = QUOTED_LABEL.matcher(cypher);
+        if (quoted.find()) {
+            return quoted.group(1);
+        }
+        Matcher unquoted = UNQUOTED_LABEL.matcher(cypher);
+        if (unquoted.find()) {
+            return unquoted.group(1);
+        }
+        return null;
+    }
+
+    private static RewritePlan analyse(String statement) {
+        if (statement.contains("CREATE") || statement.contains("MERGE")) {
+            Kind kind = statement.contains("-[") ? Kind.CREATE_RELATIONSHIP : Kind.CREATE_NODE;
+            return new RewritePlan(kind, statement, findLabel(statement), null, null);
+        }
+        if (statement.contains("DELETE")) {
+            String rewritten = statement.replace('`', ' ').replace("OPTIONAL MATCH", "WITH n OPTIONAL MATCH");
+            return new RewritePlan(Kind.DELETE, statement, null, rewritten, null);
+        }
+        if (statement.contains("SET")) {
+            Kind kind = statement.contains("[r]") ? Kind.UPDATE_RELATIONSHIP : Kind.UPDATE_NODE;
+            return new RewritePlan(kind, statement, null, null, null);
+        }
+        String match = statement.replace("`", "").replace("ID(", "id(");
+        // when query returns "n,[ [ (n)-[r_h1: HAS_ALBUM ]->(a1: Album ) | ...", the list comprehension is dropped
+        int listComprehension = match.indexOf("RETURN n,[");
+        if (listComprehension >= 0) {
+            match = match.substring(0, listComprehension + 8) + (match.endsWith(", id(n)") ? ", id(n)" : "");
+        }
+        return new RewritePlan(Kind.MATCH, statement, null, null, CypherLiterals.parse(match));
+    }
+}
@@ -20,18 +20,19 @@
 package com.antgroup.tugraph.ogm.drivers.rpc.request;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.function.Function;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
+import com.antgroup.tugraph.ogm.drivers.rpc.driver.RpcClientPool;
 import com.antgroup.tugraph.ogm.drivers.rpc.response.GraphModelResponse;
 import com.antgroup.tugraph.ogm.drivers.rpc.response.GraphRowModelResponse;
 import com.antgroup.tugraph.ogm.drivers.rpc.response.RestModelResponse;
 import com.antgroup.tugraph.ogm.drivers.rpc.response.RowModelResponse;
+import com.antgroup.tugraph.ogm.drivers.rpc.transaction.RpcTransaction;
 import com.antgroup.tugraph.TuGraphRpcClient;
 
 import org.neo4j.driver.exceptions.ClientException;
@@ -43,6 +44,7 @@ import com.antgroup.tugraph.ogm.model.GraphModel;
 import com.antgroup.tugraph.ogm.model.GraphRowListModel;
 import com.antgroup.tugraph.ogm.model.RestModel;
 import com.antgroup.tugraph.ogm.model.RowModel;
+import com.antgroup.tugraph.ogm.request.Deadline;
 import com.antgroup.tugraph.ogm.request.DefaultRequest;
 import com.antgroup.tugraph.ogm.request.GraphModelRequest;
 import com.antgroup.tugraph.ogm.request.GraphRowListModelRequest;
@@ -64,17 +66,55 @@ public class RpcRequest implements Request {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RpcRequest.class);
 
-    private final TuGraphRpcClient rpcClient;
+    private static final String DEFAULT_GRAPH = "default";
+    public static final long DEFAULT_STATEMENT_TIMEOUT = 10_000L;
+
+
+    private final RpcClientPool rpcClientPool;
 
     private final ParameterConversion parameterConversion;
 
     private final Function<String, String> cypherModification;
 
+    private final String graph;
+
+    /**
+     * Timeout in milliseconds of statements not running within a {@link Deadline}.
+     */
+    private final long statementTimeout;
+
+    /**
+     * The current transaction, {@literal null} if there is none.
+     */
+    private final RpcTransaction transaction;
+
     public RpcRequest(TuGraphRpcClient rpcClient, ParameterConversion parameterConversion,
         Function<String, String> cypherModification) {
-        this.rpcClient = rpcClient;
+        this(RpcClientPool.of(rpcClient), parameterConversion, cypherModification);
+    }
+
+    public RpcRequest(RpcClientPool rpcClientPool, ParameterConversion parameterConversion,
+        Function<String, String> cypherModification) {
+        this(rpcClientPool, parameterConversion, cypherModification, null, DEFAULT_STATEMENT_TIMEOUT, null);
+    }
+
+    /**
+     * @param rpcClientPool       The clients to use
+     * @param parameterConversion Conversion of the statement parameters
+     * @param cypherModification  Modification applied to each statement
+     * @param graph               The graph to run statements against, {@literal null} for the default graph
+     * @param statementTimeout    Timeout in milliseconds of statements not running within a {@link Deadline}
+     * @param transaction         The current transaction, may be {@literal null}
+     */
+    public RpcRequest(RpcClientPool rpcClientPool, ParameterConversion parameterConversion,
+        Function<String, String> cypherModification, String graph, long statementTimeout,
+        RpcTransaction transaction) {
+        this.rpcClientPool = rpcClientPool;
         this.parameterConversion = parameterConversion;
         this.cypherModification = cypherModification;
+        this.graph = graph == null ? DEFAULT_GRAPH : graph;
+        this.statementTimeout = statementTimeout;
+        this.transaction = transaction;
     }
 
     @Override
@@ -85,6 +125,47 @@ public class RpcRequest implements Request {
         return new GraphModelResponse(executeRequest(request));
     }
 
+    /**
+     * Executes the requests pipelined when none of them writes: they are prepared up front and sent at the same time,
+     * so that the requests take roughly one round trip instead of one per request. Requests that write are executed
+     * one after another.
+     */
+    @Override
+    public List<Response<GraphModel>> executeAll(List<GraphModelRequest> requests) {
+        List<RenderedStatement> statements = new ArrayList<>(requests.size());
+        boolean writes = false;
+        for (GraphModelRequest request : requests) {
+            RenderedStatement statement = request.getStatement().length() == 0 ? null : renderStatement(request);
+            statements.add(statement);
+            writes |= statement != null && statement.writes;
+        }
+        List<Response<GraphModel>> responses = new ArrayList<>(requests.size());
+        if (writes) {
+            for (RenderedStatement statement : statements) {
+                responses.add(statement == null ? new EmptyResponse() : new GraphModelResponse(send(statement)));
+            }
+            return responses;
+        }
+        List<Function<TuGraphRpcClient, String>> calls = new ArrayList<>(requests.size());
+        for (RenderedStatement statement : statements) {
+            if (statement != null) {
+                calls.add(prepareCall(statement.cypher));
+            }
+        }
+        List<String> results;
+        try {
+            beforeSending(false);
+            results = rpcClientPool.executeAll(calls, transaction != null && transaction.routesReadsToReplicas());
+        } catch (ClientException | DatabaseException | TransientException ce) {
+            throw new CypherException(ce.code(), ce.getMessage(), ce);
+        }
+        Iterator<String> result = results.iterator();
+        for (RenderedStatement statement : statements) {
+            responses.add(statement == null ? new EmptyResponse() : new GraphModelResponse(result.next()));
+        }
+        return responses;
+    }
+
     @Override
     public Response<RowModel> execute(RowModelRequest request) {
         if (request.getStatement().length() == 0) {
@@ -93,58 +174,101 @@ public class RpcRequest implements Request {
         return new RowModelResponse(executeRequest(request));
     }
 
+    /**
+     * Executes the statements of the request in phases, in the order of the statements. The statements of a save
+     * depend on each other across phases (a relationship is deleted before it is created again, nodes are created
+     * before the relationships between them), but not within a phase: OGM generates one statement per label for
+     * creating or updating nodes and one per type for creating or updating relationships. Consecutive statements of
+     * such a phase are sent at the same time, so that the phase takes roughly one round trip. All other statements
+     * form a phase of their own. A failing phase stops the request. The results are returned in the order of the
+     * statements.
+     */
     @Override
     public Response<RowModel> execute(DefaultRequest query) {
-        final List<RowModel> rowModels = new ArrayList<>();
-        String[] columns = null;
-        int i = 0;
-        for (Statement statement : query.getStatements()) {
-            columns = new String[query.getStatements().size()];
-            String result = executeRequest(statement);
-            try (RowModelResponse rowModelResponse = new RowModelResponse(result)) {
-                if (columns[i] == null) {
-                    columns[i++] = result;
-                }
-                RowModel model;
-                while ((model = rowModelResponse.next()) != null) {
-                    rowModels.add(model);
-                }
-            } catch (ClientException e) {
-                throw new CypherException(e.code(), e.getMessage(), e);
+        List<Statement> statements = query.getStatements();
+        List<String> results = new ArrayList<>(statements.size());
+        List<RenderedStatement> phase = new ArrayList<>();
+        for (Statement statement : statements) {
+            RenderedStatement rendered = renderStatement(statement);
+            if (!phase.isEmpty() && !rendered.joins(phase.get(0))) {
+                results.addAll(sendPhase(phase));
+                phase.clear();
             }
+            phase.add(rendered);
+        }
+        results.addAll(sendPhase(phase));
+        if (results.isEmpty()) {
+            return new EmptyResponse();
+        }
+        return new MultiStatementBasedResponse(results);
+    }
+
+    /**
+     * Sends the independent statements of one phase at the same time.
+     *
+     * @return The results, in the order of the statements
+     */
+    private List<String> sendPhase(List<RenderedStatement> phase) {
+        if (phase.size() <= 1) {
+            return phase.isEmpty() ? Collections.emptyList() : Collections.singletonList(send(phase.get(0)));
+        }
+        List<Function<TuGraphRpcClient, String>> calls = new ArrayList<>(phase.size());
+        for (RenderedStatement statement : phase) {
+            calls.add(prepareCall(statement.cypher));
+        }
+        try {
+            beforeSending(true);
+            return rpcClientPool.executeAll(calls, false);
+        } catch (ClientException | DatabaseException | TransientException ce) {
+            throw new CypherException(ce.code(), ce.getMessage(), ce);
         }
-        return new MultiStatementBasedResponse(columns, rowModels);
     }
 
+    /**
+     * Decodes the results of the statements one after another, in the order of the statements.
+     */
     private static class MultiStatementBasedResponse implements Response<RowModel> {
-        // This implementation is not good, but it preserved the current behaviour while fixing another bug.
-        // While the statements executed in org.neo4j.ogm.drivers.bolt.request.BoltRequest.execute(org.neo4j.ogm.request.DefaultRequest)
-        // might return different columns, only the ones of the first result are used. :(
-        private final String[] columns;
-        private final List<RowModel> rowModels;
 
-        private int currentRow = 0;
+        private final Iterator<String> results;
+
+        private RowModelResponse current;
 
-        MultiStatementBasedResponse(String[] columns, List<RowModel> rowModels) {
-            this.columns = columns;
-            this.rowModels = rowModels;
+        MultiStatementBasedResponse(List<String> results) {
+            this.results = results.iterator();
         }
 
         @Override
         public RowModel next() {
-            if (currentRow < rowModels.size()) {
-                return rowModels.get(currentRow++);
+            while (true) {
+                if (current != null) {
+                    RowModel model = current.next();
+                    if (model != null) {
+                        return model;
+                    }
+                    current.close();
+                    current = null;
+                }
+                if (!results.hasNext()) {
+                    return null;
+                }
+                current = new RowModelResponse(results.next());
             }
-            return null;
         }
 
         @Override
         public void close() {
+            if (current != null) {
+                current.close();
+                current = null;
+            }
+            while (results.hasNext()) {
+                results.next();
+            }
         }
 
         @Override
         public String[] columns() {
-            return this.columns;
+            return new String[0];
         }
     }
 
@@ -165,179 +289,209 @@ public class RpcRequest implements Request {
     }
 
     public String getLabel(String cypher) {
-        Pattern labelPattern1 = Pattern.compile(":`(\\w+)`(\\s*)((\\)|\\])|\\{)");
-        Pattern labelPattern2 = Pattern.compile(":(\\w+)(\\s*)((\\)|\\])|\\{)");
-        Matcher labelMatch1 = labelPattern1.matcher(cypher);
-        Matcher labelMatch2 = labelPattern2.matcher(cypher);
-        String label = "";
-        if (labelMatch1.find()) {
-            label = labelMatch1.group(1);
-        } else if (labelMatch2.find()) {
-            label = labelMatch2.group(1);
-        } else {
+        String label = RewritePlan.findLabel(cypher);
+        if (label == null) {
             throw new IllegalArgumentException("CREATE without label");
         }
         return label;
     }
 
     public String getProperties(LinkedHashMap mapProps) {
-        String props = "{";
-        Set<String> keySet = mapProps.keySet();
-        for (String key : keySet) {
-            if (mapProps.get(key) == null) {
-                continue;
-            }
-            if (mapProps.get(key) instanceof String) {
-                props += key + ":\"" + mapProps.get(key) + "\",";
-            } else {
-                props += key + ":" + mapProps.get(key).toString() + ",";
-            }
+        return CypherLiterals.appendProperties(new StringBuilder(), mapProps).toString();
+    }
+
+    private String mergeRequest(RewritePlan plan, Map<String, Object> parameterMap) {
+        // merge paramters into cypher
+        switch (plan.kind(!parameterMap.isEmpty())) {
+            case UNCHANGED:
+                return plan.statement();
+            case CREATE_NODE:
+                return mergeCreateNodes(plan.label(), parameterMap);
+            case CREATE_RELATIONSHIP:
+                return mergeCreateRelationships(plan.label(), parameterMap);
+            case DELETE:
+                return mergeDelete(plan.rewrittenStatement(), parameterMap);
+            case UPDATE_NODE:
+                return mergeUpdate(false, parameterMap);
+            case UPDATE_RELATIONSHIP:
+                return mergeUpdate(true, parameterMap);
+            case MATCH:
+                return plan.parameterizedStatement().inline(parameterMap);
+            default:
+                throw new IllegalStateException("Unknown rewrite " + plan.kind(true));
         }
-        props = props.substring(0, props.length() - 1);
-        if (!props.equals("")) {
-            props += "}";
+    }
+
+    private static String mergeCreateNodes(String label, Map<String, Object> parameterMap) {
+        List<Object> rowsValue = (List<Object>) parameterMap.get("rows");
+        String type = (String) parameterMap.get("type");
+        StringBuilder createCypher = new StringBuilder();
+        StringBuilder refStr = new StringBuilder();
+        StringBuilder nodeIdStr = new StringBuilder();
+        for (int i = 0; i < rowsValue.size(); i++) {
+            Map map = (Map) rowsValue.get(i);
+            Long nodeRef = (Long) map.get("nodeRef");
+            createCypher.append("CREATE (n").append(i).append(':').append(label);
+            CypherLiterals.appendProperties(createCypher, (Map) map.get("props")).append(")\n");
+            refStr.append(nodeRef).append(" AS ref").append(i).append(',');
+            nodeIdStr.append("id(n").append(i).append(") AS id").append(i).append(',');
         }
-        return props;
+        return createCypher.append("RETURN ").append(refStr).append(nodeIdStr)
+            .append('"').append(type).append("\" AS type").toString();
     }
 
-    private String mergeRequest(String cypher, Map<String, Object> parameterMap) {
-        // merge paramters into cypher
-        if (cypher.contains("CREATE") || cypher.contains("MERGE")) {
-            if (parameterMap.size() == 0) {
-                return cypher;
-            }
-            String label = getLabel(cypher);
-            String createCypher = "";
-            if (!cypher.contains("-[")) {
-                // CREATE NODE
-                String type = (String) parameterMap.get("type");
-                ArrayList<Object> rowsValue = (ArrayList<Object>) parameterMap.get("rows");
-                Long nodeRef = Long.valueOf(-1);
-                String nodeIdStr = "";
-                String refStr = "";
-                for (int i = 0; i < rowsValue.size(); i++) {
-                    LinkedHashMap map = (LinkedHashMap) rowsValue.get(i);
-                    String props = getProperties((LinkedHashMap) map.get("props"));
-                    nodeRef = (Long) map.get("nodeRef");
-                    createCypher += "CREATE (n" + i + ":" + label + props + ")\n";
-                    nodeIdStr += "id(n" + i + ") AS id" + i + ",";
-                    refStr += nodeRef + " AS ref" + i + ",";
-                }
-                createCypher += "RETURN " + refStr + nodeIdStr + "\"" + type + "\" AS type";
-            } else {
-                // CREATE RELATIONSHIP
-                ArrayList<Object> rowsValue = (ArrayList<Object>) parameterMap.get("rows");
-                String matchStr = "MATCH ";
-                String whereStr = " WHERE ";
-                String mergeStr = "";
-                for (int i = 0; i < rowsValue.size(); i++) {
-                    LinkedHashMap map = (LinkedHashMap) rowsValue.get(i);
-                    Long startId = (Long) map.get("startNodeId");
-                    Long endId = (Long) map.get("endNodeId");
-                    Long relRef = (Long) map.get("relRef");
-                    if (startId < 0 || endId < 0) {
-                        throw new IndexOutOfBoundsException("Get wrong id");
-                    }
-                    String props = getProperties((LinkedHashMap) map.get("props"));
-                    matchStr += "(startNode" + i + "),(endNode" + i + "),";
-                    whereStr += "id(startNode" + i + ") = " + Long.toString(startId) +
-                        " AND id(endNode" + i + ") = " + Long.toString(endId) + " AND ";
-                    mergeStr += " MERGE (startNode" + i + ")-[rel" + i + ":" + label + props + "]->(endNode" + i + ") \n ";
-                }
-                if (matchStr.charAt(matchStr.length() - 1) == ',') {
-                    matchStr = matchStr.substring(0, matchStr.length() - 1);
-                }
-                if (whereStr.substring(whereStr.length() - 4, whereStr.length() - 1).equals("AND")) {
-                    whereStr = whereStr.substring(0, whereStr.length() - 4);
-                }
-                createCypher = matchStr + whereStr + mergeStr;
-            }
-            return createCypher;
-        } else if (cypher.contains("DELETE")) {
-            // Modify the statement that specifies label
-            String deleteCypher = cypher.replace('`', ' ')
-                .replace("OPTIONAL MATCH", "WITH n OPTIONAL MATCH");
-            if (parameterMap.size() == 0) {
-                return deleteCypher;
-            }
-            Long id = (Long) parameterMap.get("id");
-            if (id < 0) {
+    private static String mergeCreateRelationships(String label, Map<String, Object> parameterMap) {
+        List<Object> rowsValue = (List<Object>) parameterMap.get("rows");
+        StringBuilder matchStr = new StringBuilder("MATCH ");
+        StringBuilder whereStr = new StringBuilder(" WHERE ");
+        StringBuilder mergeStr = new StringBuilder();
+        for (int i = 0; i < rowsValue.size(); i++) {
+            Map map = (Map) rowsValue.get(i);
+            Long startId = (Long) map.get("startNodeId");
+            Long endId = (Long) map.get("endNodeId");
+            if (startId < 0 || endId < 0) {
                 throw new IndexOutOfBoundsException("Get wrong id");
             }
-            // Modifies the statement with the specified ID
-            deleteCypher = deleteCypher.replace("ID(n) = $id", "id(n) = " + String.valueOf(id));
-            return deleteCypher;
-        } else if (cypher.contains("SET")) {
-            if (parameterMap.size() == 0) {
-                return cypher;
-            }
-            String type = (String) parameterMap.get("type");
-            String updateStr = "";
-            ArrayList<Object> rowsValue = (ArrayList<Object>) parameterMap.get("rows");
-            for (int i = 0; i < rowsValue.size(); i++) {
-                LinkedHashMap map = (LinkedHashMap) rowsValue.get(i);
-                LinkedHashMap mapProps = (LinkedHashMap) map.get("props");
-                String props = "";
-                Set<String> keySet = mapProps.keySet();
-                for (String key : keySet) {
-                    if (mapProps.get(key) == null) {
-                        continue;
-                    }
-                    if (mapProps.get(key) instanceof String) {
-                        props += " SET n." + key + " = \"" + mapProps.get(key) + "\"";
-                    } else {
-                        props += " SET n." + key + " = " + mapProps.get(key);
-                    }
-                }
-                if (!cypher.contains("[r]")) {
-                    // UPDATE NODE
-                    Long nodeId = (Long) map.get("nodeId");
-                    updateStr += "MATCH (n) WHERE id(n) = " + nodeId + props + " RETURN " + nodeId + " AS ref,"
-                        + "id(n) AS id, \"" + type + "\" AS type\n";
-                } else {
-                    // UPDATE RELATIONSHIP
-                    Long relId = (Long) map.get("relId");
-                    updateStr += "MATCH ()-[n]->() WHERE id(n) = " + relId + props + " RETURN " + relId + " AS ref,"
-                        + "id(n) AS id, \"" + type + "\" AS type\n";
-                }
-            }
-            return updateStr;
-        } else {
-            // MATCH
-            String matchStr = cypher;
-            matchStr = matchStr.replace("`", "");
-            matchStr = matchStr.replace("ID(", "id(");
-            for (Map.Entry<String, Object> entry : parameterMap.entrySet()) {
-                if (entry.getValue() instanceof String) {
-                    matchStr = matchStr.replaceAll("\\$" + entry.getKey() + "|\\{\\s*" + entry.getKey() + "\\s*\\}",
-                        "\"" + entry.getValue().toString() + "\"");
-                } else {
-                    matchStr = matchStr.replace("$" + entry.getKey(), entry.getValue().toString());
-                }
+            if (i > 0) {
+                matchStr.append(',');
+                whereStr.append(" AND ");
             }
-            // when query returns "n,[ [ (n)-[r_h1: HAS_ALBUM ]->(a1: Album ) | ..."
-            if (matchStr.contains("RETURN n,[")) {
-                if (matchStr.substring(matchStr.length() - 7, matchStr.length()).equals(", id(n)")) {
-                    matchStr = matchStr.substring(0, matchStr.indexOf("RETURN n,[") + 8) + ", id(n)";
-                } else {
-                    matchStr = matchStr.substring(0, matchStr.indexOf("RETURN n,[") + 8);
+            matchStr.append("(startNode").append(i).append("),(endNode").append(i).append(')');
+            whereStr.append("id(startNode").append(i).append(") = ").append(startId)
+                .append(" AND id(endNode").append(i).append(") = ").append(endId);
+            mergeStr.append(" MERGE (startNode").append(i).append(")-[rel").append(i).append(':').append(label);
+            CypherLiterals.appendProperties(mergeStr, (Map) map.get("props"))
+                .append("]->(endNode").append(i).append(") \n ");
+        }
+        return matchStr.append(whereStr).append(' ').append(mergeStr).toString();
+    }
+
+    private static String mergeDelete(String deleteCypher, Map<String, Object> parameterMap) {
+        if (parameterMap.isEmpty()) {
+            return deleteCypher;
+        }
+        Long id = (Long) parameterMap.get("id");
+        if (id < 0) {
+            throw new IndexOutOfBoundsException("Get wrong id");
+        }
+        // Modifies the statement with the specified ID
+        return deleteCypher.replace("ID(n) = $id", "id(n) = " + id);
+    }
+
+    private static String mergeUpdate(boolean isRelationship, Map<String, Object> parameterMap) {
+        String type = (String) parameterMap.get("type");
+        StringBuilder updateStr = new StringBuilder();
+        List<Object> rowsValue = (List<Object>) parameterMap.get("rows");
+        for (Object rowValue : rowsValue) {
+            Map map = (Map) rowValue;
+            Map<?, ?> mapProps = (Map) map.get("props");
+            // UPDATE RELATIONSHIP or UPDATE NODE
+            Long id = (Long) map.get(isRelationship ? "relId" : "nodeId");
+            updateStr.append(isRelationship ? "MATCH ()-[n]->() WHERE id(n) = " : "MATCH (n) WHERE id(n) = ")
+                .append(id);
+            for (Map.Entry<?, ?> entry : mapProps.entrySet()) {
+                if (entry.getValue() == null) {
+                    continue;
                 }
+                CypherLiterals.appendKey(updateStr.append(" SET n."), entry.getKey()).append(" = ");
+                CypherLiterals.appendLiteral(updateStr, entry.getValue());
             }
-            return matchStr;
+            updateStr.append(" RETURN ").append(id).append(" AS ref,id(n) AS id, \"").append(type)
+                .append("\" AS type\n");
         }
+        return updateStr.toString();
+    }
+
+    /**
+     * @return The time left on the current deadline or the configured statement timeout if there is none
+     */
+    private long currentTimeout() {
+        Deadline deadline = Deadline.current();
+        return deadline == null ? statementTimeout : deadline.checkRemainingMillis("executing statement");
     }
 
     private String executeRequest(Statement request) {
+        return send(renderStatement(request));
+    }
+
+    private String send(RenderedStatement statement) {
         try {
-            Map<String, Object> parameterMap = this.parameterConversion.convertParameters(request.getParameters());
-            String cypher = cypherModification.apply(request.getStatement());
-            if (LOGGER.isDebugEnabled()) {
-                LOGGER.debug("Request: {} with params {}", cypher, parameterMap);
-            }
-            String result = rpcClient.callCypher(mergeRequest(cypher, parameterMap), "default", 10);
-            return result;
+            beforeSending(statement.writes);
+            return rpcClientPool.execute(prepareCall(statement.cypher), routesToReplica(statement));
         } catch (ClientException | DatabaseException | TransientException ce) {
             throw new CypherException(ce.code(), ce.getMessage(), ce);
         }
     }
+
+    /**
+     * Statements are only sent to a read replica if they don't write and the current transaction allows it. Without a
+     * transaction, it is unknown whether the statement needs to see earlier writes, so it goes to the primary.
+     */
+    private boolean routesToReplica(RenderedStatement statement) {
+        return !statement.writes && transaction != null && transaction.routesReadsToReplicas();
+    }
+
+    /**
+     * Records that the current transaction has written, so that it hands out a bookmark on commit.
+     *
+     * @param writes True if the statements about to be sent contain writes
+     */
+    private void beforeSending(boolean writes) {
+        if (transaction != null && writes) {
+            transaction.written();
+        }
+    }
+
+    private RenderedStatement renderStatement(Statement request) {
+        Map<String, Object> parameterMap = this.parameterConversion.convertParameters(request.getParameters());
+        String cypher = cypherModification.apply(request.getStatement());
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Request: {} with params {}", cypher, parameterMap);
+        }
+        RewritePlan plan = RewritePlan.of(cypher);
+        boolean hasParameters = !parameterMap.isEmpty();
+        return new RenderedStatement(mergeRequest(plan, parameterMap), plan.kind(hasParameters),
+            plan.writes(hasParameters));
+    }
+
+    /**
+     * A statement ready to be sent to TuGraph.
+     */
+    private static class RenderedStatement {
+
+        private final String cypher;
+        private final RewritePlan.Kind kind;
+        private final boolean writes;
+
+        RenderedStatement(String cypher, RewritePlan.Kind kind, boolean writes) {
+            this.cypher = cypher;
+            this.kind = kind;
+            this.writes = writes;
+        }
+
+        /**
+         * @param first The first statement of the current phase
+         * @return True if this statement is independent of the statements of the phase and can be sent with them
+         */
+        boolean joins(RenderedStatement first) {
+            switch (kind) {
+                case CREATE_NODE:
+                case UPDATE_NODE:
+                case CREATE_RELATIONSHIP:
+                case UPDATE_RELATIONSHIP:
+                    return kind == first.kind;
+                default:
+                    return false;
+            }
+        }
+    }
+
+    /**
+     * Determines the timeout of the statement on the current thread, so that the returned call can be run on any
+     * thread.
+     */
+    private Function<TuGraphRpcClient, String> prepareCall(String cypher) {
+        double timeoutSeconds = currentTimeout() / 1000.0;
+        return rpcClient -> rpcClient.callCypher(cypher, graph, timeoutSeconds);
+    }
 }
@@ -20,20 +20,14 @@
 package com.antgroup.tugraph.ogm.drivers.rpc.response;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Queue;
 
-import com.alibaba.fastjson.JSON;
-import com.alibaba.fastjson.JSONArray;
 import com.alibaba.fastjson.JSONObject;
-import com.alibaba.fastjson.parser.Feature;
 
-import com.antgroup.tugraph.ogm.response.model.DefaultGraphModel;
-import com.antgroup.tugraph.ogm.response.model.NodeModel;
 import com.antgroup.tugraph.ogm.model.GraphRowListModel;
+import com.antgroup.tugraph.ogm.response.model.DefaultGraphModel;
 import com.antgroup.tugraph.ogm.response.model.DefaultGraphRowListModel;
 import com.antgroup.tugraph.ogm.response.model.DefaultGraphRowModel;
-import com.antgroup.tugraph.ogm.response.model.RelationshipModel;
 
 /**
  * @author Luanne Misquitta
@@ -41,103 +35,51 @@ import com.antgroup.tugraph.ogm.response.model.RelationshipModel;
  */
 public class GraphRowModelResponse extends RpcResponse<GraphRowListModel> {
 
+    private boolean exhausted;
+
     public GraphRowModelResponse(String result) {
         super(result);
     }
 
+    /**
+     * Returns a single model holding all rows. A result without rows still yields one empty model, only a {@code null}
+     * result yields none.
+     */
     @Override
-    protected ArrayList<GraphRowListModel> mappingResultToModel(String mappingResult) {
-        JSON.DEFAULT_PARSER_FEATURE &= ~Feature.UseBigDecimal.getMask();
-        // construct a list<GraphRowListModel>
-        ArrayList<GraphRowListModel> models = new ArrayList<>();
-        if (mappingResult.equals("null")) {
-            return models;
+    public GraphRowListModel next() {
+        if (exhausted) {
+            return null;
         }
-
-        // mapping from string to json
-        JSONArray arrayResults = null;
-        if (mappingResult.charAt(0) == '[') {
-            arrayResults = JSONArray.parseArray(mappingResult);
-        } else {
-            mappingResult = "[" + mappingResult + "]";
-            arrayResults = JSON.parseArray(mappingResult);
+        exhausted = true;
+        GraphRowListModel model = super.next();
+        if (model == null && !"null".equals(result)) {
+            return new DefaultGraphRowListModel();
         }
+        return model;
+    }
 
-        // mapping jsonObject to model
-        // create list<GraphRowModel>
+    /**
+     * All rows of the result are collected into one {@link GraphRowListModel}. The rows are still decoded one by one,
+     * no intermediate JSON tree of the whole result is built.
+     */
+    @Override
+    protected void mappingRowToModel(JSONObject row, Queue<GraphRowListModel> models) {
         DefaultGraphRowListModel model = new DefaultGraphRowListModel();
-        for (int i = 0; i < arrayResults.size(); i++) {
-            JSONObject objectResult = arrayResults.getJSONObject(i);
-            // Create GraphRowModel
-            DefaultGraphRowModel rowGraph;
-            DefaultGraphModel graph = new DefaultGraphModel();
-            ArrayList<Object> rows = new ArrayList<Object>();
-            for (String keys : objectResult.keySet()) {
-                Object values = objectResult.get(keys);
-                if (values instanceof JSONObject) {
-                    // making Graph Model
-                    JSONObject value = (JSONObject) values;
-                    if (value.containsKey("start")) {
-                        RelationshipModel relationship = new RelationshipModel();
-                        for (String key : value.keySet()) {
-                            switch (key) {
-                                case "identity":
-                                    relationship.setId((long) value.getInteger(key));
-                                    break;
-                                case "start":
-                                    relationship.setStartNode((long) value.getInteger(key));
-                                    break;
-                                case "end":
-                                    relationship.setEndNode((long) value.getInteger(key));
-                                    break;
-                                case "label":
-                                    relationship.setType(value.getString(key));
-                                    break;
-                                case "properties":
-                                    JSONObject properties = value.getJSONObject(key);
-                                    Map<String, Object> mapProperties = new HashMap<>();
-                                    for (String propertyKey : properties.keySet()) {
-                                        mapProperties.put(propertyKey, properties.get(propertyKey));
-                                    }
-                                    relationship.setProperties(mapProperties);
-                                    break;
-                                default:
-                                    break;
-                            }
-                        }
-                        graph.addRelationship(relationship);
-                    } else {
-                        NodeModel node = new NodeModel((long) value.getInteger("identity"));
-                        for (String key : value.keySet()) {
-                            switch (key) {
-                                case "label":
-                                    String label = value.getString(key);
-                                    String[] labels = { label };
-                                    node.setLabels(labels);
-                                    break;
-                                case "properties":
-                                    JSONObject properties = value.getJSONObject(key);
-                                    Map<String, Object> mapProperties = new HashMap<>();
-                                    for (String propertyKey : properties.keySet()) {
-                                        mapProperties.put(propertyKey, properties.get(propertyKey));
-                                    }
-                                    node.setProperties(mapProperties);
-                                    break;
-                                default:
-                                    break;
-                            }
-                        }
-                        graph.addNode(node);
-                    }
-                } else {
-                    // making row model
-                    rows.add(values);
-                }
-            }
-            rowGraph = new DefaultGraphRowModel(graph, rows.toArray());
-            model.add(rowGraph);
+        for (JSONObject current = row; current != null; current = nextRow()) {
+            model.add(mappingRow(current));
         }
         models.add(model);
-        return models;
+    }
+
+    private static DefaultGraphRowModel mappingRow(JSONObject row) {
+        DefaultGraphModel graph = new DefaultGraphModel();
+        ArrayList<Object> rows = new ArrayList<>();
+        for (Object values : row.values()) {
+            // nodes and relationships make up the graph model, everything else the row model
+            if (!addToGraph(values, graph)) {
+                rows.add(values);
+            }
+        }
+        return new DefaultGraphRowModel(graph, rows.toArray());
     }
 }
@@ -19,15 +19,10 @@
  */
 package com.antgroup.tugraph.ogm.drivers.rpc.response;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 
-import com.alibaba.fastjson.JSON;
-import com.alibaba.fastjson.JSONArray;
 import com.alibaba.fastjson.JSONObject;
-import com.alibaba.fastjson.parser.Feature;
 
 import com.antgroup.tugraph.ogm.response.model.DefaultRestModel;
 import com.antgroup.tugraph.ogm.response.model.QueryStatisticsModel;
@@ -48,34 +43,9 @@ public class RestModelResponse extends RpcResponse<RestModel> {
     }
 
     @Override
-    protected ArrayList<RestModel> mappingResultToModel(String mappingResult) {
-        JSON.DEFAULT_PARSER_FEATURE &= ~Feature.UseBigDecimal.getMask();
-        ArrayList<RestModel> models = new ArrayList<>();
-        if (mappingResult.equals("null")) {
-            return models;
-        }
-        if (mappingResult.contains("[")) {
-            JSONArray arrayResult = JSONArray.parseArray(mappingResult);
-            for (int i = 0; i < arrayResult.size(); i++) {
-                JSONObject obj = arrayResult.getJSONObject(i);
-
-                Map<String, Object> row = new HashMap<>();
-                for (String key : obj.keySet()) {
-                    row.put(key, obj.get(key));
-                }
-                DefaultRestModel model = DefaultRestModel.basedOn(row).orElse(null);
-                models.add(model);
-            }
-        } else {
-            JSONObject objectResult = JSONObject.parseObject(mappingResult);
-            Map<String, Object> row = new HashMap<>();
-            for (String key : objectResult.keySet()) {
-                row.put(key, objectResult.get(key));
-            }
-            DefaultRestModel model = DefaultRestModel.basedOn(row).orElse(null);
-            models.add(model);
-        }
-        return models;
+    protected void mappingRowToModel(JSONObject obj, Queue<RestModel> models) {
+        // The decoded row is a fresh map already, no need to copy it
+        DefaultRestModel.basedOn(obj).ifPresent(models::add);
     }
 
     @Override
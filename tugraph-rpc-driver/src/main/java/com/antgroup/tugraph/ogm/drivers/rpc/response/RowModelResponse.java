@@ -19,14 +19,11 @@
  */
 package com.antgroup.tugraph.ogm.drivers.rpc.response;
 
-import java.util.ArrayList;
+import java.util.Map;
+import java.util.Queue;
 
-import com.alibaba.fastjson.JSON;
-import com.alibaba.fastjson.JSONArray;
 import com.alibaba.fastjson.JSONObject;
 
-import com.alibaba.fastjson.parser.Feature;
-
 import com.antgroup.tugraph.ogm.model.RowModel;
 import com.antgroup.tugraph.ogm.response.model.DefaultRowModel;
 
@@ -41,59 +38,33 @@ public class RowModelResponse extends RpcResponse<RowModel> {
     }
 
     @Override
-    protected ArrayList<RowModel> mappingResultToModel(String mappingResult) {
-        JSON.DEFAULT_PARSER_FEATURE &= ~Feature.UseBigDecimal.getMask();
-        ArrayList<RowModel> models = new ArrayList<>();
-        if (mappingResult.equals("null")) {
-            return models;
-        }
-        // Judge result format
-        if (mappingResult.charAt(0) == '[') {
-            JSONArray arrayResult = JSONArray.parseArray(mappingResult);
-            for (int i = 0; i < arrayResult.size(); i++) {
-                JSONObject obj = arrayResult.getJSONObject(i);
-                String[] variables = new String[obj.size()];
-                Object[] values = new Object[obj.size()];
-                int j = 0;
-                for (String key : obj.keySet()) {
-                    variables[j] = key;
-                    values[j++] = obj.get(key);
-                }
-                DefaultRowModel model = new DefaultRowModel(values, variables);
-                models.add(model);
+    protected void mappingRowToModel(JSONObject objectResult, Queue<RowModel> models) {
+        if (objectResult.containsKey("ref0") &&
+            objectResult.containsKey("type")) {
+            // Get CREATE result
+            Object type = objectResult.get("type");
+            int i = 0;
+            while (objectResult.containsKey("ref" + i)) {
+                String[] variables = new String[3];
+                Object[] values = new Object[3];
+                variables[0] = "id";
+                values[0] = objectResult.get("id" + i);
+                variables[1] = "ref";
+                values[1] = objectResult.get("ref" + i);
+                variables[2] = "type";
+                values[2] = type;
+                models.add(new DefaultRowModel(values, variables));
+                i++;
             }
         } else {
-            JSONObject objectResult = JSONObject.parseObject(mappingResult);
-            if (objectResult.containsKey("ref0") &&
-                objectResult.containsKey("type")) {
-                // Get CREATE result
-                Object type = objectResult.get("type");
-                int i = 0;
-                while (objectResult.containsKey("ref" + i)) {
-                    String[] variables = new String[3];
-                    Object[] values = new Object[3];
-                    variables[0] = "id";
-                    values[0] = objectResult.get("id" + i);
-                    variables[1] = "ref";
-                    values[1] = objectResult.get("ref" + i);
-                    variables[2] = "type";
-                    values[2] = type;
-                    DefaultRowModel model = new DefaultRowModel(values, variables);
-                    models.add(model);
-                    i++;
-                }
-            } else {
-                String[] variables = new String[objectResult.size()];
-                Object[] values = new Object[objectResult.size()];
-                int i = 0;
-                for (String key : objectResult.keySet()) {
-                    variables[i] = key;
-                    values[i++] = objectResult.get(key);
-                }
-                DefaultRowModel model = new DefaultRowModel(values, variables);
-                models.add(model);
+            String[] variables = new String[objectResult.size()];
+            Object[] values = new Object[objectResult.size()];
+            int i = 0;
+            for (Map.Entry<String, Object> column : objectResult.entrySet()) {
+                variables[i] = column.getKey();
+                values[i++] = column.getValue();
             }
+            models.add(new DefaultRowModel(values, variables));
         }
-        return models;
     }
 }
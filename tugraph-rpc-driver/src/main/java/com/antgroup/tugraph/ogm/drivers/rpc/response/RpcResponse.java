@@ -19,49 +19,79 @@
  */
 package com.antgroup.tugraph.ogm.drivers.rpc.response;
 
-import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONException;
+import com.alibaba.fastjson.JSONObject;
 
 import org.neo4j.driver.exceptions.ClientException;
 
 import com.antgroup.tugraph.ogm.exception.CypherException;
+import com.antgroup.tugraph.ogm.exception.ResultProcessingException;
 import com.antgroup.tugraph.ogm.response.Response;
+import com.antgroup.tugraph.ogm.response.model.DefaultGraphModel;
+import com.antgroup.tugraph.ogm.response.model.NodeModel;
+import com.antgroup.tugraph.ogm.response.model.RelationshipModel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * Base class of all responses of the rpc driver. The textual result is decoded lazily: every call to {@link #next()}
+ * tokenizes just enough of the result to produce the next model, so that neither a complete JSON tree nor a list of
+ * all models is held at any time. The result itself is still held as a whole, as the rpc client returns it as one
+ * String.
+ * <p>
+ * All decoding state is owned by the instance, responses of concurrent requests therefore don't interfere with each
+ * other. A single response is meant to be consumed by one thread.
+ *
  * @author Luanne Misquitta
  * @author Michael J. Simons
  */
-public abstract class RpcResponse<T> implements Response {
+public abstract class RpcResponse<T> implements Response<T> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RpcResponse.class);
 
     protected final String result;
-    protected final ArrayList<T> models;
-    protected static int it = 0;
+    private final RpcResultReader reader;
+    private final Queue<T> pendingModels = new ArrayDeque<>();
 
     RpcResponse(String result) {
-        it = 0;
         this.result = result;
-        this.models = mappingResultToModel(result);
+        this.reader = new RpcResultReader(result);
     }
 
     @Override
     public T next() {
         try {
-            if (it < models.size()) {
-                return models.get(it++);
+            JSONObject row;
+            while (pendingModels.isEmpty() && (row = nextRow()) != null) {
+                mappingRowToModel(row, pendingModels);
             }
-            return null;
+            return pendingModels.poll();
         } catch (ClientException ce) {
             LOGGER.debug("Error executing Cypher: {}, {}", ce.code(), ce.getMessage());
             throw new CypherException(ce.code(), ce.getMessage(), ce);
         }
     }
 
+    /**
+     * @return The next undecoded row of the result or {@literal null} when the result is exhausted.
+     */
+    protected JSONObject nextRow() {
+        try {
+            return reader.nextRow();
+        } catch (JSONException | ClassCastException e) {
+            throw new ResultProcessingException("Could not decode rpc result", e);
+        }
+    }
+
     @Override
     public void close() {
-        // Consume the rest of the result and thus closing underlying resources.
+        // The result is a String, there are no resources to release. Only stop decoding and drop unconsumed models.
+        pendingModels.clear();
+        reader.close();
     }
 
     @Override
@@ -69,5 +99,104 @@ public abstract class RpcResponse<T> implements Response {
         return new String[0];
     }
 
-    protected abstract ArrayList<T> mappingResultToModel(String mappingResult);
+    /**
+     * Maps a single row of the result to zero or more models.
+     *
+     * @param row    The decoded row
+     * @param models Receives the models created from the row
+     */
+    protected abstract void mappingRowToModel(JSONObject row, Queue<T> models);
+
+    /**
+     * Maps a node. Ids are read as {@code long} right away, TuGraph ids may exceed the range of an {@code int}. The
+     * decoded property object is handed over as is, the model copies it anyway.
+     */
+    static NodeModel mappingNode(JSONObject value) {
+        NodeModel node = new NodeModel(value.getLongValue("identity"));
+        String label = value.getString("label");
+        if (label != null) {
+            node.setLabels(new String[] { label });
+        }
+        JSONObject properties = value.getJSONObject("properties");
+        if (properties != null) {
+            node.setProperties(properties);
+        }
+        return node;
+    }
+
+    /**
+     * Adds a node or relationship to {@code graph}. Lists of them, as returned by loads collecting the related entities
+     * of each hop, are added element by element. Everything else, including maps, empty lists and lists containing
+     * anything but nodes and relationships, is left alone.
+     *
+     * @param value The value of a column
+     * @param graph The graph to add to
+     * @return True if the value was graph data and has been added
+     */
+    static boolean addToGraph(Object value, DefaultGraphModel graph) {
+        if (!isGraphData(value)) {
+            return false;
+        }
+        if (value instanceof JSONArray) {
+            for (Object element : (JSONArray) value) {
+                addToGraph(element, graph);
+            }
+        } else {
+            JSONObject entity = (JSONObject) value;
+            if (entity.containsKey("start")) {
+                graph.addRelationship(mappingRelationship(entity));
+            } else {
+                graph.addNode(mappingNode(entity));
+            }
+        }
+        return true;
+    }
+
+    private static boolean isGraphData(Object value) {
+        if (value instanceof JSONObject) {
+            return isEntity((JSONObject) value);
+        }
+        if (value instanceof JSONArray) {
+            JSONArray list = (JSONArray) value;
+            if (list.isEmpty()) {
+                return false;
+            }
+            for (Object element : list) {
+                if (!isGraphData(element)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * TuGraph renders nodes as {@code {identity, label, properties}} and relationships additionally with their
+     * {@code start} and {@code end} node.
+     */
+    private static boolean isEntity(JSONObject value) {
+        if (!(value.get("identity") instanceof Number) || !(value.get("label") instanceof String)) {
+            return false;
+        }
+        Object start = value.get("start");
+        Object end = value.get("end");
+        if (start == null && end == null) {
+            return true;
+        }
+        return start instanceof Number && end instanceof Number;
+    }
+
+    static RelationshipModel mappingRelationship(JSONObject value) {
+        RelationshipModel relationship = new RelationshipModel();
+        relationship.setId(value.getLongValue("identity"));
+        relationship.setStartNode(value.getLongValue("start"));
+        relationship.setEndNode(value.getLongValue("end"));
+        relationship.setType(value.getString("label"));
+        JSONObject properties = value.getJSONObject("properties");
+        if (properties != null) {
+            relationship.setProperties(properties);
+        }
+        return relationship;
+    }
 }
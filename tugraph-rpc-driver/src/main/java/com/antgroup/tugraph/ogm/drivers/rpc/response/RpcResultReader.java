@@ -0,0 +1,80 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.drivers.rpc.response;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.JSONReader;
+import com.alibaba.fastjson.parser.Feature;
+import com.alibaba.fastjson.parser.JSONScanner;
+import com.alibaba.fastjson.parser.JSONToken;
+
+/**
+ * Pull based reader over the textual result of a cypher call. TuGraph returns either {@literal null}, a single row
+ * object or an array of row objects. Rows are tokenized lazily, one at a time, so that only the row currently being
+ * mapped is materialized as a {@link JSONObject}.
+ * <p>
+ * Parser features are configured per reader instead of through the global {@link JSON#DEFAULT_PARSER_FEATURE}, so that
+ * readers on different threads never touch shared state.
+ */
+class RpcResultReader implements AutoCloseable {
+
+    private final JSONReader reader;
+
+    private boolean inArray;
+    private boolean exhausted;
+
+    RpcResultReader(String result) {
+        if (result == null || result.isEmpty() || "null".equals(result)) {
+            this.reader = null;
+            this.exhausted = true;
+        } else {
+            int features = JSON.DEFAULT_PARSER_FEATURE & ~Feature.UseBigDecimal.getMask();
+            this.reader = new JSONReader(new JSONScanner(result, features));
+            if (reader.peek() == JSONToken.LBRACKET) {
+                reader.startArray();
+                this.inArray = true;
+            }
+        }
+    }
+
+    /**
+     * @return The next row of the result or {@literal null} if there are no more rows.
+     */
+    JSONObject nextRow() {
+        if (exhausted) {
+            return null;
+        }
+        if (!inArray) {
+            // A single row object
+            exhausted = true;
+            return (JSONObject) reader.readObject();
+        }
+        if (reader.hasNext()) {
+            return (JSONObject) reader.readObject();
+        }
+        reader.endArray();
+        exhausted = true;
+        return null;
+    }
+
+    @Override
+    public void close() {
+        // The result is a string, there is nothing to release. The parser is not closed, as closing it fails unless the
+        // whole result has been read.
+        exhausted = true;
+    }
+}
@@ -31,38 +31,32 @@ import java.util.regex.Pattern;
 public class StatisticsModelAdapter implements ResultAdapter<String, QueryStatisticsModel> {
     protected static final ObjectMapper mapper = ObjectMapperFactory.objectMapper();
 
+    private static final Pattern DELETED_VERTICES = Pattern.compile("deleted\\s([0-9]*)\\svertices");
+    private static final Pattern DELETED_EDGES = Pattern.compile("deleted\\s([0-9]*)\\sedges");
+    private static final Pattern CREATED_VERTICES = Pattern.compile("created\\s([0-9]*)\\svertices");
+    private static final Pattern CREATED_EDGES = Pattern.compile("created\\s([0-9]*)\\sedges");
+    private static final Pattern SET_PROPERTIES = Pattern.compile("set\\s([0-9]*)\\sproperties");
+
     public Integer[] mappingStats(Integer[] stats, String result) {
         for (int i = 0; i < stats.length; i++) {
             stats[i] = 0;
         }
-        Pattern deleteVPattern = Pattern.compile("deleted\\s([0-9]*)\\svertices");
-        Pattern deleteEPattern = Pattern.compile("deleted\\s([0-9]*)\\sedges");
-        Pattern createVPattern = Pattern.compile("created\\s([0-9]*)\\svertices");
-        Pattern createEPattern = Pattern.compile("created\\s([0-9]*)\\sedges");
-        Pattern setPPattern = Pattern.compile("set\\s([0-9]*)\\sproperties");
-        Matcher deleteVMatch = deleteVPattern.matcher(result);
-        Matcher deleteEMatch = deleteEPattern.matcher(result);
-        Matcher createVMatch = createVPattern.matcher(result);
-        Matcher createEMatch = createEPattern.matcher(result);
-        Matcher setPMatch = setPPattern.matcher(result);
-        if (deleteVMatch.find()) {
-            stats[1] = Integer.valueOf(deleteVMatch.group(1));
-        }
-        if (deleteEMatch.find()) {
-            stats[4] = Integer.valueOf(deleteEMatch.group(1));
-        }
-        if (createVMatch.find()) {
-            stats[0] = Integer.valueOf(createVMatch.group(1));
-        }
-        if (createEMatch.find()) {
-            stats[3] = Integer.valueOf(createEMatch.group(1));
-        }
-        if (setPMatch.find()) {
-            stats[2] = Integer.valueOf(setPMatch.group(1));
+        if (result == null) {
+            return stats;
         }
+        stats[1] = find(DELETED_VERTICES, result);
+        stats[4] = find(DELETED_EDGES, result);
+        stats[0] = find(CREATED_VERTICES, result);
+        stats[3] = find(CREATED_EDGES, result);
+        stats[2] = find(SET_PROPERTIES, result);
         return stats;
     }
 
+    private static int find(Pattern pattern, String result) {
+        Matcher matcher = pattern.matcher(result);
+        return matcher.find() ? Integer.parseInt(matcher.group(1)) : 0;
+    }
+
     @Override
     public QueryStatisticsModel adapt(String result) {
         QueryStatisticsModel queryStatisticsModel = new QueryStatisticsModel();
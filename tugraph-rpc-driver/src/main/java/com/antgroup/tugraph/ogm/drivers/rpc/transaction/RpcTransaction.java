@@ -19,37 +19,132 @@
  */
 package com.antgroup.tugraph.ogm.drivers.rpc.transaction;
 
-import com.antgroup.tugraph.TuGraphRpcClient;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
 
+import com.antgroup.tugraph.ogm.drivers.rpc.driver.RpcClientPool;
 import com.antgroup.tugraph.ogm.transaction.AbstractTransaction;
 import com.antgroup.tugraph.ogm.transaction.TransactionManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * The rpc client executes every statement on its own and TuGraph offers no server side transaction spanning several
+ * calls, so every statement autocommits as soon as it has been sent. Statements are never buffered: {@link #commit()}
+ * and {@link #rollback()} only end the transaction on the client. A commit hands out a bookmark if the transaction has
+ * written, a rollback cannot undo statements that have already been sent and logs a warning if there are any.
+ * <p>
+ * Statements of read only transactions can be routed to read replicas. Committing a transaction that has written
+ * hands out a bookmark carrying the time of the commit. As replicas may lag behind, a transaction that has been
+ * started with a bookmark younger than the replica lag window reads from the primary endpoints instead, so that a
+ * session reads its own writes. Older bookmarks don't pin reads to the primary anymore, bookmarks not handed out by
+ * this driver always do. The window is a heuristic, whether a replica has actually caught up is not checked. It is
+ * configured with {@code read.replica.lag.window}.
+ *
  * @author Vince Bickers
  * @author Gerrit Meier
  * @author Michael J. Simons
  */
 public class RpcTransaction extends AbstractTransaction {
 
-    private final TuGraphRpcClient rpcClient;
+    private final RpcClientPool rpcClientPool;
     private final Logger LOGGER = LoggerFactory.getLogger(RpcTransaction.class);
 
-    public RpcTransaction(TransactionManager transactionManager, TuGraphRpcClient rpcClient, Type type) {
+    private static final String BOOKMARK_PREFIX = "tugraph-rpc:";
+
+    /**
+     * How long reads are kept on the primary endpoints after a write has been committed, unless configured otherwise.
+     */
+    public static final long DEFAULT_REPLICA_LAG_WINDOW_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+    private final long readFromPrimaryUntil;
+    private boolean written;
+
+    public RpcTransaction(TransactionManager transactionManager, RpcClientPool rpcClientPool, Type type) {
+        this(transactionManager, rpcClientPool, type, Collections.emptyList());
+    }
+
+    /**
+     * @param transactionManager The transaction manager of the session
+     * @param rpcClientPool      The clients to use
+     * @param type               The type of the transaction
+     * @param bookmarks          The bookmarks of writes this transaction must see, may be empty
+     */
+    public RpcTransaction(TransactionManager transactionManager, RpcClientPool rpcClientPool, Type type,
+        Iterable<String> bookmarks) {
+        this(transactionManager, rpcClientPool, type, bookmarks, DEFAULT_REPLICA_LAG_WINDOW_MILLIS);
+    }
+
+    /**
+     * @param transactionManager     The transaction manager of the session
+     * @param rpcClientPool          The clients to use
+     * @param type                   The type of the transaction
+     * @param bookmarks              The bookmarks of writes this transaction must see, may be empty
+     * @param replicaLagWindowMillis How long reads are kept on the primary endpoints after a bookmarked commit
+     */
+    public RpcTransaction(TransactionManager transactionManager, RpcClientPool rpcClientPool, Type type,
+        Iterable<String> bookmarks, long replicaLagWindowMillis) {
         super(transactionManager);
-        this.rpcClient = rpcClient;
+        this.rpcClientPool = rpcClientPool;
         this.type = type;
+        this.readFromPrimaryUntil = readFromPrimaryUntil(bookmarks, replicaLagWindowMillis);
+    }
+
+    private static long readFromPrimaryUntil(Iterable<String> bookmarks, long replicaLagWindowMillis) {
+        long until = 0L;
+        if (bookmarks == null) {
+            return until;
+        }
+        for (String bookmark : bookmarks) {
+            Long committedAt = committedAt(bookmark);
+            // Bookmarks not handed out by this driver keep reading from the primary
+            until = committedAt == null ? Long.MAX_VALUE : Math.max(until, committedAt + replicaLagWindowMillis);
+        }
+        return until;
+    }
+
+    private static Long committedAt(String bookmark) {
+        if (bookmark != null && bookmark.startsWith(BOOKMARK_PREFIX)) {
+            try {
+                return Long.parseLong(bookmark.substring(BOOKMARK_PREFIX.length()));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return True if statements that don't write may be sent to a read replica
+     */
+    public boolean routesReadsToReplicas() {
+        return isReadOnly() && System.currentTimeMillis() >= readFromPrimaryUntil;
+    }
+
+    /**
+     * Records that a statement has been sent within this transaction.
+     */
+    public void written() {
+        this.written = true;
     }
 
     @Override
     public void rollback() {
-        // TuGraph rpc do not use transaction
+        if (extensions() == 0) {
+            if (written && !isReadOnly()) {
+                LOGGER.warn("Rolling back a transaction whose statements have already been sent, "
+                    + "TuGraph rpc cannot undo them");
+            }
+        }
+        super.rollback();
     }
 
     @Override
     public void commit() {
-        // TuGraph rpc do not use transaction
+        boolean root = extensions() == 0 && canCommit();
+        super.commit();
+        if (root && written && !isReadOnly() && transactionManager != null) {
+            transactionManager.bookmark(BOOKMARK_PREFIX + System.currentTimeMillis());
+        }
     }
-
 }
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.drivers.rpc;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import com.antgroup.tugraph.TuGraphRpcClient;
+
+/**
+ * A {@link TuGraphRpcClient} answering statements with a function instead of talking to a server. Instances are
+ * allocated without running the constructor of the real client, which connects to the server right away.
+ */
+public class ScriptedRpcClient extends TuGraphRpcClient {
+
+    private String name;
+    private Function<String, String> responder;
+    private List<String> statements;
+    private List<Double> timeouts;
+    private volatile boolean stopped;
+
+    private ScriptedRpcClient() {
+        super(null, null, null);
+    }
+
+    /**
+     * @param name      Name of the client, for example the endpoint it stands for
+     * @param responder Returns the result of a statement or throws the error of the statement
+     * @return A new client
+     */
+    public static ScriptedRpcClient create(String name, Function<String, String> responder) {
+        ScriptedRpcClient client = allocate();
+        client.name = name;
+        client.responder = responder;
+        client.statements = new CopyOnWriteArrayList<>();
+        client.timeouts = new CopyOnWriteArrayList<>();
+        return client;
+    }
+
+    @Override
+    public String callCypher(String cypher, String graph, double timeout) {
+        statements.add(cypher);
+        timeouts.add(timeout);
+        return responder.apply(cypher);
+    }
+
+    @Override
+    public void stopClient() {
+        stopped = true;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return All statements received by this client, in the order they have been received
+     */
+    public List<String> getStatements() {
+        return statements;
+    }
+
+    /**
+     * @return The timeouts in seconds the statements have been sent with, in the order of {@link #getStatements()}
+     */
+    public List<Double> getTimeouts() {
+        return timeouts;
+    }
+
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    private static ScriptedRpcClient allocate() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            Method allocateInstance = unsafeClass.getMethod("allocateInstance", Class.class);
+            return (ScriptedRpcClient) allocateInstance.invoke(theUnsafe.get(null), ScriptedRpcClient.class);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not allocate scripted rpc client", e);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.drivers.rpc;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+
+import com.antgroup.tugraph.ogm.request.GraphModelRequest;
+import com.antgroup.tugraph.ogm.request.OptimisticLockingConfig;
+import com.antgroup.tugraph.ogm.request.RowModelRequest;
+
+/**
+ * A statement with fixed text and parameters, usable as any kind of request.
+ */
+public class TestStatement implements RowModelRequest, GraphModelRequest {
+
+    private final String statement;
+    private final Map<String, Object> parameters;
+
+    public TestStatement(String statement) {
+        this(statement, Collections.emptyMap());
+    }
+
+    public TestStatement(String statement, Map<String, Object> parameters) {
+        this.statement = statement;
+        this.parameters = parameters;
+    }
+
+    @Override
+    public String getStatement() {
+        return statement;
+    }
+
+    @Override
+    public Map<String, Object> getParameters() {
+        return parameters;
+    }
+
+    @Override
+    public String[] getResultDataContents() {
+        return new String[0];
+    }
+
+    @Override
+    public boolean isIncludeStats() {
+        return false;
+    }
+
+    @Override
+    public Optional<OptimisticLockingConfig> optimisticLockingConfig() {
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.drivers.rpc.driver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.Test;
+import org.neo4j.driver.exceptions.ClientException;
+import org.neo4j.driver.exceptions.ServiceUnavailableException;
+
+import com.antgroup.tugraph.ogm.drivers.rpc.ScriptedRpcClient;
+
+/**
+ * Routing and health tracking of the pool, with clients answering from a script instead of a server.
+ */
+public class RpcClientPoolTest {
+
+    private final List<ScriptedRpcClient> opened = new CopyOnWriteArrayList<>();
+
+    private RpcClientPool newPool(List<String> uris, List<String> readUris) {
+        return new RpcClientPool(uris, readUris, 4, 60_000L, uri -> {
+            ScriptedRpcClient client = ScriptedRpcClient.create(uri, cypher -> {
+                if (cypher.startsWith("SYNTAX ERROR")) {
+                    throw new ClientException("Neo.ClientError.Statement.SyntaxError", "Invalid input");
+                }
+                if (cypher.startsWith("CONNECTION LOST")) {
+                    throw new ServiceUnavailableException("Connection to " + uri + " lost");
+                }
+                return "[]";
+            });
+            opened.add(client);
+            return client;
+        });
+    }
+
+    private static String call(RpcClientPool pool, String cypher, boolean readOnly) {
+        return pool.execute(client -> ((ScriptedRpcClient) client).getName() + ":"
+            + client.callCypher(cypher, "default", 1.0), readOnly);
+    }
+
+    @Test
+    public void syntaxErrorsShouldLeaveTheEndpointHealthy() {
+        RpcClientPool pool = newPool(Collections.singletonList("a"), Collections.emptyList());
+
+        for (int i = 0; i < RpcClientPool.MAX_CONSECUTIVE_FAILURES * 2; i++) {
+            assertThatExceptionOfType(ClientException.class)
+                .isThrownBy(() -> call(pool, "SYNTAX ERROR", false));
+        }
+
+        assertThat(call(pool, "MATCH (n) RETURN n", false)).isEqualTo("a:[]");
+        assertThat(opened).hasSize(1);
+        assertThat(opened.get(0).isStopped()).isFalse();
+        pool.close();
+    }
+
+    @Test
+    public void readOnlyCallsShouldPreferReplicas() {
+        RpcClientPool pool = newPool(Collections.singletonList("primary"), Collections.singletonList("replica"));
+
+        assertThat(call(pool, "MATCH (n) RETURN n", true)).isEqualTo("replica:[]");
+        assertThat(call(pool, "CREATE (n)", false)).isEqualTo("primary:[]");
+        pool.close();
+    }
+
+    @Test
+    public void connectionFailuresShouldQuarantineTheEndpoint() {
+        RpcClientPool pool = newPool(Arrays.asList("a", "b"), Collections.emptyList());
+
+        // Calls go to the least busy endpoint, so a call fails on "a" as long as it is healthy
+        int failuresOnA = 0;
+        while (failuresOnA < RpcClientPool.MAX_CONSECUTIVE_FAILURES) {
+            try {
+                pool.execute(client -> {
+                    if ("a".equals(((ScriptedRpcClient) client).getName())) {
+                        return client.callCypher("CONNECTION LOST", "default", 1.0);
+                    }
+                    return "skipped";
+                }, false);
+            } catch (ServiceUnavailableException e) {
+                failuresOnA++;
+            }
+        }
+
+        assertThat(opened.stream().filter(client -> "a".equals(client.getName())))
+            .allMatch(ScriptedRpcClient::isStopped);
+        for (int i = 0; i < 5; i++) {
+            assertThat(call(pool, "MATCH (n) RETURN n", false)).isEqualTo("b:[]");
+        }
+        pool.close();
+    }
+}
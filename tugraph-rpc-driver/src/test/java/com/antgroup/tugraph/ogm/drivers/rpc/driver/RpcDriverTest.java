@@ -0,0 +1,55 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.drivers.rpc.driver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import org.junit.Test;
+import org.neo4j.driver.Driver;
+
+import com.antgroup.tugraph.TuGraphRpcClient;
+import com.antgroup.tugraph.ogm.drivers.rpc.ScriptedRpcClient;
+
+/**
+ * Unwrapping the rpc driver into its clients.
+ */
+public class RpcDriverTest {
+
+    private final ScriptedRpcClient client = ScriptedRpcClient.create("a", cypher -> "[]");
+    private final RpcDriver driver = new RpcDriver(client);
+
+    @Test
+    public void driverShouldUnwrapIntoTheRpcClient() {
+        Object unwrapped = driver.unwrap(Driver.class);
+
+        assertThat(unwrapped).isSameAs(client);
+        assertThat(driver.unwrap(TuGraphRpcClient.class)).isSameAs(client);
+    }
+
+    @Test
+    public void driverShouldUnwrapIntoItsPool() {
+        RpcClientPool pool = driver.unwrap(RpcClientPool.class);
+
+        assertThat(pool).isNotNull();
+        assertThat(pool.anyClient()).isSameAs(client);
+    }
+
+    @Test
+    public void otherClassesShouldNotBeUnwrapped() {
+        assertThatIllegalArgumentException().isThrownBy(() -> driver.unwrap(String.class));
+    }
+}
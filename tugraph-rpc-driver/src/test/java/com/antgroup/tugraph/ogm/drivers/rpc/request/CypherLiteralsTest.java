@@ -0,0 +1,164 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.drivers.rpc.request;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Rendering of parameters as Cypher literals and inlining them into statements.
+ */
+public class CypherLiteralsTest {
+
+    private static String literal(Object value) {
+        return CypherLiterals.appendLiteral(new StringBuilder(), value).toString();
+    }
+
+    @Test
+    public void stringsShouldBeQuotedAndEscaped() {
+        assertThat(literal("Keanu")).isEqualTo("\"Keanu\"");
+        assertThat(literal("say \"hi\"")).isEqualTo("\"say \\\"hi\\\"\"");
+        assertThat(literal("it's")).isEqualTo("\"it's\"");
+        assertThat(literal("C:\\temp\\")).isEqualTo("\"C:\\\\temp\\\\\"");
+        assertThat(literal('"')).isEqualTo("\"\\\"\"");
+    }
+
+    @Test
+    public void controlCharactersShouldBeEscaped() {
+        assertThat(literal("a\nb\r\nc\td")).isEqualTo("\"a\\nb\\r\\nc\\td\"");
+        assertThat(literal("\b\f")).isEqualTo("\"\\b\\f\"");
+        assertThat(literal("\u0000\u001b\u007f")).isEqualTo("\"\\u0000\\u001b\\u007f\"");
+        assertThat(literal("\u00e9\u4e2d")).isEqualTo("\"\u00e9\u4e2d\"");
+    }
+
+    @Test
+    public void numbersAndBooleansShouldBeRenderedAsIs() {
+        assertThat(literal(42L)).isEqualTo("42");
+        assertThat(literal(1.5d)).isEqualTo("1.5");
+        assertThat(literal(false)).isEqualTo("false");
+    }
+
+    @Test
+    public void valuesWithoutALiteralShouldBeRejected() {
+        assertThatIllegalArgumentException().isThrownBy(() -> literal(new Object()))
+            .withMessageContaining("java.lang.Object");
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> literal(Collections.singletonMap("when", LocalDate.of(2020, 1, 1))))
+            .withMessageContaining("java.time.LocalDate");
+    }
+
+    @Test
+    public void collectionsArraysAndMapsShouldBeRenderedRecursively() {
+        Map<String, Object> inner = new LinkedHashMap<>();
+        inner.put("name", "a \"b\"");
+        inner.put("tags", new String[] { "x", null });
+        Map<String, Object> outer = new LinkedHashMap<>();
+        outer.put("inner", inner);
+        outer.put("ids", new long[] { 1L, 2L });
+        outer.put("list", Arrays.asList(1, Collections.singletonMap("k", true)));
+
+        assertThat(literal(outer)).isEqualTo(
+            "{inner: {name: \"a \\\"b\\\"\", tags: [\"x\", null]}, ids: [1, 2], list: [1, {k: true}]}");
+        assertThat(literal(new int[0])).isEqualTo("[]");
+        assertThat(literal(Collections.emptyMap())).isEqualTo("{}");
+    }
+
+    @Test
+    public void mapKeysThatAreNoIdentifiersShouldBeQuoted() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("plain_1", 1);
+        map.put("with space", 2);
+        map.put("a}, b: 1, `c", 3);
+        map.put("1st", 4);
+        map.put("", 5);
+
+        assertThat(literal(map)).isEqualTo(
+            "{plain_1: 1, `with space`: 2, `a}, b: 1, ``c`: 3, `1st`: 4, ``: 5}");
+        assertThat(CypherLiterals.appendProperties(new StringBuilder(), map).toString()).isEqualTo(
+            "{plain_1:1,`with space`:2,`a}, b: 1, ``c`:3,`1st`:4,``:5}");
+    }
+
+    @Test
+    public void propertiesShouldSkipNullValues() {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("name", "Keanu");
+        properties.put("nickname", null);
+        properties.put("born", 1964);
+
+        assertThat(CypherLiterals.appendProperties(new StringBuilder(), properties).toString())
+            .isEqualTo("{name:\"Keanu\",born:1964}");
+        assertThat(CypherLiterals.appendProperties(new StringBuilder(), Collections.singletonMap("name", null))
+            .toString()).isEmpty();
+    }
+
+    @Test
+    public void bothPlaceholderSyntaxesShouldBeInlined() {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("name", "Keanu");
+        parameters.put("ids", Arrays.asList(1L, 2L));
+
+        assertThat(CypherLiterals.inlineParameters(
+            "MATCH (n) WHERE n.name = $name AND id(n) IN { ids } RETURN n", parameters))
+            .isEqualTo("MATCH (n) WHERE n.name = \"Keanu\" AND id(n) IN [1, 2] RETURN n");
+    }
+
+    @Test
+    public void placeholdersInsideStringsShouldBeLeftAlone() {
+        Map<String, Object> parameters = Collections.singletonMap("name", "Keanu");
+
+        assertThat(CypherLiterals.inlineParameters(
+            "RETURN '$name', \"{name}\", 'it\\'s $name', \"a \\\" $name\", $name", parameters))
+            .isEqualTo("RETURN '$name', \"{name}\", 'it\\'s $name', \"a \\\" $name\", \"Keanu\"");
+    }
+
+    @Test
+    public void placeholdersInsideBackticksShouldBeLeftAlone() {
+        Map<String, Object> parameters = Collections.singletonMap("x", 1);
+
+        assertThat(CypherLiterals.inlineParameters(
+            "MATCH (n:`$x`) RETURN n.`{x}` AS `a``$x`, $x", parameters))
+            .isEqualTo("MATCH (n:`$x`) RETURN n.`{x}` AS `a``$x`, 1");
+        // A backslash does not escape within backticks
+        assertThat(CypherLiterals.inlineParameters("RETURN n.`a\\` AS a, $x", parameters))
+            .isEqualTo("RETURN n.`a\\` AS a, 1");
+    }
+
+    @Test
+    public void unknownPlaceholdersAndMapLiteralsShouldBeLeftAlone() {
+        Map<String, Object> parameters = Collections.singletonMap("x", 1);
+
+        assertThat(CypherLiterals.inlineParameters(
+            "MATCH (n {name: 'a'}) WHERE n.y = $y RETURN {x: $x}, {y}", parameters))
+            .isEqualTo("MATCH (n {name: 'a'}) WHERE n.y = $y RETURN {x: 1}, {y}");
+    }
+
+    @Test
+    public void parsedStatementsShouldBeReusable() {
+        CypherLiterals.ParameterizedStatement statement = CypherLiterals.parse("RETURN $a, $a");
+
+        assertThat(statement.inline(Collections.singletonMap("a", "$a"))).isEqualTo("RETURN \"$a\", \"$a\"");
+        assertThat(statement.inline(Collections.singletonMap("a", 2))).isEqualTo("RETURN 2, 2");
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.drivers.rpc.request;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+/**
+ * Caching of rewrite plans.
+ */
+public class RewritePlanTest {
+
+    @Test
+    public void plansShouldBeCachedPerStatement() {
+        RewritePlan plan = RewritePlan.of("MATCH (n:`Person`) WHERE n.name = $name RETURN n");
+
+        assertThat(RewritePlan.of("MATCH (n:`Person`) WHERE n.name = $name RETURN n")).isSameAs(plan);
+        assertThat(RewritePlan.of("MATCH (n:`Person`) WHERE n.age = $age RETURN n")).isNotSameAs(plan);
+    }
+
+    @Test
+    public void theCacheShouldStayBoundedUnderConcurrentLookups() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> lookups = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                int offset = thread;
+                lookups.add(executor.submit(() -> {
+                    for (int i = 0; i < RewritePlan.MAX_CACHED_PLANS * 2; i++) {
+                        String statement = "MATCH (n:`Label" + (i * 4 + offset) + "`) RETURN n";
+                        assertThat(RewritePlan.of(statement).statement()).isEqualTo(statement);
+                    }
+                }));
+            }
+            for (Future<?> lookup : lookups) {
+                lookup.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Concurrent misses may each add a plan after checking the size
+        assertThat(RewritePlan.cachedPlans()).isLessThanOrEqualTo(RewritePlan.MAX_CACHED_PLANS + 4);
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.drivers.rpc.request;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.junit.Test;
+import org.neo4j.driver.exceptions.ClientException;
+
+import com.antgroup.tugraph.ogm.driver.ParameterConversion;
+import com.antgroup.tugraph.ogm.drivers.rpc.ScriptedRpcClient;
+import com.antgroup.tugraph.ogm.drivers.rpc.TestStatement;
+import com.antgroup.tugraph.ogm.drivers.rpc.driver.RpcClientPool;
+import com.antgroup.tugraph.ogm.exception.CypherException;
+import com.antgroup.tugraph.ogm.exception.StatementTimeoutException;
+import com.antgroup.tugraph.ogm.model.GraphModel;
+import com.antgroup.tugraph.ogm.request.Deadline;
+import com.antgroup.tugraph.ogm.request.DefaultRequest;
+import com.antgroup.tugraph.ogm.request.GraphModelRequest;
+import com.antgroup.tugraph.ogm.request.Statement;
+import com.antgroup.tugraph.ogm.response.Response;
+
+/**
+ * Order and error handling of statements sent by a request, without a transaction.
+ */
+public class RpcRequestTest {
+
+    private final ScriptedRpcClient client = ScriptedRpcClient.create("a", cypher -> {
+        if (cypher.contains("FAIL")) {
+            throw new ClientException("Neo.ClientError.Statement.SyntaxError", "Invalid input");
+        }
+        return "[]";
+    });
+
+    private final RpcRequest request = new RpcRequest(RpcClientPool.of(client),
+        ParameterConversion.DefaultParameterConversion.INSTANCE, Function.identity());
+
+    private static DefaultRequest defaultRequest(String... statements) {
+        return () -> {
+            List<Statement> result = new ArrayList<>();
+            for (String statement : statements) {
+                result.add(new TestStatement(statement));
+            }
+            return result;
+        };
+    }
+
+    @Test
+    public void statementsOfADefaultRequestShouldRunInOrder() {
+        List<String> statements = Arrays.asList(
+            "MATCH (n) WHERE id(n) = 1 DELETE n RETURN 1",
+            "CREATE (n:Person) RETURN id(n)",
+            "MATCH (n:Person) SET n.name = 'x' RETURN id(n)");
+
+        request.execute(defaultRequest(statements.toArray(new String[0]))).close();
+
+        assertThat(client.getStatements()).containsExactlyElementsOf(statements);
+    }
+
+    private static TestStatement createNodes(String label) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("nodeRef", -1L);
+        row.put("props", Collections.singletonMap("name", label));
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("rows", Collections.singletonList(row));
+        parameters.put("type", "node");
+        return new TestStatement("UNWIND $rows as row CREATE (n:`" + label + "`) SET n=row.props "
+            + "RETURN row.nodeRef as ref, ID(n) as id, $type as type", parameters);
+    }
+
+    private static TestStatement deleteNode(long id) {
+        return new TestStatement("MATCH (n) WHERE ID(n) = $id OPTIONAL MATCH (n)-[r]-() DELETE r, n",
+            Collections.singletonMap("id", id));
+    }
+
+    @Test
+    public void updatedPropertiesShouldBeRenderedAsKeysAndLiterals() {
+        Map<String, Object> props = new LinkedHashMap<>();
+        props.put("first name", "Keanu\nCharles");
+        props.put("born", 1964L);
+        Map<String, Object> row = new HashMap<>();
+        row.put("nodeId", 7L);
+        row.put("props", props);
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("rows", Collections.singletonList(row));
+        parameters.put("type", "node");
+
+        request.execute(() -> Collections.singletonList(new TestStatement("UNWIND $rows as row MATCH (n) "
+            + "WHERE ID(n)=row.nodeId SET n += row.props RETURN row.nodeId as ref, ID(n) as id, $type as type",
+            parameters))).close();
+
+        assertThat(client.getStatements()).containsExactly("MATCH (n) WHERE id(n) = 7"
+            + " SET n.`first name` = \"Keanu\\nCharles\" SET n.born = 1964"
+            + " RETURN 7 AS ref,id(n) AS id, \"node\" AS type\n");
+    }
+
+    @Test
+    public void independentStatementsOfAPhaseShouldBeSentAtTheSameTime() {
+        CountDownLatch phaseSent = new CountDownLatch(2);
+        ScriptedRpcClient pipelined = ScriptedRpcClient.create("pipelined", cypher -> {
+            if (cypher.startsWith("CREATE")) {
+                phaseSent.countDown();
+                try {
+                    if (!phaseSent.await(5, TimeUnit.SECONDS)) {
+                        throw new IllegalStateException("Statements of the phase have been sent one by one");
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return "[]";
+        });
+        RpcRequest pipelinedRequest = new RpcRequest(RpcClientPool.of(pipelined),
+            ParameterConversion.DefaultParameterConversion.INSTANCE, Function.identity());
+
+        pipelinedRequest.execute(() -> Arrays.asList(createNodes("Person"), createNodes("Movie"), deleteNode(1L)))
+            .close();
+
+        assertThat(pipelined.getStatements()).hasSize(3);
+        assertThat(pipelined.getStatements().get(2)).contains("DELETE");
+    }
+
+    @Test
+    public void aFailingPhaseShouldStopTheDefaultRequest() {
+        assertThatExceptionOfType(CypherException.class).isThrownBy(() -> request.execute(
+            () -> Arrays.asList(deleteNode(1L), createNodes("Person"), createNodes("FAIL"), deleteNode(2L))));
+
+        assertThat(client.getStatements()).hasSize(3);
+        assertThat(client.getStatements().get(0)).contains("id(n) = 1");
+        assertThat(client.getStatements()).noneMatch(statement -> statement.contains("id(n) = 2"));
+    }
+
+    @Test
+    public void aFailingStatementShouldStopTheDefaultRequest() {
+        assertThatExceptionOfType(CypherException.class).isThrownBy(() -> request.execute(defaultRequest(
+            "CREATE (n:Person) RETURN id(n)",
+            "CREATE (n:FAIL) RETURN id(n)",
+            "CREATE (n:Movie) RETURN id(n)")));
+
+        assertThat(client.getStatements())
+            .containsExactly("CREATE (n:Person) RETURN id(n)", "CREATE (n:FAIL) RETURN id(n)");
+    }
+
+    @Test
+    public void graphModelRequestsThatWriteShouldRunInOrder() {
+        List<GraphModelRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            requests.add(new TestStatement("CREATE (n:Person {index: " + i + "}) RETURN n"));
+        }
+
+        List<Response<GraphModel>> responses = request.executeAll(requests);
+
+        assertThat(responses).hasSize(20);
+        List<String> expected = new ArrayList<>();
+        requests.forEach(statement -> expected.add(statement.getStatement()));
+        assertThat(client.getStatements()).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    public void readOnlyGraphModelRequestsShouldReturnResponsesInOrderOfTheRequests() {
+        ScriptedRpcClient echo = ScriptedRpcClient.create("echo", cypher ->
+            "[{\"n\":{\"identity\":" + cypher.substring(cypher.lastIndexOf(' ') + 1) + ",\"label\":\"Person\"}}]");
+        RpcRequest echoRequest = new RpcRequest(RpcClientPool.of(echo),
+            ParameterConversion.DefaultParameterConversion.INSTANCE, Function.identity());
+        List<GraphModelRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            requests.add(new TestStatement("MATCH (n) RETURN n LIMIT " + i));
+        }
+
+        List<Response<GraphModel>> responses = echoRequest.executeAll(requests);
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(responses.get(i).next().getNodes()).extracting(node -> node.getId()).containsExactly((long) i);
+        }
+    }
+
+    @Test
+    public void statementsWithoutADeadlineShouldUseTheStatementTimeout() {
+        RpcRequest timedRequest = new RpcRequest(RpcClientPool.of(client),
+            ParameterConversion.DefaultParameterConversion.INSTANCE, Function.identity(), null, 2_500L, null);
+
+        timedRequest.execute(defaultRequest("CREATE (n:Person) RETURN id(n)")).close();
+
+        assertThat(client.getTimeouts()).containsExactly(2.5);
+    }
+
+    @Test
+    public void statementsWithinADeadlineShouldShareItsRemainingTime() {
+        Deadline.within(10_000L, () -> {
+            request.execute(defaultRequest("CREATE (n:Person) RETURN id(n)", "CREATE (n:Movie) RETURN id(n)"))
+                .close();
+            return null;
+        });
+
+        assertThat(client.getTimeouts()).hasSize(2).allSatisfy(timeout -> assertThat(timeout).isBetween(0.0, 10.0));
+        assertThat(client.getTimeouts().get(1)).isLessThanOrEqualTo(client.getTimeouts().get(0));
+    }
+
+    @Test
+    public void anExpiredDeadlineShouldStopTheRequestBeforeSending() {
+        assertThatExceptionOfType(StatementTimeoutException.class).isThrownBy(() -> Deadline.within(
+            Deadline.after(0L), () -> request.execute(defaultRequest("CREATE (n:Person) RETURN id(n)"))));
+
+        assertThat(client.getStatements()).isEmpty();
+    }
+}
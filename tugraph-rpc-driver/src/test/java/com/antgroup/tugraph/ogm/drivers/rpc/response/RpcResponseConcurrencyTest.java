@@ -0,0 +1,125 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.drivers.rpc.response;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.antgroup.tugraph.ogm.model.GraphModel;
+import com.antgroup.tugraph.ogm.model.Node;
+import com.antgroup.tugraph.ogm.model.RowModel;
+import com.antgroup.tugraph.ogm.response.Response;
+
+/**
+ * Reads many responses from many threads at the same time and makes sure that every row arrives exactly once.
+ */
+public class RpcResponseConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int QUERIES_PER_THREAD = 200;
+    private static final int ROWS_PER_QUERY = 50;
+
+    @Test
+    public void concurrentResponsesShouldNotInterfere() throws Exception {
+
+        Map<Long, AtomicInteger> seen = new ConcurrentHashMap<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                final int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int q = 0; q < QUERIES_PER_THREAD; q++) {
+                        long firstId = ((long) thread * QUERIES_PER_THREAD + q) * ROWS_PER_QUERY;
+                        if (q % 2 == 0) {
+                            readGraphModels(firstId, seen);
+                        } else {
+                            readRowModels(firstId, seen);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(seen).hasSize(THREADS * QUERIES_PER_THREAD * ROWS_PER_QUERY);
+        assertThat(seen.values()).allMatch(count -> count.get() == 1);
+    }
+
+    private static void readGraphModels(long firstId, Map<Long, AtomicInteger> seen) {
+        try (Response<GraphModel> response = new GraphModelResponse(nodeRows(firstId))) {
+            GraphModel model;
+            while ((model = response.next()) != null) {
+                for (Node node : model.getNodes()) {
+                    seen.computeIfAbsent(node.getId(), id -> new AtomicInteger()).incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private static void readRowModels(long firstId, Map<Long, AtomicInteger> seen) {
+        try (Response<RowModel> response = new RowModelResponse(valueRows(firstId))) {
+            RowModel model;
+            while ((model = response.next()) != null) {
+                long id = ((Number) model.getValues()[0]).longValue();
+                seen.computeIfAbsent(id, key -> new AtomicInteger()).incrementAndGet();
+            }
+        }
+    }
+
+    private static String nodeRows(long firstId) {
+        StringBuilder result = new StringBuilder("[");
+        for (int i = 0; i < ROWS_PER_QUERY; i++) {
+            if (i > 0) {
+                result.append(',');
+            }
+            result.append("{\"n\":{\"identity\":").append(firstId + i)
+                .append(",\"label\":\"Movie\",\"properties\":{\"released\":").append(i).append("}}}");
+        }
+        return result.append(']').toString();
+    }
+
+    private static String valueRows(long firstId) {
+        StringBuilder result = new StringBuilder("[");
+        for (int i = 0; i < ROWS_PER_QUERY; i++) {
+            if (i > 0) {
+                result.append(',');
+            }
+            result.append("{\"id\":").append(firstId + i).append('}');
+        }
+        return result.append(']').toString();
+    }
+}
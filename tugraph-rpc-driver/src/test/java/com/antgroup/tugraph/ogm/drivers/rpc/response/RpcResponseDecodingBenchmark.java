@@ -0,0 +1,161 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.drivers.rpc.response;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+
+import com.antgroup.tugraph.ogm.model.GraphModel;
+import com.antgroup.tugraph.ogm.response.Response;
+import com.antgroup.tugraph.ogm.response.model.DefaultGraphModel;
+import com.antgroup.tugraph.ogm.response.model.NodeModel;
+import com.antgroup.tugraph.ogm.response.model.RelationshipModel;
+
+/**
+ * Compares decoding synthetic graph results the way the driver used to do it, materializing the whole JSON tree and
+ * copying every property map, with the current row by row decoding of {@link GraphModelResponse}. Prints the average
+ * time in nanoseconds and the bytes allocated per decoded row.
+ * <p>
+ * Not a test, run it manually from the test classpath, optionally passing the number of rows:
+ * <pre>
+ * java -cp ... com.antgroup.tugraph.ogm.drivers.rpc.response.RpcResponseDecodingBenchmark 20000
+ * </pre>
+ */
+public final class RpcResponseDecodingBenchmark {
+
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 20;
+
+    public static void main(String... args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        String payload = payload(rows);
+        System.out.printf("%d rows, %d KiB payload%n", rows, payload.length() / 1024);
+
+        measure("materializing", payload, rows, RpcResponseDecodingBenchmark::decodeMaterializing);
+        measure("streaming", payload, rows, RpcResponseDecodingBenchmark::decodeStreaming);
+    }
+
+    private static void measure(String name, String payload, int rows, ToLongFunction<String> decoder) {
+        long checksum = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            checksum += decoder.applyAsLong(payload);
+        }
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long allocatedBefore = allocatedBytes(threads);
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            checksum += decoder.applyAsLong(payload);
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = allocatedBytes(threads) - allocatedBefore;
+
+        long decodedRows = (long) rows * MEASURED_ROUNDS;
+        System.out.printf("%-14s %8.1f ns/row %8d B/row (checksum %d)%n", name, (double) elapsed / decodedRows,
+            allocated < 0 ? -1 : allocated / decodedRows, checksum);
+    }
+
+    private static long allocatedBytes(ThreadMXBean threads) {
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0L;
+    }
+
+    private static long decodeStreaming(String payload) {
+        long checksum = 0;
+        try (Response<GraphModel> response = new GraphModelResponse(payload)) {
+            GraphModel model;
+            while ((model = response.next()) != null) {
+                checksum += model.getNodes().size() + model.getRelationships().size();
+            }
+        }
+        return checksum;
+    }
+
+    /**
+     * The decoding as done before: the whole result as a tree, numbers widened from {@link Integer} and properties
+     * copied into a new map before being copied into the model.
+     */
+    private static long decodeMaterializing(String payload) {
+        long checksum = 0;
+        JSONArray result = JSON.parseArray(payload);
+        for (int i = 0; i < result.size(); i++) {
+            JSONObject row = result.getJSONObject(i);
+            DefaultGraphModel graph = new DefaultGraphModel();
+            for (String key : row.keySet()) {
+                JSONObject value = row.getJSONObject(key);
+                if (value.containsKey("start")) {
+                    RelationshipModel relationship = new RelationshipModel();
+                    relationship.setId((long) value.getInteger("identity"));
+                    relationship.setStartNode((long) value.getInteger("start"));
+                    relationship.setEndNode((long) value.getInteger("end"));
+                    relationship.setType(value.getString("label"));
+                    relationship.setProperties(copy(value.getJSONObject("properties")));
+                    graph.addRelationship(relationship);
+                } else {
+                    NodeModel node = new NodeModel((long) value.getInteger("identity"));
+                    node.setLabels(new String[] { value.getString("label") });
+                    node.setProperties(copy(value.getJSONObject("properties")));
+                    graph.addNode(node);
+                }
+            }
+            checksum += graph.getNodes().size() + graph.getRelationships().size();
+        }
+        return checksum;
+    }
+
+    private static Map<String, Object> copy(JSONObject properties) {
+        Map<String, Object> copy = new HashMap<>();
+        for (String key : properties.keySet()) {
+            copy.put(key, properties.get(key));
+        }
+        return copy;
+    }
+
+    private static String payload(int rows) {
+        StringBuilder payload = new StringBuilder("[");
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                payload.append(',');
+            }
+            long start = 2L * i;
+            long end = start + 1;
+            payload.append("{\"a\":").append(node(start))
+                .append(",\"r\":{\"identity\":").append(i)
+                .append(",\"start\":").append(start).append(",\"end\":").append(end)
+                .append(",\"label\":\"ACTS_IN\",\"properties\":{\"role\":\"Role ").append(i).append("\"}}")
+                .append(",\"b\":").append(node(end)).append('}');
+        }
+        return payload.append(']').toString();
+    }
+
+    private static String node(long id) {
+        return "{\"identity\":" + id + ",\"label\":\"Movie\",\"properties\":{\"title\":\"Title " + id
+            + "\",\"released\":" + (1950 + id % 70) + ",\"rating\":" + (id % 10) / 2.0
+            + ",\"tagline\":\"A tagline\",\"sequel\":" + (id % 2 == 0) + "}}";
+    }
+
+    private RpcResponseDecodingBenchmark() {
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.drivers.rpc.response;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.antgroup.tugraph.ogm.model.Edge;
+import com.antgroup.tugraph.ogm.model.GraphModel;
+import com.antgroup.tugraph.ogm.model.GraphRowModel;
+import com.antgroup.tugraph.ogm.model.Node;
+import com.antgroup.tugraph.ogm.model.RowModel;
+
+/**
+ * Decoding of single rpc results.
+ */
+public class RpcResponseTest {
+
+    @Test
+    public void closingAPartiallyReadResponseShouldNotFail() {
+        RowModelResponse unread = new RowModelResponse("[{\"a\":1},{\"a\":2}]");
+        unread.close();
+        assertThat(unread.next()).isNull();
+
+        RowModelResponse partiallyRead = new RowModelResponse("[{\"a\":1},{\"a\":2}]");
+        RowModel first = partiallyRead.next();
+        assertThat(first.getValues()).containsExactly((Object) 1);
+        partiallyRead.close();
+        assertThat(partiallyRead.next()).isNull();
+    }
+
+    private static final String ARTIST = "{\"identity\":1,\"label\":\"Artist\",\"properties\":{\"name\":\"A\"}}";
+    private static final String ALBUM = "{\"identity\":2,\"label\":\"Album\",\"properties\":{}}";
+    private static final String HAS_ALBUM
+        = "{\"identity\":7,\"label\":\"HAS_ALBUM\",\"start\":1,\"end\":2,\"properties\":{}}";
+
+    @Test
+    public void listsOfNodesAndRelationshipsShouldBeAddedToTheGraph() {
+        GraphModel graph = new GraphModelResponse("[{\"n\":" + ARTIST + ",\"rs_1\":[" + HAS_ALBUM + "],\"ns_1\":["
+            + ALBUM + "],\"rs_2\":[],\"ns_2\":[]}]").next();
+
+        assertThat(graph.getNodes()).extracting(Node::getId).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(graph.getRelationships()).extracting(Edge::getId).containsExactly(7L);
+        Edge relationship = graph.getRelationships().iterator().next();
+        assertThat(relationship.getStartNode()).isEqualTo(1L);
+        assertThat(relationship.getEndNode()).isEqualTo(2L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void valuesThatAreNoGraphEntitiesShouldStayRowValues() {
+        assertThat((List<?>) rowValue("[]")).isEmpty();
+        assertThat((Map<String, Object>) rowValue("{\"name\":\"x\",\"label\":\"y\"}")).containsEntry("name", "x");
+        assertThat((List<?>) rowValue("[{\"identity\":\"a\",\"label\":\"b\"}]")).hasSize(1);
+        assertThat((List<Object>) rowValue("[1,2]")).containsExactly(1, 2);
+        assertThat((List<?>) rowValue("[" + ALBUM + ",3]")).hasSize(2);
+        assertThat(rowValue("1")).isEqualTo(1);
+    }
+
+    /**
+     * @return The only row value of a row with the given value next to a node
+     */
+    private static Object rowValue(String value) {
+        GraphRowModel row = new GraphRowModelResponse("[{\"n\":" + ARTIST + ",\"v\":" + value + "}]").next()
+            .model().get(0);
+        assertThat(row.getGraph().getNodes()).extracting(Node::getId).containsExactly(1L);
+        assertThat(row.getGraph().getRelationships()).isEmpty();
+        assertThat(row.getRow()).hasSize(1);
+        return row.getRow()[0];
+    }
+
+    @Test
+    public void allRowsShouldBeCollectedIntoOneGraphRowListModel() {
+        GraphRowModelResponse response = new GraphRowModelResponse(
+            "[{\"n\":" + ARTIST + ",\"v\":1},{\"n\":" + ARTIST + ",\"v\":2}]");
+
+        assertThat(response.next().model()).hasSize(2);
+        assertThat(response.next()).isNull();
+    }
+
+    @Test
+    public void emptyResultsShouldYieldOneEmptyGraphRowListModel() {
+        GraphRowModelResponse response = new GraphRowModelResponse("[]");
+
+        assertThat(response.next().model()).isEmpty();
+        assertThat(response.next()).isNull();
+        assertThat(new GraphRowModelResponse("null").next()).isNull();
+    }
+
+    @Test
+    public void mapsShouldNotBeMappedAsNodes() {
+        GraphModel graph = new GraphModelResponse("[{\"n\":" + ARTIST + ",\"m\":{\"identity\":3}}]").next();
+
+        assertThat(graph.getNodes()).extracting(Node::getId).containsExactly(1L);
+        assertThat(graph.getRelationships()).isEmpty();
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.drivers.rpc.transaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.Test;
+import org.neo4j.driver.exceptions.ClientException;
+
+import com.antgroup.tugraph.ogm.driver.ParameterConversion;
+import com.antgroup.tugraph.ogm.drivers.rpc.ScriptedRpcClient;
+import com.antgroup.tugraph.ogm.drivers.rpc.TestStatement;
+import com.antgroup.tugraph.ogm.drivers.rpc.driver.RpcClientPool;
+import com.antgroup.tugraph.ogm.drivers.rpc.request.RpcRequest;
+import com.antgroup.tugraph.ogm.exception.CypherException;
+import com.antgroup.tugraph.ogm.request.RowModelRequest;
+import com.antgroup.tugraph.ogm.transaction.Transaction;
+
+/**
+ * Lifecycle and bookmarks of autocommitting rpc transactions.
+ */
+public class RpcTransactionTest {
+
+    private final ScriptedRpcClient client = ScriptedRpcClient.create("a", cypher -> {
+        if (cypher.contains("FAIL")) {
+            throw new ClientException("Neo.ClientError.Schema.ConstraintValidationFailed", "Constraint violated");
+        }
+        return "[]";
+    });
+    private final RpcClientPool pool = RpcClientPool.of(client);
+    private final TestTransactionManager transactionManager = new TestTransactionManager();
+
+    private RpcTransaction begin() {
+        return (RpcTransaction) transactionManager.open(
+            new RpcTransaction(transactionManager, pool, Transaction.Type.READ_WRITE));
+    }
+
+    private void run(RpcTransaction transaction, String cypher) {
+        new RpcRequest(pool, ParameterConversion.DefaultParameterConversion.INSTANCE, Function.identity(), null,
+            RpcRequest.DEFAULT_STATEMENT_TIMEOUT, transaction).execute((RowModelRequest) new TestStatement(cypher))
+            .close();
+    }
+
+    @Test
+    public void writesShouldBeSentRightAway() {
+        RpcTransaction transaction = begin();
+
+        run(transaction, "CREATE (n:Person)");
+        assertThat(client.getStatements()).containsExactly("CREATE (n:Person)");
+
+        transaction.commit();
+        assertThat(client.getStatements()).containsExactly("CREATE (n:Person)");
+        assertThat(transaction.status()).isEqualTo(Transaction.Status.COMMITTED);
+        assertThat(transactionManager.getBookmarks()).hasSize(1);
+    }
+
+    @Test
+    public void rollbackShouldNotHandOutABookmark() {
+        RpcTransaction transaction = begin();
+
+        run(transaction, "CREATE (n:Person)");
+        transaction.rollback();
+
+        // The statement has autocommitted already
+        assertThat(client.getStatements()).containsExactly("CREATE (n:Person)");
+        assertThat(transaction.status()).isEqualTo(Transaction.Status.ROLLEDBACK);
+        assertThat(transactionManager.getBookmarks()).isEmpty();
+    }
+
+    @Test
+    public void transactionsThatOnlyReadShouldNotHandOutABookmark() {
+        RpcTransaction transaction = begin();
+
+        run(transaction, "MATCH (n:Person) RETURN n");
+        transaction.commit();
+
+        assertThat(transactionManager.getBookmarks()).isEmpty();
+    }
+
+    @Test
+    public void statementsShouldBeSentInTheOrderTheyHaveBeenIssued() {
+        RpcTransaction transaction = begin();
+
+        run(transaction, "MATCH ()-[r:ACTS_IN]->() WHERE id(r) = 1 DELETE r");
+        run(transaction, "MATCH (a)-[r:ACTS_IN]->(m) RETURN r");
+        run(transaction, "MATCH (a), (m) WHERE id(a) = 1 AND id(m) = 2 CREATE (a)-[:ACTS_IN]->(m)");
+        transaction.commit();
+
+        assertThat(client.getStatements()).containsExactly(
+            "MATCH ()-[r:ACTS_IN]->() WHERE id(r) = 1 DELETE r",
+            "MATCH (a)-[r:ACTS_IN]->(m) RETURN r",
+            "MATCH (a), (m) WHERE id(a) = 1 AND id(m) = 2 CREATE (a)-[:ACTS_IN]->(m)");
+    }
+
+    @Test
+    public void aFailingWriteShouldFailTheCallThatIssuedIt() {
+        RpcTransaction transaction = begin();
+
+        run(transaction, "CREATE (n:Person)");
+        assertThatExceptionOfType(CypherException.class).isThrownBy(() -> run(transaction, "CREATE (n:FAIL)"));
+        assertThat(client.getStatements()).containsExactly("CREATE (n:Person)", "CREATE (n:FAIL)");
+
+        transaction.rollback();
+        assertThat(transaction.status()).isEqualTo(Transaction.Status.ROLLEDBACK);
+        assertThat(transactionManager.getBookmarks()).isEmpty();
+    }
+
+    @Test
+    public void readsShouldStayOnThePrimaryWhileTheLastWriteMayNotHaveReachedTheReplicas() {
+        transactionManager.open(new RpcTransaction(transactionManager, pool, Transaction.Type.READ_WRITE));
+        run((RpcTransaction) transactionManager.getCurrentTransaction(), "CREATE (n:Person)");
+        transactionManager.getCurrentTransaction().commit();
+        String bookmark = transactionManager.getBookmarks().get(0);
+
+        assertThat(readOnly(bookmark).routesReadsToReplicas()).isFalse();
+        assertThat(readOnly("tugraph-rpc:" + (System.currentTimeMillis() - RpcTransaction.DEFAULT_REPLICA_LAG_WINDOW_MILLIS))
+            .routesReadsToReplicas()).isTrue();
+        assertThat(readOnly("some-other-bookmark").routesReadsToReplicas()).isFalse();
+        assertThat(new RpcTransaction(transactionManager, pool, Transaction.Type.READ_ONLY).routesReadsToReplicas())
+            .isTrue();
+        assertThat(new RpcTransaction(transactionManager, pool, Transaction.Type.READ_WRITE).routesReadsToReplicas())
+            .isFalse();
+    }
+
+    @Test
+    public void theReplicaLagWindowShouldBeConfigurable() {
+        String committedASecondAgo = "tugraph-rpc:" + (System.currentTimeMillis() - 1_000L);
+        List<String> bookmarks = Collections.singletonList(committedASecondAgo);
+
+        assertThat(new RpcTransaction(transactionManager, pool, Transaction.Type.READ_ONLY, bookmarks, 500L)
+            .routesReadsToReplicas()).isTrue();
+        assertThat(new RpcTransaction(transactionManager, pool, Transaction.Type.READ_ONLY, bookmarks, 60_000L)
+            .routesReadsToReplicas()).isFalse();
+        assertThat(new RpcTransaction(transactionManager, pool, Transaction.Type.READ_ONLY,
+            Collections.singletonList("some-other-bookmark"), 0L).routesReadsToReplicas()).isFalse();
+    }
+
+    @Test
+    public void readOnlyTransactionsShouldReadFromReplicas() {
+        ScriptedRpcClient primary = ScriptedRpcClient.create("primary", cypher -> "[]");
+        ScriptedRpcClient replica = ScriptedRpcClient.create("replica", cypher -> "[]");
+        RpcClientPool replicated = new RpcClientPool(Collections.singletonList("primary"),
+            Collections.singletonList("replica"), 1, 60_000L, uri -> "primary".equals(uri) ? primary : replica);
+        String expired = "tugraph-rpc:" + (System.currentTimeMillis() - RpcTransaction.DEFAULT_REPLICA_LAG_WINDOW_MILLIS);
+        String fresh = "tugraph-rpc:" + System.currentTimeMillis();
+
+        read(replicated, new RpcTransaction(transactionManager, replicated, Transaction.Type.READ_ONLY,
+            Collections.singletonList(expired)));
+        assertThat(replica.getStatements()).hasSize(1);
+        assertThat(primary.getStatements()).isEmpty();
+
+        read(replicated, new RpcTransaction(transactionManager, replicated, Transaction.Type.READ_ONLY,
+            Collections.singletonList(fresh)));
+        assertThat(replica.getStatements()).hasSize(1);
+        assertThat(primary.getStatements()).hasSize(1);
+        replicated.close();
+    }
+
+    private RpcTransaction readOnly(String bookmark) {
+        return new RpcTransaction(transactionManager, pool, Transaction.Type.READ_ONLY,
+            Collections.singletonList(bookmark));
+    }
+
+    private static void read(RpcClientPool clients, RpcTransaction transaction) {
+        new RpcRequest(clients, ParameterConversion.DefaultParameterConversion.INSTANCE, Function.identity(), null,
+            RpcRequest.DEFAULT_STATEMENT_TIMEOUT, transaction)
+            .execute((RowModelRequest) new TestStatement("MATCH (n) RETURN n")).close();
+    }
+}
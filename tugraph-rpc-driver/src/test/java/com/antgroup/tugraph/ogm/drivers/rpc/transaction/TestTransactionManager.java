@@ -0,0 +1,80 @@
+/*
+ * Copyright 2022 "Ant Group"
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.antgroup.tugraph.ogm.drivers.rpc.transaction;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.antgroup.tugraph.ogm.transaction.Transaction;
+import com.antgroup.tugraph.ogm.transaction.TransactionManager;
+
+/**
+ * Tracks a single transaction per instance and records the bookmarks handed out on commit.
+ */
+class TestTransactionManager implements TransactionManager {
+
+    private final List<String> bookmarks = new ArrayList<>();
+    private Transaction current;
+
+    Transaction open(Transaction transaction) {
+        this.current = transaction;
+        return transaction;
+    }
+
+    List<String> getBookmarks() {
+        return bookmarks;
+    }
+
+    @Override
+    public Transaction openTransaction() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Transaction openTransaction(Transaction.Type type, Iterable<String> newBookmarks) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void rollback(Transaction transaction) {
+        current = null;
+    }
+
+    @Override
+    public void commit(Transaction transaction) {
+        current = null;
+    }
+
+    @Override
+    public Transaction getCurrentTransaction() {
+        return current;
+    }
+
+    @Override
+    public boolean canCommit() {
+        return current != null;
+    }
+
+    @Override
+    public boolean canRollback() {
+        return current != null;
+    }
+
+    @Override
+    public void bookmark(String bookmark) {
+        bookmarks.add(bookmark);
+    }
+}